@@ -0,0 +1,57 @@
+package com.company.shop.module.cart.entity;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.company.shop.module.category.entity.Category;
+import com.company.shop.module.product.entity.Product;
+import com.company.shop.module.user.entity.User;
+
+/**
+ * Cart total calculation, evaluated on every cart view and at checkout.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartTotalBenchmark {
+
+    @Param({ "1", "10", "50" })
+    public int itemCount;
+
+    private Cart cart;
+
+    @Setup
+    public void setUp() {
+        cart = new Cart(new User("bench@example.com", "encoded", "Bench", "User"));
+        Category category = new Category("Bench", "bench", "desc");
+        for (int i = 0; i < itemCount; i++) {
+            Product product = new Product("Product " + i, "product-" + i, "SKU-" + i, "desc",
+                    BigDecimal.valueOf(1999, 2).add(BigDecimal.valueOf(i)), 100, category);
+            // Cart matches lines by product id, so every product needs a distinct one.
+            ReflectionTestUtils.setField(product, "id", UUID.randomUUID());
+            cart.addItem(product, 1 + i % 3);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalAmount() {
+        return cart.calculateTotalAmount();
+    }
+}
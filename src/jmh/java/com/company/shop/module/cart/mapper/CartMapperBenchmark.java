@@ -0,0 +1,60 @@
+package com.company.shop.module.cart.mapper;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.company.shop.module.cart.dto.CartResponseDTO;
+import com.company.shop.module.cart.entity.Cart;
+import com.company.shop.module.category.entity.Category;
+import com.company.shop.module.product.entity.Product;
+import com.company.shop.module.user.entity.User;
+
+/**
+ * MapStruct cart mapping including the derived totals; entities are fully initialized, so this
+ * measures mapping cost only, without lazy loading.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartMapperBenchmark {
+
+    @Param({ "1", "10", "50" })
+    public int itemCount;
+
+    private final CartMapper mapper = new CartMapperImpl();
+    private Cart cart;
+
+    @Setup
+    public void setUp() {
+        cart = new Cart(new User("bench@example.com", "encoded", "Bench", "User"));
+        Category category = new Category("Bench", "bench", "desc");
+        for (int i = 0; i < itemCount; i++) {
+            Product product = new Product("Product " + i, "product-" + i, "SKU-" + i, "desc",
+                    BigDecimal.valueOf(1999, 2).add(BigDecimal.valueOf(i)), i % 8, category);
+            ReflectionTestUtils.setField(product, "id", UUID.randomUUID());
+            cart.addItem(product, 1 + i % 3);
+        }
+    }
+
+    @Benchmark
+    public CartResponseDTO toDto() {
+        return mapper.toDTO(cart);
+    }
+}
@@ -0,0 +1,34 @@
+package com.company.shop.module.category.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Slug generation on category create/update for ASCII, Polish and punctuation-heavy names.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategorySlugBenchmark {
+
+    @Param({ "Laptops", "Akcesoria łazienkowe i kuchenne", "Gry & Konsole -- Retro" })
+    public String name;
+
+    @Benchmark
+    public String generateSlug() {
+        return CategoryServiceImpl.generateSlug(name);
+    }
+}
@@ -0,0 +1,60 @@
+package com.company.shop.module.order.entity;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.shop.module.category.entity.Category;
+import com.company.shop.module.product.entity.Product;
+import com.company.shop.module.user.entity.User;
+
+/**
+ * Building an order line by line, as checkout does; every {@code addItem} recalculates the total.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderTotalBenchmark {
+
+    @Param({ "1", "10", "50" })
+    public int itemCount;
+
+    private User user;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        user = new User("bench@example.com", "encoded", "Bench", "User");
+        Category category = new Category("Bench", "bench", "desc");
+        products = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            products.add(new Product("Product " + i, "product-" + i, "SKU-" + i, "desc",
+                    BigDecimal.valueOf(1999, 2).add(BigDecimal.valueOf(i)), 100, category));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal addItems() {
+        Order order = new Order(user);
+        for (Product product : products) {
+            order.addItem(new OrderItem(product, 2, product.getPrice()));
+        }
+        return order.getTotalAmount();
+    }
+}
@@ -0,0 +1,57 @@
+package com.company.shop.module.product.mapper;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.company.shop.module.category.entity.Category;
+import com.company.shop.module.product.dto.ProductResponseDTO;
+import com.company.shop.module.product.entity.Product;
+
+/**
+ * MapStruct product mapping as used by every listing row and detail response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMapperBenchmark {
+
+    @Param({ "0", "5" })
+    public int imageCount;
+
+    private final ProductMapper mapper = new ProductMapperImpl();
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        Category category = new Category("Laptops", "laptops", "desc");
+        ReflectionTestUtils.setField(category, "id", UUID.randomUUID());
+        product = new Product("Laptop Pro 15", "laptop-pro-15", "SKU-LAPTOP", "desc",
+                BigDecimal.valueOf(499900, 2), 12, category);
+        ReflectionTestUtils.setField(product, "id", UUID.randomUUID());
+        for (int i = 0; i < imageCount; i++) {
+            product.addImage("https://img.example/laptop-" + i + ".png");
+        }
+    }
+
+    @Benchmark
+    public ProductResponseDTO toDto() {
+        return mapper.toDto(product);
+    }
+}
@@ -0,0 +1,17 @@
+package com.company.shop.common.dto;
+
+import java.util.List;
+
+/**
+ * Slice of a keyset-paginated listing.
+ * <p>
+ * Unlike {@link PageResponseDTO} there is no total count: the client only learns whether another
+ * slice exists and receives an opaque {@code nextCursor} to request it.
+ * </p>
+ */
+public record CursorPageResponseDTO<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor) {
+}
@@ -3,28 +3,66 @@ package com.company.shop.common.dto;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Page of an offset-paginated listing.
+ * <p>
+ * {@code totalElements} and {@code totalPages} are only present when the listing was counted:
+ * a {@link Slice} read with {@code withTotal=false} skips the {@code count(*)} and answers only
+ * whether another page exists ({@code last}). When {@code totalEstimated} is {@code true} the
+ * totals come from planner statistics and are approximate.
+ * </p>
+ */
 public record PageResponseDTO<T>(
         List<T> content,
         int number,
         int size,
         int numberOfElements,
-        long totalElements,
-        int totalPages,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long totalElements,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Integer totalPages,
+        boolean totalEstimated,
         boolean first,
         boolean last,
         boolean empty) {
 
-    public static <T> PageResponseDTO<T> from(Page<T> page) {
-        return new PageResponseDTO<>(
-                page.getContent(),
-                page.getNumber(),
-                page.getSize(),
-                page.getNumberOfElements(),
-                page.getTotalElements(),
-                page.getTotalPages(),
-                page.isFirst(),
-                page.isLast(),
-                page.isEmpty());
+    /**
+     * Wraps a counted {@link Page}, or a {@link Slice} without totals.
+     */
+    public static <T> PageResponseDTO<T> from(Slice<T> slice) {
+        if (slice instanceof Page<T> page) {
+            return new PageResponseDTO<>(page.getContent(), page.getNumber(), page.getSize(),
+                    page.getNumberOfElements(), page.getTotalElements(), page.getTotalPages(), false,
+                    page.isFirst(), page.isLast(), page.isEmpty());
+        }
+        return new PageResponseDTO<>(slice.getContent(), slice.getNumber(), slice.getSize(),
+                slice.getNumberOfElements(), null, null, false, slice.isFirst(), slice.isLast(), slice.isEmpty());
+    }
+
+    /**
+     * Wraps a {@link Slice} with an estimated total. The estimate is raised to at least the rows
+     * the slice proves to exist, and replaced by the exact count on the last page, so it never
+     * contradicts {@code last}.
+     *
+     * @param slice          the page content, read without counting.
+     * @param estimatedTotal the approximate number of rows in the whole listing.
+     */
+    public static <T> PageResponseDTO<T> estimated(Slice<T> slice, long estimatedTotal) {
+        long seen = slice.getPageable().isPaged()
+                ? slice.getPageable().getOffset() + slice.getNumberOfElements()
+                : slice.getNumberOfElements();
+        long total;
+        if (slice.hasNext()) {
+            total = Math.max(estimatedTotal, seen + 1);
+        } else if (slice.hasContent() || slice.isFirst()) {
+            total = seen;
+        } else {
+            total = estimatedTotal; // requested page lies past the end
+        }
+        int totalPages = slice.getSize() == 0 ? 1 : (int) Math.ceil((double) total / slice.getSize());
+        return new PageResponseDTO<>(slice.getContent(), slice.getNumber(), slice.getSize(),
+                slice.getNumberOfElements(), total, totalPages, true, slice.isFirst(), slice.isLast(), slice.isEmpty());
     }
 }
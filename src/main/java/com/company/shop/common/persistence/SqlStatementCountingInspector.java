@@ -0,0 +1,22 @@
+package com.company.shop.common.persistence;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every SQL statement Hibernate prepares into the current {@link SqlStatementRecorder}.
+ * <p>
+ * Registered through {@code hibernate.session_factory.statement_inspector}. The SQL is returned
+ * unchanged; batched inserts and updates are counted once per prepared statement, matching
+ * Hibernate's own {@code prepareStatementCount} statistic.
+ * </p>
+ */
+public class SqlStatementCountingInspector implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementRecorder.current().ifPresent(stats -> stats.recordStatement(sql));
+        return sql;
+    }
+}
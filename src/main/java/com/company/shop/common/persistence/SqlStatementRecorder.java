@@ -0,0 +1,42 @@
+package com.company.shop.common.persistence;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Binds {@link SqlStatementStats} to the current thread.
+ * <p>
+ * The Hibernate hooks are instantiated by Hibernate itself, so they cannot receive Spring beans;
+ * this thread-local is the hand-off between them and whoever owns the unit of work (the
+ * request filter in production, query budget assertions in tests). Statements executed while
+ * nothing is recording are ignored at the cost of a single thread-local lookup.
+ * </p>
+ */
+public final class SqlStatementRecorder {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementRecorder() {
+    }
+
+    /**
+     * Starts recording on the current thread, replacing any previous recording.
+     *
+     * @param requestId     correlation id reported with slow statements, may be {@code null}.
+     * @param slowThreshold executions at or above this duration are logged; zero disables logging.
+     * @return the statistics that will be filled in until {@link #stop()} is called.
+     */
+    public static SqlStatementStats start(String requestId, Duration slowThreshold) {
+        SqlStatementStats stats = new SqlStatementStats(requestId, slowThreshold);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static Optional<SqlStatementStats> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,72 @@
+package com.company.shop.common.persistence;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQL statement statistics collected for one unit of work, usually a single HTTP request.
+ * <p>
+ * Instances are thread-confined: they are created by {@link SqlStatementRecorder#start(String, Duration)}
+ * and filled in by {@link SqlStatementCountingInspector} and {@link SqlStatementTimingListener}
+ * on the thread that runs the work. Only the first {@value #MAX_RECORDED_STATEMENTS} statement
+ * texts are kept, which is enough to explain a blown query budget without growing unbounded.
+ * </p>
+ */
+public final class SqlStatementStats {
+
+    static final int MAX_RECORDED_STATEMENTS = 50;
+
+    private final String requestId;
+    private final long slowThresholdNanos;
+    private final List<String> statements = new ArrayList<>();
+    private int statementCount;
+    private long executionNanos;
+    private String lastStatement;
+
+    SqlStatementStats(String requestId, Duration slowThreshold) {
+        this.requestId = requestId;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    void recordStatement(String sql) {
+        statementCount++;
+        lastStatement = sql;
+        if (statements.size() < MAX_RECORDED_STATEMENTS) {
+            statements.add(sql);
+        }
+    }
+
+    /**
+     * Adds the JDBC execution time of one statement or batch.
+     *
+     * @return {@code true} when the execution exceeded the slow-query threshold.
+     */
+    boolean recordExecution(long nanos) {
+        executionNanos += nanos;
+        return slowThresholdNanos > 0 && nanos >= slowThresholdNanos;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public Duration getExecutionTime() {
+        return Duration.ofNanos(executionNanos);
+    }
+
+    /**
+     * Returns the SQL texts in execution order, capped at {@value #MAX_RECORDED_STATEMENTS} entries.
+     */
+    public List<String> getStatements() {
+        return List.copyOf(statements);
+    }
+
+    String getLastStatement() {
+        return lastStatement;
+    }
+}
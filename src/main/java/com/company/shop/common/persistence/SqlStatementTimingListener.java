@@ -0,0 +1,54 @@
+package com.company.shop.common.persistence;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures JDBC execution time of statements and batches and logs the slow ones.
+ * <p>
+ * Registered through {@code hibernate.session.events.auto}, so Hibernate creates one instance per
+ * session; a session executes its statements sequentially, which makes a single start timestamp
+ * sufficient. The statement text logged for a slow execution is the one most recently seen by
+ * {@link SqlStatementCountingInspector} on the same thread.
+ * </p>
+ */
+public class SqlStatementTimingListener implements SessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementTimingListener.class);
+
+    private transient long executionStartNanos;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        recordExecution();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        recordExecution();
+    }
+
+    private void recordExecution() {
+        long elapsedNanos = System.nanoTime() - executionStartNanos;
+        SqlStatementRecorder.current().ifPresent(stats -> {
+            if (stats.recordExecution(elapsedNanos)) {
+                log.warn("Slow SQL statement requestId={} durationMs={} sql={}", stats.getRequestId(),
+                        TimeUnit.NANOSECONDS.toMillis(elapsedNanos), stats.getLastStatement());
+            }
+        });
+    }
+}
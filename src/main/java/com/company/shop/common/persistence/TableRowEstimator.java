@@ -0,0 +1,44 @@
+package com.company.shop.common.persistence;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the planner's row estimate of a table from {@code pg_class.reltuples}.
+ * <p>
+ * The value is maintained by {@code VACUUM}, {@code ANALYZE} and autovacuum, so it costs a single
+ * catalog lookup instead of a full {@code count(*)} scan, but lags behind recent writes and
+ * ignores any {@code WHERE} clause of the listing it stands in for. Good enough to size a
+ * pager over a large admin table; never use it where the exact number matters.
+ * </p>
+ */
+@Component
+public class TableRowEstimator {
+
+    private static final String SQL =
+            "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(:table)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TableRowEstimator(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns the estimated number of rows of a table.
+     *
+     * @param table the table name, optionally schema-qualified.
+     * @return the estimate, or empty if the table does not exist or has never been analyzed.
+     */
+    public OptionalLong estimate(String table) {
+        List<Long> rows = jdbcTemplate.queryForList(SQL, new MapSqlParameterSource("table", table), Long.class);
+        if (rows.isEmpty() || rows.get(0) == null || rows.get(0) < 0) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(rows.get(0));
+    }
+}
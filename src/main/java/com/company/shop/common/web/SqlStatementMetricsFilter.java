@@ -0,0 +1,102 @@
+package com.company.shop.common.web;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.company.shop.common.persistence.SqlStatementRecorder;
+import com.company.shop.common.persistence.SqlStatementStats;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records how many SQL statements each request issued and how long they spent in JDBC.
+ * <p>
+ * Runs right after {@link RequestIdFilter}, so slow statements are logged with the request id.
+ * Both values are published as histograms tagged with the matched route pattern, which keeps the
+ * tag cardinality bounded and makes N+1 regressions visible per endpoint.
+ * </p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementMetricsFilter.class);
+    private static final String STATEMENTS_METRIC = "shop.db.statements";
+    private static final String TIME_METRIC = "shop.db.time";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${shop.db-metrics.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${shop.db-metrics.slow-query-threshold-ms:500}")
+    private long slowQueryThresholdMs = 500;
+
+    public SqlStatementMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementRecorder.start(MDC.get(RequestIdFilter.REQUEST_ID_MDC_KEY),
+                Duration.ofMillis(slowQueryThresholdMs));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementRecorder.stop();
+            publish(request, stats);
+        }
+    }
+
+    private void publish(HttpServletRequest request, SqlStatementStats stats) {
+        String uri = resolveUri(request);
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("SQL statements issued per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getStatementCount());
+        Timer.builder(TIME_METRIC)
+                .description("JDBC execution time per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getExecutionTime());
+
+        if (log.isDebugEnabled() && stats.getStatementCount() > 0) {
+            log.debug("SQL statements for request method={} uri={} statements={} jdbcTimeMs={}",
+                    request.getMethod(), uri, stats.getStatementCount(), stats.getExecutionTime().toMillis());
+        }
+    }
+
+    private String resolveUri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNKNOWN_URI;
+    }
+}
@@ -0,0 +1,16 @@
+package com.company.shop.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs (e.g. the transactional outbox dispatcher).
+ * <p>
+ * Individual jobs are switched on/off with their own {@code enabled} properties, so the
+ * test profile can keep the scheduler infrastructure without running background work.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
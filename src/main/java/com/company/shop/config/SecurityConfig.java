@@ -59,11 +59,18 @@ public class SecurityConfig {
                 .requestMatchers(SecurityConstants.PUBLIC_ENDPOINTS).permitAll()
                 .requestMatchers(HttpMethod.GET,
                         "/api/v1/products",
+                        "/api/v1/products/scroll",
                         "/api/v1/products/search",
+                        "/api/v1/products/search/scroll",
+                        "/api/v1/products/search/facets",
+                        "/api/v1/products/suggest",
                         "/api/v1/products/slug/**",
                         "/api/v1/products/category/**",
                         "/api/v1/products/*/reviews",
+                        "/api/v1/products/*/reviews/scroll",
+                        "/api/v1/products/*/reviews/summary",
                         "/api/v1/categories",
+                        "/api/v1/categories/tree",
                         "/api/v1/categories/slug/**").permitAll()
                 .requestMatchers(ADMIN_URL).hasRole("ADMIN")
                 .anyRequest().authenticated()
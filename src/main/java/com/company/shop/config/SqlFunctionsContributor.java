@@ -20,7 +20,7 @@ import org.hibernate.type.StandardBasicTypes;
  * <strong>PostgreSQL Full-Text Search</strong> using the {@code @@} operator.
  * </p>
  * * <p><strong>Usage in Criteria API:</strong></p>
- * {@code cb.function("fts", Boolean.class, root.get("search_vector"), cb.literal(tsQuery))}
+ * {@code cb.function("fts", Boolean.class, root.get("id"), cb.literal(text), cb.literal(prefixTerms))}
  *
  * @since 1.0.0
  */
@@ -31,9 +31,13 @@ public class SqlFunctionsContributor implements FunctionContributor {
      * <p>
      * Function {@code fts}:
      * <ul>
-     * <li><strong>Pattern:</strong> {@code ?1 @@ to_tsquery('polish', ?2)}</li>
+     * <li><strong>Pattern:</strong> {@code ?1 IN (SELECT id FROM products WHERE search_vector @@
+     * (websearch_to_tsquery('polish', ?2) && to_tsquery('polish', ?3)))}</li>
      * <li><strong>Returns:</strong> Boolean</li>
-     * <li><strong>Description:</strong> Maps to PostgreSQL text search matching operator.</li>
+     * <li><strong>Description:</strong> Matches product ids against the GIN-indexed
+     * {@code search_vector}, which is deliberately not mapped on the entity so listings never load
+     * it. The arguments are the product id, the {@code websearch_to_tsquery} text and the
+     * sanitized prefix expression (see {@code ProductSearchQuery}).</li>
      * </ul>
      * </p>
      *
@@ -43,7 +47,8 @@ public class SqlFunctionsContributor implements FunctionContributor {
     public void contributeFunctions(FunctionContributions contributions) {       
         contributions.getFunctionRegistry().registerPattern(
             "fts", 
-            "?1 @@ to_tsquery('polish', ?2)",
+            "?1 in (select fts_p.id from products fts_p where fts_p.search_vector @@ "
+                    + "(websearch_to_tsquery('polish', ?2) && to_tsquery('polish', ?3)))",
             contributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN)
         );
     }
@@ -1,15 +1,22 @@
 package com.company.shop.module.category.controller;
 
-import org.springframework.data.domain.Page;
+import java.time.ZoneId;
+import java.util.List;
+
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.company.shop.common.dto.PageResponseDTO;
 import com.company.shop.module.category.dto.CategoryResponseDTO;
+import com.company.shop.module.category.dto.CategoryTreeDTO;
+import com.company.shop.module.category.dto.CategoryTreeNodeDTO;
 import com.company.shop.module.category.service.CategoryService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -29,24 +36,47 @@ public class CategoryController {
 	}
 
 	@GetMapping
-	@Operation(summary = "Lista kategorii")
+	@Operation(summary = "Lista kategorii",
+			description = "withTotal=false pomija zapytanie count(*): brak totalElements/totalPages, o kolejnej stronie mówi pole last.")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "Kategorie pobrane poprawnie.")
 	})
-	public Page<CategoryResponseDTO> getCategories(
+	public PageResponseDTO<CategoryResponseDTO> getCategories(
 			@RequestParam(defaultValue = "0") int page,
-			@RequestParam(defaultValue = "20") int size) {
+			@RequestParam(defaultValue = "20") int size,
+			@RequestParam(defaultValue = "true") boolean withTotal) {
 		Pageable pageable = PageRequest.of(page, size);
-		return service.findAll(pageable);
+		return PageResponseDTO.from(withTotal ? service.findAll(pageable) : service.findAllSlice(pageable));
+	}
+
+	@GetMapping("/tree")
+	@Operation(summary = "Drzewo kategorii",
+			description = "Całe drzewo kategorii z pamięci aplikacji (bez zapytań do bazy), odświeżane po każdej zmianie kategorii.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Drzewo kategorii pobrane poprawnie."),
+			@ApiResponse(responseCode = "304", description = "Drzewo nie zmieniło się (ETag).")
+	})
+	public ResponseEntity<List<CategoryTreeNodeDTO>> getCategoryTree() {
+		CategoryTreeDTO tree = service.getTree();
+		return ResponseEntity.ok().eTag(tree.eTag()).cacheControl(CacheControl.noCache()).body(tree.roots());
 	}
 
 	@GetMapping("/slug/{slug}")
 	@Operation(summary = "Szczegóły kategorii po slug")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "Kategoria znaleziona."),
+			@ApiResponse(responseCode = "304", description = "Kategoria nie zmieniła się (ETag)."),
 			@ApiResponse(responseCode = "404", description = "Kategoria nie została znaleziona.")
 	})
-	public CategoryResponseDTO getCategoryBySlug(@PathVariable String slug) {
-		return service.findBySlug(slug);
+	public ResponseEntity<CategoryResponseDTO> getCategoryBySlug(@PathVariable String slug) {
+		CategoryResponseDTO category = service.findBySlug(slug);
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+		// Only the ETag: Last-Modified has one-second resolution and would answer 304 after a second
+		// edit within the same second.
+		if (category.getLastModified() != null) {
+			long lastModified = category.getLastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+			response.eTag("\"" + category.getId() + '-' + lastModified + '"');
+		}
+		return response.body(category);
 	}
 }
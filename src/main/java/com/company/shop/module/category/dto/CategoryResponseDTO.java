@@ -1,7 +1,10 @@
 package com.company.shop.module.category.dto;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * DTO wyjściowe dla kategorii. Niemutowalne (immutable) dla zapewnienia
  * spójności danych wysyłanych do klienta.
@@ -13,13 +16,16 @@ public class CategoryResponseDTO {
 	private final String slug;
 	private final String description;
 	private final String parentName; // Czytelna informacja o kategorii nadrzędnej
+	private final LocalDateTime lastModified; // Nie serializowane, tylko walidator warunkowego GET
 
-	public CategoryResponseDTO(UUID id, String name, String slug, String description, String parentName) {
+	public CategoryResponseDTO(UUID id, String name, String slug, String description, String parentName,
+			LocalDateTime lastModified) {
 		this.id = id;
 		this.name = name;
 		this.slug = slug;
 		this.description = description;
 		this.parentName = parentName;
+		this.lastModified = lastModified;
 	}
 
 	public UUID getId() {
@@ -41,4 +47,13 @@ public class CategoryResponseDTO {
 	public String getParentName() {
 		return parentName;
 	}
+
+	/**
+	 * Latest modification of the category or its parent, whose name is part of this response;
+	 * {@code null} when unknown.
+	 */
+	@JsonIgnore
+	public LocalDateTime getLastModified() {
+		return lastModified;
+	}
 }
\ No newline at end of file
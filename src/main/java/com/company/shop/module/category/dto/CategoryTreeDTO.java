@@ -0,0 +1,14 @@
+package com.company.shop.module.category.dto;
+
+import java.util.List;
+
+/**
+ * Niemutowalny snapshot drzewa kategorii razem z jego ETagiem.
+ *
+ * @param roots kategorie najwyższego poziomu wraz z całymi poddrzewami.
+ * @param eTag  silny ETag wyliczony z zawartości drzewa, więc ten sam na każdym węźle aplikacji.
+ */
+public record CategoryTreeDTO(
+    List<CategoryTreeNodeDTO> roots,
+    String eTag
+) {}
@@ -0,0 +1,15 @@
+package com.company.shop.module.category.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Węzeł drzewa kategorii dla menu nawigacyjnego: tylko to, co potrzebne do wyrenderowania
+ * linku, plus podkategorie posortowane po nazwie.
+ */
+public record CategoryTreeNodeDTO(
+    UUID id,
+    String name,
+    String slug,
+    List<CategoryTreeNodeDTO> children
+) {}
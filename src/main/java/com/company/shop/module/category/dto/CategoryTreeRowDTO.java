@@ -0,0 +1,13 @@
+package com.company.shop.module.category.dto;
+
+import java.util.UUID;
+
+/**
+ * Płaski wiersz kategorii (z identyfikatorem rodzica), z którego składane jest drzewo kategorii.
+ */
+public record CategoryTreeRowDTO(
+    UUID id,
+    String name,
+    String slug,
+    UUID parentId
+) {}
@@ -1,7 +1,10 @@
 package com.company.shop.module.category.mapper;
 
+import java.time.LocalDateTime;
+
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 import com.company.shop.module.category.dto.CategoryResponseDTO;
 import com.company.shop.module.category.entity.Category;
@@ -14,5 +17,23 @@ public interface CategoryMapper {
 	 * kategorii nadrzędnej (parent.name) i przypisuje ją do pola parentName.
 	 */
 	@Mapping(target = "parentName", source = "parent.name")
+	@Mapping(target = "lastModified", source = "category", qualifiedByName = "lastModified")
 	CategoryResponseDTO toDto(Category category);
-}
\ No newline at end of file
+
+	/**
+	 * Najpóźniejsza modyfikacja kategorii lub jej rodzica (zmiana nazwy rodzica zmienia odpowiedź).
+	 */
+	@Named("lastModified")
+	default LocalDateTime lastModified(Category category) {
+		LocalDateTime own = modifiedAt(category);
+		LocalDateTime parent = category.getParent() == null ? null : modifiedAt(category.getParent());
+		if (own == null || parent == null) {
+			return own == null ? parent : own;
+		}
+		return own.isAfter(parent) ? own : parent;
+	}
+
+	private static LocalDateTime modifiedAt(Category category) {
+		return category.getUpdatedAt() != null ? category.getUpdatedAt() : category.getCreatedAt();
+	}
+}
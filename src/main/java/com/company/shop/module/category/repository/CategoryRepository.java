@@ -1,11 +1,16 @@
 package com.company.shop.module.category.repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.company.shop.module.category.dto.CategoryTreeRowDTO;
 import com.company.shop.module.category.entity.Category;
 
 /**
@@ -28,6 +33,25 @@ public interface CategoryRepository extends JpaRepository<Category, UUID> {
      */
     Optional<Category> findBySlug(String slug);
 
+    /**
+     * Reads one page of categories without counting them; one extra row tells whether more exist.
+     *
+     * @param pageable pagination and sorting configuration.
+     * @return a slice of categories.
+     */
+    @Query("SELECT c FROM Category c")
+    Slice<Category> findSliceBy(Pageable pageable);
+
+    /**
+     * Reads the id, name, slug and parent id of every active category, ordered by name, for the
+     * in-memory category tree. Roots have a {@code null} parent id.
+     *
+     * @return one row per active category.
+     */
+    @Query("SELECT new com.company.shop.module.category.dto.CategoryTreeRowDTO(c.id, c.name, c.slug, p.id) "
+            + "FROM Category c LEFT JOIN c.parent p ORDER BY c.name")
+    List<CategoryTreeRowDTO> findAllTreeRows();
+
     /**
      * Checks if a category exists with the given name.
      *
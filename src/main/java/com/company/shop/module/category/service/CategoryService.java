@@ -4,18 +4,31 @@ import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.company.shop.module.category.dto.CategoryCreateDTO;
 import com.company.shop.module.category.dto.CategoryResponseDTO;
+import com.company.shop.module.category.dto.CategoryTreeDTO;
 
 public interface CategoryService {
 
 	Page<CategoryResponseDTO> findAll(Pageable pageable);
 
+	/**
+	 * Variant of {@link #findAll(Pageable)} that skips the count query and only tells whether a next page exists.
+	 */
+	Slice<CategoryResponseDTO> findAllSlice(Pageable pageable);
+
 	CategoryResponseDTO findById(UUID id);
 
 	CategoryResponseDTO findBySlug(String slug);
 
+	/**
+	 * Returns the whole category tree from the in-memory {@link CategoryTreeSnapshot}, without a database round trip
+	 * once the snapshot is loaded.
+	 */
+	CategoryTreeDTO getTree();
+
 	CategoryResponseDTO create(CategoryCreateDTO dto);
 
 	CategoryResponseDTO update(UUID id, CategoryCreateDTO dto);
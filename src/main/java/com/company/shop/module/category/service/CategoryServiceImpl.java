@@ -8,11 +8,14 @@ import java.util.regex.Pattern;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.company.shop.module.category.dto.CategoryCreateDTO;
 import com.company.shop.module.category.dto.CategoryResponseDTO;
+import com.company.shop.module.category.dto.CategoryTreeDTO;
 import com.company.shop.module.category.entity.Category;
 import com.company.shop.module.category.exception.CategoryAlreadyExistsException;
 import com.company.shop.module.category.exception.CategoryHierarchyException;
@@ -20,6 +23,7 @@ import com.company.shop.module.category.exception.CategoryNotFoundException;
 import com.company.shop.module.category.exception.CategorySlugAlreadyExistsException;
 import com.company.shop.module.category.mapper.CategoryMapper;
 import com.company.shop.module.category.repository.CategoryRepository;
+import com.company.shop.module.product.service.ProductDetailsCache;
 
 /**
  * Production implementation of {@link CategoryService}.
@@ -36,16 +40,23 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository repo;
     private final CategoryMapper mapper;
+    private final CategoryTreeSnapshot treeSnapshot;
+    private final ProductDetailsCache productDetailsCache;
 
     private static final Pattern NONLATIN = Pattern.compile("[^\\w-]");
     private static final Pattern WHITESPACE = Pattern.compile("[\\s]");
 
     /**
-     * Initialized with repository and mapper for full lifecycle management.
+     * Initialized with repository and mapper for full lifecycle management, the tree snapshot
+     * refreshed after every committed write, and the product cache whose entries embed the
+     * category name.
      */
-    public CategoryServiceImpl(CategoryRepository repo, CategoryMapper mapper) {
+    public CategoryServiceImpl(CategoryRepository repo, CategoryMapper mapper, CategoryTreeSnapshot treeSnapshot,
+            ProductDetailsCache productDetailsCache) {
         this.repo = repo;
         this.mapper = mapper;
+        this.treeSnapshot = treeSnapshot;
+        this.productDetailsCache = productDetailsCache;
     }
 
     @Override
@@ -54,6 +65,12 @@ public class CategoryServiceImpl implements CategoryService {
         return repo.findAll(pageable).map(mapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<CategoryResponseDTO> findAllSlice(Pageable pageable) {
+        return repo.findSliceBy(pageable).map(mapper::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public CategoryResponseDTO findById(UUID id) {
@@ -66,6 +83,12 @@ public class CategoryServiceImpl implements CategoryService {
         return repo.findBySlug(slug).map(mapper::toDto).orElseThrow(() -> new CategoryNotFoundException(slug));
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CategoryTreeDTO getTree() {
+        return treeSnapshot.get();
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -87,7 +110,9 @@ public class CategoryServiceImpl implements CategoryService {
         Category parent = resolveParent(dto.getParentId(), null);
         Category category = new Category(dto.getName(), slug, dto.getDescription(), parent);
 
-        return saveAndMap(category, dto.getName(), slug);
+        CategoryResponseDTO created = saveAndMap(category, dto.getName(), slug);
+        treeSnapshot.refreshAfterCommit();
+        return created;
     }
 
     @Override
@@ -106,13 +131,18 @@ public class CategoryServiceImpl implements CategoryService {
         Category parent = resolveParent(dto.getParentId(), id);
         category.update(dto.getName(), newSlug, dto.getDescription(), parent);
 
-        return saveAndMap(category, dto.getName(), newSlug);
+        CategoryResponseDTO updated = saveAndMap(category, dto.getName(), newSlug);
+        treeSnapshot.refreshAfterCommit();
+        productDetailsCache.evictAll();
+        return updated;
     }
 
     @Override
     public void delete(UUID id) {
         Category category = repo.findById(id).orElseThrow(() -> new CategoryNotFoundException(id));
         category.delete();
+        treeSnapshot.refreshAfterCommit();
+        productDetailsCache.evictAll();
     }
 
     /**
@@ -167,8 +197,9 @@ public class CategoryServiceImpl implements CategoryService {
 
     /**
      * Normalizes input strings into URL-friendly slugs.
+     * Package-private for the slug microbenchmark.
      */
-    private String generateSlug(String input) {
+    static String generateSlug(String input) {
         String nowhitespace = WHITESPACE.matcher(input).replaceAll("-");
         String normalized = Normalizer.normalize(nowhitespace, Normalizer.Form.NFD);
         String slug = NONLATIN.matcher(normalized).replaceAll("");
@@ -0,0 +1,36 @@
+package com.company.shop.module.category.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Background job reloading the {@link CategoryTreeSnapshot}.
+ * <p>
+ * Picks up category changes made on other nodes or outside the application. Local writes do not
+ * wait for it, they refresh the snapshot when they commit.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(prefix = "shop.category-tree.refresh", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CategoryTreeRefreshJob {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryTreeRefreshJob.class);
+
+    private final CategoryTreeSnapshot treeSnapshot;
+
+    public CategoryTreeRefreshJob(CategoryTreeSnapshot treeSnapshot) {
+        this.treeSnapshot = treeSnapshot;
+    }
+
+    @Scheduled(fixedDelayString = "${shop.category-tree.refresh.poll-interval-ms:300000}")
+    public void refreshTree() {
+        try {
+            treeSnapshot.refresh();
+        } catch (Exception ex) {
+            log.warn("Category tree refresh failed reason={}", ex.getMessage());
+        }
+    }
+}
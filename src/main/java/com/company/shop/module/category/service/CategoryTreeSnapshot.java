@@ -0,0 +1,154 @@
+package com.company.shop.module.category.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.company.shop.module.category.dto.CategoryTreeDTO;
+import com.company.shop.module.category.dto.CategoryTreeNodeDTO;
+import com.company.shop.module.category.dto.CategoryTreeRowDTO;
+import com.company.shop.module.category.repository.CategoryRepository;
+
+/**
+ * Immutable, in-memory snapshot of the whole category tree behind {@code /api/v1/categories/tree}.
+ * <p>
+ * Readers get the current snapshot from a volatile field without locking or touching the database.
+ * The catalog has few categories, so every refresh reads all of them in one statement and swaps in
+ * a freshly built tree; a snapshot is never modified in place. Category writes refresh it after
+ * their transaction commits, {@link CategoryTreeRefreshJob} picks up changes made on other nodes
+ * or directly in the database. The first read loads the tree if nothing has yet.
+ * </p>
+ */
+@Component
+public class CategoryTreeSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryTreeSnapshot.class);
+
+    private final Supplier<List<CategoryTreeRowDTO>> loader;
+
+    private volatile CategoryTreeDTO current;
+
+    @Autowired
+    public CategoryTreeSnapshot(CategoryRepository repo, PlatformTransactionManager transactionManager) {
+        this(readOnlyNewTransaction(transactionManager, repo));
+    }
+
+    CategoryTreeSnapshot(Supplier<List<CategoryTreeRowDTO>> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Returns the current tree, loading it first if no snapshot exists yet.
+     */
+    public CategoryTreeDTO get() {
+        CategoryTreeDTO tree = current;
+        return tree != null ? tree : refresh();
+    }
+
+    /**
+     * Rebuilds the snapshot once the surrounding transaction commits (immediately when there is
+     * none). A failed rebuild is logged and drops the snapshot, so the next read reloads it
+     * instead of serving a tree that misses the committed write.
+     */
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshQuietly();
+                }
+            });
+        } else {
+            refreshQuietly();
+        }
+    }
+
+    /**
+     * Reads all categories and publishes a new snapshot. Refreshes are serialized, so a read that
+     * started after a commit is always published after any read that started before it.
+     */
+    public synchronized CategoryTreeDTO refresh() {
+        CategoryTreeDTO tree = build(loader.get());
+        current = tree;
+        return tree;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException ex) {
+            current = null;
+            log.warn("Category tree refresh failed reason={}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Assembles the tree from rows ordered by name. Categories whose parent is not among the rows
+     * (e.g. soft-deleted) are shown at the top level rather than disappearing from navigation.
+     */
+    static CategoryTreeDTO build(List<CategoryTreeRowDTO> rows) {
+        Map<UUID, CategoryTreeRowDTO> byId = new HashMap<>();
+        rows.forEach(row -> byId.put(row.id(), row));
+
+        Map<UUID, List<CategoryTreeRowDTO>> childrenByParent = new HashMap<>();
+        List<CategoryTreeRowDTO> roots = new ArrayList<>();
+        MessageDigest digest = sha256();
+        for (CategoryTreeRowDTO row : rows) {
+            if (row.parentId() == null || !byId.containsKey(row.parentId())) {
+                roots.add(row);
+            } else {
+                childrenByParent.computeIfAbsent(row.parentId(), id -> new ArrayList<>()).add(row);
+            }
+            digest.update((row.id() + "\u0000" + row.name() + "\u0000" + row.slug() + "\u0000" + row.parentId() + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+
+        List<CategoryTreeNodeDTO> nodes = roots.stream().map(root -> toNode(root, childrenByParent)).toList();
+        String eTag = "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + '"';
+        return new CategoryTreeDTO(nodes, eTag);
+    }
+
+    private static CategoryTreeNodeDTO toNode(CategoryTreeRowDTO row, Map<UUID, List<CategoryTreeRowDTO>> childrenByParent) {
+        List<CategoryTreeNodeDTO> children = childrenByParent.getOrDefault(row.id(), List.of()).stream()
+                .map(child -> toNode(child, childrenByParent))
+                .toList();
+        return new CategoryTreeNodeDTO(row.id(), row.name(), row.slug(), children);
+    }
+
+    /**
+     * Runs in a new read-only transaction: after-commit callbacks still see the finished
+     * transaction's resources bound to the thread and must not join it.
+     */
+    private static Supplier<List<CategoryTreeRowDTO>> readOnlyNewTransaction(
+            PlatformTransactionManager transactionManager, CategoryRepository repo) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(true);
+        return () -> template.execute(status -> repo.findAllTreeRows());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
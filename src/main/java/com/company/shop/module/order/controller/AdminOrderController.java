@@ -5,6 +5,7 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.company.shop.common.dto.PageResponseDTO;
@@ -29,13 +30,19 @@ public class AdminOrderController {
     }
 
     @GetMapping
-    @Operation(summary = "Lista zamówień")
+    @Operation(summary = "Lista zamówień",
+            description = "withTotal=false pomija zapytanie count(*); approximateTotal=true zwraca szacunkową liczbę z pg_class.reltuples (totalEstimated=true) zamiast dokładnego count(*).")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Zamówienia pobrane poprawnie."),
             @ApiResponse(responseCode = "401", description = "Brak autoryzacji."),
             @ApiResponse(responseCode = "403", description = "Brak uprawnień.")
     })
-    public PageResponseDTO<OrderResponseDTO> getOrders(@PageableDefault(size = 20) Pageable pageable) {
-        return PageResponseDTO.from(orderService.findAll(pageable));
+    public PageResponseDTO<OrderResponseDTO> getOrders(@PageableDefault(size = 20) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(defaultValue = "false") boolean approximateTotal) {
+        if (approximateTotal) {
+            return orderService.findAllWithEstimatedTotal(pageable);
+        }
+        return PageResponseDTO.from(withTotal ? orderService.findAll(pageable) : orderService.findAllSlice(pageable));
     }
 }
@@ -1,13 +1,17 @@
 package com.company.shop.module.order.controller;
 
+import java.util.UUID;
+
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -35,13 +39,17 @@ public class CurrentUserOrderController {
     }
 
     @GetMapping
-    @Operation(summary = "Lista zamówień użytkownika")
+    @Operation(summary = "Lista zamówień użytkownika",
+            description = "withTotal=false pomija zapytanie count(*): brak totalElements/totalPages, o kolejnej stronie mówi pole last.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista zamówień pobrana poprawnie."),
             @ApiResponse(responseCode = "401", description = "Brak autoryzacji.")
     })
-    public PageResponseDTO<OrderResponseDTO> getCurrentUserOrders(@PageableDefault(size = 10) Pageable pageable) {
-        return PageResponseDTO.from(orderService.findMyOrders(pageable));
+    public PageResponseDTO<OrderResponseDTO> getCurrentUserOrders(@PageableDefault(size = 10) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
+        return PageResponseDTO.from(withTotal
+                ? orderService.findMyOrders(pageable)
+                : orderService.findMyOrdersSlice(pageable));
     }
 
     @PostMapping("/checkout")
@@ -55,4 +63,18 @@ public class CurrentUserOrderController {
     public OrderResponseDTO checkout(@Valid @RequestBody OrderCheckoutRequestDTO request) {
         return orderService.placeOrderFromCart(request);
     }
+
+    @PostMapping("/{id}/payment-intent")
+    @Operation(summary = "Ponowna inicjalizacja płatności zamówienia")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Dane płatności zwrócone poprawnie."),
+            @ApiResponse(responseCode = "401", description = "Brak autoryzacji."),
+            @ApiResponse(responseCode = "403", description = "Brak uprawnień."),
+            @ApiResponse(responseCode = "404", description = "Zamówienie nie zostało znalezione."),
+            @ApiResponse(responseCode = "409", description = "Płatność została już zrealizowana."),
+            @ApiResponse(responseCode = "502", description = "Błąd operatora płatności.")
+    })
+    public OrderResponseDTO retryPaymentIntent(@PathVariable UUID id) {
+        return orderService.retryPaymentIntent(id);
+    }
 }
@@ -28,7 +28,7 @@ public class StripeWebhookController {
 	@PostMapping
 	@Operation(summary = "Obsługa webhooka Stripe")
 	@ApiResponses(value = {
-			@ApiResponse(responseCode = "200", description = "Webhook przetworzony poprawnie."),
+			@ApiResponse(responseCode = "200", description = "Webhook przetworzony poprawnie lub przyjęty do kolejki przetwarzania."),
 			@ApiResponse(responseCode = "400", description = "Nieprawidłowy payload lub podpis."),
 			@ApiResponse(responseCode = "404", description = "Zamówienie powiązane z płatnością nie zostało znalezione."),
 			@ApiResponse(responseCode = "409", description = "Konflikt stanu płatności lub zamówienia.")
@@ -69,23 +69,6 @@ public class DiscountCode extends SoftDeleteEntity {
         return now.isBefore(validFrom) || now.isAfter(validTo);
     }
 
-    /**
-     * Validates if the code is eligible for use based on status, dates, and limits.
-     *
-     * @return {@code true} if the code is active, not expired, and has not reached its usage limit.
-     */
-    public boolean canBeUsed() {
-        return active && !isExpired() && (usageLimit == null || usedCount < usageLimit);
-    }
-
-    /**
-     * Increments the usage counter for this discount code.
-     * This should be called after a successful order placement.
-     */
-    public void incrementUsage() {
-        this.usedCount++;
-    }
-
     public String getCode() {
         return code;
     }
@@ -93,4 +76,24 @@ public class DiscountCode extends SoftDeleteEntity {
     public int getDiscountPercent() {
         return discountPercent;
     }
+
+    public LocalDateTime getValidFrom() {
+        return validFrom;
+    }
+
+    public LocalDateTime getValidTo() {
+        return validTo;
+    }
+
+    public Integer getUsageLimit() {
+        return usageLimit;
+    }
+
+    public int getUsedCount() {
+        return usedCount;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
 }
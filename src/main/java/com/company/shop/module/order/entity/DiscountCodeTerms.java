@@ -0,0 +1,34 @@
+package com.company.shop.module.order.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the redemption terms of a {@link DiscountCode}.
+ * <p>
+ * Safe to cache and share between threads; the usage counter is deliberately not part of it,
+ * because redemption is decided by the database and not by a cached count.
+ * </p>
+ *
+ * @param usageLimit maximum number of redemptions, {@code null} for unlimited codes.
+ */
+public record DiscountCodeTerms(UUID id, String code, int discountPercent, LocalDateTime validFrom,
+        LocalDateTime validTo, Integer usageLimit, boolean active) {
+
+    public static DiscountCodeTerms of(DiscountCode discountCode) {
+        return new DiscountCodeTerms(discountCode.getId(), discountCode.getCode(), discountCode.getDiscountPercent(),
+                discountCode.getValidFrom(), discountCode.getValidTo(), discountCode.getUsageLimit(),
+                discountCode.isActive());
+    }
+
+    public boolean isUnlimited() {
+        return usageLimit == null;
+    }
+
+    /**
+     * Checks status and validity window; the usage limit is enforced at redemption.
+     */
+    public boolean isValidAt(LocalDateTime now) {
+        return active && !now.isBefore(validFrom) && !now.isAfter(validTo);
+    }
+}
@@ -10,6 +10,7 @@ package com.company.shop.module.order.entity;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -112,26 +113,25 @@ public class Order extends SoftDeleteEntity {
      * <p>
      * Note: This operation modifies the current {@code totalAmount}. In high-audit 
      * environments, consider storing the original amount and discount value separately.
+     * The usage limit is not checked here; it is enforced when the code is redeemed.
      * </p>
      *
-     * @param discountCode the discount code to be applied.
-     * @throws IllegalStateException if the discount code is expired or usage limits are exceeded.
+     * @param discountTerms the terms of the discount code to be applied.
+     * @throws IllegalStateException if the discount code is inactive or outside its validity window.
      */
-    public void applyDiscount(DiscountCode discountCode) {
-        if (discountCode == null) {
+    public void applyDiscount(DiscountCodeTerms discountTerms) {
+        if (discountTerms == null) {
             return;
         }
 
-        if (!discountCode.canBeUsed()) {
-            throw new IllegalStateException("Discount code cannot be used (expired or limit reached)");
+        if (!discountTerms.isValidAt(LocalDateTime.now())) {
+            throw new IllegalStateException("Discount code cannot be used (inactive or expired)");
         }
 
-        BigDecimal multiplier = BigDecimal.valueOf(100 - discountCode.getDiscountPercent())
+        BigDecimal multiplier = BigDecimal.valueOf(100 - discountTerms.discountPercent())
                 .divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
 
         this.totalAmount = this.totalAmount.multiply(multiplier).setScale(2, RoundingMode.HALF_UP);
-
-        discountCode.incrementUsage();
     }
 
     /**
@@ -146,6 +146,31 @@ public class Order extends SoftDeleteEntity {
         this.status = OrderStatus.PAID;
     }
 
+    /**
+     * Transitions the order status to CANCELLED after its stock hold was released.
+     *
+     * @throws IllegalStateException if the current status is not NEW.
+     */
+    public void cancel() {
+        if (this.status != OrderStatus.NEW) {
+            throw new IllegalStateException("Only NEW orders can be cancelled");
+        }
+        this.status = OrderStatus.CANCELLED;
+    }
+
+    /**
+     * Returns a CANCELLED order to NEW once its stock has been reserved again, so that a payment
+     * completed after the hold was released can still be applied.
+     *
+     * @throws IllegalStateException if the current status is not CANCELLED.
+     */
+    public void reinstate() {
+        if (this.status != OrderStatus.CANCELLED) {
+            throw new IllegalStateException("Only CANCELLED orders can be reinstated");
+        }
+        this.status = OrderStatus.NEW;
+    }
+
     /**
      * Internally recalculates the sum of all item prices multiplied by their quantities.
      */
@@ -0,0 +1,128 @@
+package com.company.shop.module.order.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.company.shop.common.model.BaseEntity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+
+/**
+ * Transactional outbox record describing an external side effect to be executed after commit.
+ * <p>
+ * Rows are written in the same transaction as the business change that requires the effect
+ * and are drained asynchronously by the outbox dispatcher. A pending row is "leased" by
+ * pushing {@code nextAttemptAt} into the future when claimed, so an expired lease makes the
+ * row eligible again if the node processing it disappears.
+ * </p>
+ */
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent extends BaseEntity {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 50)
+    private OutboxEventType eventType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxEventStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    protected OutboxEvent() {
+    }
+
+    public OutboxEvent(OutboxEventType eventType, UUID aggregateId, LocalDateTime availableAt) {
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.status = OutboxEventStatus.PENDING;
+        this.nextAttemptAt = availableAt;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public OutboxEventType getEventType() {
+        return eventType;
+    }
+
+    public UUID getAggregateId() {
+        return aggregateId;
+    }
+
+    public OutboxEventStatus getStatus() {
+        return status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    /**
+     * Records a delivery attempt and hides the row from other dispatchers until the lease expires.
+     */
+    public void claim(LocalDateTime leaseUntil) {
+        this.attempts++;
+        this.nextAttemptAt = leaseUntil;
+    }
+
+    public void markProcessed(LocalDateTime processedAt) {
+        this.status = OutboxEventStatus.PROCESSED;
+        this.processedAt = processedAt;
+        this.lastError = null;
+    }
+
+    public void scheduleRetry(LocalDateTime nextAttemptAt, String error) {
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = truncate(error);
+    }
+
+    public void markFailed(String error) {
+        this.status = OutboxEventStatus.FAILED;
+        this.lastError = truncate(error);
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,5 @@
+package com.company.shop.module.order.entity;
+
+public enum OutboxEventStatus {
+    PENDING, PROCESSED, FAILED
+}
@@ -0,0 +1,12 @@
+package com.company.shop.module.order.entity;
+
+/**
+ * Kinds of deferred side effects recorded in the transactional outbox.
+ * <p>
+ * The meaning of {@code aggregateId} depends on the type: an order id for
+ * {@link #PAYMENT_INTENT_CREATE} and a user id for {@link #CART_CLEAR}.
+ * </p>
+ */
+public enum OutboxEventType {
+    PAYMENT_INTENT_CREATE, CART_CLEAR
+}
@@ -0,0 +1,111 @@
+package com.company.shop.module.order.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.company.shop.common.model.BaseEntity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+
+/**
+ * Ledger entry for stock taken out of a product's stock counter by one order line.
+ * <p>
+ * Checkout decrements the product counter with a conditional update and records the quantity
+ * here as a time-limited hold. The hold is confirmed when the payment succeeds, or released
+ * (and the quantity returned to the counter) when the payment fails or the hold expires.
+ * </p>
+ */
+@Entity
+@Table(name = "stock_reservations")
+public class StockReservation extends BaseEntity {
+
+    @Column(name = "order_id", nullable = false, updatable = false)
+    private UUID orderId;
+
+    @Column(name = "product_id", nullable = false, updatable = false)
+    private UUID productId;
+
+    @Column(nullable = false, updatable = false)
+    private int quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StockReservationStatus status;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "resolved_at")
+    private LocalDateTime resolvedAt;
+
+    protected StockReservation() {
+    }
+
+    public StockReservation(UUID orderId, UUID productId, int quantity, LocalDateTime expiresAt) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Reserved quantity must be positive");
+        }
+        this.orderId = orderId;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.status = StockReservationStatus.HELD;
+        this.expiresAt = expiresAt;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * Turns the hold into a permanent allocation after a successful payment.
+     */
+    public void confirm(LocalDateTime now) {
+        this.status = StockReservationStatus.CONFIRMED;
+        this.resolvedAt = now;
+    }
+
+    /**
+     * Marks the quantity as returned to the product counter.
+     *
+     * @throws IllegalStateException if the reservation is not held.
+     */
+    public void release(LocalDateTime now) {
+        if (this.status != StockReservationStatus.HELD) {
+            throw new IllegalStateException("Only HELD reservations can be released");
+        }
+        this.status = StockReservationStatus.RELEASED;
+        this.resolvedAt = now;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public UUID getProductId() {
+        return productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public StockReservationStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getResolvedAt() {
+        return resolvedAt;
+    }
+}
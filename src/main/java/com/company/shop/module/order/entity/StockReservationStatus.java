@@ -0,0 +1,9 @@
+package com.company.shop.module.order.entity;
+
+/**
+ * Lifecycle of a {@link StockReservation}: stock is {@code HELD} from checkout until the payment
+ * succeeds ({@code CONFIRMED}) or the hold is given back ({@code RELEASED}).
+ */
+public enum StockReservationStatus {
+    HELD, CONFIRMED, RELEASED
+}
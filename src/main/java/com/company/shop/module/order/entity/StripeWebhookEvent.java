@@ -1,24 +1,58 @@
 package com.company.shop.module.order.entity;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 import com.company.shop.common.model.BaseEntity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.Table;
 
+/**
+ * Received Stripe webhook event.
+ * <p>
+ * Serves as the idempotency registry (unique {@code stripe_event_id}) and, in asynchronous
+ * ingestion mode, as the durable queue holding the raw payload until a worker processes it.
+ * </p>
+ */
 @Entity
 @Table(name = "stripe_webhook_events")
 public class StripeWebhookEvent extends BaseEntity {
 
+    private static final int MAX_ERROR_LENGTH = 500;
+
     @Column(name = "stripe_event_id", nullable = false, unique = true, length = 255)
     private String stripeEventId;
 
     @Column(name = "event_type", nullable = false, length = 255)
     private String eventType;
 
-    @Column(name = "processed_at", nullable = false)
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StripeWebhookEventStatus status;
+
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "order_id")
+    private UUID orderId;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(name = "processed_at")
     private LocalDateTime processedAt;
 
     protected StripeWebhookEvent() {
@@ -27,6 +61,8 @@ public class StripeWebhookEvent extends BaseEntity {
     public StripeWebhookEvent(String stripeEventId, String eventType, LocalDateTime processedAt) {
         this.stripeEventId = stripeEventId;
         this.eventType = eventType;
+        this.status = StripeWebhookEventStatus.PROCESSED;
+        this.receivedAt = processedAt;
         this.processedAt = processedAt;
     }
 
@@ -38,7 +74,66 @@ public class StripeWebhookEvent extends BaseEntity {
         return eventType;
     }
 
+    public StripeWebhookEventStatus getStatus() {
+        return status;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public LocalDateTime getReceivedAt() {
+        return receivedAt;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
     public LocalDateTime getProcessedAt() {
         return processedAt;
     }
+
+    /**
+     * Records a processing attempt and hides the event from other workers until the lease expires.
+     */
+    public void claim(LocalDateTime leaseUntil) {
+        this.attempts++;
+        this.nextAttemptAt = leaseUntil;
+    }
+
+    public void markProcessed(LocalDateTime processedAt) {
+        this.status = StripeWebhookEventStatus.PROCESSED;
+        this.processedAt = processedAt;
+        this.lastError = null;
+    }
+
+    public void scheduleRetry(LocalDateTime nextAttemptAt, String error) {
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = truncate(error);
+    }
+
+    public void markFailed(String error) {
+        this.status = StripeWebhookEventStatus.FAILED;
+        this.lastError = truncate(error);
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
 }
@@ -0,0 +1,15 @@
+package com.company.shop.module.order.exception;
+
+/**
+ * Infrastructure failure reported by a payment gateway (network error, timeout, provider error).
+ * <p>
+ * Deliberately not a {@link com.company.shop.common.exception.BusinessException}: callers log it
+ * with its cause and translate it to {@link PaymentProcessingException} for the API.
+ * </p>
+ */
+public class PaymentGatewayException extends RuntimeException {
+
+    public PaymentGatewayException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
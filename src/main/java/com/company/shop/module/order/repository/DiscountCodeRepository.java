@@ -8,24 +8,23 @@
 
 package com.company.shop.module.order.repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
-import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.company.shop.module.order.entity.DiscountCode;
 
-import jakarta.persistence.LockModeType;
-import jakarta.persistence.QueryHint;
-
 /**
  * Repository interface for {@link DiscountCode} entity access.
  * <p>
- * Provides standard CRUD operations and specialized methods for secure 
- * discount code retrieval with concurrency control.
- * Soft-deleted rows are filtered on entity level via
+ * Lookups take no row lock. Redemption counts are changed only through single conditional
+ * {@code UPDATE} statements, so concurrent checkouts using the same code never read-modify-write
+ * the entity. Soft-deleted rows are filtered on entity level via
  * {@code DiscountCode @SQLRestriction("deleted = false")}.
  * </p>
  *
@@ -35,17 +34,36 @@ public interface DiscountCodeRepository extends JpaRepository<DiscountCode, UUID
 
     /**
      * Retrieves a discount code by its string representation, ignoring case.
-     * <p>
-     * <strong>Concurrency Control:</strong> This method applies a {@code PESSIMISTIC_WRITE} 
-     * lock to prevent race conditions during the "check-then-update" cycle of the 
-     * code's usage limit.
-     * </p>
      *
      * @param code the unique discount code string (case-insensitive).
      * @return an {@link Optional} containing the discount code if found.
-     * @see LockModeType#PESSIMISTIC_WRITE
      */
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @QueryHints({ @QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000") })
     Optional<DiscountCode> findByCodeIgnoreCase(String code);
+
+    /**
+     * Atomically redeems one use of a limited discount code.
+     * <p>
+     * The row lock taken by the update is held until the surrounding transaction ends, so callers
+     * should issue it as late as possible in their transaction.
+     * </p>
+     *
+     * @return {@code 1} when the code was redeemed, {@code 0} when it is exhausted, inactive,
+     *         deleted or outside its validity window.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE discount_codes SET used_count = used_count + 1
+            WHERE id = :id
+              AND usage_limit IS NOT NULL AND used_count < usage_limit
+              AND active = true AND deleted = false
+              AND valid_from <= :now AND valid_to >= :now
+            """, nativeQuery = true)
+    int redeemIfAvailable(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    /**
+     * Adds a batch of redemptions to the usage counter of an unlimited code.
+     */
+    @Modifying
+    @Query(value = "UPDATE discount_codes SET used_count = used_count + :uses WHERE id = :id", nativeQuery = true)
+    int addUsage(@Param("id") UUID id, @Param("uses") long uses);
 }
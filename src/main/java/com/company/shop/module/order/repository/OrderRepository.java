@@ -4,6 +4,7 @@ import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
@@ -17,6 +18,17 @@ import jakarta.persistence.LockModeType;
 public interface OrderRepository extends JpaRepository<Order, UUID> {
 	Page<Order> findByUser(User user, Pageable pageable);
 
+	/**
+	 * Reads one page of a user's orders without counting them; one extra row tells whether more exist.
+	 */
+	Slice<Order> findSliceByUser(User user, Pageable pageable);
+
+	/**
+	 * Reads one page of all orders without counting them; one extra row tells whether more exist.
+	 */
+	@Query("SELECT o FROM Order o")
+	Slice<Order> findSliceBy(Pageable pageable);
+
 	@Lock(LockModeType.PESSIMISTIC_WRITE)
 	@Query("SELECT o FROM Order o WHERE o.id = :id")
 	java.util.Optional<Order> findByIdForUpdate(@Param("id") UUID id);
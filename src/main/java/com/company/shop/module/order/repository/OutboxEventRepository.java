@@ -0,0 +1,61 @@
+package com.company.shop.module.order.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.company.shop.module.order.entity.OutboxEvent;
+
+/**
+ * Repository for {@link OutboxEvent} records written by business transactions and drained by the dispatcher.
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+	/**
+	 * Locks the next batch of due pending events, skipping rows already locked by another dispatcher.
+	 * <p>
+	 * {@code FOR UPDATE SKIP LOCKED} lets several application nodes poll the same table concurrently
+	 * without blocking on, or double-claiming, each other's rows. The lock only lives for the claiming
+	 * transaction; callers are expected to lease the returned rows before committing.
+	 * </p>
+	 *
+	 * @param now   current time; rows with {@code next_attempt_at} after it are not yet due
+	 * @param limit maximum number of rows to claim
+	 * @return locked pending events ordered by due time
+	 */
+	@Query(value = """
+			SELECT * FROM outbox_events
+			WHERE status = 'PENDING' AND next_attempt_at <= :now
+			ORDER BY next_attempt_at
+			LIMIT :limit
+			FOR UPDATE SKIP LOCKED
+			""", nativeQuery = true)
+	List<OutboxEvent> lockNextDueBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+	/**
+	 * Deletes up to {@code limit} processed events that finished before {@code cutoff}.
+	 * <p>
+	 * Bounded so a retention run after a long pause never holds one huge delete transaction;
+	 * callers repeat until fewer than {@code limit} rows are removed. {@code FAILED} rows are kept
+	 * for manual inspection.
+	 * </p>
+	 *
+	 * @param cutoff processed rows older than this are removed
+	 * @param limit  maximum number of rows to delete
+	 * @return number of deleted rows
+	 */
+	@Modifying
+	@Query(value = """
+			DELETE FROM outbox_events
+			WHERE id IN (
+			    SELECT id FROM outbox_events
+			    WHERE status = 'PROCESSED' AND processed_at < :cutoff
+			    LIMIT :limit)
+			""", nativeQuery = true)
+	int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
@@ -0,0 +1,41 @@
+package com.company.shop.module.order.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.company.shop.module.order.entity.StockReservation;
+import com.company.shop.module.order.entity.StockReservationStatus;
+
+/**
+ * Repository for the {@link StockReservation} ledger.
+ * <p>
+ * Reservations of one order are always changed under that order's row lock
+ * ({@link OrderRepository#findByIdForUpdate(UUID)}), so no row locks are taken here.
+ * </p>
+ */
+public interface StockReservationRepository extends JpaRepository<StockReservation, UUID> {
+
+	/**
+	 * Returns the order's reservations in the given state, ordered by product so that counter
+	 * updates derived from them touch product rows in a stable sequence.
+	 */
+	List<StockReservation> findByOrderIdAndStatusOrderByProductId(UUID orderId, StockReservationStatus status);
+
+	/**
+	 * Returns orders holding at least one reservation whose hold expired before {@code now}.
+	 *
+	 * @param now   current time
+	 * @param limit maximum number of orders to return
+	 */
+	@Query(value = """
+			SELECT DISTINCT order_id FROM stock_reservations
+			WHERE status = 'HELD' AND expires_at <= :now
+			LIMIT :limit
+			""", nativeQuery = true)
+	List<UUID> findOrderIdsWithExpiredHolds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
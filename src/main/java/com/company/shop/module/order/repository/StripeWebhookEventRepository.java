@@ -1,6 +1,7 @@
 package com.company.shop.module.order.repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.Modifying;
@@ -14,8 +15,8 @@ public interface StripeWebhookEventRepository extends JpaRepository<StripeWebhoo
 
     @Modifying
     @Query(value = """
-            INSERT INTO stripe_webhook_events (id, stripe_event_id, event_type, processed_at)
-            VALUES (:id, :stripeEventId, :eventType, :processedAt)
+            INSERT INTO stripe_webhook_events (id, stripe_event_id, event_type, status, received_at, processed_at)
+            VALUES (:id, :stripeEventId, :eventType, 'PROCESSED', :processedAt, :processedAt)
             ON CONFLICT (stripe_event_id) DO NOTHING
             """, nativeQuery = true)
     int insertIgnoreDuplicate(
@@ -23,4 +24,53 @@ public interface StripeWebhookEventRepository extends JpaRepository<StripeWebhoo
             @Param("stripeEventId") String stripeEventId,
             @Param("eventType") String eventType,
             @Param("processedAt") LocalDateTime processedAt);
+
+    /**
+     * Stores a verified webhook payload as a pending queue entry, ignoring Stripe redeliveries.
+     * <p>
+     * {@code orderId} is passed as text and cast in SQL so that a missing order reference binds
+     * as a typed {@code NULL}.
+     * </p>
+     *
+     * @return {@code 1} when the event was queued, {@code 0} when it is a duplicate
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO stripe_webhook_events
+                (id, stripe_event_id, event_type, status, payload, order_id, attempts, received_at, next_attempt_at)
+            VALUES
+                (:id, :stripeEventId, :eventType, 'PENDING', :payload, CAST(:orderId AS UUID), 0, :receivedAt, :receivedAt)
+            ON CONFLICT (stripe_event_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertPendingIgnoreDuplicate(
+            @Param("id") UUID id,
+            @Param("stripeEventId") String stripeEventId,
+            @Param("eventType") String eventType,
+            @Param("payload") String payload,
+            @Param("orderId") String orderId,
+            @Param("receivedAt") LocalDateTime receivedAt);
+
+    /**
+     * Locks the next batch of due pending events while preserving per-order ordering.
+     * <p>
+     * An event is eligible only if no earlier event for the same order is still pending, including
+     * one currently leased by another worker. A batch therefore never contains two events for the
+     * same order, so it can be processed in parallel, and a later event for an order is never
+     * applied before an earlier one. {@code SKIP LOCKED} lets several nodes poll concurrently.
+     * </p>
+     */
+    @Query(value = """
+            SELECT e.* FROM stripe_webhook_events e
+            WHERE e.status = 'PENDING'
+              AND e.next_attempt_at <= :now
+              AND NOT EXISTS (
+                  SELECT 1 FROM stripe_webhook_events earlier
+                  WHERE earlier.status = 'PENDING'
+                    AND earlier.order_id = e.order_id
+                    AND (earlier.received_at, earlier.id) < (e.received_at, e.id))
+            ORDER BY e.received_at, e.id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<StripeWebhookEvent> lockNextDueBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
 }
@@ -0,0 +1,114 @@
+package com.company.shop.module.order.service;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import com.company.shop.module.order.entity.DiscountCodeTerms;
+
+/**
+ * Read-through, in-process cache of discount code terms, keyed by the case-insensitive code.
+ * <p>
+ * Entries are immutable {@link DiscountCodeTerms}, bounded by {@code shop.discount-cache.max-size}
+ * (oldest entry evicted first) and expired after {@code shop.discount-cache.ttl-ms}. Codes are
+ * maintained outside the application, so the TTL bounds how long a deactivated code can still be
+ * accepted; limited codes are re-checked by the database at redemption regardless. Unknown codes
+ * are not cached.
+ * </p>
+ */
+@Component
+public class DiscountCodeCache {
+
+    private static final String METRIC = "shop.discount_cache.total";
+    private static final String RESULT_TAG = "result";
+
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+    private final Map<String, CachedTerms> byCode;
+
+    @Value("${shop.discount-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${shop.discount-cache.ttl-ms:30000}")
+    private long ttlMs = 30000;
+
+    @Value("${shop.discount-cache.max-size:1000}")
+    private int maxSize = 1000;
+
+    @Autowired
+    public DiscountCodeCache(MeterRegistry meterRegistry) {
+        this(meterRegistry, System::nanoTime);
+    }
+
+    DiscountCodeCache(MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        this.byCode = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedTerms> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached terms or loads, caches and returns them.
+     *
+     * @param code   the discount code as entered, case-insensitive.
+     * @param loader database lookup used on a miss; exceptions propagate and nothing is cached.
+     */
+    public Optional<DiscountCodeTerms> get(String code, Supplier<Optional<DiscountCodeTerms>> loader) {
+        String key = key(code);
+        if (enabled) {
+            synchronized (byCode) {
+                CachedTerms entry = byCode.get(key);
+                if (entry != null) {
+                    if (entry.expiresAtNanos() - nanoClock.getAsLong() > 0) {
+                        increment("hit");
+                        return Optional.of(entry.terms());
+                    }
+                    byCode.remove(key);
+                }
+            }
+        }
+
+        increment("miss");
+        Optional<DiscountCodeTerms> loaded = loader.get();
+        if (enabled && loaded.isPresent()) {
+            long expiresAt = nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(ttlMs);
+            synchronized (byCode) {
+                byCode.put(key, new CachedTerms(loaded.get(), expiresAt));
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the code, e.g. after the database rejected a redemption the cached terms allowed.
+     */
+    public void evict(String code) {
+        synchronized (byCode) {
+            byCode.remove(key(code));
+        }
+    }
+
+    private static String key(String code) {
+        return code.toLowerCase(Locale.ROOT);
+    }
+
+    private void increment(String result) {
+        meterRegistry.counter(METRIC, RESULT_TAG, result).increment();
+    }
+
+    private record CachedTerms(DiscountCodeTerms terms, long expiresAtNanos) {
+    }
+}
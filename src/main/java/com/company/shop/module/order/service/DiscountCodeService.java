@@ -0,0 +1,142 @@
+package com.company.shop.module.order.service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import com.company.shop.module.order.entity.DiscountCodeTerms;
+import com.company.shop.module.order.exception.DiscountCodeInvalidException;
+import com.company.shop.module.order.repository.DiscountCodeRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Discount code validation and redemption for checkout, without locking the code's row for the
+ * whole checkout.
+ * <p>
+ * Terms are read through {@link DiscountCodeCache}. A limited code is redeemed with one
+ * conditional {@code UPDATE ... WHERE used_count < usage_limit}, so it can never be oversold and
+ * its row is locked only from that statement to commit. An unlimited code has no limit to
+ * enforce: its redemptions are counted in memory after commit and added to
+ * {@code used_count} in batches by {@link DiscountCodeUsageFlushJob}, so checkouts never write its
+ * row. Redemptions are not given back when an order is later cancelled.
+ * </p>
+ */
+@Service
+public class DiscountCodeService {
+
+    private static final Logger log = LoggerFactory.getLogger(DiscountCodeService.class);
+    private static final String DISCOUNT_METRIC = "shop.discount_code.total";
+    private static final String RESULT_TAG = "result";
+
+    private final DiscountCodeRepository discountCodeRepo;
+    private final DiscountCodeCache discountCodeCache;
+    private final TransactionOperations transactionOperations;
+    private final MeterRegistry meterRegistry;
+    private final Map<UUID, LongAdder> pendingUsage = new ConcurrentHashMap<>();
+
+    public DiscountCodeService(DiscountCodeRepository discountCodeRepo, DiscountCodeCache discountCodeCache,
+            TransactionOperations transactionOperations, MeterRegistry meterRegistry) {
+        this.discountCodeRepo = discountCodeRepo;
+        this.discountCodeCache = discountCodeCache;
+        this.transactionOperations = transactionOperations;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns the terms of a code that is active and inside its validity window.
+     *
+     * @throws DiscountCodeInvalidException if the code does not exist, is inactive or expired.
+     */
+    public DiscountCodeTerms resolve(String code) {
+        DiscountCodeTerms terms = discountCodeCache
+                .get(code, () -> discountCodeRepo.findByCodeIgnoreCase(code).map(DiscountCodeTerms::of))
+                .orElseThrow(() -> new DiscountCodeInvalidException(code));
+        if (!terms.isValidAt(LocalDateTime.now())) {
+            throw new DiscountCodeInvalidException(code);
+        }
+        return terms;
+    }
+
+    /**
+     * Records one use of the code for the caller's transaction.
+     * <p>
+     * For a limited code this writes the code's row, so it should be the last statement of the
+     * checkout transaction.
+     * </p>
+     *
+     * @throws DiscountCodeInvalidException if a limited code is exhausted or was changed since
+     *                                      its terms were cached.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void redeem(DiscountCodeTerms terms) {
+        if (terms.isUnlimited()) {
+            countAfterCommit(terms.id());
+        } else if (discountCodeRepo.redeemIfAvailable(terms.id(), LocalDateTime.now()) == 0) {
+            discountCodeCache.evict(terms.code());
+            incrementMetric("rejected");
+            throw new DiscountCodeInvalidException(terms.code());
+        }
+        incrementMetric("redeemed");
+    }
+
+    /**
+     * Adds the redemptions of unlimited codes counted since the last flush to {@code used_count},
+     * one short transaction per code. Counts that fail to flush are kept for the next attempt.
+     *
+     * @return the number of redemptions written.
+     */
+    @PreDestroy
+    public long flushPendingUsage() {
+        long flushed = 0;
+        for (Map.Entry<UUID, LongAdder> entry : pendingUsage.entrySet()) {
+            long uses = entry.getValue().sumThenReset();
+            if (uses == 0) {
+                continue;
+            }
+            try {
+                transactionOperations.executeWithoutResult(
+                        status -> discountCodeRepo.addUsage(entry.getKey(), uses));
+                flushed += uses;
+            } catch (Exception ex) {
+                entry.getValue().add(uses);
+                log.warn("Discount code usage flush failed discountCodeId={} uses={} reason={}", entry.getKey(),
+                        uses, ex.getMessage());
+            }
+        }
+        return flushed;
+    }
+
+    private void countAfterCommit(UUID discountCodeId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            count(discountCodeId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                count(discountCodeId);
+            }
+        });
+    }
+
+    private void count(UUID discountCodeId) {
+        pendingUsage.computeIfAbsent(discountCodeId, id -> new LongAdder()).increment();
+    }
+
+    private void incrementMetric(String result) {
+        meterRegistry.counter(DISCOUNT_METRIC, RESULT_TAG, result).increment();
+    }
+}
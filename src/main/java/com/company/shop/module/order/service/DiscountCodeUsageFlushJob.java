@@ -0,0 +1,29 @@
+package com.company.shop.module.order.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Background job writing the in-memory redemption counts of unlimited discount codes to the
+ * database.
+ * <p>
+ * Counts not yet flushed are also written when the application shuts down; a crash loses at most
+ * one interval of usage statistics, never a redemption limit.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(prefix = "shop.discount-usage-flush", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DiscountCodeUsageFlushJob {
+
+    private final DiscountCodeService discountCodeService;
+
+    public DiscountCodeUsageFlushJob(DiscountCodeService discountCodeService) {
+        this.discountCodeService = discountCodeService;
+    }
+
+    @Scheduled(fixedDelayString = "${shop.discount-usage-flush.poll-interval-ms:10000}")
+    public void flushUsage() {
+        discountCodeService.flushPendingUsage();
+    }
+}
@@ -12,7 +12,9 @@ import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import com.company.shop.common.dto.PageResponseDTO;
 import com.company.shop.module.order.dto.OrderCheckoutRequestDTO;
 import com.company.shop.module.order.dto.OrderDetailedResponseDTO;
 import com.company.shop.module.order.dto.OrderResponseDTO;
@@ -34,6 +36,9 @@ public interface OrderService {
      * <p>
      * This operation involves inventory deduction, price locking, and optional
      * discount application. Upon success, the source cart is typically cleared.
+     * The order is committed before the payment provider is contacted; if payment
+     * initialization fails, the returned summary carries no payment info and the
+     * client is expected to call {@link #retryPaymentIntent(UUID)}.
      * </p>
      *
      * @param request DTO containing checkout parameters (e.g., discount codes).
@@ -42,6 +47,19 @@ public interface OrderService {
      */
     OrderResponseDTO placeOrderFromCart(OrderCheckoutRequestDTO request);
 
+    /**
+     * Initializes (or returns the already initialized) payment for an order of the current user.
+     * <p>
+     * Recovery path for checkouts whose payment initialization failed after the order was committed.
+     * </p>
+     *
+     * @param orderId the unique identifier of the order.
+     * @return the order summary including payment client information.
+     * @throws com.company.shop.module.order.exception.OrderNotFoundException if the order does not exist.
+     * @throws com.company.shop.module.order.exception.OrderAccessDeniedException if the order belongs to another user.
+     */
+    OrderResponseDTO retryPaymentIntent(UUID orderId);
+
     /**
      * Retrieves full details of a specific order.
      *
@@ -63,6 +81,25 @@ public interface OrderService {
      */
     Page<OrderResponseDTO> findAll(Pageable pageable);
 
+    /**
+     * Variant of {@link #findAll(Pageable)} that skips the count query and only tells whether a
+     * next page exists.
+     *
+     * @param pageable pagination and sorting configuration.
+     * @return a slice of order summaries.
+     */
+    Slice<OrderResponseDTO> findAllSlice(Pageable pageable);
+
+    /**
+     * Variant of {@link #findAll(Pageable)} whose total is the planner's row estimate of the
+     * orders table instead of an exact {@code count(*)}; falls back to counting when the table
+     * has no statistics yet.
+     *
+     * @param pageable pagination and sorting configuration.
+     * @return a page of order summaries with an approximate total.
+     */
+    PageResponseDTO<OrderResponseDTO> findAllWithEstimatedTotal(Pageable pageable);
+
     /**
      * Retrieves a paginated history of orders belonging to the currently authenticated user.
      *
@@ -70,4 +107,12 @@ public interface OrderService {
      * @return a page of the user's past orders.
      */
     Page<OrderResponseDTO> findMyOrders(Pageable pageable);
+
+    /**
+     * Variant of {@link #findMyOrders(Pageable)} that skips the count query.
+     *
+     * @param pageable pagination and sorting configuration.
+     * @return a slice of the user's past orders.
+     */
+    Slice<OrderResponseDTO> findMyOrdersSlice(Pageable pageable);
 }
\ No newline at end of file
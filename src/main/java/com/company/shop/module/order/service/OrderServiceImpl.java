@@ -8,15 +8,25 @@
 
 package com.company.shop.module.order.service;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import io.micrometer.core.instrument.MeterRegistry;
 
+import com.company.shop.common.dto.PageResponseDTO;
+import com.company.shop.common.persistence.TableRowEstimator;
 import com.company.shop.module.cart.entity.Cart;
 import com.company.shop.module.cart.entity.CartItem;
 import com.company.shop.module.cart.service.CartService;
@@ -24,17 +34,16 @@ import com.company.shop.module.order.dto.OrderCheckoutRequestDTO;
 import com.company.shop.module.order.dto.OrderDetailedResponseDTO;
 import com.company.shop.module.order.dto.OrderResponseDTO;
 import com.company.shop.module.order.dto.PaymentIntentResponseDTO;
-import com.company.shop.module.order.entity.DiscountCode;
+import com.company.shop.module.order.entity.DiscountCodeTerms;
 import com.company.shop.module.order.entity.Order;
 import com.company.shop.module.order.entity.OrderItem;
+import com.company.shop.module.order.entity.OutboxEventType;
 import com.company.shop.module.order.entity.Payment;
-import com.company.shop.module.order.exception.DiscountCodeInvalidException;
 import com.company.shop.module.order.exception.EmptyCartCheckoutException;
 import com.company.shop.module.order.exception.OrderAccessDeniedException;
 import com.company.shop.module.order.exception.OrderInsufficientStockException;
 import com.company.shop.module.order.exception.OrderNotFoundException;
 import com.company.shop.module.order.mapper.OrderMapper;
-import com.company.shop.module.order.repository.DiscountCodeRepository;
 import com.company.shop.module.order.repository.OrderRepository;
 import com.company.shop.module.order.repository.PaymentRepository;
 import com.company.shop.module.product.entity.Product;
@@ -45,6 +54,7 @@ import com.company.shop.module.user.service.UserService;
 import com.company.shop.security.SecurityConstants;
 
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 @Service
 public class OrderServiceImpl implements OrderService {
@@ -52,60 +62,123 @@ public class OrderServiceImpl implements OrderService {
     private static final Logger log = LoggerFactory.getLogger(OrderServiceImpl.class);
     private static final String CHECKOUT_METRIC = "shop.checkout.total";
     private static final String RESULT_TAG = "result";
+    private static final String ORDERS_TABLE = "orders";
 
     private final OrderRepository orderRepo;
     private final ProductRepository productRepo;
     private final PaymentRepository paymentRepo;
-    private final DiscountCodeRepository discountCodeRepo;
+    private final DiscountCodeService discountCodeService;
     private final UserService userService;
     private final CartService cartService;
     private final OrderMapper mapper;
     private final PaymentService paymentService;
     private final MeterRegistry meterRegistry;
+    private final TransactionOperations transactionOperations;
+    private final OutboxEventPublisher outboxEventPublisher;
+    private final StockReservationService stockReservationService;
+    private final TableRowEstimator rowEstimator;
+
+    @Value("${shop.checkout.inline-payment-intent:true}")
+    private boolean inlinePaymentIntent = true;
+
+    @Value("${shop.checkout.payment-intent-outbox-delay-ms:30000}")
+    private long paymentIntentOutboxDelayMs = 30000;
 
     public OrderServiceImpl(OrderRepository orderRepo,
             ProductRepository productRepo,
             PaymentRepository paymentRepo,
-            DiscountCodeRepository discountCodeRepo,
+            DiscountCodeService discountCodeService,
             UserService userService,
             CartService cartService,
             OrderMapper mapper,
             PaymentService paymentService,
-            MeterRegistry meterRegistry) {
+            MeterRegistry meterRegistry,
+            TransactionOperations transactionOperations,
+            OutboxEventPublisher outboxEventPublisher,
+            StockReservationService stockReservationService,
+            TableRowEstimator rowEstimator) {
         this.orderRepo = orderRepo;
         this.productRepo = productRepo;
         this.paymentRepo = paymentRepo;
-        this.discountCodeRepo = discountCodeRepo;
+        this.discountCodeService = discountCodeService;
         this.userService = userService;
         this.cartService = cartService;
         this.mapper = mapper;
         this.paymentService = paymentService;
         this.meterRegistry = meterRegistry;
+        this.transactionOperations = transactionOperations;
+        this.outboxEventPublisher = outboxEventPublisher;
+        this.stockReservationService = stockReservationService;
+        this.rowEstimator = rowEstimator;
     }
 
+    /**
+     * Places the order in two phases so that no database lock is held across the Stripe call.
+     * <p>
+     * Phase one commits the order, its stock reservation, the pending {@link Payment}, a
+     * {@code PAYMENT_INTENT_CREATE} outbox event and the discount code redemption in a single short
+     * transaction. Phase two initializes
+     * the PaymentIntent inline afterwards (unless {@code shop.checkout.inline-payment-intent} is off);
+     * when it fails the order stays {@code NEW} and the outbox dispatcher creates the intent later,
+     * while the client can also recover immediately through {@link #retryPaymentIntent(UUID)}.
+     * </p>
+     */
     @Override
-    @Transactional
     public OrderResponseDTO placeOrderFromCart(OrderCheckoutRequestDTO request) {
         incrementCheckoutMetric("attempt");
+        Order savedOrder;
         try {
-            Order savedOrder = createPendingOrder(request);
-            log.info("Order created during checkout orderId={} userId={} status={} totalAmount={} itemsCount={}",
-                    savedOrder.getId(), savedOrder.getUser().getId(), savedOrder.getStatus(), savedOrder.getTotalAmount(),
-                    savedOrder.getItems().size());
-            PaymentIntentResponseDTO stripeInfo = paymentService.createPaymentIntent(savedOrder);
-
-            OrderResponseDTO baseDto = mapper.toDto(savedOrder);
-            incrementCheckoutMetric("success");
-            return new OrderResponseDTO(
-                    baseDto.id(),
-                    baseDto.status(),
-                    baseDto.totalAmount(),
-                    baseDto.createdAt(),
-                    stripeInfo);
+            savedOrder = transactionOperations.execute(status -> createPendingOrder(request));
         } catch (Exception ex) {
             incrementCheckoutMetric("failure");
             throw ex;
         }
+        log.info("Order created during checkout orderId={} userId={} status={} totalAmount={} itemsCount={}",
+                savedOrder.getId(), savedOrder.getUser().getId(), savedOrder.getStatus(), savedOrder.getTotalAmount(),
+                savedOrder.getItems().size());
+
+        if (!inlinePaymentIntent) {
+            incrementCheckoutMetric("success");
+            return withPaymentInfo(mapper.toDto(savedOrder), null);
+        }
+
+        PaymentIntentResponseDTO stripeInfo = null;
+        try {
+            stripeInfo = paymentService.createPaymentIntent(savedOrder);
+            incrementCheckoutMetric("success");
+        } catch (Exception ex) {
+            incrementCheckoutMetric("payment_deferred");
+            log.warn("Payment intent initialization deferred after checkout orderId={} reason={}",
+                    savedOrder.getId(), ex.getMessage());
+        }
+        return withPaymentInfo(mapper.toDto(savedOrder), stripeInfo);
+    }
+
+    @Override
+    public OrderResponseDTO retryPaymentIntent(UUID orderId) {
+        Order order = transactionOperations.execute(status -> findOwnedOrder(orderId));
+        PaymentIntentResponseDTO stripeInfo = paymentService.createPaymentIntent(order);
+        return withPaymentInfo(mapper.toDto(order), stripeInfo);
+    }
+
+    private Order findOwnedOrder(UUID orderId) {
+        Order order = orderRepo.findById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException(orderId));
+
+        User currentUser = userService.getCurrentUserEntity();
+        if (!order.getUser().getId().equals(currentUser.getId())) {
+            throw new OrderAccessDeniedException();
+        }
+        return order;
+    }
+
+    private OrderResponseDTO withPaymentInfo(OrderResponseDTO baseDto, PaymentIntentResponseDTO stripeInfo) {
+        return new OrderResponseDTO(
+                baseDto.id(),
+                baseDto.status(),
+                baseDto.totalAmount(),
+                baseDto.createdAt(),
+                stripeInfo);
     }
 
     private void incrementCheckoutMetric(String result) {
@@ -122,37 +195,59 @@ public class OrderServiceImpl implements OrderService {
         }
 
         Order order = new Order(user);
+        Map<UUID, Product> products = loadCartProducts(cart);
 
         for (CartItem cartItem : cart.getItems()) {
-            Product product = productRepo.findByIdWithLock(cartItem.getProduct().getId())
-                    .orElseThrow(() -> new ProductNotFoundException(cartItem.getProduct().getId()));
+            UUID productId = cartItem.getProduct().getId();
+            Product product = products.get(productId);
+            if (product == null) {
+                throw new ProductNotFoundException(productId);
+            }
 
+            // Fail fast on the snapshot; the authoritative check is the conditional decrement below.
             if (product.getStock() < cartItem.getQuantity()) {
                 throw new OrderInsufficientStockException(product.getId(), cartItem.getQuantity(), product.getStock());
             }
 
-            product.decreaseStock(cartItem.getQuantity());
             order.addItem(new OrderItem(product, cartItem.getQuantity(), product.getPrice()));
         }
 
+        DiscountCodeTerms discountTerms = null;
         if (request.discountCode() != null && !request.discountCode().isBlank()) {
-            String normalizedDiscountCode = request.discountCode().trim();
-            DiscountCode dc = discountCodeRepo.findByCodeIgnoreCase(normalizedDiscountCode)
-                    .orElseThrow(() -> new DiscountCodeInvalidException(normalizedDiscountCode));
-
-            if (!dc.canBeUsed()) {
-                throw new DiscountCodeInvalidException(normalizedDiscountCode);
-            }
-
-            order.applyDiscount(dc);
+            discountTerms = discountCodeService.resolve(request.discountCode().trim());
+            order.applyDiscount(discountTerms);
         }
 
         Order savedOrder = orderRepo.save(order);
+        stockReservationService.reserve(savedOrder);
         paymentRepo.save(new Payment(savedOrder, "STRIPE", savedOrder.getTotalAmount()));
+        // With inline creation the outbox event is only a safety net, so give the request a head start.
+        Duration outboxDelay = inlinePaymentIntent ? Duration.ofMillis(paymentIntentOutboxDelayMs) : Duration.ZERO;
+        outboxEventPublisher.publish(OutboxEventType.PAYMENT_INTENT_CREATE, savedOrder.getId(), outboxDelay);
+        if (discountTerms != null) {
+            // Last statement: a limited code's row stays locked only until the commit right after it.
+            discountCodeService.redeem(discountTerms);
+        }
 
         return savedOrder;
     }
 
+    /**
+     * Loads every product referenced by the cart in one statement, without row locks.
+     * <p>
+     * Prices and names are read from this snapshot; stock is taken afterwards by
+     * {@link StockReservationService#reserve(Order)} with conditional updates.
+     * </p>
+     */
+    private Map<UUID, Product> loadCartProducts(Cart cart) {
+        Set<UUID> productIds = cart.getItems().stream()
+                .map(item -> item.getProduct().getId())
+                .collect(Collectors.toSet());
+
+        return productRepo.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public OrderDetailedResponseDTO findById(UUID id) {
@@ -175,10 +270,33 @@ public class OrderServiceImpl implements OrderService {
         return orderRepo.findAll(pageable).map(mapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<OrderResponseDTO> findAllSlice(Pageable pageable) {
+        return orderRepo.findSliceBy(pageable).map(mapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponseDTO<OrderResponseDTO> findAllWithEstimatedTotal(Pageable pageable) {
+        OptionalLong estimate = rowEstimator.estimate(ORDERS_TABLE);
+        if (estimate.isEmpty()) {
+            return PageResponseDTO.from(findAll(pageable));
+        }
+        return PageResponseDTO.estimated(findAllSlice(pageable), estimate.getAsLong());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<OrderResponseDTO> findMyOrders(Pageable pageable) {
         User currentUser = userService.getCurrentUserEntity();
         return orderRepo.findByUser(currentUser, pageable).map(mapper::toDto);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<OrderResponseDTO> findMyOrdersSlice(Pageable pageable) {
+        User currentUser = userService.getCurrentUserEntity();
+        return orderRepo.findSliceByUser(currentUser, pageable).map(mapper::toDto);
+    }
 }
@@ -0,0 +1,151 @@
+package com.company.shop.module.order.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import com.company.shop.module.cart.service.CartService;
+import com.company.shop.module.order.entity.Order;
+import com.company.shop.module.order.entity.OrderStatus;
+import com.company.shop.module.order.entity.OutboxEvent;
+import com.company.shop.module.order.exception.PaymentAlreadyCompletedException;
+import com.company.shop.module.order.repository.OrderRepository;
+import com.company.shop.module.order.repository.OutboxEventRepository;
+
+/**
+ * Background worker draining the transactional outbox.
+ * <p>
+ * Each poll claims a batch of due events with {@code FOR UPDATE SKIP LOCKED} and leases them
+ * in one short transaction, then executes the side effects with no transaction open. Failed
+ * events are retried with exponential backoff until {@code shop.outbox.max-attempts} is reached,
+ * after which they are parked as {@code FAILED} for manual inspection.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(prefix = "shop.outbox.dispatcher", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final String DISPATCH_METRIC = "shop.outbox.dispatch.total";
+    private static final String EVENT_TYPE_TAG = "event_type";
+    private static final String RESULT_TAG = "result";
+    private static final int MAX_BACKOFF_EXPONENT = 20;
+
+    @Value("${shop.outbox.dispatcher.batch-size:50}")
+    private int batchSize = 50;
+
+    @Value("${shop.outbox.dispatcher.lease-ms:60000}")
+    private long leaseMs = 60000;
+
+    @Value("${shop.outbox.max-attempts:10}")
+    private int maxAttempts = 10;
+
+    @Value("${shop.outbox.retry-backoff-ms:2000}")
+    private long retryBackoffMs = 2000;
+
+    @Value("${shop.outbox.max-backoff-ms:300000}")
+    private long maxBackoffMs = 300000;
+
+    private final OutboxEventRepository outboxEventRepo;
+    private final OrderRepository orderRepo;
+    private final PaymentService paymentService;
+    private final CartService cartService;
+    private final TransactionOperations transactionOperations;
+    private final MeterRegistry meterRegistry;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepo, OrderRepository orderRepo,
+            PaymentService paymentService, CartService cartService, TransactionOperations transactionOperations,
+            MeterRegistry meterRegistry) {
+        this.outboxEventRepo = outboxEventRepo;
+        this.orderRepo = orderRepo;
+        this.paymentService = paymentService;
+        this.cartService = cartService;
+        this.transactionOperations = transactionOperations;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(fixedDelayString = "${shop.outbox.dispatcher.poll-interval-ms:1000}")
+    public void dispatchPendingEvents() {
+        List<OutboxEvent> claimed;
+        do {
+            claimed = transactionOperations.execute(status -> claimDueBatch());
+            claimed.forEach(this::dispatch);
+        } while (claimed.size() >= batchSize);
+    }
+
+    private List<OutboxEvent> claimDueBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepo.lockNextDueBatch(now, batchSize);
+        LocalDateTime leaseUntil = now.plus(Duration.ofMillis(leaseMs));
+        events.forEach(event -> event.claim(leaseUntil));
+        return events;
+    }
+
+    void dispatch(OutboxEvent event) {
+        try {
+            switch (event.getEventType()) {
+                case PAYMENT_INTENT_CREATE -> createPaymentIntent(event.getAggregateId());
+                case CART_CLEAR -> cartService.clearCartForUser(event.getAggregateId());
+            }
+            transactionOperations.executeWithoutResult(status -> outboxEventRepo.findById(event.getId())
+                    .ifPresent(stored -> stored.markProcessed(LocalDateTime.now())));
+            incrementDispatchMetric(event, "processed");
+        } catch (Exception ex) {
+            String error = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+            boolean exhausted = event.getAttempts() >= maxAttempts;
+            LocalDateTime nextAttemptAt = LocalDateTime.now().plus(Duration.ofMillis(backoffMs(event.getAttempts())));
+            transactionOperations.executeWithoutResult(status -> outboxEventRepo.findById(event.getId())
+                    .ifPresent(stored -> {
+                        if (exhausted) {
+                            stored.markFailed(error);
+                        } else {
+                            stored.scheduleRetry(nextAttemptAt, error);
+                        }
+                    }));
+            if (exhausted) {
+                log.error("Outbox event exhausted retries outboxEventId={} eventType={} aggregateId={} attempts={}",
+                        event.getId(), event.getEventType(), event.getAggregateId(), event.getAttempts(), ex);
+                incrementDispatchMetric(event, "failed");
+            } else {
+                log.warn("Outbox event dispatch failed, retry scheduled outboxEventId={} eventType={} aggregateId={} attempts={} nextAttemptAt={} reason={}",
+                        event.getId(), event.getEventType(), event.getAggregateId(), event.getAttempts(), nextAttemptAt,
+                        error);
+                incrementDispatchMetric(event, "retried");
+            }
+        }
+    }
+
+    private void createPaymentIntent(UUID orderId) {
+        Optional<Order> order = transactionOperations.execute(status -> orderRepo.findById(orderId));
+        if (order.isEmpty() || order.get().getStatus() != OrderStatus.NEW) {
+            log.info("Skipping payment intent outbox event for missing or non-payable orderId={}", orderId);
+            return;
+        }
+        try {
+            paymentService.createPaymentIntent(order.get());
+        } catch (PaymentAlreadyCompletedException ex) {
+            log.info("Skipping payment intent outbox event for already paid orderId={}", orderId);
+        }
+    }
+
+    long backoffMs(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), MAX_BACKOFF_EXPONENT);
+        return Math.min(retryBackoffMs << exponent, maxBackoffMs);
+    }
+
+    private void incrementDispatchMetric(OutboxEvent event, String result) {
+        meterRegistry.counter(DISPATCH_METRIC, EVENT_TYPE_TAG, event.getEventType().name(), RESULT_TAG, result)
+                .increment();
+    }
+}
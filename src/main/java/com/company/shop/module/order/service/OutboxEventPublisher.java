@@ -0,0 +1,43 @@
+package com.company.shop.module.order.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.company.shop.module.order.entity.OutboxEvent;
+import com.company.shop.module.order.entity.OutboxEventType;
+import com.company.shop.module.order.repository.OutboxEventRepository;
+
+/**
+ * Records deferred side effects in the transactional outbox.
+ * <p>
+ * Publishing requires an active transaction: the outbox row must commit or roll back together
+ * with the business change that triggered it, which is the whole point of the pattern.
+ * </p>
+ */
+@Service
+public class OutboxEventPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    public OutboxEventPublisher(OutboxEventRepository outboxEventRepository) {
+        this.outboxEventRepository = outboxEventRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxEventType eventType, UUID aggregateId) {
+        publish(eventType, aggregateId, Duration.ZERO);
+    }
+
+    /**
+     * Records an event that the dispatcher may pick up only after the given delay.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxEventType eventType, UUID aggregateId, Duration delay) {
+        outboxEventRepository.save(new OutboxEvent(eventType, aggregateId, LocalDateTime.now().plus(delay)));
+    }
+}
@@ -0,0 +1,62 @@
+package com.company.shop.module.order.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.company.shop.module.order.repository.OutboxEventRepository;
+
+/**
+ * Background job purging processed outbox events older than {@code shop.outbox.retention.retention-ms}.
+ * <p>
+ * Rows are deleted in batches of {@code shop.outbox.retention.batch-size}, each in its own short
+ * transaction, so the table and its indexes stay proportional to recent traffic without long
+ * locks. {@code FAILED} rows are never purged.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(prefix = "shop.outbox.retention", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRetentionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRetentionJob.class);
+
+    @Value("${shop.outbox.retention.retention-ms:604800000}")
+    private long retentionMs = 604800000L;
+
+    @Value("${shop.outbox.retention.batch-size:1000}")
+    private int batchSize = 1000;
+
+    private final OutboxEventRepository outboxEventRepo;
+    private final TransactionOperations transactionOperations;
+
+    public OutboxRetentionJob(OutboxEventRepository outboxEventRepo, TransactionOperations transactionOperations) {
+        this.outboxEventRepo = outboxEventRepo;
+        this.transactionOperations = transactionOperations;
+    }
+
+    @Scheduled(fixedDelayString = "${shop.outbox.retention.poll-interval-ms:3600000}")
+    public void purgeProcessedEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(retentionMs));
+        long purged = 0;
+        int deleted;
+        try {
+            do {
+                deleted = transactionOperations.execute(status -> outboxEventRepo.deleteProcessedBefore(cutoff, batchSize));
+                purged += deleted;
+            } while (deleted >= batchSize);
+        } catch (Exception ex) {
+            log.warn("Outbox retention run failed purged={} reason={}", purged, ex.getMessage());
+            return;
+        }
+        if (purged > 0) {
+            log.info("Purged processed outbox events purged={} cutoff={}", purged, cutoff);
+        }
+    }
+}
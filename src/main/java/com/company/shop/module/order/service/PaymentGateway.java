@@ -0,0 +1,30 @@
+package com.company.shop.module.order.service;
+
+import java.util.UUID;
+
+import com.company.shop.module.order.exception.PaymentGatewayException;
+
+/**
+ * Outbound port to the payment provider used by {@link PaymentServiceImpl}.
+ * <p>
+ * Implementations must honour the idempotency key: repeated calls with the same key return the
+ * intent created by the first call instead of creating another one.
+ * </p>
+ */
+public interface PaymentGateway {
+
+    /**
+     * Creates a payment intent for the order.
+     *
+     * @param amountMinorUnits amount in the currency's minor units (grosze for PLN)
+     * @throws PaymentGatewayException when the provider cannot be reached or rejects the request
+     */
+    CreatedPaymentIntent createPaymentIntent(UUID orderId, long amountMinorUnits, String currency,
+            String idempotencyKey);
+
+    /**
+     * Provider-side identifiers of a created payment intent.
+     */
+    record CreatedPaymentIntent(String providerPaymentId, String clientSecret) {
+    }
+}
@@ -6,4 +6,5 @@ import com.company.shop.module.order.dto.PaymentIntentResponseDTO;
 public interface PaymentService {
     PaymentIntentResponseDTO createPaymentIntent(Order order);
     void handleWebhook(String payload, String sigHeader);
+    void processQueuedWebhook(String payload);
 }
\ No newline at end of file
@@ -16,15 +16,18 @@ import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 import io.micrometer.core.instrument.MeterRegistry;
 
 import com.company.shop.common.exception.BusinessException;
-import com.company.shop.module.cart.service.CartService;
 import com.company.shop.module.order.dto.PaymentIntentResponseDTO;
 import com.company.shop.module.order.entity.Order;
 import com.company.shop.module.order.entity.OrderStatus;
+import com.company.shop.module.order.entity.OutboxEventType;
 import com.company.shop.module.order.entity.Payment;
 import com.company.shop.module.order.entity.PaymentStatus;
 import com.company.shop.module.order.exception.OrderNotFoundException;
@@ -36,11 +39,11 @@ import com.company.shop.module.order.exception.WebhookProcessingException;
 import com.company.shop.module.order.exception.WebhookSignatureInvalidException;
 import com.company.shop.module.order.repository.OrderRepository;
 import com.company.shop.module.order.repository.PaymentRepository;
-import com.stripe.Stripe;
+import com.company.shop.module.order.service.PaymentGateway.CreatedPaymentIntent;
+import com.stripe.model.Event;
 import com.stripe.model.PaymentIntent;
-import com.stripe.net.RequestOptions;
+import com.stripe.net.ApiResource;
 import com.stripe.net.Webhook;
-import com.stripe.param.PaymentIntentCreateParams;
 
 import jakarta.annotation.PostConstruct;
 
@@ -54,39 +57,44 @@ public class PaymentServiceImpl implements PaymentService {
     private static final String RESULT_RECEIVED = "received";
     private static final String RESULT_PROCESSED = "processed";
     private static final String RESULT_DUPLICATE = "duplicate";
+    private static final String RESULT_QUEUED = "queued";
     private static final String RESULT_IGNORED = "ignored";
     private static final String RESULT_FAILED = "failed";
 
-    @Value("${stripe.api-key}")
-    private String secretKey;
-
     @Value("${stripe.webhook-secret}")
     private String webhookSecret;
 
     @Value("${stripe.public-key}")
     private String publicKey;
 
+    @Value("${stripe.webhook.async-processing:false}")
+    private boolean asyncWebhookProcessing;
+
+    private final PaymentGateway paymentGateway;
     private final OrderRepository orderRepo;
     private final PaymentRepository paymentRepo;
-    private final CartService cartService;
+    private final OutboxEventPublisher outboxEventPublisher;
     private final StripeWebhookEventRegistrar stripeWebhookEventRegistrar;
+    private final StockReservationService stockReservationService;
     private final MeterRegistry meterRegistry;
+    private final TransactionOperations transactionOperations;
 
-    public PaymentServiceImpl(OrderRepository orderRepo, PaymentRepository paymentRepo, CartService cartService,
-            StripeWebhookEventRegistrar stripeWebhookEventRegistrar, MeterRegistry meterRegistry) {
+    public PaymentServiceImpl(PaymentGateway paymentGateway, OrderRepository orderRepo, PaymentRepository paymentRepo,
+            OutboxEventPublisher outboxEventPublisher, StripeWebhookEventRegistrar stripeWebhookEventRegistrar,
+            StockReservationService stockReservationService, MeterRegistry meterRegistry,
+            TransactionOperations transactionOperations) {
+        this.paymentGateway = paymentGateway;
         this.orderRepo = orderRepo;
         this.paymentRepo = paymentRepo;
-        this.cartService = cartService;
+        this.outboxEventPublisher = outboxEventPublisher;
         this.stripeWebhookEventRegistrar = stripeWebhookEventRegistrar;
+        this.stockReservationService = stockReservationService;
         this.meterRegistry = meterRegistry;
+        this.transactionOperations = transactionOperations;
     }
 
     @PostConstruct
     public void init() {
-        if (secretKey == null || secretKey.isBlank()) {
-            log.error("Stripe API key is missing in configuration.");
-            throw new StripeConfigurationException("Stripe API key is missing in configuration.");
-        }
         if (webhookSecret == null || webhookSecret.isBlank()) {
             log.error("Stripe webhook secret is missing in configuration.");
             throw new StripeConfigurationException("Stripe webhook secret is missing in configuration.");
@@ -95,58 +103,80 @@ public class PaymentServiceImpl implements PaymentService {
             log.error("Stripe public key is missing in configuration.");
             throw new StripeConfigurationException("Stripe public key is missing in configuration.");
         }
-        Stripe.apiKey = secretKey;
     }
 
+    /**
+     * Returns the Stripe client secret for the order, creating the PaymentIntent when none is attached yet.
+     * <p>
+     * The method deliberately runs without an enclosing transaction: the payment row is read and later
+     * updated in two short transactions, while the network call to Stripe happens in between with no
+     * database locks or pooled connection held. Concurrent callers converge on the same intent because
+     * the {@link PaymentGateway} deduplicates creation by the order-scoped idempotency key.
+     * </p>
+     */
     @Override
-    @Transactional
     public PaymentIntentResponseDTO createPaymentIntent(Order order) {
         try {
             log.info("Payment intent initialization started for orderId={} userId={}", order.getId(),
                     order.getUser().getId());
-            Payment payment = paymentRepo.findByOrderIdForUpdate(order.getId())
-                    .orElseThrow(() -> new PaymentRecordNotFoundException(order.getId()));
+            Payment payment = transactionOperations.execute(status -> findPayablePayment(order.getId()));
 
-            if (payment.getStatus() == PaymentStatus.COMPLETED) {
-                throw new PaymentAlreadyCompletedException(order.getId());
-            }
-
-            if (payment.getProviderPaymentId() != null && !payment.getProviderPaymentId().isBlank()
-                    && payment.getClientSecret() != null && !payment.getClientSecret().isBlank()) {
+            if (hasProviderPayment(payment)) {
                 log.info("Reusing existing payment intent for orderId={} paymentId={} providerPaymentId={} paymentStatus={}",
                         order.getId(), payment.getId(), payment.getProviderPaymentId(), payment.getStatus());
                 incrementPaymentIntentMetric("reused");
                 return new PaymentIntentResponseDTO(payment.getClientSecret(), publicKey);
             }
 
-            PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
-                    .setAmount(order.getTotalAmount().movePointRight(2).longValue())
-                    .setCurrency("pln")
-                    .putMetadata("orderId", order.getId().toString())
-                    .build();
-
-            RequestOptions requestOptions = RequestOptions.builder()
-                    .setIdempotencyKey("order-payment-intent-" + order.getId())
-                    .build();
-
-            PaymentIntent intent = PaymentIntent.create(params, requestOptions);
-            payment.attachProviderPayment(intent.getId(), intent.getClientSecret());
-            paymentRepo.save(payment);
-            log.info("Payment intent created for orderId={} paymentId={} providerPaymentId={} paymentStatus={}",
-                    order.getId(), payment.getId(), intent.getId(), payment.getStatus());
+            CreatedPaymentIntent intent = paymentGateway.createPaymentIntent(order.getId(),
+                    order.getTotalAmount().movePointRight(2).longValue(), "pln",
+                    "order-payment-intent-" + order.getId());
+            String clientSecret = transactionOperations.execute(status -> attachProviderPayment(order.getId(), intent));
             incrementPaymentIntentMetric("created");
 
-            return new PaymentIntentResponseDTO(intent.getClientSecret(), publicKey);
+            return new PaymentIntentResponseDTO(clientSecret, publicKey);
         } catch (BusinessException ex) {
             incrementPaymentIntentMetric("failed");
             throw ex;
         } catch (Exception e) {
             incrementPaymentIntentMetric("failed");
-            log.error("Stripe PaymentIntent creation failed for orderId={}", order.getId(), e);
+            log.error("PaymentIntent creation failed for orderId={}", order.getId(), e);
             throw new PaymentProcessingException("Failed to initialize payment for order: " + order.getId());
         }
     }
 
+    private Payment findPayablePayment(UUID orderId) {
+        Payment payment = paymentRepo.findByOrderId(orderId)
+                .orElseThrow(() -> new PaymentRecordNotFoundException(orderId));
+
+        if (payment.getStatus() == PaymentStatus.COMPLETED) {
+            throw new PaymentAlreadyCompletedException(orderId);
+        }
+        return payment;
+    }
+
+    private String attachProviderPayment(UUID orderId, CreatedPaymentIntent intent) {
+        Payment payment = paymentRepo.findByOrderIdForUpdate(orderId)
+                .orElseThrow(() -> new PaymentRecordNotFoundException(orderId));
+
+        if (hasProviderPayment(payment)) {
+            log.info("Payment intent already attached by concurrent request orderId={} paymentId={} providerPaymentId={}",
+                    orderId, payment.getId(), payment.getProviderPaymentId());
+            return payment.getClientSecret();
+        }
+
+        payment.attachProviderPayment(intent.providerPaymentId(), intent.clientSecret());
+        paymentRepo.save(payment);
+        log.info("Payment intent created for orderId={} paymentId={} providerPaymentId={} paymentStatus={}",
+                orderId, payment.getId(), intent.providerPaymentId(), payment.getStatus());
+        return intent.clientSecret();
+    }
+
+    private boolean hasProviderPayment(Payment payment) {
+        return payment.getProviderPaymentId() != null && !payment.getProviderPaymentId().isBlank()
+                && payment.getClientSecret() != null && !payment.getClientSecret().isBlank();
+    }
+
     private void incrementPaymentIntentMetric(String result) {
         meterRegistry.counter(PAYMENT_INTENT_METRIC, RESULT_TAG, result).increment();
     }
@@ -173,23 +203,18 @@ public class PaymentServiceImpl implements PaymentService {
             log.info("Stripe webhook received stripeEventId={} stripeEventType={}", eventId, eventType);
             incrementWebhookMetric(RESULT_RECEIVED);
 
-            if (!stripeWebhookEventRegistrar.register(eventId, eventType)) {
-                incrementWebhookMetric(RESULT_DUPLICATE);
-                log.info("Ignoring duplicate Stripe webhook stripeEventId={} stripeEventType={}", eventId, eventType);
+            if (asyncWebhookProcessing) {
+                enqueueWebhook(event, payload);
                 return;
             }
 
-            if ("payment_intent.succeeded".equals(eventType)) {
-                incrementWebhookHandledMetric(handlePaymentIntentSucceeded(event));
+            if (!stripeWebhookEventRegistrar.register(eventId, eventType)) {
+                incrementWebhookMetric(RESULT_DUPLICATE);
+                log.info("Ignoring duplicate Stripe webhook stripeEventId={} stripeEventType={}", eventId, eventType);
                 return;
             }
 
-            if ("payment_intent.payment_failed".equals(eventType)) {
-                incrementWebhookHandledMetric(handlePaymentIntentFailed(event));
-                return;
-            }
-            incrementWebhookMetric(RESULT_IGNORED);
-            log.warn("Unhandled Stripe webhook event type stripeEventId={} stripeEventType={}", eventId, eventType);
+            dispatchWebhookEvent(event);
         } catch (com.stripe.exception.SignatureVerificationException | IllegalArgumentException ex) {
             incrementWebhookMetric(RESULT_FAILED);
             log.warn("Invalid Stripe webhook payload/signature", ex);
@@ -204,11 +229,88 @@ public class PaymentServiceImpl implements PaymentService {
         }
     }
 
+    /**
+     * Applies a webhook payload previously verified and queued by {@link #handleWebhook(String, String)}.
+     * <p>
+     * Runs inside the caller's transaction so that the queue entry can be marked as processed
+     * atomically with the order and payment changes.
+     * </p>
+     */
+    @Override
+    @Transactional
+    public void processQueuedWebhook(String payload) {
+        try {
+            Event event = ApiResource.GSON.fromJson(payload, Event.class);
+            dispatchWebhookEvent(event);
+        } catch (BusinessException | DataAccessException | TransactionException ex) {
+            // Kept as thrown: the worker retries data access and transaction failures only.
+            incrementWebhookMetric(RESULT_FAILED);
+            throw ex;
+        } catch (Exception e) {
+            incrementWebhookMetric(RESULT_FAILED);
+            log.error("Queued Stripe webhook processing failed", e);
+            throw new WebhookProcessingException("Unable to process queued Stripe webhook event.");
+        }
+    }
+
+    private void enqueueWebhook(Event event, String payload) {
+        if (!stripeWebhookEventRegistrar.enqueue(event.getId(), event.getType(), resolveOrderId(event), payload)) {
+            incrementWebhookMetric(RESULT_DUPLICATE);
+            log.info("Ignoring duplicate Stripe webhook stripeEventId={} stripeEventType={}", event.getId(),
+                    event.getType());
+            return;
+        }
+        incrementWebhookMetric(RESULT_QUEUED);
+        log.info("Stripe webhook queued for asynchronous processing stripeEventId={} stripeEventType={}",
+                event.getId(), event.getType());
+    }
+
+    /**
+     * Extracts the order reference used to keep queued events of one order in arrival order.
+     * Returns {@code null} when the event does not carry a usable reference.
+     */
+    private UUID resolveOrderId(Event event) {
+        var deserializer = event.getDataObjectDeserializer();
+        if (deserializer == null || !(deserializer.getObject().orElse(null) instanceof PaymentIntent intent)) {
+            return null;
+        }
+        Map<String, String> metadata = intent.getMetadata();
+        String orderId = metadata != null ? metadata.get("orderId") : null;
+        if (orderId == null || orderId.isBlank()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(orderId);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private void dispatchWebhookEvent(Event event) {
+        String eventType = event.getType();
+        if ("payment_intent.succeeded".equals(eventType)) {
+            incrementWebhookHandledMetric(handlePaymentIntentSucceeded(event));
+            return;
+        }
+
+        if ("payment_intent.payment_failed".equals(eventType)) {
+            incrementWebhookHandledMetric(handlePaymentIntentFailed(event));
+            return;
+        }
+
+        if ("payment_intent.canceled".equals(eventType)) {
+            incrementWebhookHandledMetric(handlePaymentIntentCanceled(event));
+            return;
+        }
+        incrementWebhookMetric(RESULT_IGNORED);
+        log.warn("Unhandled Stripe webhook event type stripeEventId={} stripeEventType={}", event.getId(), eventType);
+    }
+
     private void incrementWebhookHandledMetric(boolean handled) {
         incrementWebhookMetric(handled ? RESULT_PROCESSED : RESULT_IGNORED);
     }
 
-    private boolean handlePaymentIntentSucceeded(com.stripe.model.Event event) {
+    private boolean handlePaymentIntentSucceeded(Event event) {
         var deserializer = event.getDataObjectDeserializer();
         PaymentIntent intent = (PaymentIntent) deserializer.getObject().orElse(null);
         if (intent == null) {
@@ -230,6 +332,20 @@ public class PaymentServiceImpl implements PaymentService {
 
         validateProviderPaymentId(intent, payment);
 
+        if (order.getStatus() == OrderStatus.CANCELLED) {
+            // The stock hold was released (payment failure or expiry) before this payment completed.
+            if (!stockReservationService.reacquire(order.getId())) {
+                log.error("Payment succeeded for cancelled order whose stock is no longer available, refund required orderId={} paymentId={} providerPaymentId={}",
+                        order.getId(), payment.getId(), intent.getId());
+                return false;
+            }
+            order.reinstate();
+            log.info("Cancelled order reinstated after late payment orderId={} providerPaymentId={}", order.getId(),
+                    intent.getId());
+        } else {
+            stockReservationService.confirm(order.getId());
+        }
+
         order.markAsPaid();
         orderRepo.save(order);
 
@@ -239,11 +355,27 @@ public class PaymentServiceImpl implements PaymentService {
                 order.getId(), payment.getId(), order.getUser().getId(), intent.getId(), order.getStatus(),
                 payment.getStatus());
 
-        cartService.clearCartForUser(order.getUser().getId());
+        outboxEventPublisher.publish(OutboxEventType.CART_CLEAR, order.getUser().getId());
         return true;
     }
 
-    private boolean handlePaymentIntentFailed(com.stripe.model.Event event) {
+    /**
+     * Records a failed attempt. The customer may retry the same PaymentIntent, so the order stays
+     * {@code NEW} and keeps its stock hold; the hold is released by {@code payment_intent.canceled}
+     * or by reservation expiry.
+     */
+    private boolean handlePaymentIntentFailed(Event event) {
+        return markPaymentFailed(event, false);
+    }
+
+    /**
+     * The PaymentIntent can no longer succeed: releases the stock hold and cancels the order.
+     */
+    private boolean handlePaymentIntentCanceled(Event event) {
+        return markPaymentFailed(event, true);
+    }
+
+    private boolean markPaymentFailed(Event event, boolean releaseOrder) {
         var deserializer = event.getDataObjectDeserializer();
         PaymentIntent intent = (PaymentIntent) deserializer.getObject().orElse(null);
         if (intent == null) {
@@ -259,15 +391,22 @@ public class PaymentServiceImpl implements PaymentService {
         validateProviderPaymentId(intent, payment);
 
         if (payment.getStatus() == PaymentStatus.COMPLETED) {
-            log.info("Ignoring payment_failed webhook for already completed payment orderId={}", order.getId());
+            log.info("Ignoring {} webhook for already completed payment orderId={}", event.getType(), order.getId());
             return false;
         }
 
         payment.markAsFailed();
         paymentRepo.save(payment);
-        log.info("Payment marked as failed from webhook orderId={} paymentId={} userId={} providerPaymentId={} orderStatus={} paymentStatus={}",
-                order.getId(), payment.getId(), order.getUser().getId(), intent.getId(), order.getStatus(),
-                payment.getStatus());
+        if (releaseOrder && order.getStatus() == OrderStatus.NEW) {
+            int released = stockReservationService.release(order.getId());
+            order.cancel();
+            orderRepo.save(order);
+            log.info("Stock hold released after payment intent cancellation orderId={} releasedLines={}", order.getId(),
+                    released);
+        }
+        log.info("Payment marked as failed from webhook orderId={} paymentId={} userId={} providerPaymentId={} stripeEventType={} orderStatus={} paymentStatus={}",
+                order.getId(), payment.getId(), order.getUser().getId(), intent.getId(), event.getType(),
+                order.getStatus(), payment.getStatus());
         return true;
     }
 
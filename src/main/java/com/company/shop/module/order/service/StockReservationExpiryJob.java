@@ -0,0 +1,58 @@
+package com.company.shop.module.order.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Background job returning the stock of unpaid orders whose reservation hold expired.
+ * <p>
+ * Each expired order is handled in its own short transaction, so one failing order does not
+ * block the batch and no lock is held across orders.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(prefix = "shop.inventory.reservation-expiry", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class StockReservationExpiryJob {
+
+    private static final Logger log = LoggerFactory.getLogger(StockReservationExpiryJob.class);
+
+    @Value("${shop.inventory.reservation-expiry.batch-size:100}")
+    private int batchSize = 100;
+
+    private final StockReservationService stockReservationService;
+    private final TransactionOperations transactionOperations;
+
+    public StockReservationExpiryJob(StockReservationService stockReservationService,
+            TransactionOperations transactionOperations) {
+        this.stockReservationService = stockReservationService;
+        this.transactionOperations = transactionOperations;
+    }
+
+    @Scheduled(fixedDelayString = "${shop.inventory.reservation-expiry.poll-interval-ms:30000}")
+    public void releaseExpiredHolds() {
+        List<UUID> orderIds;
+        do {
+            orderIds = stockReservationService.findOrdersWithExpiredHolds(batchSize);
+            int handled = 0;
+            for (UUID orderId : orderIds) {
+                try {
+                    transactionOperations.executeWithoutResult(status -> stockReservationService.expire(orderId));
+                    handled++;
+                } catch (Exception ex) {
+                    log.warn("Stock hold expiry failed orderId={} reason={}", orderId, ex.getMessage());
+                }
+            }
+            if (handled == 0) {
+                return;
+            }
+        } while (orderIds.size() >= batchSize);
+    }
+}
@@ -0,0 +1,202 @@
+package com.company.shop.module.order.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import com.company.shop.module.order.entity.Order;
+import com.company.shop.module.order.entity.OrderItem;
+import com.company.shop.module.order.entity.OrderStatus;
+import com.company.shop.module.order.entity.StockReservation;
+import com.company.shop.module.order.entity.StockReservationStatus;
+import com.company.shop.module.order.exception.OrderInsufficientStockException;
+import com.company.shop.module.order.repository.OrderRepository;
+import com.company.shop.module.order.repository.StockReservationRepository;
+import com.company.shop.module.product.service.ProductDetailsCache;
+import com.company.shop.module.product.service.ProductStockService;
+
+/**
+ * Stock reservation ledger backing checkout.
+ * <p>
+ * Checkout takes stock with one conditional {@code UPDATE ... WHERE stock >= ?} per product (on a
+ * stock bucket for bucketed products, see {@link ProductStockService}) and records a time-limited
+ * {@link StockReservation} hold for the order, instead of locking product rows with
+ * {@code SELECT ... FOR UPDATE} and writing back the entity. Holds are confirmed when the payment
+ * succeeds and released (stock returned, order cancelled) when the PaymentIntent is canceled or
+ * the hold expires; a failed attempt keeps the hold, since the customer may retry it. Methods that
+ * change stock or holds must run inside the caller's transaction; state changes for one order are
+ * serialized by the caller holding that order's row lock.
+ * </p>
+ */
+@Service
+public class StockReservationService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockReservationService.class);
+    private static final String RESERVATION_METRIC = "shop.stock_reservation.total";
+    private static final String RESULT_TAG = "result";
+
+    @Value("${shop.inventory.reservation-ttl-ms:900000}")
+    private long reservationTtlMs = 900000;
+
+    private final StockReservationRepository reservationRepo;
+    private final ProductStockService productStockService;
+    private final OrderRepository orderRepo;
+    private final ProductDetailsCache productDetailsCache;
+    private final MeterRegistry meterRegistry;
+
+    public StockReservationService(StockReservationRepository reservationRepo, ProductStockService productStockService,
+            OrderRepository orderRepo, ProductDetailsCache productDetailsCache, MeterRegistry meterRegistry) {
+        this.reservationRepo = reservationRepo;
+        this.productStockService = productStockService;
+        this.orderRepo = orderRepo;
+        this.productDetailsCache = productDetailsCache;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Takes the stock for every line of a saved order and records the holds.
+     * <p>
+     * Products are decremented in ascending id order, so concurrent checkouts sharing products
+     * acquire row locks in the same sequence. A failed decrement throws, rolling back the decrements
+     * already made together with the rest of the checkout transaction.
+     * </p>
+     *
+     * @throws OrderInsufficientStockException if any product no longer has enough stock.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(Order order) {
+        LocalDateTime expiresAt = LocalDateTime.now().plus(Duration.ofMillis(reservationTtlMs));
+        List<OrderItem> lines = new ArrayList<>(order.getItems());
+        lines.sort(Comparator.comparing(item -> item.getProduct().getId()));
+
+        List<StockReservation> reservations = new ArrayList<>(lines.size());
+        for (OrderItem line : lines) {
+            UUID productId = line.getProduct().getId();
+            if (!productStockService.tryTake(productId, line.getQuantity())) {
+                int available = productStockService.availableStock(productId);
+                incrementMetric("rejected");
+                throw new OrderInsufficientStockException(productId, line.getQuantity(), available);
+            }
+            productDetailsCache.evict(productId);
+            reservations.add(new StockReservation(order.getId(), productId, line.getQuantity(), expiresAt));
+        }
+        reservationRepo.saveAll(reservations);
+        incrementMetric("held");
+    }
+
+    /**
+     * Confirms the order's holds after a successful payment.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void confirm(UUID orderId) {
+        List<StockReservation> held = reservationRepo.findByOrderIdAndStatusOrderByProductId(orderId,
+                StockReservationStatus.HELD);
+        LocalDateTime now = LocalDateTime.now();
+        held.forEach(reservation -> reservation.confirm(now));
+        if (!held.isEmpty()) {
+            incrementMetric("confirmed");
+        }
+    }
+
+    /**
+     * Returns the stock of the order's holds to the product counters.
+     *
+     * @return the number of released reservations.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int release(UUID orderId) {
+        List<StockReservation> held = reservationRepo.findByOrderIdAndStatusOrderByProductId(orderId,
+                StockReservationStatus.HELD);
+        LocalDateTime now = LocalDateTime.now();
+        for (StockReservation reservation : held) {
+            productStockService.giveBack(reservation.getProductId(), reservation.getQuantity());
+            productDetailsCache.evict(reservation.getProductId());
+            reservation.release(now);
+        }
+        if (!held.isEmpty()) {
+            incrementMetric("released");
+        }
+        return held.size();
+    }
+
+    /**
+     * Takes the stock of previously released holds again, for a payment that completed after release.
+     * <p>
+     * All-or-nothing: when one product has run out, the decrements made so far are returned and
+     * the reservations stay released.
+     * </p>
+     *
+     * @return {@code true} when every released line could be reserved again.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean reacquire(UUID orderId) {
+        List<StockReservation> released = reservationRepo.findByOrderIdAndStatusOrderByProductId(orderId,
+                StockReservationStatus.RELEASED);
+        List<StockReservation> taken = new ArrayList<>(released.size());
+        for (StockReservation reservation : released) {
+            if (!productStockService.tryTake(reservation.getProductId(), reservation.getQuantity())) {
+                taken.forEach(done -> productStockService.giveBack(done.getProductId(), done.getQuantity()));
+                incrementMetric("reacquire_failed");
+                return false;
+            }
+            taken.add(reservation);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (StockReservation reservation : released) {
+            productDetailsCache.evict(reservation.getProductId());
+            reservation.confirm(now);
+        }
+        incrementMetric("reacquired");
+        return true;
+    }
+
+    /**
+     * Returns orders whose holds expired, oldest first as found by the index scan.
+     */
+    @Transactional(readOnly = true)
+    public List<UUID> findOrdersWithExpiredHolds(int limit) {
+        return reservationRepo.findOrderIdsWithExpiredHolds(LocalDateTime.now(), limit);
+    }
+
+    /**
+     * Releases the holds of an unpaid order whose reservation expired and cancels the order.
+     * <p>
+     * Takes the order row lock first, the same lock the payment webhooks take, so an expiry can
+     * never interleave with a concurrent payment confirmation.
+     * </p>
+     *
+     * @return {@code true} when the order was cancelled.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean expire(UUID orderId) {
+        Order order = orderRepo.findByIdForUpdate(orderId).orElse(null);
+        if (order == null || order.getStatus() != OrderStatus.NEW) {
+            // Paid in the meantime or gone: the remaining holds are confirmed or irrelevant.
+            if (order != null && order.getStatus() == OrderStatus.PAID) {
+                confirm(orderId);
+            }
+            return false;
+        }
+        int released = release(orderId);
+        order.cancel();
+        incrementMetric("expired");
+        log.info("Stock hold expired, order cancelled orderId={} releasedLines={}", orderId, released);
+        return true;
+    }
+
+    private void incrementMetric(String result) {
+        meterRegistry.counter(RESERVATION_METRIC, RESULT_TAG, result).increment();
+    }
+}
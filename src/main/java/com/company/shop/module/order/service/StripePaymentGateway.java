@@ -0,0 +1,89 @@
+package com.company.shop.module.order.service;
+
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.company.shop.module.order.exception.PaymentGatewayException;
+import com.company.shop.module.order.exception.StripeConfigurationException;
+import com.stripe.StripeClient;
+import com.stripe.exception.StripeException;
+import com.stripe.model.PaymentIntent;
+import com.stripe.net.RequestOptions;
+import com.stripe.param.PaymentIntentCreateParams;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * {@link PaymentGateway} backed by an instance-scoped {@link StripeClient}.
+ * <p>
+ * The client is built from configuration instead of the global {@code Stripe.apiKey}, so the API
+ * base URL and timeouts can be pointed at a local Stripe stand-in ({@code stripe.api-base}) for
+ * offline integration and load tests without touching static SDK state.
+ * </p>
+ */
+@Component
+public class StripePaymentGateway implements PaymentGateway {
+
+    private static final Logger log = LoggerFactory.getLogger(StripePaymentGateway.class);
+
+    @Value("${stripe.api-key}")
+    private String secretKey;
+
+    @Value("${stripe.api-base:}")
+    private String apiBase = "";
+
+    @Value("${stripe.connect-timeout-ms:30000}")
+    private int connectTimeoutMs = 30000;
+
+    @Value("${stripe.read-timeout-ms:80000}")
+    private int readTimeoutMs = 80000;
+
+    @Value("${stripe.payment-intent.max-network-retries:2}")
+    private int maxNetworkRetries = 2;
+
+    private StripeClient client;
+
+    @PostConstruct
+    public void init() {
+        if (secretKey == null || secretKey.isBlank()) {
+            log.error("Stripe API key is missing in configuration.");
+            throw new StripeConfigurationException("Stripe API key is missing in configuration.");
+        }
+        StripeClient.StripeClientBuilder builder = StripeClient.builder()
+                .setApiKey(secretKey)
+                .setConnectTimeout(connectTimeoutMs)
+                .setReadTimeout(readTimeoutMs);
+        if (apiBase != null && !apiBase.isBlank()) {
+            builder.setApiBase(apiBase);
+        }
+        client = builder.build();
+    }
+
+    @Override
+    public CreatedPaymentIntent createPaymentIntent(UUID orderId, long amountMinorUnits, String currency,
+            String idempotencyKey) {
+        PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
+                .setAmount(amountMinorUnits)
+                .setCurrency(currency)
+                .putMetadata("orderId", orderId.toString())
+                .build();
+
+        // Transient failures (connection errors, 409/429/5xx) are retried by the Stripe client itself;
+        // the idempotency key guarantees that retries never create a second intent for the same order.
+        RequestOptions requestOptions = RequestOptions.builder()
+                .setIdempotencyKey(idempotencyKey)
+                .setMaxNetworkRetries(maxNetworkRetries)
+                .build();
+
+        try {
+            PaymentIntent intent = client.v1().paymentIntents().create(params, requestOptions);
+            return new CreatedPaymentIntent(intent.getId(), intent.getClientSecret());
+        } catch (StripeException ex) {
+            throw new PaymentGatewayException("Stripe PaymentIntent creation failed for orderId=" + orderId, ex);
+        }
+    }
+}
@@ -23,4 +23,20 @@ public class StripeWebhookEventRegistrar {
                 LocalDateTime.now());
         return insertedRows == 1;
     }
+
+    /**
+     * Persists a verified webhook payload as a pending queue entry for asynchronous processing.
+     *
+     * @return {@code true} when the event was queued, {@code false} when it was already received
+     */
+    public boolean enqueue(String eventId, String eventType, UUID orderId, String payload) {
+        int insertedRows = stripeWebhookEventRepository.insertPendingIgnoreDuplicate(
+                UUID.randomUUID(),
+                eventId,
+                eventType,
+                payload,
+                orderId != null ? orderId.toString() : null,
+                LocalDateTime.now());
+        return insertedRows == 1;
+    }
 }
@@ -0,0 +1,170 @@
+package com.company.shop.module.order.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.company.shop.module.order.entity.StripeWebhookEvent;
+import com.company.shop.module.order.repository.StripeWebhookEventRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Processes Stripe webhook events queued by the asynchronous ingestion mode.
+ * <p>
+ * A poll claims a batch of due events (at most one per order, see
+ * {@link StripeWebhookEventRepository#lockNextDueBatch}) and leases them in a short transaction,
+ * then fans the batch out to a fixed worker pool. Each event is applied and marked processed in its
+ * own transaction. Transient failures (database access, transaction commit) are retried with
+ * exponential backoff; any other failure is deterministic for the payload (unknown order, invalid
+ * state transition, inconsistent payload) and is parked as {@code FAILED} right away, as are events
+ * that exhaust their attempts. Parking also unblocks later events of the same order.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(prefix = "stripe.webhook", name = "async-processing", havingValue = "true")
+public class StripeWebhookWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(StripeWebhookWorker.class);
+    private static final int MAX_BACKOFF_EXPONENT = 20;
+
+    @Value("${stripe.webhook.worker-threads:4}")
+    private int workerThreads = 4;
+
+    @Value("${stripe.webhook.batch-size:32}")
+    private int batchSize = 32;
+
+    @Value("${stripe.webhook.lease-ms:60000}")
+    private long leaseMs = 60000;
+
+    @Value("${stripe.webhook.max-attempts:8}")
+    private int maxAttempts = 8;
+
+    @Value("${stripe.webhook.retry-backoff-ms:1000}")
+    private long retryBackoffMs = 1000;
+
+    @Value("${stripe.webhook.max-backoff-ms:300000}")
+    private long maxBackoffMs = 300000;
+
+    private final StripeWebhookEventRepository stripeWebhookEventRepo;
+    private final PaymentService paymentService;
+    private final TransactionOperations transactionOperations;
+
+    private ExecutorService executor;
+
+    public StripeWebhookWorker(StripeWebhookEventRepository stripeWebhookEventRepo, PaymentService paymentService,
+            TransactionOperations transactionOperations) {
+        this.stripeWebhookEventRepo = stripeWebhookEventRepo;
+        this.paymentService = paymentService;
+        this.transactionOperations = transactionOperations;
+    }
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "stripe-webhook-worker-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Drains due events batch by batch. Waiting for the whole batch before claiming the next one
+     * bounds in-flight work to the pool size and lets per-order successors become eligible.
+     */
+    @Scheduled(fixedDelayString = "${stripe.webhook.poll-interval-ms:500}")
+    public void processPendingEvents() {
+        List<StripeWebhookEvent> claimed;
+        do {
+            claimed = transactionOperations.execute(status -> claimDueBatch());
+            CompletableFuture<?>[] futures = claimed.stream()
+                    .map(event -> CompletableFuture.runAsync(() -> process(event), executor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(futures).join();
+        } while (claimed.size() >= batchSize);
+    }
+
+    private List<StripeWebhookEvent> claimDueBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<StripeWebhookEvent> events = stripeWebhookEventRepo.lockNextDueBatch(now, batchSize);
+        LocalDateTime leaseUntil = now.plus(Duration.ofMillis(leaseMs));
+        events.forEach(event -> event.claim(leaseUntil));
+        return events;
+    }
+
+    void process(StripeWebhookEvent event) {
+        try {
+            transactionOperations.executeWithoutResult(status -> {
+                paymentService.processQueuedWebhook(event.getPayload());
+                stripeWebhookEventRepo.findById(event.getId())
+                        .ifPresent(stored -> stored.markProcessed(LocalDateTime.now()));
+            });
+        } catch (Exception ex) {
+            String error = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+            boolean exhausted = !isTransient(ex) || event.getAttempts() >= maxAttempts;
+            LocalDateTime nextAttemptAt = LocalDateTime.now().plus(Duration.ofMillis(backoffMs(event.getAttempts())));
+            transactionOperations.executeWithoutResult(status -> stripeWebhookEventRepo.findById(event.getId())
+                    .ifPresent(stored -> {
+                        if (exhausted) {
+                            stored.markFailed(error);
+                        } else {
+                            stored.scheduleRetry(nextAttemptAt, error);
+                        }
+                    }));
+            if (exhausted) {
+                log.error("Queued Stripe webhook parked as failed stripeEventId={} stripeEventType={} orderId={} attempts={} reason={}",
+                        event.getStripeEventId(), event.getEventType(), event.getOrderId(), event.getAttempts(), error);
+            } else {
+                log.warn("Queued Stripe webhook failed, retry scheduled stripeEventId={} stripeEventType={} orderId={} attempts={} nextAttemptAt={} reason={}",
+                        event.getStripeEventId(), event.getEventType(), event.getOrderId(), event.getAttempts(),
+                        nextAttemptAt, error);
+            }
+        }
+    }
+
+    /**
+     * Whether a retry may succeed: only failures of the database or of the transaction itself,
+     * anywhere in the cause chain. Business exceptions thrown while applying the event would be
+     * thrown again for the same payload.
+     */
+    static boolean isTransient(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataAccessException || cause instanceof TransactionException
+                    || cause instanceof PersistenceException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    long backoffMs(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), MAX_BACKOFF_EXPONENT);
+        return Math.min(retryBackoffMs << exponent, maxBackoffMs);
+    }
+}
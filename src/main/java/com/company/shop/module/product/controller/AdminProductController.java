@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.company.shop.module.product.dto.ProductCreateDTO;
 import com.company.shop.module.product.dto.ProductResponseDTO;
+import com.company.shop.module.product.dto.ProductStockBucketsRequestDTO;
 import com.company.shop.module.product.service.ProductService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -71,6 +72,22 @@ public class AdminProductController {
         return productService.update(id, dto);
     }
 
+    @PutMapping("/{id}/stock-buckets")
+    @Operation(summary = "Podział stanu magazynowego na kubełki (admin)",
+            description = "Dla produktów w sprzedaży błyskawicznej: stan jest dzielony na N wierszy, "
+                    + "aby równoległe zamówienia nie blokowały jednego licznika. 0 wyłącza podział.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Podział zaktualizowany poprawnie."),
+            @ApiResponse(responseCode = "400", description = "Nieprawidłowa liczba kubełków."),
+            @ApiResponse(responseCode = "403", description = "Brak uprawnień."),
+            @ApiResponse(responseCode = "404", description = "Produkt nie został znaleziony."),
+            @ApiResponse(responseCode = "409", description = "Równoległa zmiana stanu produktu.")
+    })
+    public ProductResponseDTO configureStockBuckets(@PathVariable UUID id,
+            @Valid @RequestBody ProductStockBucketsRequestDTO request) {
+        return productService.configureStockBuckets(id, request.buckets());
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Operation(summary = "Usunięcie produktu (admin)")
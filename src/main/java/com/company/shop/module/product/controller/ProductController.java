@@ -1,12 +1,14 @@
 package com.company.shop.module.product.controller;
 
+import java.util.List;
 import java.util.UUID;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,8 +16,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.company.shop.common.dto.CursorPageResponseDTO;
+import com.company.shop.common.dto.PageResponseDTO;
 import com.company.shop.module.product.dto.ProductResponseDTO;
+import com.company.shop.module.product.dto.ProductScrollSort;
 import com.company.shop.module.product.dto.ProductSearchCriteria;
+import com.company.shop.module.product.dto.ProductSearchFacetsDTO;
+import com.company.shop.module.product.dto.ProductSuggestionDTO;
 import com.company.shop.module.product.service.ProductService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -29,6 +36,9 @@ import jakarta.validation.Valid;
 @Tag(name = "Products", description = "Publiczne endpointy produktów i wyszukiwania.")
 public class ProductController {
 
+    private static final String WITH_TOTAL_DESCRIPTION =
+            "withTotal=false pomija zapytanie count(*): brak totalElements/totalPages, o kolejnej stronie mówi pole last.";
+
     private final ProductService productService;
 
     public ProductController(ProductService productService) {
@@ -36,52 +46,136 @@ public class ProductController {
     }
 
     @GetMapping
-    @Operation(summary = "Lista produktów")
+    @Operation(summary = "Lista produktów", description = WITH_TOTAL_DESCRIPTION)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista produktów pobrana poprawnie.")
     })
-    public Page<ProductResponseDTO> getProducts(
+    public PageResponseDTO<ProductResponseDTO> getProducts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size,
-            @RequestParam(required = false) String sort) {
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
         Pageable pageable = PageRequest.of(page, size, buildSort(sort));
-        return productService.findAll(pageable);
+        return PageResponseDTO.from(withTotal
+                ? productService.findAll(pageable)
+                : productService.findAllSlice(pageable));
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Lista produktów (paginacja kursorem)",
+            description = "Zwraca kolejny wycinek bez liczenia wszystkich wyników; nextCursor przekaż w parametrze cursor.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Wycinek listy produktów pobrany poprawnie."),
+            @ApiResponse(responseCode = "400", description = "Nieprawidłowy kursor lub sortowanie.")
+    })
+    public CursorPageResponseDTO<ProductResponseDTO> scrollProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "12") int size,
+            @RequestParam(defaultValue = "NEWEST") ProductScrollSort sort) {
+        return productService.scroll(sort, cursor, size);
     }
 
     @GetMapping("/category/{categoryId}")
-    @Operation(summary = "Lista produktów w kategorii")
+    @Operation(summary = "Lista produktów w kategorii", description = WITH_TOTAL_DESCRIPTION)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Produkty kategorii pobrane poprawnie."),
             @ApiResponse(responseCode = "404", description = "Kategoria nie została znaleziona.")
     })
-    public Page<ProductResponseDTO> getProductsByCategory(
+    public PageResponseDTO<ProductResponseDTO> getProductsByCategory(
             @PathVariable UUID categoryId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size,
-            @RequestParam(required = false) String sort) {
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
         Pageable pageable = PageRequest.of(page, size, buildSort(sort));
-        return productService.findAllByCategory(categoryId, pageable);
+        return PageResponseDTO.from(withTotal
+                ? productService.findAllByCategory(categoryId, pageable)
+                : productService.findAllByCategorySlice(categoryId, pageable));
     }
 
+    @GetMapping("/category/{categoryId}/scroll")
+    @Operation(summary = "Lista produktów w kategorii (paginacja kursorem)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Wycinek produktów kategorii pobrany poprawnie."),
+            @ApiResponse(responseCode = "400", description = "Nieprawidłowy kursor lub sortowanie.")
+    })
+    public CursorPageResponseDTO<ProductResponseDTO> scrollProductsByCategory(
+            @PathVariable UUID categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "12") int size,
+            @RequestParam(defaultValue = "NEWEST") ProductScrollSort sort) {
+        return productService.scrollByCategory(categoryId, sort, cursor, size);
+    }
+
+    /**
+     * Returns the product with a strong ETag ({@link ProductResponseDTO#getETag()}); a matching
+     * {@code If-None-Match} gets {@code 304 Not Modified} without a body. The details usually come
+     * from the in-process cache, so a revalidation costs neither a query nor serialization.
+     */
     @GetMapping("/slug/{slug}")
     @Operation(summary = "Szczegóły produktu po slug")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Produkt znaleziony."),
+            @ApiResponse(responseCode = "304", description = "Produkt nie zmienił się (ETag)."),
             @ApiResponse(responseCode = "404", description = "Produkt nie został znaleziony.")
     })
-    public ProductResponseDTO getProductBySlug(@PathVariable String slug) {
-        return productService.findBySlug(slug);
+    public ResponseEntity<ProductResponseDTO> getProductBySlug(@PathVariable String slug) {
+        ProductResponseDTO product = productService.findBySlug(slug);
+        return ResponseEntity.ok()
+                .eTag(product.getETag())
+                .cacheControl(CacheControl.noCache())
+                .body(product);
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Wyszukiwanie produktów")
+    @Operation(summary = "Wyszukiwanie produktów", description = WITH_TOTAL_DESCRIPTION)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Wyniki wyszukiwania pobrane poprawnie.")
     })
-    public Page<ProductResponseDTO> searchProducts(
+    public PageResponseDTO<ProductResponseDTO> searchProducts(
+            @Valid @ModelAttribute ProductSearchCriteria criteria,
+            @PageableDefault(size = 12, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
+        return PageResponseDTO.from(withTotal
+                ? productService.searchProducts(criteria, pageable)
+                : productService.searchProductsSlice(criteria, pageable));
+    }
+
+    @GetMapping("/search/scroll")
+    @Operation(summary = "Wyszukiwanie produktów (paginacja kursorem)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Wycinek wyników wyszukiwania pobrany poprawnie."),
+            @ApiResponse(responseCode = "400", description = "Nieprawidłowe kryteria, kursor lub sortowanie.")
+    })
+    public CursorPageResponseDTO<ProductResponseDTO> scrollSearchProducts(
             @Valid @ModelAttribute ProductSearchCriteria criteria,
-            @PageableDefault(size = 12, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
-        return productService.searchProducts(criteria, pageable);
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "12") int size,
+            @RequestParam(defaultValue = "NEWEST") ProductScrollSort sort) {
+        return productService.scrollSearch(criteria, sort, cursor, size);
+    }
+
+    @GetMapping("/search/facets")
+    @Operation(summary = "Liczniki faset wyszukiwania",
+            description = "Liczba wyników per kategoria, przedział cenowy i minimalna ocena dla tych samych kryteriów co wyszukiwanie.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Liczniki faset pobrane poprawnie."),
+            @ApiResponse(responseCode = "400", description = "Nieprawidłowe kryteria.")
+    })
+    public ProductSearchFacetsDTO searchProductFacets(@Valid @ModelAttribute ProductSearchCriteria criteria) {
+        return productService.searchFacets(criteria);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Podpowiedzi produktów podczas wpisywania",
+            description = "Dopasowuje początek nazwy, kolejnych słów nazwy lub slugu, bez rozróżniania wielkości liter i polskich znaków.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Podpowiedzi pobrane poprawnie.")
+    })
+    public List<ProductSuggestionDTO> suggestProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit) {
+        return productService.suggest(q, limit);
     }
 
     private Sort buildSort(String sortParam) {
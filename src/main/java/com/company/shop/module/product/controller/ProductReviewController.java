@@ -2,9 +2,10 @@ package com.company.shop.module.product.controller;
 
 import java.util.UUID;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,9 +13,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.company.shop.common.dto.CursorPageResponseDTO;
+import com.company.shop.common.dto.PageResponseDTO;
+import com.company.shop.module.product.dto.ProductRatingSummaryResponseDTO;
 import com.company.shop.module.product.dto.ProductReviewRequestDTO;
 import com.company.shop.module.product.dto.ProductReviewResponseDTO;
 import com.company.shop.module.product.service.ProductReviewService;
@@ -52,13 +57,50 @@ public class ProductReviewController {
 	}
 
 	@GetMapping("/products/{productId}/reviews")
-	@Operation(summary = "Lista opinii produktu")
+	@Operation(summary = "Lista opinii produktu",
+			description = "withTotal=false pomija zapytanie count(*): brak totalElements/totalPages, o kolejnej stronie mówi pole last.")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "Opinie pobrane poprawnie."),
 			@ApiResponse(responseCode = "404", description = "Produkt nie został znaleziony.")
 	})
-	public Page<ProductReviewResponseDTO> getProductReviews(@PathVariable UUID productId, Pageable pageable) {
-		return reviewService.getProductReviews(productId, pageable);
+	public PageResponseDTO<ProductReviewResponseDTO> getProductReviews(@PathVariable UUID productId, Pageable pageable,
+			@RequestParam(defaultValue = "true") boolean withTotal) {
+		return PageResponseDTO.from(withTotal
+				? reviewService.getProductReviews(productId, pageable)
+				: reviewService.getProductReviewsSlice(productId, pageable));
+	}
+
+	@GetMapping("/products/{productId}/reviews/scroll")
+	@Operation(summary = "Lista opinii produktu (paginacja kursorem, najnowsze najpierw)",
+			description = "Zwraca kolejny wycinek bez liczenia wszystkich opinii; nextCursor przekaż w parametrze cursor.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Wycinek opinii pobrany poprawnie."),
+			@ApiResponse(responseCode = "400", description = "Nieprawidłowy kursor."),
+			@ApiResponse(responseCode = "404", description = "Produkt nie został znaleziony.")
+	})
+	public CursorPageResponseDTO<ProductReviewResponseDTO> scrollProductReviews(@PathVariable UUID productId,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "20") int size) {
+		return reviewService.scrollProductReviews(productId, cursor, size);
+	}
+
+	/**
+	 * Returns the rating summary with an ETag derived from the per-star counts, which determine
+	 * the whole response; a matching {@code If-None-Match} gets {@code 304 Not Modified}.
+	 */
+	@GetMapping("/products/{productId}/reviews/summary")
+	@Operation(summary = "Podsumowanie ocen produktu (średnia, liczba opinii, rozkład gwiazdek)")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Podsumowanie pobrane poprawnie."),
+			@ApiResponse(responseCode = "304", description = "Podsumowanie nie zmieniło się (ETag)."),
+			@ApiResponse(responseCode = "404", description = "Produkt nie został znaleziony.")
+	})
+	public ResponseEntity<ProductRatingSummaryResponseDTO> getRatingSummary(@PathVariable UUID productId) {
+		ProductRatingSummaryResponseDTO summary = reviewService.getRatingSummary(productId);
+		return ResponseEntity.ok()
+				.eTag(ratingSummaryETag(summary))
+				.cacheControl(CacheControl.noCache())
+				.body(summary);
 	}
 
 	@DeleteMapping("/reviews/{reviewId}")
@@ -74,4 +116,10 @@ public class ProductReviewController {
 	public void deleteReview(@PathVariable UUID reviewId) {
 		reviewService.deleteReview(reviewId);
 	}
+
+	private static String ratingSummaryETag(ProductRatingSummaryResponseDTO summary) {
+		StringBuilder etag = new StringBuilder("\"").append(summary.productId());
+		summary.ratingDistribution().values().forEach(count -> etag.append('-').append(count));
+		return etag.append('"').toString();
+	}
 }
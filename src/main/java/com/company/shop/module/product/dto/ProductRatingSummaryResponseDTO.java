@@ -0,0 +1,14 @@
+package com.company.shop.module.product.dto;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Rating summary of a product: average, review count and number of reviews per star (keys 1-5).
+ */
+public record ProductRatingSummaryResponseDTO(
+    UUID productId,
+    Double averageRating,
+    int reviewCount,
+    Map<Integer, Integer> ratingDistribution
+) {}
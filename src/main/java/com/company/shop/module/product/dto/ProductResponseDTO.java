@@ -9,9 +9,15 @@
 package com.company.shop.module.product.dto;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.UUID;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * Data Transfer Object for detailed product information.
  * <p>
@@ -41,6 +47,11 @@ public class ProductResponseDTO {
      */
     private final List<String> imageUrls;
 
+    /**
+     * Optimistic-lock version of the product; not serialized, only an input of the HTTP validator.
+     */
+    private final long version;
+
     /**
      * Full constructor for initializing an immutable product response.
      *
@@ -56,10 +67,11 @@ public class ProductResponseDTO {
      * @param averageRating computed user rating (defaults to 0.0 if null).
      * @param reviewCount   total number of submitted reviews.
      * @param imageUrls     collection of image resource locations.
+     * @param version       optimistic-lock version of the product.
      */
     public ProductResponseDTO(UUID id, String name, String slug, String sku, String description, BigDecimal price,
             int stock, UUID categoryId, String categoryName, Double averageRating, int reviewCount,
-            List<String> imageUrls) {
+            List<String> imageUrls, long version) {
         this.id = id;
         this.name = name;
         this.slug = slug;
@@ -71,7 +83,9 @@ public class ProductResponseDTO {
         this.categoryName = categoryName;
         this.averageRating = averageRating != null ? averageRating : 0.0;
         this.reviewCount = reviewCount;
-        this.imageUrls = imageUrls;
+        // Defensive copy: instances are shared across requests by the product details cache.
+        this.imageUrls = imageUrls != null ? List.copyOf(imageUrls) : List.of();
+        this.version = version;
     }
 
     public UUID getId() {
@@ -126,4 +140,31 @@ public class ProductResponseDTO {
     public List<String> getImageUrls() {
         return imageUrls;
     }
+
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Strong validator of this representation for conditional GETs.
+     * <p>
+     * The entity version covers edits, images and non-bucketed stock; stock buckets, ratings and
+     * the category name change without bumping it, so their current values are part of the tag.
+     * The tag is a SHA-256 digest of all of them, so a renamed category always yields a new tag.
+     * </p>
+     *
+     * @return a quoted entity tag.
+     */
+    @JsonIgnore
+    public String getETag() {
+        String input = id + "\u0000" + version + "\u0000" + stock + "\u0000" + reviewCount + "\u0000" + averageRating
+                + "\u0000" + categoryName;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(input.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + '"';
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
 }
\ No newline at end of file
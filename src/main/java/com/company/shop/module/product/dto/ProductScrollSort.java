@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2026 Your Company Name. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Your Company Name.
+ * You shall not disclose such Confidential Information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with Your Company.
+ */
+
+package com.company.shop.module.product.dto;
+
+/**
+ * Orderings supported by keyset (cursor) pagination of products.
+ * <p>
+ * Every ordering ends with the product id as a unique tie-breaker, so the position of the
+ * last returned row is always unambiguous.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public enum ProductScrollSort {
+
+    /** {@code created_at DESC, id DESC} */
+    NEWEST,
+
+    /** {@code price ASC, id ASC} */
+    PRICE_ASC,
+
+    /** {@code price DESC, id DESC} */
+    PRICE_DESC,
+
+    /** {@code average_rating DESC, id DESC} */
+    RATING
+}
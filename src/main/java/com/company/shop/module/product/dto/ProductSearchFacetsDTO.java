@@ -0,0 +1,29 @@
+package com.company.shop.module.product.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result counts of a product search broken down by category, price band and rating.
+ *
+ * @param categories matching products per category.
+ * @param priceBands matching products per configured price band, cheapest first; empty bands are omitted.
+ * @param ratings    matching products with at least {@code minRating} stars, for 1 to 5.
+ */
+public record ProductSearchFacetsDTO(
+    List<CategoryFacet> categories,
+    List<PriceBandFacet> priceBands,
+    List<RatingFacet> ratings
+) {
+
+    public record CategoryFacet(UUID categoryId, String name, long count) {}
+
+    /**
+     * @param minPrice inclusive lower bound, {@code null} for the first band.
+     * @param maxPrice exclusive upper bound, {@code null} for the last band.
+     */
+    public record PriceBandFacet(BigDecimal minPrice, BigDecimal maxPrice, long count) {}
+
+    public record RatingFacet(int minRating, long count) {}
+}
@@ -0,0 +1,13 @@
+package com.company.shop.module.product.dto;
+
+import com.company.shop.module.product.entity.Product;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Requested number of stock buckets for a product; {@code 0} keeps the stock in a single counter.
+ */
+public record ProductStockBucketsRequestDTO(
+    @Min(0) @Max(Product.MAX_STOCK_BUCKETS) int buckets
+) {}
@@ -0,0 +1,12 @@
+package com.company.shop.module.product.dto;
+
+import java.util.UUID;
+
+/**
+ * Search-as-you-type suggestion: just enough to render the hint and link to the product page.
+ */
+public record ProductSuggestionDTO(
+    UUID id,
+    String name,
+    String slug
+) {}
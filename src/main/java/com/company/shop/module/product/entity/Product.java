@@ -9,21 +9,23 @@
 package com.company.shop.module.product.entity;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.type.SqlTypes;
 
 import com.company.shop.common.model.SoftDeleteEntity;
 import com.company.shop.module.category.entity.Category;
 import com.company.shop.module.product.exception.ProductDataInvalidException;
 import com.company.shop.module.product.exception.ProductInsufficientStockException;
-import com.company.shop.module.product.exception.ProductReviewCountInvalidException;
 import com.company.shop.module.product.exception.ProductStockInvalidException;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
@@ -37,8 +39,9 @@ import jakarta.persistence.Version;
 @SQLRestriction("deleted = false")
 public class Product extends SoftDeleteEntity {
 
-	private static final double MIN_AVERAGE_RATING = 0.0;
-	private static final double MAX_AVERAGE_RATING = 5.0;
+	public static final int MAX_STOCK_BUCKETS = 64;
+	/** Scale of the {@code average_rating NUMERIC(3,2)} column. */
+	public static final int AVERAGE_RATING_SCALE = 2;
 
 	@Column(nullable = false, length = 255)
 	private String name;
@@ -58,6 +61,20 @@ public class Product extends SoftDeleteEntity {
 	@Column(nullable = false)
 	private int stock;
 
+	/**
+	 * Number of {@link ProductStockBucket} rows holding this product's stock; {@code 0} keeps
+	 * all stock in {@link #stock}.
+	 */
+	@Column(name = "stock_buckets", nullable = false)
+	private int stockBuckets;
+
+	/**
+	 * Sum of the stock buckets at load time; the subquery only runs for bucketed products.
+	 */
+	@Formula("(CASE WHEN stock_buckets > 0 THEN (SELECT COALESCE(SUM(b.stock), 0) FROM product_stock_buckets b "
+			+ "WHERE b.product_id = id) ELSE 0 END)")
+	private int bucketedStock;
+
 	@Version
 	@Column(name = "version", nullable = false)
 	private long version;
@@ -66,12 +83,21 @@ public class Product extends SoftDeleteEntity {
 	@JoinColumn(name = "category_id")
 	private Category category;
 
-	@Column(name = "average_rating", nullable = false, columnDefinition = "NUMERIC(3,2)")
+	/**
+	 * Maintained by atomic statements in {@code ProductRepository}; never written by entity updates.
+	 * Mapped as NUMERIC so query parameters compared with it are bound as numeric too: a
+	 * {@code double precision} parameter would cast the column and rule out its indexes.
+	 */
+	@JdbcTypeCode(SqlTypes.NUMERIC)
+	@Column(name = "average_rating", nullable = false, updatable = false, columnDefinition = "NUMERIC(3,2)")
 	private Double averageRating = 0.0;
 
-	@Column(name = "review_count", nullable = false)
+	@Column(name = "review_count", nullable = false, updatable = false)
 	private int reviewCount = 0;
 
+	@Embedded
+	private ProductRatingDistribution ratingDistribution = new ProductRatingDistribution();
+
 	@OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
 	private List<ProductImage> images = new ArrayList<>();
 
@@ -119,23 +145,6 @@ public class Product extends SoftDeleteEntity {
 		return null;
 	}
 
-	public void updateRatings(Double newAverage, int newCount) {
-		if (newCount < 0) {
-			throw new ProductReviewCountInvalidException(newCount);
-		}
-
-		double safeAverage = newAverage != null ? newAverage : 0.0;
-		if (newCount == 0) {
-			safeAverage = 0.0;
-		}
-		safeAverage = Math.max(MIN_AVERAGE_RATING, Math.min(MAX_AVERAGE_RATING, safeAverage));
-
-		this.averageRating = BigDecimal.valueOf(safeAverage)
-				.setScale(2, RoundingMode.HALF_UP)
-				.doubleValue();
-		this.reviewCount = newCount;
-	}
-
 	public void update(String name, String slug, String sku, String description, BigDecimal price, int stock,
 			Category category) {
 		validateRequiredText(name, "Product name cannot be blank");
@@ -171,6 +180,24 @@ public class Product extends SoftDeleteEntity {
 		this.stock -= quantityToDecrease;
 	}
 
+	/**
+	 * Records a new stock layout after the buckets were rewritten.
+	 * <p>
+	 * With {@code buckets == 0} the whole {@code total} returns to {@code products.stock};
+	 * otherwise {@code products.stock} is emptied and {@code total} is held by the buckets.
+	 * </p>
+	 */
+	public void assignBucketedStock(int buckets, int total) {
+		if (buckets < 0 || buckets > MAX_STOCK_BUCKETS) {
+			throw new ProductDataInvalidException(
+					"Product stock buckets must be between 0 and " + MAX_STOCK_BUCKETS);
+		}
+		validateStock(total);
+		this.stockBuckets = buckets;
+		this.stock = buckets == 0 ? total : 0;
+		this.bucketedStock = buckets == 0 ? 0 : total;
+	}
+
 	private void validateRequiredText(String value, String message) {
 		if (value == null || value.isBlank()) {
 			throw new ProductDataInvalidException(message);
@@ -209,14 +236,36 @@ public class Product extends SoftDeleteEntity {
 		return price;
 	}
 
+	/**
+	 * Returns the available stock, including the stock held by buckets.
+	 */
 	public int getStock() {
+		return stock + bucketedStock;
+	}
+
+	/**
+	 * Returns the part of the stock kept in {@code products.stock} itself.
+	 */
+	public int getUnbucketedStock() {
 		return stock;
 	}
 
+	public int getStockBuckets() {
+		return stockBuckets;
+	}
+
+	public boolean isStockBucketed() {
+		return stockBuckets > 0;
+	}
+
 	public Category getCategory() {
 		return category;
 	}
 
+	public long getVersion() {
+		return version;
+	}
+
 	public Double getAverageRating() {
 		return averageRating;
 	}
@@ -225,6 +274,10 @@ public class Product extends SoftDeleteEntity {
 		return reviewCount;
 	}
 
+	public ProductRatingDistribution getRatingDistribution() {
+		return ratingDistribution;
+	}
+
 	public List<ProductImage> getImages() {
 		return images == null ? List.of() : List.copyOf(images);
 	}
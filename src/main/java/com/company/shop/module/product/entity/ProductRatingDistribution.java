@@ -0,0 +1,46 @@
+package com.company.shop.module.product.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * Number of active reviews per star rating of a product.
+ * <p>
+ * Maintained together with the product's rating sum and count by atomic statements in
+ * {@code ProductRepository}; never written by entity updates.
+ * </p>
+ */
+@Embeddable
+public class ProductRatingDistribution {
+
+	@Column(name = "rating_1_count", nullable = false, updatable = false)
+	private int oneStar;
+
+	@Column(name = "rating_2_count", nullable = false, updatable = false)
+	private int twoStars;
+
+	@Column(name = "rating_3_count", nullable = false, updatable = false)
+	private int threeStars;
+
+	@Column(name = "rating_4_count", nullable = false, updatable = false)
+	private int fourStars;
+
+	@Column(name = "rating_5_count", nullable = false, updatable = false)
+	private int fiveStars;
+
+	/**
+	 * Returns the number of reviews with the given rating.
+	 *
+	 * @param stars the rating, 1 to 5.
+	 */
+	public int count(int stars) {
+		return switch (stars) {
+			case 1 -> oneStar;
+			case 2 -> twoStars;
+			case 3 -> threeStars;
+			case 4 -> fourStars;
+			case 5 -> fiveStars;
+			default -> throw new IllegalArgumentException("Rating must be between 1 and 5: " + stars);
+		};
+	}
+}
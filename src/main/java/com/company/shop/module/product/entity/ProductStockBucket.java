@@ -0,0 +1,60 @@
+package com.company.shop.module.product.entity;
+
+import java.util.UUID;
+
+import com.company.shop.common.model.BaseEntity;
+import com.company.shop.module.product.exception.ProductStockInvalidException;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+/**
+ * One slice of a bucketed product's stock.
+ * <p>
+ * Products with {@code stock_buckets > 0} keep their stock spread over this many rows instead of
+ * the single {@code products.stock} counter, so concurrent checkouts update different rows.
+ * {@link Product#getStock()} reports the sum.
+ * </p>
+ */
+@Entity
+@Table(name = "product_stock_buckets")
+public class ProductStockBucket extends BaseEntity {
+
+	@Column(name = "product_id", nullable = false, updatable = false)
+	private UUID productId;
+
+	@Column(nullable = false, updatable = false)
+	private int bucket;
+
+	@Column(nullable = false)
+	private int stock;
+
+	protected ProductStockBucket() {
+	}
+
+	public ProductStockBucket(UUID productId, int bucket, int stock) {
+		this.productId = productId;
+		this.bucket = bucket;
+		assignStock(stock);
+	}
+
+	public void assignStock(int newStock) {
+		if (newStock < 0) {
+			throw new ProductStockInvalidException(newStock);
+		}
+		this.stock = newStock;
+	}
+
+	public UUID getProductId() {
+		return productId;
+	}
+
+	public int getBucket() {
+		return bucket;
+	}
+
+	public int getStock() {
+		return stock;
+	}
+}
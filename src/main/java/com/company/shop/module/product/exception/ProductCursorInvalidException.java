@@ -0,0 +1,12 @@
+package com.company.shop.module.product.exception;
+
+import org.springframework.http.HttpStatus;
+
+import com.company.shop.common.exception.BusinessException;
+
+public class ProductCursorInvalidException extends BusinessException {
+
+    public ProductCursorInvalidException() {
+        super(HttpStatus.BAD_REQUEST, "Invalid or expired product listing cursor", "PRODUCT_CURSOR_INVALID");
+    }
+}
@@ -0,0 +1,12 @@
+package com.company.shop.module.product.exception;
+
+import org.springframework.http.HttpStatus;
+
+import com.company.shop.common.exception.BusinessException;
+
+public class ProductReviewCursorInvalidException extends BusinessException {
+
+    public ProductReviewCursorInvalidException() {
+        super(HttpStatus.BAD_REQUEST, "Invalid or expired review listing cursor", "PRODUCT_REVIEW_CURSOR_INVALID");
+    }
+}
@@ -8,28 +8,30 @@
 
 package com.company.shop.module.product.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.company.shop.module.product.dto.ProductSuggestionDTO;
 import com.company.shop.module.product.entity.Product;
 
-import jakarta.persistence.LockModeType;
-
 /**
  * Data access layer for {@link Product} entity management.
  * <p>
  * Supports advanced querying through {@link JpaSpecificationExecutor} and 
- * provides transactional locking mechanisms to ensure data consistency during 
- * high-concurrency inventory operations.
+ * provides atomic conditional stock updates to keep inventory consistent during 
+ * high-concurrency checkouts without row-locking reads.
  * </p>
  *
  * @since 1.0.0
@@ -38,27 +40,193 @@ import jakarta.persistence.LockModeType;
 public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpecificationExecutor<Product> {
 
     /**
-     * Retrieves a product by its unique identifier with a pessimistic write lock.
+     * Atomically takes {@code quantity} units from the product's stock if enough are available.
      * <p>
-     * Use this method during checkout or stock updates to prevent concurrent 
-     * modifications and ensure ACID compliance for inventory levels.
+     * A single conditional {@code UPDATE} replaces the read-lock-modify-write cycle: the row lock
+     * lives only for the remainder of the caller's transaction and no other statement waits
+     * behind a {@code SELECT ... FOR UPDATE}. The version is bumped so that a concurrent edit of a
+     * stale product instance still fails optimistic locking. Managed {@link Product} instances are
+     * not refreshed by this statement.
      * </p>
      *
+     * @param id       the unique identifier of the product.
+     * @param quantity the number of units to take; must be positive.
+     * @return {@code 1} when the stock was decremented, {@code 0} when it was insufficient or the
+     *         product does not exist.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE products SET stock = stock - :quantity, version = version + 1
+            WHERE id = :id AND stock >= :quantity AND deleted = false
+            """, nativeQuery = true)
+    int decrementStockIfAvailable(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    /**
+     * Atomically returns {@code quantity} units to the product's stock (released reservations).
+     *
+     * @param id       the unique identifier of the product.
+     * @param quantity the number of units to return; must be positive.
+     * @return the number of updated rows.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE products SET stock = stock + :quantity, version = version + 1
+            WHERE id = :id
+            """, nativeQuery = true)
+    int incrementStock(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    /**
+     * Reads the committed stock of a product without loading the entity.
+     *
      * @param id the unique identifier of the product.
-     * @return an {@link Optional} containing the locked product, or empty if not found.
+     * @return the current stock, or empty if the product does not exist.
+     */
+    @Query("SELECT p.stock FROM Product p WHERE p.id = :id")
+    Optional<Integer> findStockById(@Param("id") UUID id);
+
+    /**
+     * Atomically adds one review rating to (or, with {@code countDelta = -1}, removes it from) the
+     * product's running rating sum, count and per-star counts, and recomputes
+     * {@code average_rating} from them.
+     * <p>
+     * Does not bump {@code version}: the rating columns are not written by entity updates, so a
+     * review never conflicts with a concurrent admin edit.
+     * </p>
+     *
+     * @param id         the unique identifier of the product.
+     * @param rating     the rating of the added or removed review, 1 to 5.
+     * @param countDelta {@code 1} for an added review, {@code -1} for a removed one.
+     * @return the number of updated rows.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE products
+            SET rating_sum = rating_sum + :rating * :countDelta,
+                review_count = review_count + :countDelta,
+                rating_1_count = rating_1_count + CASE WHEN :rating = 1 THEN :countDelta ELSE 0 END,
+                rating_2_count = rating_2_count + CASE WHEN :rating = 2 THEN :countDelta ELSE 0 END,
+                rating_3_count = rating_3_count + CASE WHEN :rating = 3 THEN :countDelta ELSE 0 END,
+                rating_4_count = rating_4_count + CASE WHEN :rating = 4 THEN :countDelta ELSE 0 END,
+                rating_5_count = rating_5_count + CASE WHEN :rating = 5 THEN :countDelta ELSE 0 END,
+                average_rating = CASE WHEN review_count + :countDelta > 0
+                    THEN ROUND(CAST(rating_sum + :rating * :countDelta AS NUMERIC) / (review_count + :countDelta), 2)
+                    ELSE 0 END
+            WHERE id = :id
+            """, nativeQuery = true)
+    int applyRatingDelta(@Param("id") UUID id, @Param("rating") int rating, @Param("countDelta") int countDelta);
+
+    /**
+     * Recomputes the rating sum, count, per-star counts and average of a product from its active
+     * reviews.
+     *
+     * @param id the unique identifier of the product.
+     * @return the number of updated rows.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE products p
+            SET rating_sum = s.rating_sum,
+                review_count = s.review_count,
+                rating_1_count = s.rating_1_count,
+                rating_2_count = s.rating_2_count,
+                rating_3_count = s.rating_3_count,
+                rating_4_count = s.rating_4_count,
+                rating_5_count = s.rating_5_count,
+                average_rating = CASE WHEN s.review_count > 0
+                    THEN ROUND(CAST(s.rating_sum AS NUMERIC) / s.review_count, 2)
+                    ELSE 0 END
+            FROM (
+                SELECT COALESCE(SUM(r.rating), 0) AS rating_sum, COUNT(*) AS review_count,
+                       COUNT(*) FILTER (WHERE r.rating = 1) AS rating_1_count,
+                       COUNT(*) FILTER (WHERE r.rating = 2) AS rating_2_count,
+                       COUNT(*) FILTER (WHERE r.rating = 3) AS rating_3_count,
+                       COUNT(*) FILTER (WHERE r.rating = 4) AS rating_4_count,
+                       COUNT(*) FILTER (WHERE r.rating = 5) AS rating_5_count
+                FROM product_reviews r
+                WHERE r.product_id = :id AND r.deleted = false
+            ) s
+            WHERE p.id = :id
+            """, nativeQuery = true)
+    int recalculateRatingStats(@Param("id") UUID id);
+
+    /**
+     * Returns products whose stored rating sum, count or per-star counts differ from their active
+     * reviews.
+     * <p>
+     * Scans all active reviews; intended for the background reconciliation job only.
+     * </p>
+     *
+     * @param limit maximum number of products to return.
      */
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT p FROM Product p WHERE p.id = :id")
-    Optional<Product> findByIdWithLock(@Param("id") UUID id);
+    @Query(value = """
+            SELECT p.id FROM products p
+            LEFT JOIN (
+                SELECT product_id, SUM(rating) AS rating_sum, COUNT(*) AS review_count,
+                       COUNT(*) FILTER (WHERE rating = 1) AS rating_1_count,
+                       COUNT(*) FILTER (WHERE rating = 2) AS rating_2_count,
+                       COUNT(*) FILTER (WHERE rating = 3) AS rating_3_count,
+                       COUNT(*) FILTER (WHERE rating = 4) AS rating_4_count,
+                       COUNT(*) FILTER (WHERE rating = 5) AS rating_5_count
+                FROM product_reviews
+                WHERE deleted = false
+                GROUP BY product_id
+            ) s ON s.product_id = p.id
+            WHERE p.deleted = false
+              AND (p.rating_sum <> COALESCE(s.rating_sum, 0)
+                OR p.review_count <> COALESCE(s.review_count, 0)
+                OR p.rating_1_count <> COALESCE(s.rating_1_count, 0)
+                OR p.rating_2_count <> COALESCE(s.rating_2_count, 0)
+                OR p.rating_3_count <> COALESCE(s.rating_3_count, 0)
+                OR p.rating_4_count <> COALESCE(s.rating_4_count, 0)
+                OR p.rating_5_count <> COALESCE(s.rating_5_count, 0))
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<UUID> findProductIdsWithDriftedRatingStats(@Param("limit") int limit);
 
     /**
      * Finds a product by its SEO-friendly slug.
+     * <p>
+     * Category and images are fetched in the same statement, as the product detail view maps both.
+     * </p>
      *
      * @param slug the unique product slug.
      * @return an {@link Optional} containing the product.
      */
+    @EntityGraph(attributePaths = { "category", "images" })
     Optional<Product> findBySlug(String slug);
 
+    /**
+     * Retrieves a page of products with their category joined into the page query.
+     *
+     * @param pageable pagination and sorting configuration.
+     * @return a page of products with initialized categories.
+     */
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Page<Product> findAll(Pageable pageable);
+
+    /**
+     * Reads the id, name and slug of every active product for the in-memory suggestion index.
+     *
+     * @return one suggestion per active product.
+     */
+    @Query("SELECT new com.company.shop.module.product.dto.ProductSuggestionDTO(p.id, p.name, p.slug) FROM Product p")
+    List<ProductSuggestionDTO> findAllSuggestions();
+
+    /**
+     * Initializes the image collections of already loaded products in a single statement.
+     * <p>
+     * Listing queries cannot fetch-join the image bag together with pagination, so callers load
+     * a page first and then pass its identifiers here; the returned instances are the same
+     * managed entities, now with {@code images} populated.
+     * </p>
+     *
+     * @param ids the identifiers of the products on the current page.
+     * @return the products with their images fetched.
+     */
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.images WHERE p.id IN :ids")
+    List<Product> findAllWithImagesByIdIn(@Param("ids") Collection<UUID> ids);
+
     /**
      * Checks if a product exists with the given Stock Keeping Unit (SKU).
      *
@@ -90,7 +258,8 @@ public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpec
      *
      * @param categoryId the identifier of the category.
      * @param pageable   pagination and sorting configuration.
-     * @return a page of products.
+     * @return a page of products with initialized categories.
      */
+    @EntityGraph(attributePaths = "category")
     Page<Product> findByCategoryId(UUID categoryId, Pageable pageable);
 }
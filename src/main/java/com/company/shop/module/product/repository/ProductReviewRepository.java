@@ -1,28 +1,82 @@
 package com.company.shop.module.product.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import com.company.shop.module.product.dto.ProductReviewResponseDTO;
 import com.company.shop.module.product.entity.ProductReview;
 
 public interface ProductReviewRepository extends JpaRepository<ProductReview, UUID> {
 
-	Page<ProductReview> findByProductId(UUID productId, Pageable pageable);
+	/**
+	 * Reads a page of review responses of an active product, with the author's display name, in one
+	 * statement. Reviews by deleted users are left out of both the page and its count.
+	 */
+	@Query(value = """
+			SELECT new com.company.shop.module.product.dto.ProductReviewResponseDTO(
+			    r.id, CONCAT(u.firstName, ' ', u.lastName), r.rating, r.comment, r.createdAt)
+			FROM ProductReview r JOIN r.user u JOIN r.product p
+			WHERE p.id = :productId AND p.deleted = false AND u.deleted = false
+			""", countQuery = """
+			SELECT COUNT(r) FROM ProductReview r JOIN r.user u JOIN r.product p
+			WHERE p.id = :productId AND p.deleted = false AND u.deleted = false
+			""")
+	Page<ProductReviewResponseDTO> findResponsesByProductId(@Param("productId") UUID productId, Pageable pageable);
 
-	boolean existsByProductIdAndUserId(UUID productId, UUID userId);
+	/**
+	 * Same rows as {@link #findResponsesByProductId(UUID, Pageable)} without the count query; one
+	 * extra row tells whether more exist.
+	 */
+	@Query("""
+			SELECT new com.company.shop.module.product.dto.ProductReviewResponseDTO(
+			    r.id, CONCAT(u.firstName, ' ', u.lastName), r.rating, r.comment, r.createdAt)
+			FROM ProductReview r JOIN r.user u JOIN r.product p
+			WHERE p.id = :productId AND p.deleted = false AND u.deleted = false
+			""")
+	Slice<ProductReviewResponseDTO> findResponseSliceByProductId(@Param("productId") UUID productId,
+			Pageable pageable);
 
-	Optional<ProductReview> findByProductIdAndUserId(UUID productId, UUID userId);
+	/**
+	 * Reads the newest review responses of an active product; first slice of the keyset listing.
+	 */
+	@Query("""
+			SELECT new com.company.shop.module.product.dto.ProductReviewResponseDTO(
+			    r.id, CONCAT(u.firstName, ' ', u.lastName), r.rating, r.comment, r.createdAt)
+			FROM ProductReview r JOIN r.user u JOIN r.product p
+			WHERE p.id = :productId AND p.deleted = false AND u.deleted = false
+			ORDER BY r.createdAt DESC, r.id DESC
+			""")
+	List<ProductReviewResponseDTO> findNewestResponsesByProductId(@Param("productId") UUID productId, Limit limit);
 
+	/**
+	 * Reads the review responses following {@code (createdAt, id)} in newest-first order. The
+	 * {@code r.createdAt <= :createdAt} bound is implied by the tie-break condition but, unlike the
+	 * {@code OR}, can serve as an index condition, so the scan of
+	 * {@code idx_product_reviews_product_created} starts at the cursor instead of at the newest review.
+	 */
 	@Query("""
-			SELECT new com.company.shop.module.product.repository.RatingStats(AVG(r.rating), COUNT(r))
-			FROM ProductReview r
-			WHERE r.product.id = :productId AND r.deleted = false
+			SELECT new com.company.shop.module.product.dto.ProductReviewResponseDTO(
+			    r.id, CONCAT(u.firstName, ' ', u.lastName), r.rating, r.comment, r.createdAt)
+			FROM ProductReview r JOIN r.user u JOIN r.product p
+			WHERE p.id = :productId AND p.deleted = false AND u.deleted = false
+			  AND r.createdAt <= :createdAt
+			  AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id))
+			ORDER BY r.createdAt DESC, r.id DESC
 			""")
-	RatingStats getRatingStatsByProductId(@Param("productId") UUID productId);
+	List<ProductReviewResponseDTO> findNewestResponsesByProductIdAfter(@Param("productId") UUID productId,
+			@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Limit limit);
+
+	boolean existsByProductIdAndUserId(UUID productId, UUID userId);
+
+	Optional<ProductReview> findByProductIdAndUserId(UUID productId, UUID userId);
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.company.shop.module.product.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.company.shop.module.product.entity.ProductStockBucket;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Data access for the stock buckets of bucketed products.
+ * <p>
+ * Checkout works with single conditional statements that pick one bucket; only redistribution
+ * (configuration changes, background rebalancing) locks all buckets of a product.
+ * </p>
+ */
+public interface ProductStockBucketRepository extends JpaRepository<ProductStockBucket, UUID> {
+
+	/**
+	 * Takes {@code quantity} units from one random bucket that has enough stock and is not locked
+	 * by another transaction.
+	 * <p>
+	 * {@code SKIP LOCKED} makes concurrent checkouts spread over free buckets instead of queueing
+	 * behind the same row.
+	 * </p>
+	 *
+	 * @return {@code 1} when a bucket was decremented, {@code 0} when every bucket with enough
+	 *         stock is locked or none has enough.
+	 */
+	@Modifying
+	@Query(value = """
+			UPDATE product_stock_buckets SET stock = stock - :quantity
+			WHERE id = (
+			    SELECT id FROM product_stock_buckets
+			    WHERE product_id = :productId AND stock >= :quantity
+			    ORDER BY random()
+			    LIMIT 1
+			    FOR UPDATE SKIP LOCKED)
+			AND stock >= :quantity
+			""", nativeQuery = true)
+	int takeFromRandomFreeBucket(@Param("productId") UUID productId, @Param("quantity") int quantity);
+
+	/**
+	 * Returns {@code quantity} units to the product's emptiest bucket.
+	 *
+	 * @return {@code 1} when a bucket was incremented, {@code 0} when the product has no buckets.
+	 */
+	@Modifying
+	@Query(value = """
+			UPDATE product_stock_buckets SET stock = stock + :quantity
+			WHERE id = (
+			    SELECT id FROM product_stock_buckets
+			    WHERE product_id = :productId
+			    ORDER BY stock, bucket
+			    LIMIT 1)
+			""", nativeQuery = true)
+	int addToEmptiestBucket(@Param("productId") UUID productId, @Param("quantity") int quantity);
+
+	/**
+	 * Reads the committed total of the product's buckets without locking them.
+	 */
+	@Query("SELECT COALESCE(SUM(b.stock), 0) FROM ProductStockBucket b WHERE b.productId = :productId")
+	long sumStockByProductId(@Param("productId") UUID productId);
+
+	/**
+	 * Locks all buckets of a product in bucket order.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT b FROM ProductStockBucket b WHERE b.productId = :productId ORDER BY b.bucket")
+	List<ProductStockBucket> findAllByProductIdForUpdate(@Param("productId") UUID productId);
+
+	/**
+	 * Returns bucketed products whose stock is unevenly spread: units left in
+	 * {@code products.stock}, or an empty bucket while another still holds more than one unit.
+	 *
+	 * @param limit maximum number of products to return
+	 */
+	@Query(value = """
+			SELECT p.id FROM products p
+			JOIN product_stock_buckets b ON b.product_id = p.id
+			WHERE p.stock_buckets > 0 AND p.deleted = false
+			GROUP BY p.id, p.stock
+			HAVING p.stock > 0 OR (MIN(b.stock) = 0 AND MAX(b.stock) > 1)
+			LIMIT :limit
+			""", nativeQuery = true)
+	List<UUID> findProductIdsNeedingRebalance(@Param("limit") int limit);
+}
@@ -1,4 +0,0 @@
-package com.company.shop.module.product.repository;
-
-public record RatingStats(Double averageRating, long reviewCount) {
-}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2026 Your Company Name. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Your Company Name.
+ * You shall not disclose such Confidential Information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with Your Company.
+ */
+
+package com.company.shop.module.product.service;
+
+import java.util.UUID;
+
+/**
+ * Extension point notified after a product has been evicted from the local {@link ProductDetailsCache}.
+ * <p>
+ * Single-node deployments need no implementation. In a multi-node deployment, register a bean that
+ * broadcasts the id (e.g. over a message bus) and have the receiving nodes call
+ * {@link ProductDetailsCache#evictLocally(UUID)}, which does not notify listeners again.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface ProductCacheInvalidationListener {
+
+    /**
+     * Called after the local eviction has been committed.
+     *
+     * @param productId the identifier of the changed product.
+     */
+    void onProductInvalidated(UUID productId);
+
+    /**
+     * Called after the whole local cache has been cleared and committed (e.g. a category rename);
+     * receiving nodes call {@link ProductDetailsCache#evictAllLocally()}.
+     */
+    default void onAllProductsInvalidated() {
+    }
+}
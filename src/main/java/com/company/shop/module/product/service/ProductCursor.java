@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026 Your Company Name. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Your Company Name.
+ * You shall not disclose such Confidential Information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with Your Company.
+ */
+
+package com.company.shop.module.product.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.company.shop.module.product.dto.ProductScrollSort;
+import com.company.shop.module.product.entity.Product;
+import com.company.shop.module.product.exception.ProductCursorInvalidException;
+
+/**
+ * Position of the last product returned by a keyset-paginated listing.
+ * <p>
+ * Serialized as URL-safe Base64 of {@code sort|sortValue|id}. The format is an implementation
+ * detail; clients must treat the token as opaque and only send it back unchanged with the same
+ * {@code sort}.
+ * </p>
+ *
+ * @param sort      the ordering the cursor was produced for.
+ * @param sortValue the sort column value of the last row: {@link LocalDateTime} for the creation
+ *                  date, {@link BigDecimal} for price and for the rating, the latter at the column
+ *                  scale so ties compare exactly.
+ * @param id        the id of the last row (tie-breaker).
+ */
+record ProductCursor(ProductScrollSort sort, Comparable<?> sortValue, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    static ProductCursor after(ProductScrollSort sort, Product last) {
+        Comparable<?> value = switch (sort) {
+            case NEWEST -> last.getCreatedAt();
+            case PRICE_ASC, PRICE_DESC -> last.getPrice();
+            case RATING -> BigDecimal.valueOf(last.getAverageRating())
+                    .setScale(Product.AVERAGE_RATING_SCALE, RoundingMode.HALF_UP);
+        };
+        return new ProductCursor(sort, value, last.getId());
+    }
+
+    String encode() {
+        String raw = sort.name() + SEPARATOR + sortValue + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a client-supplied token and checks it belongs to the requested ordering.
+     *
+     * @throws ProductCursorInvalidException if the token is malformed or was issued for another sort.
+     */
+    static ProductCursor decode(String token, ProductScrollSort expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 3 || !expectedSort.name().equals(parts[0])) {
+                throw new ProductCursorInvalidException();
+            }
+            Comparable<?> value = switch (expectedSort) {
+                case NEWEST -> LocalDateTime.parse(parts[1]);
+                case PRICE_ASC, PRICE_DESC -> new BigDecimal(parts[1]);
+                case RATING -> new BigDecimal(parts[1]).setScale(Product.AVERAGE_RATING_SCALE);
+            };
+            return new ProductCursor(expectedSort, value, UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException | ArithmeticException e) {
+            throw new ProductCursorInvalidException();
+        }
+    }
+}
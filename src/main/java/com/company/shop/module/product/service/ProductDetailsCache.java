@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2026 Your Company Name. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Your Company Name.
+ * You shall not disclose such Confidential Information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with Your Company.
+ */
+
+package com.company.shop.module.product.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.company.shop.module.product.dto.ProductResponseDTO;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read-through, in-process cache of product detail responses, addressable by id and by slug.
+ * <p>
+ * Entries are immutable {@link ProductResponseDTO}s, bounded by {@code shop.product-cache.max-size}
+ * (oldest entry evicted first) and expired after {@code shop.product-cache.ttl-ms}. Every write path
+ * touching data exposed in the DTO must evict: product edits, deletion, stock and ratings call
+ * {@link #evict(UUID)}, category renames and deletions (the DTO embeds the category name) call
+ * {@link #evictAll()}. The TTL only bounds staleness for changes made outside the application.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+@Component
+public class ProductDetailsCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductDetailsCache.class);
+    private static final String METRIC = "shop.product_cache.total";
+    private static final String EVICTION_METRIC = "shop.product_cache.eviction.total";
+    private static final String RESULT_TAG = "result";
+    private static final String REASON_TAG = "reason";
+
+    private final MeterRegistry meterRegistry;
+    private final List<ProductCacheInvalidationListener> invalidationListeners;
+    private final LongSupplier nanoClock;
+    private final Map<UUID, CachedProduct> byId;
+    private final Map<String, UUID> idsBySlug = new HashMap<>();
+
+    @Value("${shop.product-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${shop.product-cache.ttl-ms:60000}")
+    private long ttlMs = 60000;
+
+    @Value("${shop.product-cache.max-size:5000}")
+    private int maxSize = 5000;
+
+    @Autowired
+    public ProductDetailsCache(MeterRegistry meterRegistry,
+            ObjectProvider<ProductCacheInvalidationListener> invalidationListeners) {
+        this(meterRegistry, invalidationListeners.orderedStream().toList(), System::nanoTime);
+    }
+
+    ProductDetailsCache(MeterRegistry meterRegistry, List<ProductCacheInvalidationListener> invalidationListeners,
+            LongSupplier nanoClock) {
+        this.meterRegistry = meterRegistry;
+        this.invalidationListeners = List.copyOf(invalidationListeners);
+        this.nanoClock = nanoClock;
+        this.byId = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, CachedProduct> eldest) {
+                if (size() <= maxSize) {
+                    return false;
+                }
+                idsBySlug.remove(eldest.getValue().product().getSlug(), eldest.getKey());
+                incrementEviction("size");
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached product or loads, caches and returns it.
+     *
+     * @param id     the product identifier.
+     * @param loader database lookup used on a miss; exceptions propagate and nothing is cached.
+     */
+    public ProductResponseDTO getById(UUID id, Supplier<ProductResponseDTO> loader) {
+        ProductResponseDTO cached = enabled ? lookup(id) : null;
+        return cached != null ? cached : load(loader);
+    }
+
+    /**
+     * Slug-addressed variant of {@link #getById(UUID, Supplier)}.
+     */
+    public ProductResponseDTO getBySlug(String slug, Supplier<ProductResponseDTO> loader) {
+        ProductResponseDTO cached = null;
+        if (enabled) {
+            UUID id;
+            synchronized (byId) {
+                id = idsBySlug.get(slug);
+            }
+            cached = id != null ? lookup(id) : null;
+        }
+        return cached != null ? cached : load(loader);
+    }
+
+    /**
+     * Evicts the product now and again after the surrounding transaction commits, then notifies
+     * the {@link ProductCacheInvalidationListener}s.
+     * <p>
+     * The second eviction discards anything a concurrent reader cached from the pre-commit state.
+     * </p>
+     *
+     * @param productId the identifier of the changed product.
+     */
+    public void evict(UUID productId) {
+        evictLocally(productId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictLocally(productId);
+                    notifyListeners(productId);
+                }
+            });
+        } else {
+            notifyListeners(productId);
+        }
+    }
+
+    /**
+     * Drops the product from this node only; entry point for invalidations received from other nodes.
+     *
+     * @param productId the identifier of the changed product.
+     */
+    public void evictLocally(UUID productId) {
+        synchronized (byId) {
+            CachedProduct removed = byId.remove(productId);
+            if (removed != null) {
+                idsBySlug.remove(removed.product().getSlug(), productId);
+                incrementEviction("invalidated");
+            }
+        }
+    }
+
+    /**
+     * Clears the whole cache now and again after the surrounding transaction commits, then
+     * notifies the {@link ProductCacheInvalidationListener}s. Used for changes shared by many
+     * products, such as a category rename.
+     */
+    public void evictAll() {
+        evictAllLocally();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictAllLocally();
+                    notifyListenersOfFullEviction();
+                }
+            });
+        } else {
+            notifyListenersOfFullEviction();
+        }
+    }
+
+    /**
+     * Clears this node only; entry point for full invalidations received from other nodes.
+     */
+    public void evictAllLocally() {
+        synchronized (byId) {
+            byId.clear();
+            idsBySlug.clear();
+        }
+    }
+
+    private ProductResponseDTO lookup(UUID id) {
+        synchronized (byId) {
+            CachedProduct entry = byId.get(id);
+            if (entry != null) {
+                if (entry.expiresAtNanos() - nanoClock.getAsLong() > 0) {
+                    increment("hit");
+                    return entry.product();
+                }
+                byId.remove(id);
+                idsBySlug.remove(entry.product().getSlug(), id);
+                incrementEviction("expired");
+            }
+        }
+        return null;
+    }
+
+    private ProductResponseDTO load(Supplier<ProductResponseDTO> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        increment("miss");
+        ProductResponseDTO loaded = loader.get();
+        if (loaded != null) {
+            long expiresAt = nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(ttlMs);
+            synchronized (byId) {
+                CachedProduct previous = byId.put(loaded.getId(), new CachedProduct(loaded, expiresAt));
+                if (previous != null) {
+                    idsBySlug.remove(previous.product().getSlug(), loaded.getId());
+                }
+                idsBySlug.put(loaded.getSlug(), loaded.getId());
+            }
+        }
+        return loaded;
+    }
+
+    private void notifyListeners(UUID productId) {
+        for (ProductCacheInvalidationListener listener : invalidationListeners) {
+            try {
+                listener.onProductInvalidated(productId);
+            } catch (RuntimeException ex) {
+                // A broken broadcaster must not fail the write; remote entries still expire via TTL.
+                log.warn("Product cache invalidation listener failed productId={} listener={}",
+                        productId, listener.getClass().getSimpleName(), ex);
+            }
+        }
+    }
+
+    private void notifyListenersOfFullEviction() {
+        for (ProductCacheInvalidationListener listener : invalidationListeners) {
+            try {
+                listener.onAllProductsInvalidated();
+            } catch (RuntimeException ex) {
+                log.warn("Product cache invalidation listener failed listener={}",
+                        listener.getClass().getSimpleName(), ex);
+            }
+        }
+    }
+
+    private void increment(String result) {
+        meterRegistry.counter(METRIC, RESULT_TAG, result).increment();
+    }
+
+    private void incrementEviction(String reason) {
+        meterRegistry.counter(EVICTION_METRIC, REASON_TAG, reason).increment();
+    }
+
+    private record CachedProduct(ProductResponseDTO product, long expiresAtNanos) {
+    }
+}
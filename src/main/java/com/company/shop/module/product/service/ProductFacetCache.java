@@ -0,0 +1,100 @@
+package com.company.shop.module.product.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import com.company.shop.module.product.dto.ProductSearchCriteria;
+import com.company.shop.module.product.dto.ProductSearchFacetsDTO;
+
+/**
+ * Read-through, in-process cache of facet counts for searches without a text query.
+ * <p>
+ * Category pages and filter panels ask for the same few filter combinations over and over, so
+ * their counts are kept for {@code shop.product-facet-cache.ttl-ms}, bounded by
+ * {@code shop.product-facet-cache.max-size} (oldest entry evicted first). Product writes do not
+ * evict entries; counts may lag by up to the TTL. Text searches are too diverse to cache.
+ * </p>
+ */
+@Component
+public class ProductFacetCache {
+
+    private static final String METRIC = "shop.product_facet_cache.total";
+    private static final String RESULT_TAG = "result";
+
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+    private final Map<ProductSearchCriteria, CachedFacets> byCriteria;
+
+    @Value("${shop.product-facet-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${shop.product-facet-cache.ttl-ms:60000}")
+    private long ttlMs = 60000;
+
+    @Value("${shop.product-facet-cache.max-size:500}")
+    private int maxSize = 500;
+
+    @Autowired
+    public ProductFacetCache(MeterRegistry meterRegistry) {
+        this(meterRegistry, System::nanoTime);
+    }
+
+    ProductFacetCache(MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        this.byCriteria = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ProductSearchCriteria, CachedFacets> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached counts or loads, caches and returns them.
+     *
+     * @param criteria the filters; the text query is ignored and must be empty.
+     * @param loader   database aggregation used on a miss; exceptions propagate and nothing is cached.
+     */
+    public ProductSearchFacetsDTO get(ProductSearchCriteria criteria, Supplier<ProductSearchFacetsDTO> loader) {
+        ProductSearchCriteria key = new ProductSearchCriteria(null, criteria.categoryId(), criteria.minPrice(),
+                criteria.maxPrice(), criteria.minRating());
+        if (enabled) {
+            synchronized (byCriteria) {
+                CachedFacets entry = byCriteria.get(key);
+                if (entry != null) {
+                    if (entry.expiresAtNanos() - nanoClock.getAsLong() > 0) {
+                        increment("hit");
+                        return entry.facets();
+                    }
+                    byCriteria.remove(key);
+                }
+            }
+        }
+
+        increment("miss");
+        ProductSearchFacetsDTO loaded = loader.get();
+        if (enabled) {
+            long expiresAt = nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(ttlMs);
+            synchronized (byCriteria) {
+                byCriteria.put(key, new CachedFacets(loaded, expiresAt));
+            }
+        }
+        return loaded;
+    }
+
+    private void increment(String result) {
+        meterRegistry.counter(METRIC, RESULT_TAG, result).increment();
+    }
+
+    private record CachedFacets(ProductSearchFacetsDTO facets, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.company.shop.module.product.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Background job repairing product rating columns that drifted from the product's active reviews,
+ * e.g. after reviews were changed directly in the database.
+ * <p>
+ * Finding drift scans all active reviews, so the job runs rarely; each drifted product is
+ * recomputed in its own short transaction.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(prefix = "shop.product-rating.reconciliation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProductRatingReconciliationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductRatingReconciliationJob.class);
+
+    @Value("${shop.product-rating.reconciliation.batch-size:100}")
+    private int batchSize = 100;
+
+    private final ProductRatingService productRatingService;
+    private final TransactionOperations transactionOperations;
+
+    public ProductRatingReconciliationJob(ProductRatingService productRatingService,
+            TransactionOperations transactionOperations) {
+        this.productRatingService = productRatingService;
+        this.transactionOperations = transactionOperations;
+    }
+
+    @Scheduled(fixedDelayString = "${shop.product-rating.reconciliation.poll-interval-ms:3600000}",
+            initialDelayString = "${shop.product-rating.reconciliation.poll-interval-ms:3600000}")
+    public void reconcileRatings() {
+        List<UUID> productIds = productRatingService.findProductsWithDriftedRatings(batchSize);
+        for (UUID productId : productIds) {
+            try {
+                transactionOperations.executeWithoutResult(status -> productRatingService.reconcile(productId));
+                log.info("Product rating stats reconciled productId={}", productId);
+            } catch (Exception ex) {
+                log.warn("Product rating reconciliation failed productId={} reason={}", productId, ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.company.shop.module.product.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import com.company.shop.module.product.repository.ProductRepository;
+
+/**
+ * Incremental maintenance of the denormalized product rating columns
+ * ({@code rating_sum}, {@code review_count}, {@code average_rating} and the per-star counts).
+ * <p>
+ * Each added or removed review applies its rating as a delta in one atomic {@code UPDATE}, without
+ * scanning the product's reviews or bumping the product version. Missed or duplicated deltas are
+ * repaired by {@link ProductRatingReconciliationJob}. Methods changing ratings must run inside the
+ * caller's transaction, which should issue them as late as possible: the update holds the
+ * product's row lock until commit.
+ * </p>
+ */
+@Service
+public class ProductRatingService {
+
+    private static final String RATING_METRIC = "shop.product_rating.total";
+    private static final String RESULT_TAG = "result";
+
+    private final ProductRepository productRepo;
+    private final ProductDetailsCache productDetailsCache;
+    private final MeterRegistry meterRegistry;
+
+    public ProductRatingService(ProductRepository productRepo, ProductDetailsCache productDetailsCache,
+            MeterRegistry meterRegistry) {
+        this.productRepo = productRepo;
+        this.productDetailsCache = productDetailsCache;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addRating(UUID productId, int rating) {
+        productRepo.applyRatingDelta(productId, rating, 1);
+        productDetailsCache.evict(productId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeRating(UUID productId, int rating) {
+        productRepo.applyRatingDelta(productId, rating, -1);
+        productDetailsCache.evict(productId);
+    }
+
+    /**
+     * Returns products whose rating columns no longer match their active reviews.
+     */
+    @Transactional(readOnly = true)
+    public List<UUID> findProductsWithDriftedRatings(int limit) {
+        return productRepo.findProductIdsWithDriftedRatingStats(limit);
+    }
+
+    /**
+     * Recomputes the rating columns of a product from its active reviews.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reconcile(UUID productId) {
+        if (productRepo.recalculateRatingStats(productId) == 1) {
+            productDetailsCache.evict(productId);
+            meterRegistry.counter(RATING_METRIC, RESULT_TAG, "reconciled").increment();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.company.shop.module.product.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.company.shop.module.product.dto.ProductReviewResponseDTO;
+import com.company.shop.module.product.exception.ProductReviewCursorInvalidException;
+
+/**
+ * Position of the last review returned by the newest-first keyset listing of a product's reviews.
+ * <p>
+ * Serialized as URL-safe Base64 of {@code createdAt|id}; clients must treat the token as opaque.
+ * </p>
+ *
+ * @param createdAt the creation time of the last row.
+ * @param id        the id of the last row (tie-breaker).
+ */
+record ProductReviewCursor(LocalDateTime createdAt, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    static ProductReviewCursor after(ProductReviewResponseDTO last) {
+        return new ProductReviewCursor(last.createdAt(), last.id());
+    }
+
+    String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a client-supplied token.
+     *
+     * @throws ProductReviewCursorInvalidException if the token is malformed.
+     */
+    static ProductReviewCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 2) {
+                throw new ProductReviewCursorInvalidException();
+            }
+            return new ProductReviewCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ProductReviewCursorInvalidException();
+        }
+    }
+}
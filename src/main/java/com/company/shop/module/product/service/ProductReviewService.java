@@ -4,7 +4,10 @@ import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import com.company.shop.common.dto.CursorPageResponseDTO;
+import com.company.shop.module.product.dto.ProductRatingSummaryResponseDTO;
 import com.company.shop.module.product.dto.ProductReviewRequestDTO;
 import com.company.shop.module.product.dto.ProductReviewResponseDTO;
 
@@ -13,5 +16,21 @@ public interface ProductReviewService {
 
 	Page<ProductReviewResponseDTO> getProductReviews(UUID productId, Pageable pageable);
 
+	/**
+	 * Variant of {@link #getProductReviews(UUID, Pageable)} that skips the count query and only tells whether a
+	 * next page exists.
+	 */
+	Slice<ProductReviewResponseDTO> getProductReviewsSlice(UUID productId, Pageable pageable);
+
+	/**
+	 * Returns the next slice of a product's reviews, newest first, using keyset pagination.
+	 *
+	 * @param cursor opaque {@code nextCursor} of the previous slice, or {@code null} for the first one.
+	 * @param size   requested slice size, capped at 100.
+	 */
+	CursorPageResponseDTO<ProductReviewResponseDTO> scrollProductReviews(UUID productId, String cursor, int size);
+
+	ProductRatingSummaryResponseDTO getRatingSummary(UUID productId);
+
 	void deleteReview(UUID reviewId);
 }
\ No newline at end of file
@@ -1,12 +1,19 @@
 package com.company.shop.module.product.service;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.company.shop.common.dto.CursorPageResponseDTO;
+import com.company.shop.module.product.dto.ProductRatingSummaryResponseDTO;
 import com.company.shop.module.product.dto.ProductReviewRequestDTO;
 import com.company.shop.module.product.dto.ProductReviewResponseDTO;
 import com.company.shop.module.product.entity.Product;
@@ -15,10 +22,8 @@ import com.company.shop.module.product.exception.ProductNotFoundException;
 import com.company.shop.module.product.exception.ProductReviewAccessDeniedException;
 import com.company.shop.module.product.exception.ProductReviewAlreadyExistsException;
 import com.company.shop.module.product.exception.ProductReviewNotFoundException;
-import com.company.shop.module.product.exception.ProductReviewCountInvalidException;
 import com.company.shop.module.product.repository.ProductRepository;
 import com.company.shop.module.product.repository.ProductReviewRepository;
-import com.company.shop.module.product.repository.RatingStats;
 import com.company.shop.module.user.entity.User;
 import com.company.shop.module.user.service.UserService;
 
@@ -26,14 +31,19 @@ import com.company.shop.module.user.service.UserService;
 @Transactional
 public class ProductReviewServiceImpl implements ProductReviewService {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+
     private final ProductReviewRepository reviewRepo;
     private final ProductRepository productRepo;
     private final UserService userService;
+    private final ProductRatingService productRatingService;
 
-    public ProductReviewServiceImpl(ProductReviewRepository reviewRepo, ProductRepository productRepo, UserService userService) {
+    public ProductReviewServiceImpl(ProductReviewRepository reviewRepo, ProductRepository productRepo, UserService userService,
+            ProductRatingService productRatingService) {
         this.reviewRepo = reviewRepo;
         this.productRepo = productRepo;
         this.userService = userService;
+        this.productRatingService = productRatingService;
     }
 
     @Override
@@ -47,15 +57,73 @@ public class ProductReviewServiceImpl implements ProductReviewService {
         Product product = getProductOrThrow(dto.productId());
         ProductReview saved = reviewRepo.save(new ProductReview(product, user, dto.rating(), dto.comment()));
 
-        updateProductRatingStats(product);
+        productRatingService.addRating(product.getId(), saved.getRating());
         return mapToResponse(saved);
     }
 
+    /**
+     * Reads the page with author names in one statement; the product is only looked up to tell
+     * "no reviews" from "no product" when the page is empty.
+     */
     @Override
     @Transactional(readOnly = true)
     public Page<ProductReviewResponseDTO> getProductReviews(UUID productId, Pageable pageable) {
-        getProductOrThrow(productId);
-        return reviewRepo.findByProductId(productId, pageable).map(this::mapToResponse);
+        Page<ProductReviewResponseDTO> page = reviewRepo.findResponsesByProductId(productId, pageable);
+        if (page.isEmpty()) {
+            requireProductExists(productId);
+        }
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<ProductReviewResponseDTO> getProductReviewsSlice(UUID productId, Pageable pageable) {
+        Slice<ProductReviewResponseDTO> slice = reviewRepo.findResponseSliceByProductId(productId, pageable);
+        if (slice.isEmpty()) {
+            requireProductExists(productId);
+        }
+        return slice;
+    }
+
+    /**
+     * Fetches one row more than requested to learn whether another slice exists without counting.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<ProductReviewResponseDTO> scrollProductReviews(UUID productId, String cursor,
+            int size) {
+        int limit = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        List<ProductReviewResponseDTO> rows;
+        if (cursor != null && !cursor.isBlank()) {
+            ProductReviewCursor position = ProductReviewCursor.decode(cursor);
+            rows = reviewRepo.findNewestResponsesByProductIdAfter(productId, position.createdAt(), position.id(),
+                    Limit.of(limit + 1));
+        } else {
+            rows = reviewRepo.findNewestResponsesByProductId(productId, Limit.of(limit + 1));
+            if (rows.isEmpty()) {
+                requireProductExists(productId);
+            }
+        }
+
+        boolean hasNext = rows.size() > limit;
+        List<ProductReviewResponseDTO> slice = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? ProductReviewCursor.after(slice.get(limit - 1)).encode() : null;
+        return new CursorPageResponseDTO<>(slice, limit, hasNext, nextCursor);
+    }
+
+    /**
+     * Reads the precomputed rating columns of the product; no review rows are aggregated.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ProductRatingSummaryResponseDTO getRatingSummary(UUID productId) {
+        Product product = getProductOrThrow(productId);
+        Map<Integer, Integer> distribution = new LinkedHashMap<>();
+        for (int stars = 1; stars <= 5; stars++) {
+            distribution.put(stars, product.getRatingDistribution().count(stars));
+        }
+        return new ProductRatingSummaryResponseDTO(product.getId(), product.getAverageRating(),
+                product.getReviewCount(), distribution);
     }
 
     @Override
@@ -71,9 +139,14 @@ public class ProductReviewServiceImpl implements ProductReviewService {
             throw new ProductReviewAccessDeniedException();
         }
 
-        Product product = review.getProduct();
         review.delete();
-        updateProductRatingStats(product);
+        productRatingService.removeRating(review.getProduct().getId(), review.getRating());
+    }
+
+    private void requireProductExists(UUID productId) {
+        if (!productRepo.existsById(productId)) {
+            throw new ProductNotFoundException(productId);
+        }
     }
 
     private Product getProductOrThrow(UUID productId) {
@@ -81,19 +154,6 @@ public class ProductReviewServiceImpl implements ProductReviewService {
                 .orElseThrow(() -> new ProductNotFoundException(productId));
     }
 
-    private void updateProductRatingStats(Product product) {
-        RatingStats stats = reviewRepo.getRatingStatsByProductId(product.getId());
-
-        long count = stats != null ? stats.reviewCount() : 0L;
-        if (count > Integer.MAX_VALUE) {
-            throw new ProductReviewCountInvalidException("Review count exceeds integer range for product: " + product.getId());
-        }
-
-        double avg = (stats != null && stats.averageRating() != null) ? stats.averageRating() : 0.0;
-        product.updateRatings(avg, (int) count);
-        productRepo.save(product);
-    }
-
     private ProductReviewResponseDTO mapToResponse(ProductReview review) {
         return new ProductReviewResponseDTO(review.getId(),
                 review.getUser().getFirstName() + " " + review.getUser().getLastName(),
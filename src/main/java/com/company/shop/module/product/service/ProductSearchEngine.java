@@ -0,0 +1,194 @@
+package com.company.shop.module.product.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.company.shop.module.product.dto.ProductSearchCriteria;
+import com.company.shop.module.product.dto.ProductSearchFacetsDTO;
+import com.company.shop.module.product.dto.ProductSearchFacetsDTO.CategoryFacet;
+import com.company.shop.module.product.dto.ProductSearchFacetsDTO.PriceBandFacet;
+import com.company.shop.module.product.dto.ProductSearchFacetsDTO.RatingFacet;
+import com.company.shop.module.product.specification.ProductSearchQuery;
+
+/**
+ * Relevance-ranked full-text search over the weighted {@code products.search_vector}
+ * (name weighted {@code A}, description {@code B}).
+ * <p>
+ * Ranking needs {@code ts_rank_cd} for every match before the first row can be returned, so
+ * matching stops after {@code shop.product-search.candidate-limit} rows taken straight from the
+ * GIN index; only those candidates are ranked, sorted and paged. Popular terms therefore cost
+ * the same as rare ones, at the price of ignoring matches beyond the cap; the reported total is
+ * capped as well. Facet counts ({@link #countFacets}) share the same filters. Statements are
+ * assembled only from the filters that are present so the planner sees plain predicates instead
+ * of {@code :param IS NULL} branches.
+ * </p>
+ */
+@Component
+public class ProductSearchEngine {
+
+    private static final String TS_QUERY =
+            "(websearch_to_tsquery('polish', :text) && to_tsquery('polish', :prefixTerms))";
+
+    private static final int CATEGORY_FACET = 0b011;
+    private static final int PRICE_BAND_FACET = 0b101;
+    private static final int RATING_FACET = 0b110;
+    private static final int MAX_RATING = 5;
+
+    @Value("${shop.product-search.candidate-limit:1000}")
+    private int candidateLimit = 1000;
+
+    @Value("${shop.product-search.price-band-bounds:50,100,250,500,1000}")
+    private BigDecimal[] priceBandBounds = {
+            BigDecimal.valueOf(50), BigDecimal.valueOf(100), BigDecimal.valueOf(250), BigDecimal.valueOf(500),
+            BigDecimal.valueOf(1000) };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ProductSearchEngine(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns one page of matching product ids, best match first.
+     *
+     * @param searchQuery the parsed text query.
+     * @param criteria    the remaining filters; its {@code query} is ignored.
+     * @param offset      the number of ranked rows to skip.
+     * @param limit       the maximum number of ids to return.
+     * @return the ids in relevance order (ties broken by id).
+     */
+    public List<UUID> findRankedIds(ProductSearchQuery searchQuery, ProductSearchCriteria criteria, long offset,
+            int limit) {
+        MapSqlParameterSource params = parameters(searchQuery, criteria)
+                .addValue("offset", offset)
+                .addValue("limit", limit);
+        String sql = "WITH candidates AS (SELECT p.id, ts_rank_cd(p.search_vector, q.query) AS rank "
+                + candidateSource(criteria, searchQuery)
+                + ") SELECT id FROM candidates ORDER BY rank DESC, id LIMIT :limit OFFSET :offset";
+        return jdbcTemplate.queryForList(sql, params, UUID.class);
+    }
+
+    /**
+     * Counts matching products, up to the candidate limit.
+     *
+     * @param searchQuery the parsed text query.
+     * @param criteria    the remaining filters; its {@code query} is ignored.
+     * @return the number of matches, never more than the candidate limit.
+     */
+    public long countMatches(ProductSearchQuery searchQuery, ProductSearchCriteria criteria) {
+        String sql = "SELECT count(*) FROM (SELECT 1 " + candidateSource(criteria, searchQuery) + ") candidates";
+        Long count = jdbcTemplate.queryForObject(sql, parameters(searchQuery, criteria), Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Counts the products matching the criteria per category, price band and rating in one
+     * {@code GROUPING SETS} statement.
+     * <p>
+     * Unlike ranking, facets cover every match: the counts must agree with the unranked listing.
+     * </p>
+     *
+     * @param searchQuery the parsed text query, or {@code null} to filter by the other criteria only.
+     * @param criteria    the remaining filters; its {@code query} is ignored.
+     * @return the facet counts.
+     */
+    public ProductSearchFacetsDTO countFacets(ProductSearchQuery searchQuery, ProductSearchCriteria criteria) {
+        String bounds = Arrays.stream(priceBandBounds).map(BigDecimal::toPlainString)
+                .collect(Collectors.joining(",", "ARRAY[", "]::numeric[]"));
+        String sql = "WITH matches AS (SELECT p.category_id, width_bucket(p.price, " + bounds + ") AS price_band, "
+                + "floor(p.average_rating)::int AS rating_floor " + matchSource(searchQuery, criteria) + "), "
+                + "facets AS (SELECT category_id, price_band, rating_floor, "
+                + "GROUPING(category_id, price_band, rating_floor) AS facet, count(*) AS hits FROM matches "
+                + "GROUP BY GROUPING SETS ((category_id), (price_band), (rating_floor))) "
+                + "SELECT f.facet, f.category_id, c.name AS category_name, f.price_band, f.rating_floor, f.hits "
+                + "FROM facets f LEFT JOIN categories c ON c.id = f.category_id";
+
+        List<CategoryFacet> categories = new ArrayList<>();
+        SortedMap<Integer, Long> bands = new TreeMap<>();
+        long[] ratingFloors = new long[MAX_RATING + 1];
+        jdbcTemplate.query(sql, parameters(searchQuery, criteria), row -> {
+            long hits = row.getLong("hits");
+            switch (row.getInt("facet")) {
+                case CATEGORY_FACET -> categories.add(new CategoryFacet(row.getObject("category_id", UUID.class),
+                        row.getString("category_name"), hits));
+                case PRICE_BAND_FACET -> bands.put(row.getInt("price_band"), hits);
+                case RATING_FACET -> ratingFloors[Math.min(row.getInt("rating_floor"), MAX_RATING)] += hits;
+                default -> throw new IllegalStateException("Unexpected facet grouping " + row.getInt("facet"));
+            }
+        });
+        categories.sort(Comparator.comparingLong(CategoryFacet::count).reversed());
+        return new ProductSearchFacetsDTO(categories, priceBands(bands), ratings(ratingFloors));
+    }
+
+    private List<PriceBandFacet> priceBands(SortedMap<Integer, Long> hitsByBand) {
+        List<PriceBandFacet> bands = new ArrayList<>();
+        hitsByBand.forEach((band, hits) -> bands.add(new PriceBandFacet(
+                band == 0 ? null : priceBandBounds[band - 1],
+                band == priceBandBounds.length ? null : priceBandBounds[band], hits)));
+        return bands;
+    }
+
+    /**
+     * Turns counts per whole-star floor into "at least n stars" counts matching the {@code minRating} filter.
+     */
+    private List<RatingFacet> ratings(long[] hitsByFloor) {
+        List<RatingFacet> ratings = new ArrayList<>();
+        long atLeast = 0;
+        for (int stars = MAX_RATING; stars >= 1; stars--) {
+            atLeast += hitsByFloor[stars];
+            ratings.add(0, new RatingFacet(stars, atLeast));
+        }
+        return ratings;
+    }
+
+    private String candidateSource(ProductSearchCriteria criteria, ProductSearchQuery searchQuery) {
+        return matchSource(searchQuery, criteria) + " LIMIT :candidateLimit";
+    }
+
+    private String matchSource(ProductSearchQuery searchQuery, ProductSearchCriteria criteria) {
+        StringBuilder sql = new StringBuilder("FROM products p");
+        if (searchQuery != null) {
+            sql.append(", (SELECT ").append(TS_QUERY).append(" AS query) q");
+        }
+        sql.append(" WHERE p.deleted = false");
+        if (searchQuery != null) {
+            sql.append(" AND p.search_vector @@ q.query");
+        }
+        if (criteria.categoryId() != null) {
+            sql.append(" AND p.category_id = :categoryId");
+        }
+        if (criteria.minPrice() != null) {
+            sql.append(" AND p.price >= :minPrice");
+        }
+        if (criteria.maxPrice() != null) {
+            sql.append(" AND p.price <= :maxPrice");
+        }
+        if (criteria.minRating() != null) {
+            sql.append(" AND p.average_rating >= :minRating");
+        }
+        return sql.toString();
+    }
+
+    private MapSqlParameterSource parameters(ProductSearchQuery searchQuery, ProductSearchCriteria criteria) {
+        return new MapSqlParameterSource()
+                .addValue("text", searchQuery == null ? null : searchQuery.text())
+                .addValue("prefixTerms", searchQuery == null ? null : searchQuery.prefixTerms())
+                .addValue("candidateLimit", candidateLimit)
+                .addValue("categoryId", criteria.categoryId())
+                .addValue("minPrice", criteria.minPrice())
+                .addValue("maxPrice", criteria.maxPrice())
+                .addValue("minRating", criteria.minRating());
+    }
+}
@@ -8,14 +8,20 @@
 
 package com.company.shop.module.product.service;
 
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import com.company.shop.common.dto.CursorPageResponseDTO;
 import com.company.shop.module.product.dto.ProductCreateDTO;
 import com.company.shop.module.product.dto.ProductResponseDTO;
+import com.company.shop.module.product.dto.ProductScrollSort;
 import com.company.shop.module.product.dto.ProductSearchCriteria;
+import com.company.shop.module.product.dto.ProductSearchFacetsDTO;
+import com.company.shop.module.product.dto.ProductSuggestionDTO;
 
 /**
  * Service interface for managing product-related business operations.
@@ -36,6 +42,15 @@ public interface ProductService {
      */
     Page<ProductResponseDTO> findAll(Pageable pageable);
 
+    /**
+     * Variant of {@link #findAll(Pageable)} that skips the count query and only tells whether a
+     * next page exists.
+     *
+     * @param pageable pagination and sorting information.
+     * @return a slice of product response objects.
+     */
+    Slice<ProductResponseDTO> findAllSlice(Pageable pageable);
+
     /**
      * Retrieves a paginated list of products belonging to a specific category.
      *
@@ -45,6 +60,15 @@ public interface ProductService {
      */
     Page<ProductResponseDTO> findAllByCategory(UUID categoryId, Pageable pageable);
 
+    /**
+     * Variant of {@link #findAllByCategory(UUID, Pageable)} that skips the count query.
+     *
+     * @param categoryId unique identifier of the category.
+     * @param pageable   pagination and sorting information.
+     * @return a slice of products in the specified category.
+     */
+    Slice<ProductResponseDTO> findAllByCategorySlice(UUID categoryId, Pageable pageable);
+
     /**
      * Finds a single product by its unique identifier.
      *
@@ -81,6 +105,20 @@ public interface ProductService {
      */
     ProductResponseDTO update(UUID id, ProductCreateDTO dto);
 
+    /**
+     * Splits a product's stock over {@code buckets} counter rows, or merges it back with {@code 0}.
+     * <p>
+     * Intended for flash-sale products: concurrent checkouts then decrement different rows. The
+     * total stock is unchanged.
+     * </p>
+     *
+     * @param id      unique identifier of the product.
+     * @param buckets the number of stock buckets, {@code 0} to disable bucketing.
+     * @return the product response object.
+     * @throws com.company.shop.module.product.exception.ProductNotFoundException if the product does not exist.
+     */
+    ProductResponseDTO configureStockBuckets(UUID id, int buckets);
+
     /**
      * Removes a product from the system.
      * <p>
@@ -96,6 +134,9 @@ public interface ProductService {
      * <p>
      * This method supports full-text search, category filtering, and range-based filters.
      * Results are paginated and sorted according to the provided {@link Pageable} object.
+     * Sorting by {@code relevance} ranks text matches with {@code ts_rank_cd} over a capped
+     * candidate set; without a text query it falls back to newest first. Query words ending with
+     * {@code *} match as prefixes.
      * </p>
      *
      * @param criteria the search parameters including query, price range, and rating.
@@ -103,4 +144,72 @@ public interface ProductService {
      * @return a page of products matching the criteria.
      */
     Page<ProductResponseDTO> searchProducts(ProductSearchCriteria criteria, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Variant of {@link #searchProducts(ProductSearchCriteria, Pageable)} that skips the count
+     * query, including for relevance-ranked searches.
+     *
+     * @param criteria the search parameters.
+     * @param pageable pagination and sorting information.
+     * @return a slice of matching products.
+     */
+    Slice<ProductResponseDTO> searchProductsSlice(ProductSearchCriteria criteria, Pageable pageable);
+
+    /**
+     * Counts the products matching the criteria per category, price band and "at least n stars"
+     * rating in a single grouped query.
+     * <p>
+     * Counts for criteria without a text query are served from {@link ProductFacetCache}.
+     * </p>
+     *
+     * @param criteria the search parameters, as for {@link #searchProducts(ProductSearchCriteria, Pageable)}.
+     * @return the facet counts of the filtered set.
+     */
+    ProductSearchFacetsDTO searchFacets(ProductSearchCriteria criteria);
+
+    /**
+     * Returns search-as-you-type suggestions for the text typed so far.
+     * <p>
+     * Served from the in-memory {@link ProductSuggestionIndex} without a database round trip;
+     * prefixes match product slugs, names and later words of names, ignoring case and Polish
+     * diacritics.
+     * </p>
+     *
+     * @param prefix the text typed so far.
+     * @param limit  the maximum number of suggestions (capped at 20).
+     * @return matching products, at most {@code limit}.
+     */
+    List<ProductSuggestionDTO> suggest(String prefix, int limit);
+
+    /**
+     * Retrieves products using keyset (cursor) pagination instead of offsets.
+     * <p>
+     * No total count is computed and each slice seeks directly past the previous one, so the
+     * cost does not grow with depth.
+     * </p>
+     *
+     * @param sort   the ordering to paginate over.
+     * @param cursor the opaque token from the previous slice, or {@code null} for the first slice.
+     * @param size   the maximum number of products to return.
+     * @return a slice of products with the token for the next slice.
+     * @throws com.company.shop.module.product.exception.ProductCursorInvalidException if the cursor is malformed
+     *         or was issued for a different sort.
+     */
+    CursorPageResponseDTO<ProductResponseDTO> scroll(ProductScrollSort sort, String cursor, int size);
+
+    /**
+     * Keyset-paginated variant of {@link #findAllByCategory(UUID, Pageable)}.
+     *
+     * @see #scroll(ProductScrollSort, String, int)
+     */
+    CursorPageResponseDTO<ProductResponseDTO> scrollByCategory(UUID categoryId, ProductScrollSort sort, String cursor,
+            int size);
+
+    /**
+     * Keyset-paginated variant of {@link #searchProducts(ProductSearchCriteria, Pageable)}.
+     *
+     * @see #scroll(ProductScrollSort, String, int)
+     */
+    CursorPageResponseDTO<ProductResponseDTO> scrollSearch(ProductSearchCriteria criteria, ProductScrollSort sort,
+            String cursor, int size);
+}
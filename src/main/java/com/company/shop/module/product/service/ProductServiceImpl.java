@@ -9,22 +9,40 @@
 package com.company.shop.module.product.service;
 
 import java.text.Normalizer;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.company.shop.common.dto.CursorPageResponseDTO;
+import com.company.shop.common.model.AuditableEntity_;
 import com.company.shop.module.category.entity.Category;
 import com.company.shop.module.category.repository.CategoryRepository;
 import com.company.shop.module.product.dto.ProductCreateDTO;
 import com.company.shop.module.product.dto.ProductResponseDTO;
+import com.company.shop.module.product.dto.ProductScrollSort;
 import com.company.shop.module.product.dto.ProductSearchCriteria;
+import com.company.shop.module.product.dto.ProductSearchFacetsDTO;
+import com.company.shop.module.product.dto.ProductSuggestionDTO;
 import com.company.shop.module.product.entity.Product;
 import com.company.shop.module.product.exception.ProductCategoryNotFoundException;
 import com.company.shop.module.product.exception.ProductNotFoundException;
@@ -32,6 +50,7 @@ import com.company.shop.module.product.exception.ProductSkuAlreadyExistsExceptio
 import com.company.shop.module.product.exception.ProductSlugAlreadyExistsException;
 import com.company.shop.module.product.mapper.ProductMapper;
 import com.company.shop.module.product.repository.ProductRepository;
+import com.company.shop.module.product.specification.ProductSearchQuery;
 import com.company.shop.module.product.specification.ProductSpecification;
 
 @Service
@@ -48,43 +67,74 @@ public class ProductServiceImpl implements ProductService {
     private static final int DETERMINISTIC_SUFFIX_PROBES = 5;
     private static final int RANDOM_SUFFIX_ATTEMPTS = 20;
     private static final int RANDOM_SUFFIX_LENGTH = 8;
+    private static final int MAX_SCROLL_SIZE = 100;
+    private static final String RELEVANCE_SORT = "relevance";
+    private static final int MAX_SUGGESTIONS = 20;
 
     private final ProductRepository productRepo;
     private final CategoryRepository categoryRepo;
     private final ProductMapper mapper;
+    private final ProductDetailsCache productDetailsCache;
+    private final ProductStockService productStockService;
+    private final ProductSearchEngine searchEngine;
+    private final ProductSuggestionIndex suggestionIndex;
+    private final ProductFacetCache facetCache;
 
     public ProductServiceImpl(ProductRepository productRepo,
             CategoryRepository categoryRepo,
-            ProductMapper mapper) {
+            ProductMapper mapper,
+            ProductDetailsCache productDetailsCache,
+            ProductStockService productStockService,
+            ProductSearchEngine searchEngine,
+            ProductSuggestionIndex suggestionIndex,
+            ProductFacetCache facetCache) {
         this.productRepo = productRepo;
         this.categoryRepo = categoryRepo;
         this.mapper = mapper;
+        this.productDetailsCache = productDetailsCache;
+        this.productStockService = productStockService;
+        this.searchEngine = searchEngine;
+        this.suggestionIndex = suggestionIndex;
+        this.facetCache = facetCache;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<ProductResponseDTO> findAll(Pageable pageable) {
-        return productRepo.findAll(pageable).map(mapper::toDto);
+        return toDtoPage(productRepo.findAll(pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<ProductResponseDTO> findAllSlice(Pageable pageable) {
+        return toDtoSlice(ProductSpecification.withCategory(), pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<ProductResponseDTO> findAllByCategory(UUID categoryId, Pageable pageable) {
-        return productRepo.findByCategoryId(categoryId, pageable).map(mapper::toDto);
+        return toDtoPage(productRepo.findByCategoryId(categoryId, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<ProductResponseDTO> findAllByCategorySlice(UUID categoryId, Pageable pageable) {
+        return toDtoSlice(ProductSpecification.withCategory().and(ProductSpecification.inCategory(categoryId)),
+                pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public ProductResponseDTO findById(UUID id) {
-        return mapper.toDto(getProductOrThrow(id));
+        return productDetailsCache.getById(id, () -> mapper.toDto(getProductOrThrow(id)));
     }
 
     @Override
     @Transactional(readOnly = true)
     public ProductResponseDTO findBySlug(String slug) {
-        return productRepo.findBySlug(slug)
+        return productDetailsCache.getBySlug(slug, () -> productRepo.findBySlug(slug)
                 .map(mapper::toDto)
-                .orElseThrow(() -> new ProductNotFoundException(slug));
+                .orElseThrow(() -> new ProductNotFoundException(slug)));
     }
 
     @Override
@@ -98,7 +148,9 @@ public class ProductServiceImpl implements ProductService {
                 category);
         product.replaceImages(dto.getImageUrls());
 
-        return saveAndMap(product, dto.getSku(), slug, null);
+        ProductResponseDTO created = saveAndMap(product, dto.getSku(), slug, null);
+        suggestionIndex.put(new ProductSuggestionDTO(created.getId(), created.getName(), created.getSlug()));
+        return created;
     }
 
     @Override
@@ -110,22 +162,172 @@ public class ProductServiceImpl implements ProductService {
         String slug = buildUniqueSlug(dto.getName(), id);
 
         product.update(dto.getName(), slug, dto.getSku(), dto.getDescription(), dto.getPrice(), dto.getStock(), category);
+        if (product.isStockBucketed()) {
+            productStockService.assignStock(product, dto.getStock());
+        }
         product.replaceImages(dto.getImageUrls());
+        productDetailsCache.evict(id);
 
-        return saveAndMap(product, dto.getSku(), slug, id);
+        ProductResponseDTO updated = saveAndMap(product, dto.getSku(), slug, id);
+        suggestionIndex.put(new ProductSuggestionDTO(id, updated.getName(), updated.getSlug()));
+        return updated;
+    }
+
+    @Override
+    public ProductResponseDTO configureStockBuckets(UUID id, int buckets) {
+        Product product = getProductOrThrow(id);
+        productStockService.configureBuckets(product, buckets);
+        productDetailsCache.evict(id);
+        return mapper.toDto(product);
     }
 
     @Override
     public void delete(UUID id) {
         Product product = getProductOrThrow(id);
         product.delete();
+        productDetailsCache.evict(id);
+        suggestionIndex.remove(id);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ProductSuggestionDTO> suggest(String prefix, int limit) {
+        return suggestionIndex.lookup(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<ProductResponseDTO> searchProducts(ProductSearchCriteria criteria, Pageable pageable) {
-        return productRepo.findAll(ProductSpecification.filterByCriteria(criteria), pageable)
-                .map(mapper::toDto);
+        if (pageable.getSort().getOrderFor(RELEVANCE_SORT) == null) {
+            return toDtoPage(productRepo.findAll(ProductSpecification.filterByCriteria(criteria), pageable));
+        }
+        Optional<ProductSearchQuery> searchQuery = ProductSearchQuery.parse(criteria.query());
+        if (searchQuery.isEmpty()) {
+            return toDtoPage(productRepo.findAll(ProductSpecification.filterByCriteria(criteria),
+                    newestFirst(pageable)));
+        }
+        return searchByRelevance(searchQuery.get(), criteria, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<ProductResponseDTO> searchProductsSlice(ProductSearchCriteria criteria, Pageable pageable) {
+        if (pageable.getSort().getOrderFor(RELEVANCE_SORT) == null) {
+            return toDtoSlice(ProductSpecification.filterByCriteria(criteria), pageable);
+        }
+        Optional<ProductSearchQuery> searchQuery = ProductSearchQuery.parse(criteria.query());
+        if (searchQuery.isEmpty()) {
+            return toDtoSlice(ProductSpecification.filterByCriteria(criteria), newestFirst(pageable));
+        }
+        List<UUID> ids = searchEngine.findRankedIds(searchQuery.get(), criteria, pageable.getOffset(),
+                pageable.getPageSize() + 1);
+        boolean hasNext = ids.size() > pageable.getPageSize();
+        List<ProductResponseDTO> content = loadRanked(hasNext ? ids.subList(0, pageable.getPageSize()) : ids);
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ProductSearchFacetsDTO searchFacets(ProductSearchCriteria criteria) {
+        return ProductSearchQuery.parse(criteria.query())
+                .map(searchQuery -> searchEngine.countFacets(searchQuery, criteria))
+                .orElseGet(() -> facetCache.get(criteria, () -> searchEngine.countFacets(null, criteria)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<ProductResponseDTO> scroll(ProductScrollSort sort, String cursor, int size) {
+        return scroll(ProductSpecification.withCategory(), sort, cursor, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<ProductResponseDTO> scrollByCategory(UUID categoryId, ProductScrollSort sort,
+            String cursor, int size) {
+        return scroll(ProductSpecification.withCategory().and(ProductSpecification.inCategory(categoryId)), sort,
+                cursor, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<ProductResponseDTO> scrollSearch(ProductSearchCriteria criteria,
+            ProductScrollSort sort, String cursor, int size) {
+        return scroll(ProductSpecification.filterByCriteria(criteria), sort, cursor, size);
+    }
+
+    /**
+     * Fetches one row more than requested to learn whether another slice exists without counting.
+     */
+    private CursorPageResponseDTO<ProductResponseDTO> scroll(Specification<Product> filter, ProductScrollSort sort,
+            String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        Specification<Product> spec = filter;
+        if (cursor != null && !cursor.isBlank()) {
+            ProductCursor position = ProductCursor.decode(cursor, sort);
+            spec = spec.and(ProductSpecification.seekAfter(sort, position.sortValue(), position.id()));
+        }
+
+        List<Product> rows = productRepo.findBy(spec, query -> query
+                .sortBy(ProductSpecification.keysetOrder(sort))
+                .limit(limit + 1)
+                .all());
+
+        boolean hasNext = rows.size() > limit;
+        List<Product> slice = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? ProductCursor.after(sort, slice.get(limit - 1)).encode() : null;
+        fetchImages(slice);
+        return new CursorPageResponseDTO<>(slice.stream().map(mapper::toDto).toList(), limit, hasNext, nextCursor);
+    }
+
+    /**
+     * Loads the products of one ranked page of ids and restores the engine's order; the total is
+     * only counted when the page alone cannot tell it.
+     */
+    private Page<ProductResponseDTO> searchByRelevance(ProductSearchQuery searchQuery, ProductSearchCriteria criteria,
+            Pageable pageable) {
+        List<UUID> ids = searchEngine.findRankedIds(searchQuery, criteria, pageable.getOffset(),
+                pageable.getPageSize());
+        return PageableExecutionUtils.getPage(loadRanked(ids), pageable,
+                () -> searchEngine.countMatches(searchQuery, criteria));
+    }
+
+    private List<ProductResponseDTO> loadRanked(List<UUID> ids) {
+        Map<UUID, Product> productsById = ids.isEmpty() ? Map.of()
+                : productRepo.findAll(ProductSpecification.withCategory().and(ProductSpecification.idIn(ids)))
+                        .stream()
+                        .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<Product> ranked = ids.stream().map(productsById::get).filter(Objects::nonNull).toList();
+        fetchImages(ranked);
+        return ranked.stream().map(mapper::toDto).toList();
+    }
+
+    private static Pageable newestFirst(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                Sort.by(Sort.Direction.DESC, AuditableEntity_.CREATED_AT));
+    }
+
+    /**
+     * Maps a listing page after loading the images of all its products in one statement
+     * (category is already joined by the page query), keeping the page at a fixed statement count.
+     */
+    private Page<ProductResponseDTO> toDtoPage(Page<Product> page) {
+        fetchImages(page.getContent());
+        return page.map(mapper::toDto);
+    }
+
+    /**
+     * Reads one row more than the page size instead of counting, then maps like {@link #toDtoPage}.
+     */
+    private Slice<ProductResponseDTO> toDtoSlice(Specification<Product> spec, Pageable pageable) {
+        Slice<Product> slice = productRepo.findBy(spec, query -> query.sortBy(pageable.getSort()).slice(pageable));
+        fetchImages(slice.getContent());
+        return slice.map(mapper::toDto);
+    }
+
+    private void fetchImages(List<Product> products) {
+        if (!products.isEmpty()) {
+            productRepo.findAllWithImagesByIdIn(products.stream().map(Product::getId).toList());
+        }
     }
 
     private Product getProductOrThrow(UUID id) {
@@ -219,7 +421,11 @@ public class ProductServiceImpl implements ProductService {
         return null;
     }
 
-    private String generateSlug(String input) {
+    /**
+     * Folds diacritics and reduces the input to lowercase ASCII letters, digits and single hyphens.
+     * Package-private for the slug microbenchmark.
+     */
+    static String generateSlug(String input) {
         String normalized = Normalizer.normalize(input, Normalizer.Form.NFD)
                 .replaceAll("\\p{M}", "")
                 .toLowerCase(Locale.ROOT);
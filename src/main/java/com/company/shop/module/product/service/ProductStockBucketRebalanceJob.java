@@ -0,0 +1,51 @@
+package com.company.shop.module.product.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Background job spreading the stock of bucketed products evenly over their buckets.
+ * <p>
+ * Random bucket picks drain buckets unevenly, and released reservations refill the emptiest one.
+ * Rebalancing locks all buckets of one product for a short transaction; checkouts running at the
+ * same time fall back to waiting for those locks.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(prefix = "shop.inventory.stock-buckets.rebalance", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProductStockBucketRebalanceJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductStockBucketRebalanceJob.class);
+
+    @Value("${shop.inventory.stock-buckets.rebalance.batch-size:50}")
+    private int batchSize = 50;
+
+    private final ProductStockService productStockService;
+    private final TransactionOperations transactionOperations;
+
+    public ProductStockBucketRebalanceJob(ProductStockService productStockService,
+            TransactionOperations transactionOperations) {
+        this.productStockService = productStockService;
+        this.transactionOperations = transactionOperations;
+    }
+
+    @Scheduled(fixedDelayString = "${shop.inventory.stock-buckets.rebalance.poll-interval-ms:5000}")
+    public void rebalanceBuckets() {
+        List<UUID> productIds = productStockService.findProductsNeedingRebalance(batchSize);
+        for (UUID productId : productIds) {
+            try {
+                transactionOperations.executeWithoutResult(status -> productStockService.rebalance(productId));
+            } catch (Exception ex) {
+                log.warn("Stock bucket rebalance failed productId={} reason={}", productId, ex.getMessage());
+            }
+        }
+    }
+}
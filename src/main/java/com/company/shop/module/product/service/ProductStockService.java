@@ -0,0 +1,209 @@
+package com.company.shop.module.product.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import com.company.shop.module.product.entity.Product;
+import com.company.shop.module.product.entity.ProductStockBucket;
+import com.company.shop.module.product.exception.ProductNotFoundException;
+import com.company.shop.module.product.exception.ProductStockInvalidException;
+import com.company.shop.module.product.repository.ProductRepository;
+import com.company.shop.module.product.repository.ProductStockBucketRepository;
+
+/**
+ * Atomic stock counters, optionally striped over bucket rows for flash-sale products.
+ * <p>
+ * A product's stock is {@code products.stock} plus the sum of its {@link ProductStockBucket}
+ * rows. Regular products keep everything in {@code products.stock}. A bucketed product keeps
+ * its stock in N bucket rows, and checkout decrements one random unlocked bucket with enough
+ * stock. Concurrent buyers of the same product then update different rows instead of queueing
+ * on one. Buckets drift apart as they are drained; {@link ProductStockBucketRebalanceJob} evens
+ * them out in the background.
+ * </p>
+ * <p>
+ * All methods must run inside the caller's transaction.
+ * </p>
+ */
+@Service
+public class ProductStockService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductStockService.class);
+    private static final String BUCKET_METRIC = "shop.stock_bucket.total";
+    private static final String RESULT_TAG = "result";
+
+    private final ProductRepository productRepo;
+    private final ProductStockBucketRepository bucketRepo;
+    private final MeterRegistry meterRegistry;
+
+    public ProductStockService(ProductRepository productRepo, ProductStockBucketRepository bucketRepo,
+            MeterRegistry meterRegistry) {
+        this.productRepo = productRepo;
+        this.bucketRepo = bucketRepo;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Atomically takes {@code quantity} units of a product if enough are available.
+     * <p>
+     * The conditional decrement of {@code products.stock} comes first; it matches no row for a
+     * bucketed product, whose counter is kept at zero, and takes no lock in that case. Next one
+     * random unlocked bucket is tried. Only if every bucket with enough stock is locked, or the
+     * quantity is split across buckets, are all buckets locked and drained in order.
+     * </p>
+     *
+     * @return {@code true} when the stock was taken.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean tryTake(UUID productId, int quantity) {
+        if (productRepo.decrementStockIfAvailable(productId, quantity) == 1) {
+            return true;
+        }
+        if (bucketRepo.takeFromRandomFreeBucket(productId, quantity) == 1) {
+            incrementMetric("taken");
+            return true;
+        }
+        // Unlocked read: a sold-out product must not make every rejected buyer lock all buckets.
+        if (bucketRepo.sumStockByProductId(productId) < quantity) {
+            return false;
+        }
+        return takeAcrossLockedBuckets(productId, quantity);
+    }
+
+    /**
+     * Returns {@code quantity} units of a product, to its emptiest bucket when it is bucketed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void giveBack(UUID productId, int quantity) {
+        if (bucketRepo.addToEmptiestBucket(productId, quantity) == 0) {
+            productRepo.incrementStock(productId, quantity);
+        }
+    }
+
+    /**
+     * Reads the committed stock of a product, buckets included.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int availableStock(UUID productId) {
+        int unbucketed = productRepo.findStockById(productId).orElse(0);
+        return Math.toIntExact(unbucketed + bucketRepo.sumStockByProductId(productId));
+    }
+
+    /**
+     * Changes the number of stock buckets of a product, keeping its total stock.
+     * <p>
+     * {@code buckets == 0} moves all stock back into {@code products.stock}. The product update
+     * is version-checked, so a concurrent checkout decrementing {@code products.stock} fails the
+     * change with an optimistic-lock conflict instead of losing units.
+     * </p>
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void configureBuckets(Product product, int buckets) {
+        List<ProductStockBucket> existing = bucketRepo.findAllByProductIdForUpdate(product.getId());
+        int total = product.getUnbucketedStock() + sum(existing);
+        distribute(product, existing, buckets, total);
+        log.info("Product stock buckets configured productId={} buckets={} stock={}", product.getId(), buckets,
+                total);
+    }
+
+    /**
+     * Replaces the total stock of a bucketed product (admin stock edits).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void assignStock(Product product, int total) {
+        List<ProductStockBucket> existing = bucketRepo.findAllByProductIdForUpdate(product.getId());
+        distribute(product, existing, product.getStockBuckets(), total);
+    }
+
+    /**
+     * Returns bucketed products whose stock should be spread evenly again.
+     */
+    @Transactional(readOnly = true)
+    public List<UUID> findProductsNeedingRebalance(int limit) {
+        return bucketRepo.findProductIdsNeedingRebalance(limit);
+    }
+
+    /**
+     * Spreads the stock of a bucketed product evenly over its buckets again.
+     *
+     * @return {@code false} when the product no longer exists or is no longer bucketed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean rebalance(UUID productId) {
+        Product product = productRepo.findById(productId).orElse(null);
+        if (product == null || !product.isStockBucketed()) {
+            return false;
+        }
+        configureBuckets(product, product.getStockBuckets());
+        incrementMetric("rebalanced");
+        return true;
+    }
+
+    private boolean takeAcrossLockedBuckets(UUID productId, int quantity) {
+        List<ProductStockBucket> buckets = new ArrayList<>(bucketRepo.findAllByProductIdForUpdate(productId));
+        if (sum(buckets) < quantity) {
+            incrementMetric("rejected");
+            return false;
+        }
+        buckets.sort(Comparator.comparingInt(ProductStockBucket::getStock).reversed());
+        int remaining = quantity;
+        for (ProductStockBucket bucket : buckets) {
+            int taken = Math.min(remaining, bucket.getStock());
+            bucket.assignStock(bucket.getStock() - taken);
+            remaining -= taken;
+            if (remaining == 0) {
+                break;
+            }
+        }
+        incrementMetric("taken_locked");
+        return true;
+    }
+
+    private void distribute(Product product, List<ProductStockBucket> existing, int buckets, int total) {
+        if (buckets < 0 || buckets > Product.MAX_STOCK_BUCKETS) {
+            throw new ProductStockInvalidException(
+                    "Product stock buckets must be between 0 and " + Product.MAX_STOCK_BUCKETS + ": " + buckets);
+        }
+        // Existing rows are updated in place and only missing ones inserted: Hibernate flushes
+        // inserts before deletes, so re-creating a bucket index would hit the unique constraint.
+        List<ProductStockBucket> toDelete = new ArrayList<>();
+        for (ProductStockBucket bucket : existing) {
+            if (bucket.getBucket() < buckets) {
+                bucket.assignStock(share(total, buckets, bucket.getBucket()));
+            } else {
+                toDelete.add(bucket);
+            }
+        }
+        bucketRepo.deleteAll(toDelete);
+
+        List<ProductStockBucket> created = new ArrayList<>();
+        for (int index = 0; index < buckets; index++) {
+            int bucketIndex = index;
+            if (existing.stream().noneMatch(bucket -> bucket.getBucket() == bucketIndex)) {
+                created.add(new ProductStockBucket(product.getId(), index, share(total, buckets, index)));
+            }
+        }
+        bucketRepo.saveAll(created);
+        product.assignBucketedStock(buckets, total);
+    }
+
+    private static int share(int total, int buckets, int index) {
+        return total / buckets + (index < total % buckets ? 1 : 0);
+    }
+
+    private static int sum(List<ProductStockBucket> buckets) {
+        return buckets.stream().mapToInt(ProductStockBucket::getStock).sum();
+    }
+
+    private void incrementMetric(String result) {
+        meterRegistry.counter(BUCKET_METRIC, RESULT_TAG, result).increment();
+    }
+}
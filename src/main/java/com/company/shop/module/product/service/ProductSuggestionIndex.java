@@ -0,0 +1,189 @@
+package com.company.shop.module.product.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.company.shop.module.product.dto.ProductSuggestionDTO;
+
+/**
+ * In-memory prefix index of product names and slugs backing search-as-you-type suggestions.
+ * <p>
+ * Every product is indexed under its slug, its full name and the rest of the name from each
+ * following word, so {@code "mech"} finds "Klawiatura mechaniczna". Keys are folded like the
+ * {@code unaccent} step of the {@code polish} text search configuration: lowercase, diacritics
+ * removed and {@code ł} mapped to {@code l}. Lookups walk a {@link ConcurrentSkipListMap} from the
+ * prefix without locking or touching the database.
+ * </p>
+ * <p>
+ * Product writes update the index after their transaction commits; changes made on other nodes
+ * or directly in the database are picked up by the next {@link ProductSuggestionIndexRebuildJob}
+ * run. Until the first rebuild finishes the index only knows locally written products.
+ * </p>
+ */
+@Component
+public class ProductSuggestionIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final char ID_SEPARATOR = '\u0000';
+
+    private volatile Entries entries = new Entries();
+    private List<Consumer<Entries>> pendingDuringRebuild;
+
+    /**
+     * Returns up to {@code limit} distinct products whose slug, name or a later word of the name
+     * starts with the given prefix, in key order.
+     *
+     * @param prefix the text typed so far; folded the same way as indexed keys.
+     * @param limit  the maximum number of suggestions.
+     */
+    public List<ProductSuggestionDTO> lookup(String prefix, int limit) {
+        String key = prefix == null ? "" : fold(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<UUID, ProductSuggestionDTO> matches = new LinkedHashMap<>();
+        for (Map.Entry<String, ProductSuggestionDTO> entry : entries.byKey.tailMap(key).entrySet()) {
+            if (!entry.getKey().startsWith(key)) {
+                break;
+            }
+            matches.putIfAbsent(entry.getValue().id(), entry.getValue());
+            if (matches.size() == limit) {
+                break;
+            }
+        }
+        return List.copyOf(matches.values());
+    }
+
+    /**
+     * Indexes the product, replacing any previous name and slug, once the surrounding transaction
+     * commits (immediately when there is none).
+     *
+     * @param product the product's current id, name and slug.
+     */
+    public void put(ProductSuggestionDTO product) {
+        afterCommit(index -> index.put(product));
+    }
+
+    /**
+     * Removes the product once the surrounding transaction commits (immediately when there is none).
+     *
+     * @param productId the identifier of the deleted product.
+     */
+    public void remove(UUID productId) {
+        afterCommit(index -> index.remove(productId));
+    }
+
+    /**
+     * Replaces the whole index with the given products.
+     * <p>
+     * Writes committed while {@code loader} reads the catalog are replayed onto the new index, so
+     * a rebuild never loses them.
+     * </p>
+     *
+     * @param loader reads all active products.
+     */
+    public void rebuild(Supplier<List<ProductSuggestionDTO>> loader) {
+        synchronized (this) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        try {
+            Entries rebuilt = new Entries();
+            loader.get().forEach(rebuilt::put);
+            synchronized (this) {
+                pendingDuringRebuild.forEach(update -> update.accept(rebuilt));
+                entries = rebuilt;
+            }
+        } finally {
+            synchronized (this) {
+                pendingDuringRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * Folds text for matching: lowercase, diacritics stripped, {@code ł} to {@code l}, whitespace
+     * collapsed to single spaces.
+     */
+    static String fold(String text) {
+        String lower = text.toLowerCase(Locale.ROOT).replace('ł', 'l');
+        String stripped = MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(stripped.trim()).replaceAll(" ");
+    }
+
+    private void afterCommit(Consumer<Entries> update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(update);
+                }
+            });
+        } else {
+            apply(update);
+        }
+    }
+
+    private synchronized void apply(Consumer<Entries> update) {
+        update.accept(entries);
+        if (pendingDuringRebuild != null) {
+            pendingDuringRebuild.add(update);
+        }
+    }
+
+    /**
+     * Keys are {@code folded term + '\0' + id}, so products sharing a term get distinct entries.
+     * Writers are serialized by the enclosing index; readers only use the skip list.
+     */
+    private static final class Entries {
+
+        private final ConcurrentNavigableMap<String, ProductSuggestionDTO> byKey = new ConcurrentSkipListMap<>();
+        private final Map<UUID, Set<String>> keysById = new HashMap<>();
+
+        void put(ProductSuggestionDTO product) {
+            remove(product.id());
+            Set<String> keys = new LinkedHashSet<>();
+            for (String term : terms(product)) {
+                keys.add(term + ID_SEPARATOR + product.id());
+            }
+            keys.forEach(key -> byKey.put(key, product));
+            keysById.put(product.id(), keys);
+        }
+
+        void remove(UUID productId) {
+            Set<String> keys = keysById.remove(productId);
+            if (keys != null) {
+                keys.forEach(byKey::remove);
+            }
+        }
+
+        private static List<String> terms(ProductSuggestionDTO product) {
+            List<String> terms = new ArrayList<>();
+            terms.add(fold(product.slug()));
+            String name = fold(product.name());
+            terms.add(name);
+            for (int i = name.indexOf(' '); i >= 0; i = name.indexOf(' ', i + 1)) {
+                terms.add(name.substring(i + 1));
+            }
+            return terms;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.company.shop.module.product.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.company.shop.module.product.repository.ProductRepository;
+
+/**
+ * Background job (re)building the {@link ProductSuggestionIndex} from the catalog.
+ * <p>
+ * The first run starts right after startup; later runs pick up product changes made on other
+ * nodes or outside the application. Local writes do not wait for it, they update the index
+ * incrementally.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(prefix = "shop.product-suggest.rebuild", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProductSuggestionIndexRebuildJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSuggestionIndexRebuildJob.class);
+
+    private final ProductSuggestionIndex suggestionIndex;
+    private final ProductRepository productRepo;
+    private final TransactionOperations transactionOperations;
+
+    public ProductSuggestionIndexRebuildJob(ProductSuggestionIndex suggestionIndex, ProductRepository productRepo,
+            TransactionOperations transactionOperations) {
+        this.suggestionIndex = suggestionIndex;
+        this.productRepo = productRepo;
+        this.transactionOperations = transactionOperations;
+    }
+
+    @Scheduled(fixedDelayString = "${shop.product-suggest.rebuild.poll-interval-ms:600000}")
+    public void rebuildIndex() {
+        try {
+            suggestionIndex.rebuild(() -> transactionOperations.execute(status -> productRepo.findAllSuggestions()));
+        } catch (Exception ex) {
+            log.warn("Product suggestion index rebuild failed reason={}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026 Your Company Name. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of Your Company Name.
+ * You shall not disclose such Confidential Information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with Your Company.
+ */
+
+package com.company.shop.module.product.specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * User search input split into the two parts of the PostgreSQL text query.
+ * <p>
+ * Plain words, quoted phrases, {@code or} and {@code -word} go to
+ * {@code websearch_to_tsquery}, which accepts any input without syntax errors. Words ending
+ * with {@code *} (e.g. {@code klawiat*}) become prefix terms ({@code klawiat:*}); they are reduced
+ * to letters and digits before being passed to {@code to_tsquery}, so user input can never
+ * produce an invalid query. Both parts are combined with {@code &&}; an empty part is neutral.
+ * </p>
+ *
+ * @param text        the input for {@code websearch_to_tsquery}; may be empty.
+ * @param prefixTerms the sanitized {@code to_tsquery} prefix expression; may be empty.
+ */
+public record ProductSearchQuery(String text, String prefixTerms) {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]");
+    private static final String PREFIX_MARKER = "*";
+
+    /**
+     * Parses raw search input.
+     *
+     * @param raw the query as typed by the user; may be {@code null}.
+     * @return the parsed query, or empty when the input contains no searchable terms.
+     */
+    public static Optional<ProductSearchQuery> parse(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return Optional.empty();
+        }
+
+        List<String> words = new ArrayList<>();
+        List<String> prefixes = new ArrayList<>();
+        for (String token : WHITESPACE.split(raw.trim())) {
+            if (token.endsWith(PREFIX_MARKER)) {
+                String prefix = NON_WORD.matcher(token).replaceAll("").toLowerCase(Locale.ROOT);
+                if (!prefix.isEmpty()) {
+                    prefixes.add(prefix + ":*");
+                }
+            } else {
+                words.add(token);
+            }
+        }
+
+        String text = String.join(" ", words);
+        if (text.isBlank() && prefixes.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new ProductSearchQuery(text, String.join(" & ", prefixes)));
+    }
+}
@@ -8,18 +8,30 @@
 
 package com.company.shop.module.product.specification;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
+import com.company.shop.common.model.AuditableEntity_;
+import com.company.shop.common.model.BaseEntity_;
 import com.company.shop.module.category.entity.Category_;
+import com.company.shop.module.product.dto.ProductScrollSort;
 import com.company.shop.module.product.dto.ProductSearchCriteria;
 import com.company.shop.module.product.entity.Product;
 import com.company.shop.module.product.entity.Product_;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 
 /**
  * Specification builder for dynamic filtering of {@link Product} entities.
@@ -43,6 +55,7 @@ public class ProductSpecification {
      * <p>
      * Note: Full-Text Search uses the custom SQL function {@code fts}, which must be 
      * registered in the database dialect or mapped to PostgreSQL's {@code @@} operator.
+     * The query text is parsed by {@link ProductSearchQuery}, so arbitrary user input is safe.
      * </p>
      *
      * @param criteria the search and filtering parameters provided by the client.
@@ -52,19 +65,12 @@ public class ProductSpecification {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
-            // Optimization: Apply fetch join only for data queries, not for count queries (pagination)
-            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
-                root.fetch(Product_.CATEGORY, JoinType.LEFT);
-            }
+            fetchCategoryForDataQuery(root, query);
 
             // Full-Text Search implementation using the 'search_vector' column
-            if (criteria.query() != null && !criteria.query().isBlank()) {
-                // Convert search string to PostgreSQL tsquery format (AND-based)
-                String tsQuery = criteria.query().trim().replaceAll("\\s+", " & ");
-
-                predicates.add(
-                        cb.isTrue(cb.function("fts", Boolean.class, root.get("search_vector"), cb.literal(tsQuery))));
-            }
+            ProductSearchQuery.parse(criteria.query()).ifPresent(searchQuery -> predicates.add(
+                    cb.isTrue(cb.function("fts", Boolean.class, root.get(BaseEntity_.ID),
+                            cb.literal(searchQuery.text()), cb.literal(searchQuery.prefixTerms())))));
 
             // Category filter
             if (criteria.categoryId() != null) {
@@ -88,4 +94,103 @@ public class ProductSpecification {
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Fetch-joins the category without adding any restriction, so mapped listings avoid one
+     * lazy category load per row.
+     *
+     * @return a {@link Specification} that only shapes the fetch plan.
+     */
+    public static Specification<Product> withCategory() {
+        return (root, query, cb) -> {
+            fetchCategoryForDataQuery(root, query);
+            return null;
+        };
+    }
+
+    /**
+     * Restricts products to the given identifiers, e.g. a page of ranked search hits.
+     *
+     * @param ids the product identifiers.
+     * @return a {@link Specification} matching only those products.
+     */
+    public static Specification<Product> idIn(Collection<UUID> ids) {
+        return (root, query, cb) -> root.get(BaseEntity_.ID).in(ids);
+    }
+
+    /**
+     * Restricts products to a single category.
+     *
+     * @param categoryId the category identifier.
+     * @return a {@link Specification} matching products of the category.
+     */
+    public static Specification<Product> inCategory(UUID categoryId) {
+        return (root, query, cb) -> cb.equal(root.get(Product_.CATEGORY).get(Category_.ID), categoryId);
+    }
+
+    /**
+     * Keyset ("seek") predicate selecting rows strictly after the given position.
+     * <p>
+     * Expands the row comparison {@code (sort_column, id) > (value, lastId)} (or {@code <} for
+     * descending orders) into {@code sort_column >= value AND (sort_column > value OR id > lastId)}.
+     * The OR alone gives the planner no bound on the sort column; the redundant {@code >=} lets it
+     * start the scan of the composite {@code (sort_column, id)} index at the cursor, so the cost
+     * stays flat regardless of depth.
+     * </p>
+     *
+     * @param sort   the ordering being paginated.
+     * @param value  the sort column value of the last row already returned.
+     * @param lastId the identifier of the last row already returned.
+     * @return a {@link Specification} matching only the following rows.
+     */
+    public static Specification<Product> seekAfter(ProductScrollSort sort, Comparable<?> value, UUID lastId) {
+        return (root, query, cb) -> {
+            Expression<UUID> id = root.<UUID>get(BaseEntity_.ID);
+            return switch (sort) {
+                case NEWEST -> seek(cb, root.<LocalDateTime>get(AuditableEntity_.CREATED_AT), (LocalDateTime) value,
+                        id, lastId, false);
+                case PRICE_ASC -> seek(cb, root.<BigDecimal>get(Product_.PRICE), (BigDecimal) value, id, lastId, true);
+                case PRICE_DESC -> seek(cb, root.<BigDecimal>get(Product_.PRICE), (BigDecimal) value, id, lastId, false);
+                case RATING -> seek(cb, root.<BigDecimal>get(Product_.AVERAGE_RATING), (BigDecimal) value, id, lastId,
+                        false);
+            };
+        };
+    }
+
+    /**
+     * Returns the {@link Sort} matching {@link #seekAfter}: the sort column followed by the id.
+     *
+     * @param sort the requested ordering.
+     * @return the total order used for keyset pagination.
+     */
+    public static Sort keysetOrder(ProductScrollSort sort) {
+        return switch (sort) {
+            case NEWEST -> Sort.by(Sort.Direction.DESC, AuditableEntity_.CREATED_AT, BaseEntity_.ID);
+            case PRICE_ASC -> Sort.by(Sort.Direction.ASC, Product_.PRICE, BaseEntity_.ID);
+            case PRICE_DESC -> Sort.by(Sort.Direction.DESC, Product_.PRICE, BaseEntity_.ID);
+            case RATING -> Sort.by(Sort.Direction.DESC, Product_.AVERAGE_RATING, BaseEntity_.ID);
+        };
+    }
+
+    private static void fetchCategoryForDataQuery(Root<Product> root, CriteriaQuery<?> query) {
+        // Optimization: Apply fetch join only for data queries, not for count queries (pagination)
+        if (query.getResultType() == Long.class || query.getResultType() == long.class) {
+            return;
+        }
+        boolean alreadyFetched = root.getFetches().stream()
+                .anyMatch(fetch -> Product_.CATEGORY.equals(fetch.getAttribute().getName()));
+        if (!alreadyFetched) {
+            root.fetch(Product_.CATEGORY, JoinType.LEFT);
+        }
+    }
+
+    private static <T extends Comparable<? super T>> Predicate seek(CriteriaBuilder cb, Expression<T> column, T value,
+            Expression<UUID> id, UUID lastId, boolean ascending) {
+        if (ascending) {
+            return cb.and(cb.greaterThanOrEqualTo(column, value),
+                    cb.or(cb.greaterThan(column, value), cb.greaterThan(id, lastId)));
+        }
+        return cb.and(cb.lessThanOrEqualTo(column, value),
+                cb.or(cb.lessThan(column, value), cb.lessThan(id, lastId)));
+    }
+}
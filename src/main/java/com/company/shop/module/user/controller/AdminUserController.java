@@ -2,7 +2,6 @@ package com.company.shop.module.user.controller;
 
 import java.util.UUID;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
@@ -13,9 +12,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.company.shop.common.dto.PageResponseDTO;
 import com.company.shop.module.user.dto.UserResponseDTO;
 import com.company.shop.module.user.dto.UserUpdateDTO;
 import com.company.shop.module.user.service.UserService;
@@ -39,14 +40,20 @@ public class AdminUserController {
 	}
 
 	@GetMapping
-	@Operation(summary = "Lista użytkowników")
+	@Operation(summary = "Lista użytkowników",
+			description = "withTotal=false pomija zapytanie count(*); approximateTotal=true zwraca szacunkową liczbę z pg_class.reltuples (totalEstimated=true) zamiast dokładnego count(*).")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "Użytkownicy pobrani poprawnie."),
 			@ApiResponse(responseCode = "401", description = "Brak autoryzacji."),
 			@ApiResponse(responseCode = "403", description = "Brak uprawnień.")
 	})
-	public Page<UserResponseDTO> getUsers(@PageableDefault(size = 20) Pageable pageable) {
-		return service.findAll(pageable);
+	public PageResponseDTO<UserResponseDTO> getUsers(@PageableDefault(size = 20) Pageable pageable,
+			@RequestParam(defaultValue = "true") boolean withTotal,
+			@RequestParam(defaultValue = "false") boolean approximateTotal) {
+		if (approximateTotal) {
+			return service.findAllWithEstimatedTotal(pageable);
+		}
+		return PageResponseDTO.from(withTotal ? service.findAll(pageable) : service.findAllSlice(pageable));
 	}
 
 	@GetMapping("/{id}")
@@ -11,6 +11,7 @@ package com.company.shop.module.user.entity;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.SQLRestriction;
 
 import com.company.shop.common.model.SoftDeleteEntity;
@@ -57,9 +58,12 @@ public class User extends SoftDeleteEntity {
      * <p>
      * Switched to {@link FetchType#LAZY} to optimize performance and prevent 
      * unintended data loading during batch processing or simple profile retrievals.
+     * Paged listings must not fetch-join this collection (Hibernate would then page in memory);
+     * their roles are initialized in batches instead.
      * </p>
      */
     @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -5,6 +5,7 @@ import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -24,10 +25,20 @@ public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificat
             """)
     Optional<User> findActiveByEmailWithRoles(@Param("email") String email);
 
+    /**
+     * Pages users without fetching roles, so the limit is applied by the database; roles are
+     * loaded in batches when the page is mapped.
+     */
     @Query("SELECT u FROM User u WHERE u.deleted = false")
-    @EntityGraph(attributePaths = "roles")
     Page<User> findAllActive(Pageable pageable);
 
+    /**
+     * Same rows as {@link #findAllActive(Pageable)} without the count query; one extra row tells
+     * whether more exist.
+     */
+    @Query("SELECT u FROM User u WHERE u.deleted = false")
+    Slice<User> findActiveSlice(Pageable pageable);
+
     @Query("SELECT u FROM User u WHERE u.id = :id AND u.deleted = false")
     @EntityGraph(attributePaths = "roles")
     Optional<User> findActiveWithRolesById(@Param("id") UUID id);
@@ -0,0 +1,173 @@
+package com.company.shop.module.user.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.company.shop.module.user.entity.User;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Two-level cache for the authenticated {@link User} entity, keyed by normalized email.
+ * <p>
+ * The first level memoizes the user in the current HTTP request, so cart, order and review
+ * services share a single lookup. The second level is a short-TTL, size-bounded map shared across
+ * requests. Cached instances are detached entities with their roles already initialized; they are
+ * safe to use as association targets and for authorization checks, but must never be mutated.
+ * Any change to a user (profile, deletion, roles) has to go through {@link #evict(String)}.
+ * </p>
+ */
+@Component
+public class UserEntityCache {
+
+    private static final String METRIC = "shop.user_cache.total";
+    private static final String RESULT_TAG = "result";
+    private static final String REQUEST_ATTRIBUTE_PREFIX = UserEntityCache.class.getName() + ".";
+
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+    private final Map<String, CachedUser> entries;
+
+    @Value("${shop.user-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${shop.user-cache.ttl-ms:30000}")
+    private long ttlMs = 30000;
+
+    @Value("${shop.user-cache.max-size:10000}")
+    private int maxSize = 10000;
+
+    @Autowired
+    public UserEntityCache(MeterRegistry meterRegistry) {
+        this(meterRegistry, System::nanoTime);
+    }
+
+    UserEntityCache(MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        // Insertion order gives FIFO eviction; with a short TTL that is as good as LRU and keeps reads lock-cheap.
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached user for the normalized email, checking the request memo first.
+     */
+    public Optional<User> get(String normalizedEmail) {
+        User memoized = requestMemo(normalizedEmail);
+        if (memoized != null) {
+            increment("request_hit");
+            return Optional.of(memoized);
+        }
+        if (!enabled) {
+            increment("miss");
+            return Optional.empty();
+        }
+
+        User cached = null;
+        synchronized (entries) {
+            CachedUser entry = entries.get(normalizedEmail);
+            if (entry != null) {
+                if (entry.expiresAtNanos() - nanoClock.getAsLong() > 0) {
+                    cached = entry.user();
+                } else {
+                    entries.remove(normalizedEmail);
+                }
+            }
+        }
+        if (cached == null) {
+            increment("miss");
+            return Optional.empty();
+        }
+        increment("hit");
+        memoize(normalizedEmail, cached);
+        return Optional.of(cached);
+    }
+
+    /**
+     * Stores a freshly loaded user in both cache levels.
+     */
+    public void put(String normalizedEmail, User user) {
+        memoize(normalizedEmail, user);
+        if (!enabled) {
+            return;
+        }
+        long expiresAt = nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        synchronized (entries) {
+            entries.put(normalizedEmail, new CachedUser(user, expiresAt));
+        }
+    }
+
+    /**
+     * Drops the user from both cache levels.
+     * <p>
+     * When called inside a transaction the shared entry is dropped again after commit, so a
+     * concurrent request cannot re-populate the cache with the pre-commit state.
+     * </p>
+     */
+    public void evict(String normalizedEmail) {
+        evictNow(normalizedEmail);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(normalizedEmail);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private void evictNow(String normalizedEmail) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.removeAttribute(REQUEST_ATTRIBUTE_PREFIX + normalizedEmail, RequestAttributes.SCOPE_REQUEST);
+        }
+        synchronized (entries) {
+            entries.remove(normalizedEmail);
+        }
+    }
+
+    private User requestMemo(String normalizedEmail) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (User) attributes.getAttribute(REQUEST_ATTRIBUTE_PREFIX + normalizedEmail,
+                RequestAttributes.SCOPE_REQUEST);
+    }
+
+    private void memoize(String normalizedEmail, User user) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(REQUEST_ATTRIBUTE_PREFIX + normalizedEmail, user, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private void increment(String result) {
+        meterRegistry.counter(METRIC, RESULT_TAG, result).increment();
+    }
+
+    private record CachedUser(User user, long expiresAtNanos) {
+    }
+}
@@ -4,6 +4,9 @@ import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import com.company.shop.common.dto.PageResponseDTO;
 
 import com.company.shop.module.user.dto.UserResponseDTO;
 import com.company.shop.module.user.dto.UserUpdateDTO;
@@ -13,6 +16,17 @@ public interface UserService {
 
 	Page<UserResponseDTO> findAll(Pageable pageable);
 
+	/**
+	 * Variant of {@link #findAll(Pageable)} that skips the count query and only tells whether a next page exists.
+	 */
+	Slice<UserResponseDTO> findAllSlice(Pageable pageable);
+
+	/**
+	 * Variant of {@link #findAll(Pageable)} whose total is the planner's row estimate of the users table
+	 * instead of an exact count; falls back to counting when no statistics exist yet.
+	 */
+	PageResponseDTO<UserResponseDTO> findAllWithEstimatedTotal(Pageable pageable);
+
 	UserResponseDTO findById(UUID id);
 
 	UserResponseDTO getCurrentUserProfile();
@@ -23,5 +37,10 @@ public interface UserService {
 
 	User getCurrentUserEntity();
 
+	/**
+	 * Drops the user from the authenticated-user cache; call after changing its profile, roles or status.
+	 */
+	void evictCachedUser(User user);
+
 	boolean isAdmin(User user);
 }
\ No newline at end of file
@@ -1,12 +1,16 @@
 package com.company.shop.module.user.service;
 
+import java.util.OptionalLong;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.company.shop.common.dto.PageResponseDTO;
+import com.company.shop.common.persistence.TableRowEstimator;
 import com.company.shop.module.user.dto.UserResponseDTO;
 import com.company.shop.module.user.dto.UserUpdateDTO;
 import com.company.shop.module.user.entity.User;
@@ -14,20 +18,30 @@ import com.company.shop.module.user.exception.UserNotFoundException;
 import com.company.shop.module.user.mapper.UserMapper;
 import com.company.shop.module.user.repository.UserRepository;
 import com.company.shop.security.CurrentUserProvider;
+import com.company.shop.security.EmailNormalizer;
 import com.company.shop.security.SecurityConstants;
 
 @Service
 @Transactional
 public class UserServiceImpl implements UserService {
 
+	private static final String USERS_TABLE = "users";
+
 	private final UserRepository repository;
 	private final UserMapper mapper;
 	private final CurrentUserProvider currentUserProvider;
+	private final UserEntityCache userEntityCache;
+	private final EmailNormalizer emailNormalizer;
+	private final TableRowEstimator rowEstimator;
 
-	public UserServiceImpl(UserRepository repository, UserMapper mapper, CurrentUserProvider currentUserProvider) {
+	public UserServiceImpl(UserRepository repository, UserMapper mapper, CurrentUserProvider currentUserProvider,
+			UserEntityCache userEntityCache, EmailNormalizer emailNormalizer, TableRowEstimator rowEstimator) {
 		this.repository = repository;
 		this.mapper = mapper;
 		this.currentUserProvider = currentUserProvider;
+		this.userEntityCache = userEntityCache;
+		this.emailNormalizer = emailNormalizer;
+		this.rowEstimator = rowEstimator;
 	}
 
 	@Override
@@ -36,6 +50,25 @@ public class UserServiceImpl implements UserService {
 		return repository.findAllActive(pageable).map(mapper::toDto);
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public Slice<UserResponseDTO> findAllSlice(Pageable pageable) {
+		return repository.findActiveSlice(pageable).map(mapper::toDto);
+	}
+
+	/**
+	 * The estimate covers soft-deleted rows too; close enough for a pager, which is all it sizes.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public PageResponseDTO<UserResponseDTO> findAllWithEstimatedTotal(Pageable pageable) {
+		OptionalLong estimate = rowEstimator.estimate(USERS_TABLE);
+		if (estimate.isEmpty()) {
+			return PageResponseDTO.from(findAll(pageable));
+		}
+		return PageResponseDTO.estimated(findAllSlice(pageable), estimate.getAsLong());
+	}
+
 	@Override
 	@Transactional(readOnly = true)
 	public UserResponseDTO findById(UUID id) {
@@ -57,6 +90,7 @@ public class UserServiceImpl implements UserService {
 
 		user.setFirstName(dto.getFirstName().trim());
 		user.setLastName(dto.getLastName().trim());
+		evictCachedUser(user);
 
 		return mapper.toDto(user);
 	}
@@ -67,14 +101,31 @@ public class UserServiceImpl implements UserService {
 				.orElseThrow(UserNotFoundException::new);
 
 		user.markDeleted();
+		evictCachedUser(user);
+	}
+
+	@Override
+	public void evictCachedUser(User user) {
+		userEntityCache.evict(emailNormalizer.normalize(user.getEmail()));
 	}
 
+	/**
+	 * Resolves the authenticated user, served from {@link UserEntityCache} when possible.
+	 * <p>
+	 * The returned instance may be detached; treat it as read-only and load a managed copy before
+	 * changing it.
+	 * </p>
+	 */
 	@Override
 	@Transactional(readOnly = true)
 	public User getCurrentUserEntity() {
 		String email = currentUserProvider.getCurrentUserEmail();
-		return repository.findActiveByEmailWithRoles(email)
-				.orElseThrow(UserNotFoundException::new);
+		return userEntityCache.get(email).orElseGet(() -> {
+			User user = repository.findActiveByEmailWithRoles(email)
+					.orElseThrow(UserNotFoundException::new);
+			userEntityCache.put(email, user);
+			return user;
+		});
 	}
 
 	@Override
@@ -1,9 +1,8 @@
 package com.company.shop.security.jwt;
 
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -38,17 +37,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
 
-            if (tokenProvider.validate(token)) {
-                String username = tokenProvider.getUsername(token);
-                String rolesLabel = tokenProvider.getRoles(token);
+            // Jedna weryfikacja podpisu na żądanie; nazwa i role pochodzą z tego samego wyniku
+            Optional<VerifiedToken> verified = tokenProvider.verify(token);
 
-                // Odbudowujemy listę uprawnień bezpośrednio ze Stringa w tokenie
-                List<SimpleGrantedAuthority> authorities = Arrays.stream(rolesLabel.split(","))
+            if (verified.isPresent()) {
+                // Odbudowujemy listę uprawnień bezpośrednio z claimu roles w tokenie
+                List<SimpleGrantedAuthority> authorities = verified.get().roles().stream()
                         .map(SimpleGrantedAuthority::new)
-                        .collect(Collectors.toList());
+                        .toList();
 
                 // Tworzymy obiekt UserDetails bez dotykania bazy danych
-                UserDetails userDetails = new User(username, "", authorities);
+                UserDetails userDetails = new User(verified.get().username(), "", authorities);
 
                 var auth = new UsernamePasswordAuthenticationToken(
                         userDetails, 
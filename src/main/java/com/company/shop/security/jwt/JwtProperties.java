@@ -1,6 +1,8 @@
 package com.company.shop.security.jwt;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
 @ConfigurationProperties(prefix = "security.jwt")
 public class JwtProperties {
@@ -8,13 +10,20 @@ public class JwtProperties {
 	private final String secret;
 	private final long expiration;
 	private final long refreshExpiration;
+	private final int verifiedCacheSize;
 
-	// W Spring Boot 3.0+ adnotacja @ConstructorBinding jest opcjonalna,
-	// jeśli klasa ma tylko jeden konstruktor.
 	public JwtProperties(String secret, long expiration, long refreshExpiration) {
+		this(secret, expiration, refreshExpiration, 0);
+	}
+
+	// Przy kilku konstruktorach Spring Boot wymaga wskazania tego, przez który wiąże właściwości.
+	@ConstructorBinding
+	public JwtProperties(String secret, long expiration, long refreshExpiration,
+			@DefaultValue("0") int verifiedCacheSize) {
 		this.secret = secret;
 		this.expiration = expiration;
 		this.refreshExpiration = refreshExpiration;
+		this.verifiedCacheSize = verifiedCacheSize;
 	}
 
 	public String getSecret() {
@@ -28,4 +37,11 @@ public class JwtProperties {
 	public long getRefreshExpiration() {
 		return refreshExpiration;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Maximum number of recently verified tokens kept in memory; {@code 0} disables the cache.
+	 */
+	public int getVerifiedCacheSize() {
+		return verifiedCacheSize;
+	}
+}
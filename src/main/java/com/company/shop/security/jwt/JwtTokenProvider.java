@@ -8,8 +8,18 @@
 
 package com.company.shop.security.jwt;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import javax.crypto.SecretKey;
@@ -21,6 +31,7 @@ import org.springframework.stereotype.Component;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
@@ -31,14 +42,26 @@ import io.jsonwebtoken.security.Keys;
  * of user identity and authorization claims using the JJWT library (v0.13.0).
  * It utilizes HMAC-SHA algorithms for secure token signing.
  * </p>
+ * <p>
+ * Verification goes through a single thread-safe {@link JwtParser} built at startup, and each token
+ * is parsed at most once per request via {@link #verify(String)}. When
+ * {@code security.jwt.verified-cache-size} is positive, recently verified tokens are additionally
+ * kept in a bounded LRU map keyed by the SHA-256 of the token, never beyond the token's own expiry.
+ * A full map evicts its least recently used entry in constant time; expired entries are dropped
+ * when looked up or when they age out of the LRU order.
+ * </p>
  *
  * @since 1.0.0
  */
 @Component
 public class JwtTokenProvider {
 
+    private static final String ROLES_CLAIM = "roles";
+
     private final JwtProperties properties;
     private final Key key;
+    private final JwtParser parser;
+    private final Map<String, VerifiedToken> verifiedTokens;
 
     /**
      * Constructs the provider and initializes the cryptographic key.
@@ -48,6 +71,16 @@ public class JwtTokenProvider {
     public JwtTokenProvider(JwtProperties properties) {
         this.properties = properties;
         this.key = Keys.hmacShaKeyFor(properties.getSecret().getBytes());
+        this.parser = Jwts.parser()
+                .verifyWith((SecretKey) key)
+                .build();
+        int maxSize = properties.getVerifiedCacheSize();
+        this.verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > maxSize;
+            }
+        };
     }
 
     /**
@@ -70,7 +103,7 @@ public class JwtTokenProvider {
 
         return Jwts.builder()
                 .subject(authentication.getName())
-                .claim("roles", authorities)
+                .claim(ROLES_CLAIM, authorities)
                 .issuedAt(now)
                 .expiration(expiry)
                 .signWith(key)
@@ -94,7 +127,7 @@ public class JwtTokenProvider {
      * @return a comma-separated string of authorities.
      */
     public String getRoles(String token) {
-        return parseClaims(token).getPayload().get("roles", String.class);
+        return parseClaims(token).getPayload().get(ROLES_CLAIM, String.class);
     }
 
     /**
@@ -114,19 +147,81 @@ public class JwtTokenProvider {
         }
     }
 
+    /**
+     * Verifies the token once and returns all claims needed to authenticate the request.
+     *
+     * @param token the raw JWT string.
+     * @return the verified claims, or empty if the token is malformed, forged or expired.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        if (properties.getVerifiedCacheSize() <= 0) {
+            return parseVerified(token);
+        }
+
+        String cacheKey = sha256(token);
+        Instant now = Instant.now();
+        synchronized (verifiedTokens) {
+            VerifiedToken cached = verifiedTokens.get(cacheKey);
+            if (cached != null) {
+                if (!cached.isExpiredAt(now)) {
+                    return Optional.of(cached);
+                }
+                verifiedTokens.remove(cacheKey);
+            }
+        }
+
+        Optional<VerifiedToken> verified = parseVerified(token);
+        verified.ifPresent(result -> {
+            synchronized (verifiedTokens) {
+                verifiedTokens.put(cacheKey, result);
+            }
+        });
+        return verified;
+    }
+
+    private Optional<VerifiedToken> parseVerified(String token) {
+        try {
+            Claims claims = parseClaims(token).getPayload();
+            Instant expiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : Instant.MAX;
+            return Optional.of(new VerifiedToken(claims.getSubject(),
+                    splitRoles(claims.get(ROLES_CLAIM, String.class)),
+                    expiresAt));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static List<String> splitRoles(String rolesClaim) {
+        if (rolesClaim == null) {
+            return List.of();
+        }
+        return Arrays.stream(rolesClaim.split(","))
+                .filter(role -> !role.isBlank())
+                .toList();
+    }
+
+    private static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     /**
      * Internal helper to parse and verify the JWT signature.
      * <p>
-     * Utilizes the new JJWT 0.13.0 fluent API for signature verification.
+     * Reuses the parser built in the constructor; JJWT parsers are immutable and thread-safe.
      * </p>
      *
      * @param token the raw JWT string.
      * @return verified {@link Jws} claims.
      */
     private Jws<Claims> parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) key)
-                .build()
-                .parseSignedClaims(token);
+        return parser.parseSignedClaims(token);
     }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.company.shop.security.jwt;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims of a JWT whose signature and expiry have already been checked.
+ *
+ * @param username  the token subject.
+ * @param roles     authorities from the {@code roles} claim, in token order.
+ * @param expiresAt the token expiry; a cached result must not be used past this instant.
+ */
+public record VerifiedToken(String username, List<String> roles, Instant expiresAt) {
+
+    public VerifiedToken {
+        roles = List.copyOf(roles);
+    }
+
+    public boolean isExpiredAt(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
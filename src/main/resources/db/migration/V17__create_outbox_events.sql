@@ -0,0 +1,24 @@
+CREATE TABLE outbox_events (
+    id UUID PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP
+);
+
+ALTER TABLE outbox_events
+    ADD CONSTRAINT chk_outbox_events_status_allowed
+    CHECK (status IN ('PENDING', 'PROCESSED', 'FAILED')),
+    ADD CONSTRAINT chk_outbox_events_event_type_allowed
+    CHECK (event_type IN ('PAYMENT_INTENT_CREATE', 'CART_CLEAR')),
+    ADD CONSTRAINT chk_outbox_events_attempts_non_negative
+    CHECK (attempts >= 0);
+
+-- Dispatcher polls only due, pending rows; processed/failed history does not bloat the index.
+CREATE INDEX idx_outbox_events_pending_next_attempt
+    ON outbox_events (next_attempt_at)
+    WHERE status = 'PENDING';
@@ -0,0 +1,35 @@
+-- Turns stripe_webhook_events from a pure dedup registry into a durable ingestion queue.
+-- Existing rows were processed synchronously, hence the PROCESSED default.
+ALTER TABLE stripe_webhook_events
+    ADD COLUMN status VARCHAR(20) NOT NULL DEFAULT 'PROCESSED',
+    ADD COLUMN payload TEXT,
+    ADD COLUMN order_id UUID,
+    ADD COLUMN attempts INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN received_at TIMESTAMP,
+    ADD COLUMN next_attempt_at TIMESTAMP,
+    ADD COLUMN last_error VARCHAR(500);
+
+UPDATE stripe_webhook_events
+SET received_at = processed_at
+WHERE received_at IS NULL;
+
+ALTER TABLE stripe_webhook_events
+    ALTER COLUMN received_at SET NOT NULL,
+    ALTER COLUMN received_at SET DEFAULT CURRENT_TIMESTAMP,
+    ALTER COLUMN processed_at DROP NOT NULL;
+
+ALTER TABLE stripe_webhook_events
+    ADD CONSTRAINT chk_stripe_webhook_events_status_allowed
+    CHECK (status IN ('PENDING', 'PROCESSED', 'FAILED')),
+    ADD CONSTRAINT chk_stripe_webhook_events_attempts_non_negative
+    CHECK (attempts >= 0);
+
+-- Worker poll: due pending events in arrival order.
+CREATE INDEX idx_stripe_webhook_events_pending_received
+    ON stripe_webhook_events (received_at)
+    WHERE status = 'PENDING';
+
+-- Per-order ordering check: "is there an earlier pending event for this order?".
+CREATE INDEX idx_stripe_webhook_events_pending_order
+    ON stripe_webhook_events (order_id, received_at)
+    WHERE status = 'PENDING' AND order_id IS NOT NULL;
@@ -0,0 +1,11 @@
+-- Composite indexes backing keyset (cursor) pagination of the product catalog.
+-- Each index matches one ProductScrollSort ordering including the id tie-breaker,
+-- so "seek past (value, id)" is an index range scan instead of an offset skip.
+-- Partial on active rows, mirroring the soft-delete restriction applied to every product query.
+
+CREATE INDEX idx_products_keyset_created ON products (created_at DESC, id DESC) WHERE deleted = false;
+CREATE INDEX idx_products_keyset_price ON products (price, id) WHERE deleted = false;
+CREATE INDEX idx_products_keyset_rating ON products (average_rating DESC, id DESC) WHERE deleted = false;
+
+CREATE INDEX idx_products_keyset_category_created ON products (category_id, created_at DESC, id DESC) WHERE deleted = false;
+CREATE INDEX idx_products_keyset_category_price ON products (category_id, price, id) WHERE deleted = false;
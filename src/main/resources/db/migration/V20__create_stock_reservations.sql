@@ -0,0 +1,24 @@
+CREATE TABLE stock_reservations (
+    id UUID PRIMARY KEY,
+    order_id UUID NOT NULL,
+    product_id UUID NOT NULL,
+    quantity INTEGER NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    resolved_at TIMESTAMP,
+    CONSTRAINT fk_stock_reservations_order FOREIGN KEY (order_id) REFERENCES orders(id),
+    CONSTRAINT fk_stock_reservations_product FOREIGN KEY (product_id) REFERENCES products(id),
+    CONSTRAINT uk_stock_reservations_order_product UNIQUE (order_id, product_id)
+);
+
+ALTER TABLE stock_reservations
+    ADD CONSTRAINT chk_stock_reservations_status_allowed
+    CHECK (status IN ('HELD', 'CONFIRMED', 'RELEASED')),
+    ADD CONSTRAINT chk_stock_reservations_quantity_positive
+    CHECK (quantity > 0);
+
+-- The expiry job scans only live holds; confirmed/released history does not bloat the index.
+CREATE INDEX idx_stock_reservations_held_expires_at
+    ON stock_reservations (expires_at)
+    WHERE status = 'HELD';
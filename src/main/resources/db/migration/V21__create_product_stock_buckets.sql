@@ -0,0 +1,19 @@
+ALTER TABLE products
+    ADD COLUMN stock_buckets INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE products
+    ADD CONSTRAINT chk_products_stock_buckets_range
+    CHECK (stock_buckets BETWEEN 0 AND 64);
+
+-- Bucket rows are updated far more often than they are inserted; the free space per page lets
+-- PostgreSQL keep those updates HOT (no index maintenance) during flash sales.
+CREATE TABLE product_stock_buckets (
+    id UUID PRIMARY KEY,
+    product_id UUID NOT NULL,
+    bucket INTEGER NOT NULL,
+    stock INTEGER NOT NULL,
+    CONSTRAINT fk_product_stock_buckets_product FOREIGN KEY (product_id) REFERENCES products(id),
+    CONSTRAINT uk_product_stock_buckets_product_bucket UNIQUE (product_id, bucket),
+    CONSTRAINT chk_product_stock_buckets_stock_non_negative CHECK (stock >= 0),
+    CONSTRAINT chk_product_stock_buckets_bucket_non_negative CHECK (bucket >= 0)
+) WITH (fillfactor = 70);
@@ -0,0 +1,19 @@
+-- Running sum of active review ratings, so that average_rating and review_count can be maintained
+-- with one atomic UPDATE per review instead of an AVG/COUNT scan over all reviews of the product.
+ALTER TABLE products
+    ADD COLUMN rating_sum BIGINT NOT NULL DEFAULT 0;
+
+UPDATE products p
+SET rating_sum = s.rating_sum,
+    review_count = s.review_count,
+    average_rating = ROUND(CAST(s.rating_sum AS NUMERIC) / s.review_count, 2)
+FROM (
+    SELECT product_id, SUM(rating) AS rating_sum, COUNT(*) AS review_count
+    FROM product_reviews
+    WHERE deleted = false
+    GROUP BY product_id
+) s
+WHERE s.product_id = p.id;
+
+ALTER TABLE products
+    ADD CONSTRAINT chk_products_rating_sum_non_negative CHECK (rating_sum >= 0);
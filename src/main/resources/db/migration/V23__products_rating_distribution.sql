@@ -0,0 +1,32 @@
+-- Per-star review counts, maintained with the other rating stats so that the rating summary of a
+-- product is a single-row read instead of a GROUP BY over its reviews.
+ALTER TABLE products
+    ADD COLUMN rating_1_count INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN rating_2_count INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN rating_3_count INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN rating_4_count INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN rating_5_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE products p
+SET rating_1_count = s.rating_1_count,
+    rating_2_count = s.rating_2_count,
+    rating_3_count = s.rating_3_count,
+    rating_4_count = s.rating_4_count,
+    rating_5_count = s.rating_5_count
+FROM (
+    SELECT product_id,
+           COUNT(*) FILTER (WHERE rating = 1) AS rating_1_count,
+           COUNT(*) FILTER (WHERE rating = 2) AS rating_2_count,
+           COUNT(*) FILTER (WHERE rating = 3) AS rating_3_count,
+           COUNT(*) FILTER (WHERE rating = 4) AS rating_4_count,
+           COUNT(*) FILTER (WHERE rating = 5) AS rating_5_count
+    FROM product_reviews
+    WHERE deleted = false
+    GROUP BY product_id
+) s
+WHERE s.product_id = p.id;
+
+ALTER TABLE products
+    ADD CONSTRAINT chk_products_rating_counts_non_negative CHECK (
+        rating_1_count >= 0 AND rating_2_count >= 0 AND rating_3_count >= 0
+        AND rating_4_count >= 0 AND rating_5_count >= 0);
@@ -0,0 +1,4 @@
+-- Backs review listings of a product, newest first, including the id tie-breaker used by keyset
+-- pagination. Partial on active rows, mirroring the soft-delete restriction on every review query.
+CREATE INDEX idx_product_reviews_product_created
+    ON product_reviews (product_id, created_at DESC, id DESC) WHERE deleted = false;
@@ -0,0 +1,4 @@
+-- Retention job deletes old processed rows in batches; keeps that lookup off the full table.
+CREATE INDEX idx_outbox_events_processed_at
+    ON outbox_events (processed_at)
+    WHERE status = 'PROCESSED';
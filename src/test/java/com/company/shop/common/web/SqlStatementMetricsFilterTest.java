@@ -0,0 +1,93 @@
+package com.company.shop.common.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.company.shop.common.persistence.SqlStatementCountingInspector;
+import com.company.shop.common.persistence.SqlStatementRecorder;
+import com.company.shop.common.persistence.SqlStatementTimingListener;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+
+class SqlStatementMetricsFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SqlStatementMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new SqlStatementMetricsFilter(meterRegistry);
+    }
+
+    @Test
+    void doFilterInternal_shouldPublishStatementCountAndTimePerRoute() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products/42");
+
+        filter.doFilter(request, new MockHttpServletResponse(), chainIssuingStatements(3));
+
+        DistributionSummary statements = meterRegistry.get("shop.db.statements")
+                .tags("method", "GET", "uri", "/api/v1/products/{id}").summary();
+        Timer time = meterRegistry.get("shop.db.time")
+                .tags("method", "GET", "uri", "/api/v1/products/{id}").timer();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(3.0);
+        assertThat(time.count()).isEqualTo(1);
+    }
+
+    @Test
+    void doFilterInternal_shouldTagUnmatchedRequestsAsUnknown() throws ServletException, IOException {
+        filter.doFilter(new MockHttpServletRequest("GET", "/missing"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        assertThat(meterRegistry.get("shop.db.statements").tags("uri", "UNKNOWN").summary().totalAmount())
+                .isZero();
+    }
+
+    @Test
+    void doFilterInternal_shouldStopRecordingAfterRequest() throws ServletException, IOException {
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chainIssuingStatements(1));
+
+        assertThat(SqlStatementRecorder.current()).isEmpty();
+    }
+
+    @Test
+    void doFilter_shouldSkipRecordingWhenDisabled() throws ServletException, IOException {
+        ReflectionTestUtils.setField(filter, "enabled", false);
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chainIssuingStatements(2));
+
+        assertThat(meterRegistry.find("shop.db.statements").summary()).isNull();
+    }
+
+    private MockFilterChain chainIssuingStatements(int count) {
+        Filter hibernate = (req, res, chain) -> {
+            SqlStatementCountingInspector inspector = new SqlStatementCountingInspector();
+            SqlStatementTimingListener listener = new SqlStatementTimingListener();
+            for (int i = 0; i < count; i++) {
+                inspector.inspect("select " + i);
+                listener.jdbcExecuteStatementStart();
+                listener.jdbcExecuteStatementEnd();
+            }
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/products/{id}");
+            chain.doFilter(req, res);
+        };
+        return new MockFilterChain(new HttpServlet() {
+            private static final long serialVersionUID = 1L;
+        }, hibernate);
+    }
+}
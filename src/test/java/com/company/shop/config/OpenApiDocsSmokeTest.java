@@ -22,13 +22,21 @@ import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import com.company.shop.common.persistence.TableRowEstimator;
 import com.company.shop.module.cart.service.CartService;
 import com.company.shop.module.category.service.CategoryService;
+import com.company.shop.module.category.service.CategoryTreeSnapshot;
+import com.company.shop.module.order.service.DiscountCodeService;
 import com.company.shop.module.order.service.OrderService;
+import com.company.shop.module.order.service.OutboxEventPublisher;
 import com.company.shop.module.order.service.PaymentService;
+import com.company.shop.module.order.service.StockReservationService;
 import com.company.shop.module.order.service.StripeWebhookEventRegistrar;
+import com.company.shop.module.product.service.ProductRatingService;
 import com.company.shop.module.product.service.ProductReviewService;
+import com.company.shop.module.product.service.ProductSearchEngine;
 import com.company.shop.module.product.service.ProductService;
+import com.company.shop.module.product.service.ProductStockService;
 import com.company.shop.module.system.service.ApplicationStatusService;
 import com.company.shop.module.user.repository.RoleRepository;
 import com.company.shop.module.user.service.UserService;
@@ -45,7 +53,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
                 "spring.autoconfigure.exclude="
                         + "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
                         + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration,"
-                        + "org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration"
+                        + "org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration",
+                "shop.outbox.dispatcher.enabled=false",
+                "shop.outbox.retention.enabled=false",
+                "shop.inventory.reservation-expiry.enabled=false",
+                "shop.inventory.stock-buckets.rebalance.enabled=false",
+                "shop.discount-usage-flush.enabled=false",
+                "shop.product-rating.reconciliation.enabled=false",
+                "shop.product-suggest.rebuild.enabled=false",
+                "shop.category-tree.refresh.enabled=false"
         }
 )
 @AutoConfigureMockMvc
@@ -101,6 +117,30 @@ class OpenApiDocsSmokeTest {
     @MockitoBean
     private StripeWebhookEventRegistrar stripeWebhookEventRegistrar;
 
+    @MockitoBean
+    private OutboxEventPublisher outboxEventPublisher;
+
+    @MockitoBean
+    private StockReservationService stockReservationService;
+
+    @MockitoBean
+    private ProductStockService productStockService;
+
+    @MockitoBean
+    private DiscountCodeService discountCodeService;
+
+    @MockitoBean
+    private ProductRatingService productRatingService;
+
+    @MockitoBean
+    private ProductSearchEngine productSearchEngine;
+
+    @MockitoBean
+    private TableRowEstimator tableRowEstimator;
+
+    @MockitoBean
+    private CategoryTreeSnapshot categoryTreeSnapshot;
+
     @MockitoBean(name = "jpaMappingContext")
     private JpaMetamodelMappingContext jpaMappingContext;
 
@@ -15,6 +15,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -37,6 +38,8 @@ import com.company.shop.module.cart.controller.CartController;
 import com.company.shop.module.cart.service.CartService;
 import com.company.shop.module.category.controller.AdminCategoryController;
 import com.company.shop.module.category.controller.CategoryController;
+import com.company.shop.module.category.dto.CategoryResponseDTO;
+import com.company.shop.module.category.dto.CategoryTreeDTO;
 import com.company.shop.module.category.service.CategoryService;
 import com.company.shop.module.order.controller.AdminOrderController;
 import com.company.shop.module.order.controller.CurrentUserOrderController;
@@ -47,6 +50,7 @@ import com.company.shop.module.order.service.PaymentService;
 import com.company.shop.module.product.controller.AdminProductController;
 import com.company.shop.module.product.controller.ProductController;
 import com.company.shop.module.product.controller.ProductReviewController;
+import com.company.shop.module.product.dto.ProductResponseDTO;
 import com.company.shop.module.product.dto.ProductReviewResponseDTO;
 import com.company.shop.module.product.service.ProductReviewService;
 import com.company.shop.module.product.service.ProductService;
@@ -125,7 +129,16 @@ class SecurityConfigWebMvcTest {
                 new UserResponseDTO(UUID.randomUUID(), "user@example.com", "John", "Doe", Set.of("ROLE_USER")));
 
         when(productService.findAll(any())).thenReturn(Page.empty());
+        when(productService.findAllByCategory(any(), any())).thenReturn(Page.empty());
+        when(productService.searchProducts(any(), any())).thenReturn(Page.empty());
+        when(productReviewService.getProductReviews(any(), any())).thenReturn(Page.empty());
+        when(userService.findAll(any())).thenReturn(Page.empty());
+        when(productService.findBySlug(anyString())).thenReturn(new ProductResponseDTO(UUID.randomUUID(), "Test",
+                "test-product", "SKU", null, BigDecimal.ONE, 1, UUID.randomUUID(), "Test", 0.0, 0, List.of(), 0L));
+        when(categoryService.findBySlug(anyString())).thenReturn(
+                new CategoryResponseDTO(UUID.randomUUID(), "Test", "test-category", null, null, null));
         when(categoryService.findAll(any())).thenReturn(Page.empty());
+        when(categoryService.getTree()).thenReturn(new CategoryTreeDTO(List.of(), "\"empty\""));
         when(orderService.findAll(any())).thenReturn(Page.empty());
         when(orderService.findMyOrders(any())).thenReturn(Page.empty());
 
@@ -424,9 +437,13 @@ class SecurityConfigWebMvcTest {
                 "/api/v1",
                 "/api/v1/products",
                 "/api/v1/products/search",
+                "/api/v1/products/scroll",
+                "/api/v1/products/search/scroll",
+                "/api/v1/products/category/" + UUID.randomUUID() + "/scroll",
                 "/api/v1/products/slug/test-product",
                 "/api/v1/products/" + UUID.randomUUID() + "/reviews",
                 "/api/v1/categories",
+                "/api/v1/categories/tree",
                 "/api/v1/categories/slug/test-category");
     }
 
@@ -0,0 +1,98 @@
+package com.company.shop.load;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Samples PostgreSQL lock contention while a load run is in progress.
+ * <p>
+ * Deadlocks come from the cumulative {@code pg_stat_database.deadlocks} counter (difference between
+ * start and stop). Lock waits are sampled from {@code pg_stat_activity} every
+ * {@value #SAMPLE_INTERVAL_MS} ms: the report carries the number of samples that saw at least one
+ * backend waiting on a lock, the summed waiter count and the peak number of concurrent waiters.
+ * </p>
+ */
+final class DatabaseContentionProbe implements AutoCloseable {
+
+    private static final long SAMPLE_INTERVAL_MS = 50;
+
+    private static final String DEADLOCKS_SQL =
+            "SELECT deadlocks FROM pg_stat_database WHERE datname = current_database()";
+    private static final String LOCK_WAITERS_SQL = """
+            SELECT count(*) FROM pg_stat_activity
+            WHERE datname = current_database() AND wait_event_type = 'Lock'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicLong samples = new AtomicLong();
+    private final AtomicLong samplesWithWaiters = new AtomicLong();
+    private final AtomicLong waiterSum = new AtomicLong();
+    private final AtomicLong maxWaiters = new AtomicLong();
+    private long deadlocksAtStart;
+    private long deadlocksAtStop;
+
+    DatabaseContentionProbe(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    void start() {
+        deadlocksAtStart = deadlocks();
+        sampler.scheduleAtFixedRate(this::sample, 0, SAMPLE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    void stop() throws InterruptedException {
+        sampler.shutdown();
+        sampler.awaitTermination(5, TimeUnit.SECONDS);
+        deadlocksAtStop = deadlocks();
+    }
+
+    long deadlocksDuringRun() {
+        return deadlocksAtStop - deadlocksAtStart;
+    }
+
+    Map<String, Object> render() {
+        Map<String, Object> database = new LinkedHashMap<>();
+        database.put("deadlocks", deadlocksDuringRun());
+        database.put("lockWaitSamples", samplesWithWaiters.get());
+        database.put("lockWaiterSampleSum", waiterSum.get());
+        database.put("maxConcurrentLockWaiters", maxWaiters.get());
+        database.put("totalSamples", samples.get());
+        database.put("sampleIntervalMs", SAMPLE_INTERVAL_MS);
+        return database;
+    }
+
+    @Override
+    public void close() {
+        sampler.shutdownNow();
+    }
+
+    private void sample() {
+        Long waiters;
+        try {
+            waiters = jdbcTemplate.queryForObject(LOCK_WAITERS_SQL, Long.class);
+        } catch (DataAccessException ex) {
+            // A failed sample must not cancel the schedule; the pool may be saturated by the load itself.
+            return;
+        }
+        long current = waiters == null ? 0 : waiters;
+        samples.incrementAndGet();
+        if (current > 0) {
+            samplesWithWaiters.incrementAndGet();
+            waiterSum.addAndGet(current);
+            maxWaiters.accumulateAndGet(current, Math::max);
+        }
+    }
+
+    private long deadlocks() {
+        Long deadlocks = jdbcTemplate.queryForObject(DEADLOCKS_SQL, Long.class);
+        return deadlocks == null ? 0 : deadlocks;
+    }
+}
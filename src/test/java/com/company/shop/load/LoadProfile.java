@@ -0,0 +1,67 @@
+package com.company.shop.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load scenario parameters, overridable with {@code -Dshop.load.*} system properties.
+ *
+ * @param virtualUsers      concurrent authenticated shoppers.
+ * @param duration          measured run time, after a short warm-up.
+ * @param warmup            warm-up time whose samples are discarded.
+ * @param products          catalog size seeded before the run.
+ * @param hotProducts       products all shoppers put into their carts (drives lock contention).
+ * @param hotProductStock   initial stock of each hot product.
+ * @param browseWeight      relative weight of catalog search requests.
+ * @param cartWeight        relative weight of add-to-cart requests.
+ * @param checkoutWeight    relative weight of checkouts.
+ * @param webhookDuplicates deliveries of every succeeded event (Stripe retries and replays).
+ * @param webhookDelay      minimum age of a PaymentIntent before its webhook is sent.
+ * @param stripeLatency     response time of the local Stripe stand-in.
+ * @param stripeErrorRate   share of Stripe requests answered with a retryable 500.
+ * @param stripeReadTimeout read timeout of the Stripe client.
+ * @param reportFile        JSON report destination.
+ */
+record LoadProfile(int virtualUsers,
+                   Duration duration,
+                   Duration warmup,
+                   int products,
+                   int hotProducts,
+                   int hotProductStock,
+                   int browseWeight,
+                   int cartWeight,
+                   int checkoutWeight,
+                   int webhookDuplicates,
+                   Duration webhookDelay,
+                   Duration stripeLatency,
+                   double stripeErrorRate,
+                   Duration stripeReadTimeout,
+                   Path reportFile) {
+
+    static LoadProfile fromSystemProperties() {
+        return new LoadProfile(
+                intProperty("users", 16),
+                Duration.ofSeconds(intProperty("duration-seconds", 30)),
+                Duration.ofSeconds(intProperty("warmup-seconds", 5)),
+                intProperty("products", 200),
+                intProperty("hot-products", 10),
+                intProperty("hot-product-stock", 500),
+                intProperty("browse-weight", 60),
+                intProperty("cart-weight", 25),
+                intProperty("checkout-weight", 15),
+                intProperty("webhook-duplicates", 3),
+                Duration.ofMillis(intProperty("webhook-delay-ms", 200)),
+                Duration.ofMillis(intProperty("stripe-latency-ms", 0)),
+                Double.parseDouble(System.getProperty("shop.load.stripe-error-rate", "0")),
+                Duration.ofMillis(intProperty("stripe-read-timeout-ms", 5000)),
+                Path.of(System.getProperty("shop.load.report", "target/load-report.json")));
+    }
+
+    int totalWeight() {
+        return browseWeight + cartWeight + checkoutWeight;
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.getInteger("shop.load." + name, defaultValue);
+    }
+}
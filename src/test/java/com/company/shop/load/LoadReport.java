@@ -0,0 +1,117 @@
+package com.company.shop.load;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects per-operation latencies and outcomes of a load run and renders them as a report.
+ * <p>
+ * Latencies are kept raw and percentiles are computed exactly at the end; a run produces at most a
+ * few hundred thousand samples, so there is no need for a histogram approximation. Responses are
+ * classified as {@code ok} (2xx), {@code rejected} (4xx, expected business outcomes such as an
+ * empty cart or sold-out product under contention) and {@code errors} (5xx or transport failures).
+ * </p>
+ */
+final class LoadReport {
+
+    private final Map<String, OperationStats> operations = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    void startRecording() {
+        recording = true;
+    }
+
+    void stopRecording() {
+        recording = false;
+    }
+
+    void record(String operation, long latencyNanos, int status) {
+        if (!recording) {
+            return;
+        }
+        operations.computeIfAbsent(operation, name -> new OperationStats()).record(latencyNanos, status);
+    }
+
+    long count(String operation, Outcome outcome) {
+        OperationStats stats = operations.get(operation);
+        return stats == null ? 0 : stats.count(outcome);
+    }
+
+    long totalErrors() {
+        return operations.values().stream().mapToLong(stats -> stats.count(Outcome.ERROR)).sum();
+    }
+
+    Map<String, Object> render(LoadProfile profile, Duration measured, Map<String, Object> database) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("virtualUsers", profile.virtualUsers());
+        report.put("durationSeconds", measured.toMillis() / 1000.0);
+        report.put("mix", Map.of("browse", profile.browseWeight(), "cart", profile.cartWeight(),
+                "checkout", profile.checkoutWeight()));
+        Map<String, Object> rendered = new LinkedHashMap<>();
+        operations.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> rendered.put(entry.getKey(), entry.getValue().render(measured)));
+        report.put("operations", rendered);
+        report.put("database", database);
+        return report;
+    }
+
+    enum Outcome {
+        OK, REJECTED, ERROR;
+
+        static Outcome of(int status) {
+            if (status >= 200 && status < 300) {
+                return OK;
+            }
+            return status >= 400 && status < 500 ? REJECTED : ERROR;
+        }
+    }
+
+    private static final class OperationStats {
+
+        private final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final Map<Outcome, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+        void record(long latencyNanos, int status) {
+            latencies.add(latencyNanos);
+            outcomes.computeIfAbsent(Outcome.of(status), outcome -> new LongAdder()).increment();
+        }
+
+        long count(Outcome outcome) {
+            LongAdder adder = outcomes.get(outcome);
+            return adder == null ? 0 : adder.sum();
+        }
+
+        Map<String, Object> render(Duration measured) {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", sorted.length);
+            stats.put("ok", count(Outcome.OK));
+            stats.put("rejected", count(Outcome.REJECTED));
+            stats.put("errors", count(Outcome.ERROR));
+            stats.put("throughputPerSecond", sorted.length / Math.max(measured.toMillis() / 1000.0, 0.001));
+            stats.put("p50Ms", millis(percentile(sorted, 0.50)));
+            stats.put("p99Ms", millis(percentile(sorted, 0.99)));
+            stats.put("maxMs", millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+            return stats;
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.company.shop.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.company.shop.module.category.entity.Category;
+import com.company.shop.module.category.repository.CategoryRepository;
+import com.company.shop.module.product.entity.Product;
+import com.company.shop.module.product.repository.ProductRepository;
+import com.company.shop.module.user.entity.Role;
+import com.company.shop.module.user.entity.User;
+import com.company.shop.module.user.repository.RoleRepository;
+import com.company.shop.module.user.repository.UserRepository;
+import com.company.shop.persistence.support.PostgresContainerSupport;
+import com.company.shop.security.SecurityConstants;
+import com.company.shop.security.jwt.JwtTokenProvider;
+import com.company.shop.support.stripe.FakeStripeServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * End-to-end HTTP load harness: catalog search, cart mutations, checkout and signed webhook storms
+ * against the real server, PostgreSQL (Testcontainers) and a local Stripe stand-in.
+ * <p>
+ * Disabled unless {@code -Dshop.load.enabled=true}; see {@code docs/testing/strategy.md} for the
+ * command line and the {@code shop.load.*} knobs. Every shopper is a real HTTP client with its own
+ * JWT and CSRF session, so latencies include the full filter chain, serialization and the socket.
+ * The JSON report (per-operation p50/p99/throughput plus deadlocks and lock-wait samples) is
+ * written to {@code target/load-report.json}.
+ * </p>
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+        // Paid orders clear their carts through the outbox, as in production.
+        "shop.outbox.dispatcher.enabled=true",
+        "shop.checkout.inline-payment-intent=true"
+})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@EnabledIfSystemProperty(named = "shop.load.enabled", matches = "true")
+class ShopLoadIT extends PostgresContainerSupport {
+
+    private static final Logger log = LoggerFactory.getLogger(ShopLoadIT.class);
+    private static final String[] SEARCH_TERMS = { "laptop", "telefon", "monitor", "klawiatura", "słuchawki" };
+    private static final String CSRF_PATH = "/test-support/csrf";
+    private static final int TRANSPORT_FAILURE = -1;
+    private static final String WEBHOOK_SECRET = "whsec_load_test";
+
+    private static FakeStripeServer stripe;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+
+    @DynamicPropertySource
+    static void registerStripeProperties(DynamicPropertyRegistry registry) throws IOException {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        stripe = FakeStripeServer.builder()
+                .latency(profile.stripeLatency())
+                .errorRate(profile.stripeErrorRate())
+                .webhookSecret(WEBHOOK_SECRET)
+                .webhookDelay(profile.webhookDelay())
+                .webhookDuplicates(profile.webhookDuplicates())
+                .start();
+        registry.add("stripe.api-base", stripe::baseUrl);
+        registry.add("stripe.webhook-secret", () -> WEBHOOK_SECRET);
+        registry.add("stripe.read-timeout-ms", () -> profile.stripeReadTimeout().toMillis());
+    }
+
+    @AfterAll
+    static void stopStripe() {
+        stripe.close();
+    }
+
+    @Test
+    void mixedCatalogCartCheckoutAndWebhookLoad() throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        Catalog catalog = seedCatalog(profile);
+        List<Shopper> shoppers = createShoppers(profile);
+
+        LoadReport report = new LoadReport();
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(profile.virtualUsers());
+        stripe.emitWebhooksTo(uri("/api/v1/webhooks/stripe"),
+                delivery -> report.record("webhook", delivery.latencyNanos(), delivery.status()));
+        Duration measured;
+        try (DatabaseContentionProbe probe = new DatabaseContentionProbe(jdbcTemplate)) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (Shopper shopper : shoppers) {
+                workers.add(pool.submit(() -> shop(shopper, profile, catalog, report, running)));
+            }
+
+            Thread.sleep(profile.warmup().toMillis());
+            probe.start();
+            report.startRecording();
+            long startedAt = System.nanoTime();
+            Thread.sleep(profile.duration().toMillis());
+            report.stopRecording();
+            measured = Duration.ofNanos(System.nanoTime() - startedAt);
+            probe.stop();
+
+            running.set(false);
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+            pool.shutdown();
+
+            Map<String, Object> rendered = report.render(profile, measured, probe.render());
+            Files.createDirectories(profile.reportFile().toAbsolutePath().getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(profile.reportFile().toFile(), rendered);
+            log.info("Load report written to {}:\n{}", profile.reportFile().toAbsolutePath(),
+                    objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(rendered));
+
+            assertThat(probe.deadlocksDuringRun()).as("deadlocks during the run").isZero();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        log.info("Stripe stand-in served {} requests, {} injected errors", stripe.requestCount(),
+                stripe.injectedErrorCount());
+        assertThat(report.totalErrors()).as("5xx responses or transport failures").isZero();
+        assertThat(report.count("checkout", LoadReport.Outcome.OK)).as("successful checkouts").isPositive();
+        assertConsistentState(catalog);
+    }
+
+    private void shop(Shopper shopper, LoadProfile profile, Catalog catalog, LoadReport report, AtomicBoolean running) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running.get()) {
+            int roll = random.nextInt(profile.totalWeight());
+            if (roll < profile.browseWeight()) {
+                String term = SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)];
+                timed(report, "browse", shopper.client(), HttpRequest.newBuilder(uri("/api/v1/products/search?query="
+                        + URLEncoder.encode(term, StandardCharsets.UTF_8) + "&page=" + random.nextInt(3) + "&size=12"))
+                        .GET()
+                        .build());
+            } else if (roll < profile.browseWeight() + profile.cartWeight()) {
+                // Most carts converge on the hot products, which is where checkout locks contend.
+                List<UUID> pool = random.nextInt(10) < 7 ? catalog.hotProductIds() : catalog.productIds();
+                UUID productId = pool.get(random.nextInt(pool.size()));
+                timed(report, "cart_add", shopper.client(), shopper.post("/api/v1/me/cart/items",
+                        "{\"productId\":\"" + productId + "\",\"quantity\":1}"));
+            } else {
+                timed(report, "checkout", shopper.client(), shopper.post("/api/v1/me/orders/checkout", "{}"));
+            }
+        }
+    }
+
+    private void timed(LoadReport report, String operation, HttpClient client, HttpRequest request) {
+        long startedAt = System.nanoTime();
+        int status;
+        try {
+            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException ex) {
+            status = TRANSPORT_FAILURE;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        report.record(operation, System.nanoTime() - startedAt, status);
+    }
+
+    private Catalog seedCatalog(LoadProfile profile) {
+        Category category = categoryRepository.saveAndFlush(
+                new Category("Load " + runId, "load-" + runId, "Load test catalog"));
+        List<UUID> productIds = new ArrayList<>();
+        List<Product> batch = new ArrayList<>();
+        for (int i = 0; i < profile.products(); i++) {
+            String term = SEARCH_TERMS[i % SEARCH_TERMS.length];
+            int stock = i < profile.hotProducts() ? profile.hotProductStock() : 100_000;
+            batch.add(new Product(term + " model " + i, "load-" + runId + "-" + i, "LOAD-" + runId + "-" + i,
+                    "Produkt testowy " + term, BigDecimal.valueOf(10L + i % 90), stock, category));
+        }
+        for (Product product : productRepository.saveAllAndFlush(batch)) {
+            productIds.add(product.getId());
+        }
+        return new Catalog(category.getId(), productIds, productIds.subList(0, Math.min(profile.hotProducts(),
+                productIds.size())));
+    }
+
+    private List<Shopper> createShoppers(LoadProfile profile) throws IOException, InterruptedException {
+        Role userRole = roleRepository.findByName(SecurityConstants.ROLE_USER).orElseThrow();
+        List<Shopper> shoppers = new ArrayList<>();
+        for (int i = 0; i < profile.virtualUsers(); i++) {
+            String email = "load-" + runId + "-" + i + "@example.com";
+            User user = new User(email, "{noop}not-used", "Load", "Shopper " + i);
+            user.addRole(userRole);
+            userRepository.saveAndFlush(user);
+
+            String token = jwtTokenProvider.generateToken(new UsernamePasswordAuthenticationToken(email, null,
+                    List.of(new SimpleGrantedAuthority(SecurityConstants.ROLE_USER))));
+            HttpClient client = HttpClient.newBuilder()
+                    .cookieHandler(new CookieManager())
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            shoppers.add(Shopper.connect(client, token, this));
+        }
+        return shoppers;
+    }
+
+    private void assertConsistentState(Catalog catalog) {
+        String emailPattern = "load-" + runId + "-%";
+        Long negativeStock = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM products WHERE category_id = ? AND stock < 0", Long.class, catalog.categoryId());
+        Long paidOrders = jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM orders o JOIN users u ON u.id = o.user_id
+                WHERE u.email LIKE ? AND o.status = 'PAID'
+                """, Long.class, emailPattern);
+        Long completedPayments = jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM payments p JOIN orders o ON o.id = p.order_id JOIN users u ON u.id = o.user_id
+                WHERE u.email LIKE ? AND p.status = 'COMPLETED'
+                """, Long.class, emailPattern);
+
+        assertThat(negativeStock).as("products with negative stock").isZero();
+        assertThat(paidOrders).as("paid orders match completed payments").isEqualTo(completedPayments);
+    }
+
+    URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    JsonNode readJson(String body) throws IOException {
+        return objectMapper.readTree(body);
+    }
+
+    private record Catalog(UUID categoryId, List<UUID> productIds, List<UUID> hotProductIds) {
+    }
+
+    /**
+     * An authenticated HTTP client holding a JWT and the CSRF token bound to its server-side session.
+     */
+    private record Shopper(HttpClient client, String bearerToken, String csrfHeader, String csrfToken,
+                           ShopLoadIT harness) {
+
+        static Shopper connect(HttpClient client, String bearerToken, ShopLoadIT harness)
+                throws IOException, InterruptedException {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(harness.uri(CSRF_PATH))
+                    .header("Authorization", "Bearer " + bearerToken)
+                    .GET()
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            assertThat(response.statusCode()).as("CSRF bootstrap status").isEqualTo(200);
+            JsonNode csrf = harness.readJson(response.body());
+            return new Shopper(client, bearerToken, csrf.get("headerName").asText(), csrf.get("token").asText(),
+                    harness);
+        }
+
+        HttpRequest post(String path, String json) {
+            return HttpRequest.newBuilder(harness.uri(path))
+                    .header("Authorization", "Bearer " + bearerToken)
+                    .header(csrfHeader, csrfToken)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json))
+                    .build();
+        }
+    }
+
+    /**
+     * The API keeps CSRF protection on authenticated writes, so each shopper obtains a token for its
+     * session once, the way a browser client would before its first mutation.
+     */
+    @TestConfiguration(proxyBeanMethods = false)
+    static class CsrfTokenEndpointConfig {
+
+        @Bean
+        CsrfTokenEndpoint csrfTokenEndpoint() {
+            return new CsrfTokenEndpoint();
+        }
+    }
+
+    @RestController
+    static class CsrfTokenEndpoint {
+
+        @GetMapping(CSRF_PATH)
+        Map<String, String> csrfToken(CsrfToken token) {
+            return Map.of("headerName", token.getHeaderName(), "token", token.getToken());
+        }
+    }
+}
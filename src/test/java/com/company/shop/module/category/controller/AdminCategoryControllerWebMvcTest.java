@@ -720,6 +720,6 @@ class AdminCategoryControllerWebMvcTest {
     }
 
     private CategoryResponseDTO sampleCategory(UUID id, String name, String slug, String description, String parentName) {
-        return new CategoryResponseDTO(id, name, slug, description, parentName);
+        return new CategoryResponseDTO(id, name, slug, description, parentName, null);
     }
 }
\ No newline at end of file
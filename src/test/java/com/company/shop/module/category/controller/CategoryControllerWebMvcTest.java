@@ -12,9 +12,11 @@ import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,6 +32,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -37,6 +40,8 @@ import com.company.shop.common.exception.GlobalExceptionHandler;
 import com.company.shop.common.i18n.MessageService;
 import com.company.shop.config.SecurityConfig;
 import com.company.shop.module.category.dto.CategoryResponseDTO;
+import com.company.shop.module.category.dto.CategoryTreeDTO;
+import com.company.shop.module.category.dto.CategoryTreeNodeDTO;
 import com.company.shop.module.category.exception.CategoryNotFoundException;
 import com.company.shop.module.category.service.CategoryService;
 import com.company.shop.security.UserDetailsServiceImpl;
@@ -50,6 +55,7 @@ class CategoryControllerWebMvcTest {
 
     private static final String CATEGORIES_URL = "/api/v1/categories";
     private static final String CATEGORY_BY_SLUG_URL = "/api/v1/categories/slug/{slug}";
+    private static final String CATEGORY_TREE_URL = "/api/v1/categories/tree";
 
     @Autowired
     private MockMvc mockMvc;
@@ -205,6 +211,30 @@ class CategoryControllerWebMvcTest {
         }
     }
 
+    @Nested
+    class GetCategoryTree {
+
+        @Test
+        void getCategoryTree_shouldReturnNestedRootsAndHonorIfNoneMatch() throws Exception {
+            CategoryTreeNodeDTO gaming = new CategoryTreeNodeDTO(
+                    UUID.fromString("33333333-3333-3333-3333-333333333333"), "Gaming", "gaming", List.of());
+            CategoryTreeNodeDTO electronics = new CategoryTreeNodeDTO(
+                    UUID.fromString("11111111-1111-1111-1111-111111111111"), "Electronics", "electronics",
+                    List.of(gaming));
+            when(categoryService.getTree()).thenReturn(new CategoryTreeDTO(List.of(electronics), "\"tree-1\""));
+
+            mockMvc.perform(get(CATEGORY_TREE_URL))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"tree-1\""))
+                    .andExpect(jsonPath("$[0].slug").value("electronics"))
+                    .andExpect(jsonPath("$[0].children[0].slug").value("gaming"))
+                    .andExpect(jsonPath("$[0].children[0].children").isEmpty());
+
+            mockMvc.perform(get(CATEGORY_TREE_URL).header("If-None-Match", "\"tree-1\""))
+                    .andExpect(status().isNotModified());
+        }
+    }
+
     @Nested
     class GetCategoryBySlug {
 
@@ -231,6 +261,25 @@ class CategoryControllerWebMvcTest {
             verifyNoMoreInteractions(categoryService);
         }
 
+        @Test
+        void getCategoryBySlug_shouldHonorIfNoneMatchWithoutLastModified() throws Exception {
+            LocalDateTime updatedAt = LocalDateTime.of(2026, 3, 1, 12, 0, 0);
+            when(categoryService.findBySlug("gaming")).thenReturn(new CategoryResponseDTO(
+                    UUID.fromString("33333333-3333-3333-3333-333333333333"), "Gaming", "gaming", "Gaming devices",
+                    null, updatedAt));
+
+            MockHttpServletResponse first = mockMvc.perform(get(CATEGORY_BY_SLUG_URL, "gaming"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.lastModified").doesNotExist())
+                    .andExpect(header().doesNotExist("Last-Modified"))
+                    .andReturn().getResponse();
+
+            mockMvc.perform(get(CATEGORY_BY_SLUG_URL, "gaming").header("If-None-Match", first.getHeader("ETag")))
+                    .andExpect(status().isNotModified());
+            mockMvc.perform(get(CATEGORY_BY_SLUG_URL, "gaming").header("If-None-Match", "\"stale\""))
+                    .andExpect(status().isOk());
+        }
+
         @Test
         void getCategoryBySlug_shouldReturnNotFoundApiErrorWhenCategoryMissing() throws Exception {
             when(categoryService.findBySlug("missing-slug")).thenThrow(new CategoryNotFoundException("missing-slug"));
@@ -250,6 +299,6 @@ class CategoryControllerWebMvcTest {
     }
 
     private CategoryResponseDTO sampleCategory(UUID id, String name, String slug, String description, String parentName) {
-        return new CategoryResponseDTO(id, name, slug, description, parentName);
+        return new CategoryResponseDTO(id, name, slug, description, parentName, null);
     }
 }
\ No newline at end of file
@@ -29,6 +29,7 @@ import com.company.shop.module.category.exception.CategoryNotFoundException;
 import com.company.shop.module.category.exception.CategorySlugAlreadyExistsException;
 import com.company.shop.module.category.mapper.CategoryMapper;
 import com.company.shop.module.category.repository.CategoryRepository;
+import com.company.shop.module.product.service.ProductDetailsCache;
 
 @ExtendWith(MockitoExtension.class)
 class CategoryServiceImplTest {
@@ -39,11 +40,17 @@ class CategoryServiceImplTest {
 	@Mock
 	private CategoryMapper mapper;
 
+	@Mock
+	private CategoryTreeSnapshot treeSnapshot;
+
+	@Mock
+	private ProductDetailsCache productDetailsCache;
+
 	private CategoryServiceImpl service;
 
 	@BeforeEach
 	void setUp() {
-		service = new CategoryServiceImpl(repo, mapper);
+		service = new CategoryServiceImpl(repo, mapper, treeSnapshot, productDetailsCache);
 	}
 
 	private void stubMapperToDto() {
@@ -51,7 +58,7 @@ class CategoryServiceImplTest {
 			Category category = invocation.getArgument(0);
 			String parentName = category.getParent() != null ? category.getParent().getName() : null;
 			return new CategoryResponseDTO(category.getId(), category.getName(), category.getSlug(),
-					category.getDescription(), parentName);
+					category.getDescription(), parentName, category.getUpdatedAt());
 		});
 	}
 
@@ -193,6 +200,8 @@ class CategoryServiceImplTest {
 			assertThat(existing.getDescription()).isEqualTo("new-desc");
 			assertThat(result.getSlug()).isEqualTo("home-audio");
 			verify(repo).saveAndFlush(existing);
+			verify(treeSnapshot).refreshAfterCommit();
+			verify(productDetailsCache).evictAll();
 		}
 
 		@Test
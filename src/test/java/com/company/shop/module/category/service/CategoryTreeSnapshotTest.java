@@ -0,0 +1,79 @@
+package com.company.shop.module.category.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.company.shop.module.category.dto.CategoryTreeDTO;
+import com.company.shop.module.category.dto.CategoryTreeNodeDTO;
+import com.company.shop.module.category.dto.CategoryTreeRowDTO;
+
+class CategoryTreeSnapshotTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicReference<List<CategoryTreeRowDTO>> rows = new AtomicReference<>(List.of());
+    private final CategoryTreeSnapshot snapshot = new CategoryTreeSnapshot(() -> {
+        loads.incrementAndGet();
+        return rows.get();
+    });
+
+    @Test
+    void get_shouldNestChildrenUnderParentsAndLiftOrphansToTopLevel() {
+        CategoryTreeRowDTO audio = row("Audio", null);
+        CategoryTreeRowDTO electronics = row("Electronics", null);
+        CategoryTreeRowDTO gaming = row("Gaming", electronics.id());
+        CategoryTreeRowDTO orphan = row("Orphan", UUID.randomUUID());
+        rows.set(List.of(audio, electronics, gaming, orphan));
+
+        CategoryTreeDTO tree = snapshot.get();
+
+        assertThat(tree.roots()).extracting(CategoryTreeNodeDTO::slug).containsExactly("audio", "electronics", "orphan");
+        assertThat(tree.roots().get(1).children()).extracting(CategoryTreeNodeDTO::slug).containsExactly("gaming");
+        assertThat(tree.eTag()).startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    void get_shouldServeSnapshotWithoutReloading() {
+        rows.set(List.of(row("Audio", null)));
+
+        CategoryTreeDTO first = snapshot.get();
+
+        assertThat(snapshot.get()).isSameAs(first);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void refreshAfterCommit_shouldSwapSnapshotOnlyOnceTransactionCommits() {
+        CategoryTreeRowDTO audio = row("Audio", null);
+        rows.set(List.of(audio));
+        CategoryTreeDTO before = snapshot.get();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            rows.set(List.of(audio, row("Gaming", audio.id())));
+            snapshot.refreshAfterCommit();
+
+            assertThat(snapshot.get()).isSameAs(before);
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        CategoryTreeDTO after = snapshot.get();
+        assertThat(after.roots().get(0).children()).extracting(CategoryTreeNodeDTO::slug).containsExactly("gaming");
+        assertThat(after.eTag()).isNotEqualTo(before.eTag());
+        assertThat(CategoryTreeSnapshot.build(rows.get()).eTag()).isEqualTo(after.eTag());
+    }
+
+    private CategoryTreeRowDTO row(String name, UUID parentId) {
+        return new CategoryTreeRowDTO(UUID.randomUUID(), name, name.toLowerCase(), parentId);
+    }
+}
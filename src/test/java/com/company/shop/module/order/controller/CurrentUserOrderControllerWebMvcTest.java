@@ -8,8 +8,10 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -37,6 +39,7 @@ import com.company.shop.common.exception.GlobalExceptionHandler;
 import com.company.shop.common.i18n.MessageService;
 import com.company.shop.config.SecurityConfig;
 import com.company.shop.module.order.dto.OrderResponseDTO;
+import com.company.shop.module.order.dto.PaymentIntentResponseDTO;
 import com.company.shop.module.order.entity.OrderStatus;
 import com.company.shop.module.order.service.OrderService;
 import com.company.shop.security.UserDetailsServiceImpl;
@@ -150,4 +153,25 @@ class CurrentUserOrderControllerWebMvcTest {
         assertThat(pageable.getPageNumber()).isEqualTo(0);
         assertThat(pageable.getPageSize()).isEqualTo(10);
     }
+
+    @Test
+    void retryPaymentIntent_shouldReturnOrderWithPaymentInfoForAuthenticatedUser() throws Exception {
+        UUID orderId = UUID.fromString("33333333-3333-3333-3333-333333333333");
+        when(orderService.retryPaymentIntent(orderId)).thenReturn(new OrderResponseDTO(
+                orderId,
+                OrderStatus.NEW,
+                new BigDecimal("19.99"),
+                LocalDateTime.of(2026, 2, 1, 8, 15),
+                new PaymentIntentResponseDTO("cs_retry", "pk_test")));
+
+        mockMvc.perform(post(CURRENT_USER_ORDERS_URL + "/" + orderId + "/payment-intent")
+                        .with(csrf())
+                        .with(user("john").roles("USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(orderId.toString()))
+                .andExpect(jsonPath("$.paymentInfo.clientSecret").value("cs_retry"));
+
+        verify(orderService).retryPaymentIntent(orderId);
+        verifyNoMoreInteractions(orderService);
+    }
 }
@@ -3,8 +3,6 @@ package com.company.shop.module.order.controller;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -15,6 +13,7 @@ import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,9 +30,12 @@ import com.company.shop.common.model.AuditableEntity;
 import com.company.shop.module.cart.service.CartService;
 import com.company.shop.module.order.entity.Order;
 import com.company.shop.module.order.entity.OrderStatus;
+import com.company.shop.module.order.entity.OutboxEventStatus;
+import com.company.shop.module.order.entity.OutboxEventType;
 import com.company.shop.module.order.entity.Payment;
 import com.company.shop.module.order.entity.PaymentStatus;
 import com.company.shop.module.order.repository.OrderRepository;
+import com.company.shop.module.order.repository.OutboxEventRepository;
 import com.company.shop.module.order.repository.PaymentRepository;
 import com.company.shop.module.order.repository.StripeWebhookEventRepository;
 import com.company.shop.module.user.entity.User;
@@ -71,6 +73,9 @@ class StripeWebhookPersistenceIT extends PostgresContainerSupport {
 	@Autowired
 	private StripeWebhookEventRepository stripeWebhookEventRepository;
 
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
 	@MockitoBean
 	private CartService cartService;
 
@@ -102,7 +107,8 @@ class StripeWebhookPersistenceIT extends PostgresContainerSupport {
 		assertThat(updatedOrder.getStatus()).isEqualTo(OrderStatus.PAID);
 		assertThat(updatedPayment.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
 		assertStripeWebhookEventPersisted("evt_persistence_success", SUCCEEDED_EVENT_TYPE);
-		verify(cartService).clearCartForUser(seededOrder.user().getId());
+		assertCartClearEnqueuedOnce(seededOrder.user().getId());
+		verifyNoInteractions(cartService);
 	}
 
 	@Test
@@ -189,7 +195,8 @@ class StripeWebhookPersistenceIT extends PostgresContainerSupport {
 		assertThat(orderAfterRequests.getStatus()).isEqualTo(OrderStatus.PAID);
 		assertThat(paymentAfterRequests.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
 		assertStripeWebhookEventPersisted("evt_persistence_duplicate", SUCCEEDED_EVENT_TYPE);
-		verify(cartService, times(1)).clearCartForUser(seededOrder.user().getId());
+		assertCartClearEnqueuedOnce(seededOrder.user().getId());
+		verifyNoInteractions(cartService);
 	}
 
 	@Test
@@ -319,6 +326,14 @@ class StripeWebhookPersistenceIT extends PostgresContainerSupport {
 		verifyNoInteractions(cartService);
 	}
 
+	private void assertCartClearEnqueuedOnce(UUID userId) {
+		assertThat(outboxEventRepository.findAll())
+				.filteredOn(event -> event.getEventType() == OutboxEventType.CART_CLEAR)
+				.filteredOn(event -> event.getAggregateId().equals(userId))
+				.singleElement()
+				.satisfies(event -> assertThat(event.getStatus()).isEqualTo(OutboxEventStatus.PENDING));
+	}
+
 	private SeededOrder seedOrderWithPayment(BigDecimal orderAmount, String paymentIntentId) {
 		User user = userRepository.save(new User("stripe-webhook-" + paymentIntentId + "@example.com", "encoded-pass", "Test", "User"));
 
@@ -371,7 +386,7 @@ class StripeWebhookPersistenceIT extends PostgresContainerSupport {
 		return event;
 	}
 
-	private void markOrderAndPaymentAsCompleted(java.util.UUID orderId) {
+	private void markOrderAndPaymentAsCompleted(UUID orderId) {
 		Order order = orderRepository.findById(orderId).orElseThrow();
 		order.markAsPaid();
 		orderRepository.save(order);
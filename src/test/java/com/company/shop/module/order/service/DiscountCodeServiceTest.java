@@ -0,0 +1,185 @@
+package com.company.shop.module.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.company.shop.common.model.BaseEntity;
+import com.company.shop.module.order.entity.DiscountCode;
+import com.company.shop.module.order.entity.DiscountCodeTerms;
+import com.company.shop.module.order.exception.DiscountCodeInvalidException;
+import com.company.shop.module.order.repository.DiscountCodeRepository;
+
+@ExtendWith(MockitoExtension.class)
+class DiscountCodeServiceTest {
+
+    private static final UUID CODE_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Mock
+    private DiscountCodeRepository discountCodeRepository;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private DiscountCodeService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        DiscountCodeCache cache = new DiscountCodeCache(meterRegistry, nanoTime::get);
+        service = new DiscountCodeService(discountCodeRepository, cache, TransactionOperations.withoutTransaction(),
+                meterRegistry);
+    }
+
+    @Nested
+    class ResolveTests {
+
+        @Test
+        void shouldServeRepeatedLookupsFromCacheIgnoringCase() {
+            DiscountCode discountCode = discountCode("SAVE10", 10, 5, true);
+            when(discountCodeRepository.findByCodeIgnoreCase("SAVE10")).thenReturn(Optional.of(discountCode));
+
+            DiscountCodeTerms first = service.resolve("SAVE10");
+            DiscountCodeTerms second = service.resolve("save10");
+
+            assertThat(second).isEqualTo(first);
+            assertThat(first.discountPercent()).isEqualTo(10);
+            verify(discountCodeRepository, times(1)).findByCodeIgnoreCase(any(String.class));
+            assertThat(meterRegistry.get("shop.discount_cache.total").tag("result", "hit").counter().count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        void shouldReloadTermsAfterTtlExpires() {
+            DiscountCode discountCode = discountCode("SAVE10", 10, null, true);
+            when(discountCodeRepository.findByCodeIgnoreCase(any(String.class))).thenReturn(Optional.of(discountCode));
+
+            service.resolve("SAVE10");
+            nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(1));
+            service.resolve("SAVE10");
+
+            verify(discountCodeRepository, times(2)).findByCodeIgnoreCase("SAVE10");
+        }
+
+        @Test
+        void shouldRejectInactiveAndUnknownCodes() {
+            when(discountCodeRepository.findByCodeIgnoreCase("OFF"))
+                    .thenReturn(Optional.of(discountCode("OFF", 10, null, false)));
+            when(discountCodeRepository.findByCodeIgnoreCase("NOPE")).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> service.resolve("OFF")).isInstanceOf(DiscountCodeInvalidException.class);
+            assertThatThrownBy(() -> service.resolve("NOPE")).isInstanceOf(DiscountCodeInvalidException.class);
+        }
+    }
+
+    @Nested
+    class RedeemTests {
+
+        @Test
+        void shouldRedeemLimitedCodeWithConditionalIncrement() {
+            when(discountCodeRepository.redeemIfAvailable(any(UUID.class), any(LocalDateTime.class))).thenReturn(1);
+
+            service.redeem(terms(5));
+
+            verify(discountCodeRepository).redeemIfAvailable(any(UUID.class), any(LocalDateTime.class));
+            assertDiscountMetricCount("redeemed", 1);
+        }
+
+        @Test
+        void shouldRejectExhaustedLimitedCodeAndEvictItsCachedTerms() {
+            when(discountCodeRepository.findByCodeIgnoreCase("SAVE10"))
+                    .thenReturn(Optional.of(discountCode("SAVE10", 10, 1, true)));
+            when(discountCodeRepository.redeemIfAvailable(any(UUID.class), any(LocalDateTime.class))).thenReturn(0);
+            DiscountCodeTerms terms = service.resolve("SAVE10");
+
+            assertThatThrownBy(() -> service.redeem(terms)).isInstanceOf(DiscountCodeInvalidException.class);
+            service.resolve("SAVE10");
+
+            verify(discountCodeRepository, times(2)).findByCodeIgnoreCase("SAVE10");
+            assertDiscountMetricCount("rejected", 1);
+        }
+
+        @Test
+        void shouldCountUnlimitedCodeInMemoryAndFlushInOneUpdate() {
+            DiscountCodeTerms terms = terms(null);
+
+            service.redeem(terms);
+            service.redeem(terms);
+            service.redeem(terms);
+
+            verify(discountCodeRepository, never()).redeemIfAvailable(any(UUID.class), any(LocalDateTime.class));
+            verify(discountCodeRepository, never()).addUsage(any(UUID.class), anyLong());
+
+            assertThat(service.flushPendingUsage()).isEqualTo(3);
+            verify(discountCodeRepository).addUsage(CODE_ID, 3);
+            assertThat(service.flushPendingUsage()).isZero();
+        }
+
+        @Test
+        void shouldKeepUnlimitedUsageForNextFlushWhenWriteFails() {
+            DiscountCodeTerms terms = terms(null);
+            service.redeem(terms);
+            when(discountCodeRepository.addUsage(CODE_ID, 1)).thenThrow(new IllegalStateException("db down"))
+                    .thenReturn(1);
+
+            assertThat(service.flushPendingUsage()).isZero();
+            assertThat(service.flushPendingUsage()).isEqualTo(1);
+        }
+    }
+
+    private void assertDiscountMetricCount(String result, double expectedCount) {
+        assertThat(meterRegistry.get("shop.discount_code.total").tag("result", result).counter().count())
+                .isEqualTo(expectedCount);
+    }
+
+    private DiscountCodeTerms terms(Integer usageLimit) {
+        return new DiscountCodeTerms(CODE_ID, "SAVE10", 10, LocalDateTime.now().minusDays(1),
+                LocalDateTime.now().plusDays(1), usageLimit, true);
+    }
+
+    private DiscountCode discountCode(String code, int percent, Integer usageLimit, boolean active) {
+        try {
+            Constructor<DiscountCode> constructor = DiscountCode.class.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            DiscountCode discountCode = constructor.newInstance();
+            setField(BaseEntity.class, discountCode, "id", CODE_ID);
+            setField(DiscountCode.class, discountCode, "code", code);
+            setField(DiscountCode.class, discountCode, "discountPercent", percent);
+            setField(DiscountCode.class, discountCode, "validFrom", LocalDateTime.now().minusDays(1));
+            setField(DiscountCode.class, discountCode, "validTo", LocalDateTime.now().plusDays(1));
+            setField(DiscountCode.class, discountCode, "usageLimit", usageLimit);
+            setField(DiscountCode.class, discountCode, "active", active);
+            return discountCode;
+        } catch (ReflectiveOperationException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private void setField(Class<?> owner, Object target, String name, Object value)
+            throws ReflectiveOperationException {
+        Field field = owner.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
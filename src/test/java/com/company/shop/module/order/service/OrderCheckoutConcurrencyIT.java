@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
@@ -37,11 +38,15 @@ import com.company.shop.module.order.dto.OrderCheckoutRequestDTO;
 import com.company.shop.module.order.entity.Order;
 import com.company.shop.module.order.entity.Payment;
 import com.company.shop.module.order.entity.PaymentStatus;
+import com.company.shop.module.order.entity.StockReservation;
+import com.company.shop.module.order.entity.StockReservationStatus;
 import com.company.shop.module.order.exception.OrderInsufficientStockException;
 import com.company.shop.module.order.repository.OrderRepository;
 import com.company.shop.module.order.repository.PaymentRepository;
+import com.company.shop.module.order.repository.StockReservationRepository;
 import com.company.shop.module.product.entity.Product;
 import com.company.shop.module.product.repository.ProductRepository;
+import com.company.shop.module.product.service.ProductService;
 import com.company.shop.module.user.entity.User;
 import com.company.shop.module.user.repository.UserRepository;
 import com.company.shop.module.user.service.UserService;
@@ -75,6 +80,12 @@ class OrderCheckoutConcurrencyIT extends PostgresContainerSupport {
     @Autowired
     private PaymentRepository paymentRepository;
 
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Autowired
+    private ProductService productService;
+
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
@@ -194,6 +205,90 @@ class OrderCheckoutConcurrencyIT extends PostgresContainerSupport {
         assertThat(payment.getOrder().getId()).isEqualTo(createdOrder.getId());
         assertThat(payment.getAmount()).isEqualByComparingTo(createdOrder.getTotalAmount());
         assertThat(payment.getStatus()).isEqualTo(PaymentStatus.PENDING);
+
+        List<StockReservation> reservations = stockReservationRepository.findAll();
+        assertThat(reservations)
+                .as("the successful checkout should hold exactly the ordered quantity")
+                .singleElement()
+                .satisfies(reservation -> {
+                    assertThat(reservation.getOrderId()).isEqualTo(createdOrder.getId());
+                    assertThat(reservation.getProductId()).isEqualTo(product.getId());
+                    assertThat(reservation.getQuantity()).isEqualTo(1);
+                    assertThat(reservation.getStatus()).isEqualTo(StockReservationStatus.HELD);
+                });
+    }
+
+    @Test
+    void placeOrderFromCart_shouldNeverOversellHotProductUnderManyConcurrentCheckouts() throws Exception {
+        Product product = saveFlashSaleProduct(5);
+
+        assertExactlyStockManyCheckoutsSucceed(product, 5, 20);
+    }
+
+    @Test
+    void placeOrderFromCart_shouldNeverOversellBucketedHotProductUnderManyConcurrentCheckouts() throws Exception {
+        Product product = saveFlashSaleProduct(6);
+        productService.configureStockBuckets(product.getId(), 4);
+
+        assertExactlyStockManyCheckoutsSucceed(product, 6, 24);
+
+        Long bucketStock = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(stock), 0) FROM product_stock_buckets WHERE product_id = ?",
+                Long.class,
+                product.getId());
+        assertThat(bucketStock).as("all bucketed units should be sold").isZero();
+    }
+
+    private Product saveFlashSaleProduct(int stock) {
+        Category category = categoryRepository.saveAndFlush(new Category("Flash", "flash", "Flash sale category"));
+        return productRepository.saveAndFlush(new Product(
+                "Flash Phone",
+                "flash-phone",
+                "FLASH-1",
+                "Phone for hot product concurrency test",
+                BigDecimal.valueOf(999),
+                stock,
+                category));
+    }
+
+    private void assertExactlyStockManyCheckoutsSucceed(Product product, int stock, int buyers) throws Exception {
+        CountDownLatch ready = new CountDownLatch(buyers);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(buyers);
+        List<Future<CheckoutAttempt>> futures = new ArrayList<>(buyers);
+        for (int i = 0; i < buyers; i++) {
+            User buyer = userRepository.saveAndFlush(
+                    new User("flash-user-" + i + "@example.com", "encoded", "Flash", "Buyer" + i));
+            createCartWithSingleItem(buyer, product, 1);
+            futures.add(executorService.submit(checkoutTask(buyer, ready, start)));
+        }
+
+        assertThat(ready.await(10, TimeUnit.SECONDS))
+                .as("all checkout tasks should be ready before concurrent start")
+                .isTrue();
+        start.countDown();
+
+        List<CheckoutAttempt> attempts = new ArrayList<>(buyers);
+        for (Future<CheckoutAttempt> future : futures) {
+            attempts.add(future.get(30, TimeUnit.SECONDS));
+        }
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(attempts.stream().filter(CheckoutAttempt::success).count())
+                .as("exactly stock-many checkouts should succeed; failures: %s", describeFailures(attempts))
+                .isEqualTo(stock);
+        assertThat(attempts.stream().filter(attempt -> !attempt.success()).map(CheckoutAttempt::failure))
+                .as("rejected checkouts should fail on insufficient stock; failures: %s", describeFailures(attempts))
+                .allMatch(failure -> hasCause(failure, OrderInsufficientStockException.class));
+
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStock()).isZero();
+        assertThat(orderRepository.count()).isEqualTo(stock);
+        Integer heldQuantity = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(quantity), 0) FROM stock_reservations WHERE product_id = ? AND status = 'HELD'",
+                Integer.class,
+                product.getId());
+        assertThat(heldQuantity).as("held quantity should match the sold stock").isEqualTo(stock);
     }
 
     private void createCartWithSingleItem(User user, Product product, int quantity) {
@@ -205,6 +300,8 @@ class OrderCheckoutConcurrencyIT extends PostgresContainerSupport {
     private void truncateTestData() {
         jdbcTemplate.execute("""
                 TRUNCATE TABLE
+                    stock_reservations,
+                    product_stock_buckets,
                     payments,
                     order_items,
                     orders,
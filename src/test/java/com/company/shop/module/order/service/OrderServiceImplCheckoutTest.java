@@ -3,7 +3,8 @@ package com.company.shop.module.order.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -11,8 +12,11 @@ import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -20,26 +24,31 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import com.company.shop.common.model.BaseEntity;
 import com.company.shop.module.cart.entity.Cart;
+import com.company.shop.common.persistence.TableRowEstimator;
 import com.company.shop.module.cart.service.CartService;
 import com.company.shop.module.category.entity.Category;
 import com.company.shop.module.order.dto.OrderCheckoutRequestDTO;
 import com.company.shop.module.order.dto.OrderResponseDTO;
 import com.company.shop.module.order.dto.PaymentIntentResponseDTO;
-import com.company.shop.module.order.entity.DiscountCode;
+import com.company.shop.module.order.entity.DiscountCodeTerms;
 import com.company.shop.module.order.entity.Order;
 import com.company.shop.module.order.entity.OrderStatus;
+import com.company.shop.module.order.entity.OutboxEventType;
 import com.company.shop.module.order.entity.Payment;
 import com.company.shop.module.order.exception.DiscountCodeInvalidException;
 import com.company.shop.module.order.exception.EmptyCartCheckoutException;
+import com.company.shop.module.order.exception.OrderAccessDeniedException;
 import com.company.shop.module.order.exception.OrderInsufficientStockException;
+import com.company.shop.module.order.exception.PaymentProcessingException;
 import com.company.shop.module.order.mapper.OrderMapper;
-import com.company.shop.module.order.repository.DiscountCodeRepository;
 import com.company.shop.module.order.repository.OrderRepository;
 import com.company.shop.module.order.repository.PaymentRepository;
 import com.company.shop.module.product.entity.Product;
@@ -61,7 +70,7 @@ class OrderServiceImplCheckoutTest {
 	private PaymentRepository paymentRepository;
 
 	@Mock
-	private DiscountCodeRepository discountCodeRepository;
+	private DiscountCodeService discountCodeService;
 
 	@Mock
 	private UserService userService;
@@ -75,14 +84,25 @@ class OrderServiceImplCheckoutTest {
 	@Mock
 	private PaymentService paymentService;
 
+	@Mock
+	private OutboxEventPublisher outboxEventPublisher;
+
+	@Mock
+	private StockReservationService stockReservationService;
+
+	@Mock
+	private TableRowEstimator rowEstimator;
+
 	private SimpleMeterRegistry meterRegistry;
 	private OrderServiceImpl service;
 
 	@BeforeEach
 	void setUp() {
 		meterRegistry = new SimpleMeterRegistry();
-		service = new OrderServiceImpl(orderRepository, productRepository, paymentRepository, discountCodeRepository,
-				userService, cartService, orderMapper, paymentService, meterRegistry);
+		service = new OrderServiceImpl(orderRepository, productRepository, paymentRepository, discountCodeService,
+				userService, cartService, orderMapper, paymentService, meterRegistry,
+				TransactionOperations.withoutTransaction(), outboxEventPublisher, stockReservationService,
+				rowEstimator);
 	}
 
 	@Nested
@@ -102,8 +122,8 @@ class OrderServiceImplCheckoutTest {
 
 			when(userService.getCurrentUserEntity()).thenReturn(user);
 			when(cartService.getCartEntityForUser(user.getId())).thenReturn(cart);
-			when(productRepository.findByIdWithLock(firstProduct.getId())).thenReturn(Optional.of(firstProduct));
-			when(productRepository.findByIdWithLock(secondProduct.getId())).thenReturn(Optional.of(secondProduct));
+			when(productRepository.findAllById(Set.of(firstProduct.getId(), secondProduct.getId())))
+					.thenReturn(List.of(firstProduct, secondProduct));
 			when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
 				Order order = invocation.getArgument(0);
 				setEntityId(order, savedOrderId);
@@ -122,12 +142,10 @@ class OrderServiceImplCheckoutTest {
 			assertThat(result.createdAt()).isEqualTo(createdAt);
 			assertThat(result.paymentInfo()).isEqualTo(paymentIntent);
 
-			assertThat(firstProduct.getStock()).isEqualTo(8);
-			assertThat(secondProduct.getStock()).isEqualTo(5);
-
 			ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
 			verify(orderRepository).save(orderCaptor.capture());
 			Order savedOrder = orderCaptor.getValue();
+			verify(stockReservationService).reserve(savedOrder);
 			assertThat(savedOrder.getUser()).isEqualTo(user);
 			assertThat(savedOrder.getItems()).hasSize(2);
 			assertThat(savedOrder.getItems().get(0).getProduct()).isEqualTo(firstProduct);
@@ -145,9 +163,11 @@ class OrderServiceImplCheckoutTest {
 			assertThat(savedPayment.getProvider()).isEqualTo("STRIPE");
 			assertThat(savedPayment.getAmount()).isEqualByComparingTo("35.00");
 
+			verify(outboxEventPublisher).publish(OutboxEventType.PAYMENT_INTENT_CREATE, savedOrderId,
+					Duration.ofSeconds(30));
 			verify(paymentService).createPaymentIntent(savedOrder);
 			verify(orderMapper).toDto(savedOrder);
-			verify(discountCodeRepository, never()).findByCodeIgnoreCase(any(String.class));
+			verify(discountCodeService, never()).resolve(any(String.class));
 			assertThat(meterRegistry.get("shop.checkout.total").tag("result", "attempt").counter().count()).isEqualTo(1);
 			assertThat(meterRegistry.get("shop.checkout.total").tag("result", "success").counter().count()).isEqualTo(1);
 		}
@@ -157,9 +177,7 @@ class OrderServiceImplCheckoutTest {
 			User user = user();
 			Product product = product(3, 10, BigDecimal.valueOf(100));
 			Cart cart = cart(user, product, 1);
-			DiscountCode discountCode = mock(DiscountCode.class);
-			when(discountCode.canBeUsed()).thenReturn(true);
-			when(discountCode.getDiscountPercent()).thenReturn(10);
+			DiscountCodeTerms discountTerms = discountTerms("SAVE10", 10);
 
 			OrderCheckoutRequestDTO request = new OrderCheckoutRequestDTO(" SAVE10 ", null);
 			PaymentIntentResponseDTO paymentIntent = new PaymentIntentResponseDTO("pi_discount", "pk_discount");
@@ -167,9 +185,8 @@ class OrderServiceImplCheckoutTest {
 
 			when(userService.getCurrentUserEntity()).thenReturn(user);
 			when(cartService.getCartEntityForUser(user.getId())).thenReturn(cart);
-			when(productRepository.findByIdWithLock(product.getId())).thenReturn(Optional.of(product));
-			when(discountCodeRepository.findByCodeIgnoreCase("SAVE10"))
-					.thenReturn(Optional.of(discountCode));
+			when(productRepository.findAllById(Set.of(product.getId()))).thenReturn(List.of(product));
+			when(discountCodeService.resolve("SAVE10")).thenReturn(discountTerms);
 			when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
 				Order order = invocation.getArgument(0);
 				setEntityId(order, savedOrderId);
@@ -184,7 +201,7 @@ class OrderServiceImplCheckoutTest {
 
 			assertThat(result.totalAmount()).isEqualByComparingTo("90.00");
 			assertThat(result.paymentInfo()).isEqualTo(paymentIntent);
-			assertThat(product.getStock()).isEqualTo(9);
+			verify(stockReservationService).reserve(any(Order.class));
 
 			ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
 			verify(orderRepository).save(orderCaptor.capture());
@@ -195,7 +212,10 @@ class OrderServiceImplCheckoutTest {
 			verify(paymentRepository).save(paymentCaptor.capture());
 			assertThat(paymentCaptor.getValue().getAmount()).isEqualByComparingTo("90.00");
 
-			verify(discountCodeRepository).findByCodeIgnoreCase("SAVE10");
+			InOrder redemptionLast = inOrder(outboxEventPublisher, discountCodeService);
+			redemptionLast.verify(outboxEventPublisher).publish(any(OutboxEventType.class), any(UUID.class),
+					any(Duration.class));
+			redemptionLast.verify(discountCodeService).redeem(discountTerms);
 			verify(paymentService).createPaymentIntent(savedOrder);
 			verify(orderMapper).toDto(savedOrder);
 		}
@@ -212,7 +232,7 @@ class OrderServiceImplCheckoutTest {
 
 			when(userService.getCurrentUserEntity()).thenReturn(user);
 			when(cartService.getCartEntityForUser(user.getId())).thenReturn(cart);
-			when(productRepository.findByIdWithLock(product.getId())).thenReturn(Optional.of(product));
+			when(productRepository.findAllById(Set.of(product.getId()))).thenReturn(List.of(product));
 			when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
 				Order order = invocation.getArgument(0);
 				setEntityId(order, savedOrderId);
@@ -226,14 +246,14 @@ class OrderServiceImplCheckoutTest {
 			OrderResponseDTO result = service.placeOrderFromCart(request);
 
 			assertThat(result.totalAmount()).isEqualByComparingTo("40.00");
-			assertThat(product.getStock()).isEqualTo(2);
+			verify(stockReservationService).reserve(any(Order.class));
 
 			ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
 			verify(orderRepository).save(orderCaptor.capture());
 			Order savedOrder = orderCaptor.getValue();
 			assertThat(savedOrder.getTotalAmount()).isEqualByComparingTo("40.00");
 
-			verify(discountCodeRepository, never()).findByCodeIgnoreCase(any(String.class));
+			verify(discountCodeService, never()).resolve(any(String.class));
 			verify(paymentService).createPaymentIntent(savedOrder);
 			verify(orderMapper).toDto(savedOrder);
 		}
@@ -257,27 +277,27 @@ class OrderServiceImplCheckoutTest {
 
 			verify(userService).getCurrentUserEntity();
 			verify(cartService).getCartEntityForUser(user.getId());
-			verifyNoInteractions(productRepository, discountCodeRepository, orderRepository, paymentRepository,
+			verifyNoInteractions(productRepository, discountCodeService, orderRepository, paymentRepository,
 					paymentService, orderMapper);
 		}
 
 		@Test
-		void placeOrderFromCart_shouldThrowWhenLockedProductNotFound() {
+		void placeOrderFromCart_shouldThrowWhenCartProductNotFound() {
 			User user = user();
 			Product missingProduct = product(5, 10, BigDecimal.TEN);
 			Cart cart = cart(user, missingProduct, 1);
 
 			when(userService.getCurrentUserEntity()).thenReturn(user);
 			when(cartService.getCartEntityForUser(user.getId())).thenReturn(cart);
-			when(productRepository.findByIdWithLock(missingProduct.getId())).thenReturn(Optional.empty());
+			when(productRepository.findAllById(Set.of(missingProduct.getId()))).thenReturn(List.of());
 
 			assertThatThrownBy(() -> service.placeOrderFromCart(new OrderCheckoutRequestDTO(null, null)))
 					.isInstanceOf(ProductNotFoundException.class);
 
 			verify(userService).getCurrentUserEntity();
 			verify(cartService).getCartEntityForUser(user.getId());
-			verify(productRepository).findByIdWithLock(missingProduct.getId());
-			verifyNoInteractions(discountCodeRepository, orderRepository, paymentRepository, paymentService,
+			verify(productRepository).findAllById(Set.of(missingProduct.getId()));
+			verifyNoInteractions(discountCodeService, orderRepository, paymentRepository, paymentService,
 					orderMapper);
 		}
 
@@ -289,17 +309,37 @@ class OrderServiceImplCheckoutTest {
 
 			when(userService.getCurrentUserEntity()).thenReturn(user);
 			when(cartService.getCartEntityForUser(user.getId())).thenReturn(cart);
-			when(productRepository.findByIdWithLock(product.getId())).thenReturn(Optional.of(product));
+			when(productRepository.findAllById(Set.of(product.getId()))).thenReturn(List.of(product));
 
 			assertThatThrownBy(() -> service.placeOrderFromCart(new OrderCheckoutRequestDTO(null, null)))
 					.isInstanceOf(OrderInsufficientStockException.class);
 
 			verify(userService).getCurrentUserEntity();
 			verify(cartService).getCartEntityForUser(user.getId());
-			verify(productRepository).findByIdWithLock(product.getId());
+			verify(productRepository).findAllById(Set.of(product.getId()));
 			assertThat(product.getStock()).isEqualTo(1);
-			verifyNoInteractions(discountCodeRepository, orderRepository, paymentRepository, paymentService,
-					orderMapper);
+			verifyNoInteractions(discountCodeService, orderRepository, paymentRepository, paymentService,
+					orderMapper, stockReservationService);
+		}
+
+		@Test
+		void placeOrderFromCart_shouldFailWithoutPaymentWhenReservationIsRejected() {
+			User user = user();
+			Product product = product(17, 3, BigDecimal.valueOf(12));
+			Cart cart = cart(user, product, 2);
+
+			when(userService.getCurrentUserEntity()).thenReturn(user);
+			when(cartService.getCartEntityForUser(user.getId())).thenReturn(cart);
+			when(productRepository.findAllById(Set.of(product.getId()))).thenReturn(List.of(product));
+			when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+			doThrow(new OrderInsufficientStockException(product.getId(), 2, 1))
+					.when(stockReservationService).reserve(any(Order.class));
+
+			assertThatThrownBy(() -> service.placeOrderFromCart(new OrderCheckoutRequestDTO(null, null)))
+					.isInstanceOf(OrderInsufficientStockException.class);
+
+			verifyNoInteractions(paymentRepository, paymentService, outboxEventPublisher, orderMapper);
+			assertThat(meterRegistry.get("shop.checkout.total").tag("result", "failure").counter().count()).isEqualTo(1);
 		}
 
 		@Test
@@ -310,16 +350,16 @@ class OrderServiceImplCheckoutTest {
 
 			when(userService.getCurrentUserEntity()).thenReturn(user);
 			when(cartService.getCartEntityForUser(user.getId())).thenReturn(cart);
-			when(productRepository.findByIdWithLock(product.getId())).thenReturn(Optional.of(product));
-			when(discountCodeRepository.findByCodeIgnoreCase("SAVE20")).thenReturn(Optional.empty());
+			when(productRepository.findAllById(Set.of(product.getId()))).thenReturn(List.of(product));
+			when(discountCodeService.resolve("SAVE20")).thenThrow(new DiscountCodeInvalidException("SAVE20"));
 
 			assertThatThrownBy(() -> service.placeOrderFromCart(new OrderCheckoutRequestDTO(" SAVE20 ", null)))
 					.isInstanceOf(DiscountCodeInvalidException.class).hasMessageContaining("SAVE20");
 
 			verify(userService).getCurrentUserEntity();
 			verify(cartService).getCartEntityForUser(user.getId());
-			verify(productRepository).findByIdWithLock(product.getId());
-			verify(discountCodeRepository).findByCodeIgnoreCase("SAVE20");
+			verify(productRepository).findAllById(Set.of(product.getId()));
+			verify(discountCodeService).resolve("SAVE20");
 			verifyNoInteractions(orderRepository, paymentRepository, paymentService, orderMapper);
 		}
 
@@ -328,31 +368,48 @@ class OrderServiceImplCheckoutTest {
 			User user = user();
 			Product product = product(8, 9, BigDecimal.valueOf(30));
 			Cart cart = cart(user, product, 2);
-			DiscountCode discountCode = mock(DiscountCode.class);
-			when(discountCode.canBeUsed()).thenReturn(false);
-
 			when(userService.getCurrentUserEntity()).thenReturn(user);
 			when(cartService.getCartEntityForUser(user.getId())).thenReturn(cart);
-			when(productRepository.findByIdWithLock(product.getId())).thenReturn(Optional.of(product));
-			when(discountCodeRepository.findByCodeIgnoreCase("EXPIRED10"))
-					.thenReturn(Optional.of(discountCode));
+			when(productRepository.findAllById(Set.of(product.getId()))).thenReturn(List.of(product));
+			when(discountCodeService.resolve("EXPIRED10")).thenThrow(new DiscountCodeInvalidException("EXPIRED10"));
 
 			assertThatThrownBy(() -> service.placeOrderFromCart(new OrderCheckoutRequestDTO("EXPIRED10", null)))
 					.isInstanceOf(DiscountCodeInvalidException.class).hasMessageContaining("EXPIRED10");
 
 			verify(userService).getCurrentUserEntity();
 			verify(cartService).getCartEntityForUser(user.getId());
-			verify(productRepository).findByIdWithLock(product.getId());
-			verify(discountCodeRepository).findByCodeIgnoreCase("EXPIRED10");
+			verify(productRepository).findAllById(Set.of(product.getId()));
+			verify(discountCodeService).resolve("EXPIRED10");
 			verifyNoInteractions(orderRepository, paymentRepository, paymentService, orderMapper);
 		}
+
+		@Test
+		void placeOrderFromCart_shouldFailWithoutPaymentIntentWhenLimitedDiscountCodeIsExhausted() {
+			User user = user();
+			Product product = product(18, 5, BigDecimal.valueOf(30));
+			Cart cart = cart(user, product, 1);
+			DiscountCodeTerms discountTerms = discountTerms("LAST10", 10);
+
+			when(userService.getCurrentUserEntity()).thenReturn(user);
+			when(cartService.getCartEntityForUser(user.getId())).thenReturn(cart);
+			when(productRepository.findAllById(Set.of(product.getId()))).thenReturn(List.of(product));
+			when(discountCodeService.resolve("LAST10")).thenReturn(discountTerms);
+			when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+			doThrow(new DiscountCodeInvalidException("LAST10")).when(discountCodeService).redeem(discountTerms);
+
+			assertThatThrownBy(() -> service.placeOrderFromCart(new OrderCheckoutRequestDTO("LAST10", null)))
+					.isInstanceOf(DiscountCodeInvalidException.class).hasMessageContaining("LAST10");
+
+			verifyNoInteractions(paymentService, orderMapper);
+			assertThat(meterRegistry.get("shop.checkout.total").tag("result", "failure").counter().count()).isEqualTo(1);
+		}
 	}
 
 	@Nested
-	class PlaceOrderFromCartStockAndLockingTests {
+	class PlaceOrderFromCartStockReservationTests {
 
 		@Test
-		void placeOrderFromCart_shouldUsePessimisticLookupForEachCartItem() {
+		void placeOrderFromCart_shouldLoadAllCartProductsWithSingleUnlockedBatchLookup() {
 			User user = user();
 			Product firstProduct = product(9, 10, BigDecimal.valueOf(9));
 			Product secondProduct = product(10, 7, BigDecimal.valueOf(4));
@@ -360,8 +417,8 @@ class OrderServiceImplCheckoutTest {
 
 			when(userService.getCurrentUserEntity()).thenReturn(user);
 			when(cartService.getCartEntityForUser(user.getId())).thenReturn(cart);
-			when(productRepository.findByIdWithLock(firstProduct.getId())).thenReturn(Optional.of(firstProduct));
-			when(productRepository.findByIdWithLock(secondProduct.getId())).thenReturn(Optional.of(secondProduct));
+			when(productRepository.findAllById(Set.of(firstProduct.getId(), secondProduct.getId())))
+					.thenReturn(List.of(firstProduct, secondProduct));
 			when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 			when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
 			when(paymentService.createPaymentIntent(any(Order.class)))
@@ -371,12 +428,11 @@ class OrderServiceImplCheckoutTest {
 
 			service.placeOrderFromCart(new OrderCheckoutRequestDTO(null, null));
 
-			verify(productRepository).findByIdWithLock(firstProduct.getId());
-			verify(productRepository).findByIdWithLock(secondProduct.getId());
+			verify(productRepository).findAllById(Set.of(firstProduct.getId(), secondProduct.getId()));
 		}
 
 		@Test
-		void placeOrderFromCart_shouldCreateOrderItemsAndDecreaseStockForEachCartItem() {
+		void placeOrderFromCart_shouldCreateOrderItemsAndReserveStockForEachCartItem() {
 			User user = user();
 			Product firstProduct = product(11, 10, BigDecimal.valueOf(3));
 			Product secondProduct = product(12, 8, BigDecimal.valueOf(6));
@@ -384,8 +440,8 @@ class OrderServiceImplCheckoutTest {
 
 			when(userService.getCurrentUserEntity()).thenReturn(user);
 			when(cartService.getCartEntityForUser(user.getId())).thenReturn(cart);
-			when(productRepository.findByIdWithLock(firstProduct.getId())).thenReturn(Optional.of(firstProduct));
-			when(productRepository.findByIdWithLock(secondProduct.getId())).thenReturn(Optional.of(secondProduct));
+			when(productRepository.findAllById(Set.of(firstProduct.getId(), secondProduct.getId())))
+					.thenReturn(List.of(firstProduct, secondProduct));
 			when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 			when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
 			when(paymentService.createPaymentIntent(any(Order.class)))
@@ -395,12 +451,13 @@ class OrderServiceImplCheckoutTest {
 
 			service.placeOrderFromCart(new OrderCheckoutRequestDTO(null, null));
 
-			assertThat(firstProduct.getStock()).isEqualTo(8);
-			assertThat(secondProduct.getStock()).isEqualTo(5);
-
 			ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
 			verify(orderRepository).save(orderCaptor.capture());
 			Order savedOrder = orderCaptor.getValue();
+			verify(stockReservationService).reserve(savedOrder);
+			// Stock is taken by the conditional decrement in the ledger, never through the loaded entity.
+			assertThat(firstProduct.getStock()).isEqualTo(10);
+			assertThat(secondProduct.getStock()).isEqualTo(8);
 
 			assertThat(savedOrder.getItems()).hasSize(2);
 			assertThat(savedOrder.getItems()).anySatisfy(item -> {
@@ -415,17 +472,17 @@ class OrderServiceImplCheckoutTest {
 		}
 
 		@Test
-		void placeOrderFromCart_shouldPreserveUnitPriceFromLockedProductDuringOrderCreation() {
+		void placeOrderFromCart_shouldPreserveUnitPriceFromLoadedProductDuringOrderCreation() {
 			User user = user();
 			Product cartProduct = product(15, 5, BigDecimal.valueOf(99));
 			Cart cart = cart(user, cartProduct, 2);
 
-			Product lockedProduct = product(16, 5, BigDecimal.valueOf(12.50));
-			setEntityId(lockedProduct, cartProduct.getId());
+			Product loadedProduct = product(16, 5, BigDecimal.valueOf(12.50));
+			setEntityId(loadedProduct, cartProduct.getId());
 
 			when(userService.getCurrentUserEntity()).thenReturn(user);
 			when(cartService.getCartEntityForUser(user.getId())).thenReturn(cart);
-			when(productRepository.findByIdWithLock(cartProduct.getId())).thenReturn(Optional.of(lockedProduct));
+			when(productRepository.findAllById(Set.of(cartProduct.getId()))).thenReturn(List.of(loadedProduct));
 			when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 			when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
 			when(paymentService.createPaymentIntent(any(Order.class)))
@@ -445,6 +502,107 @@ class OrderServiceImplCheckoutTest {
 		}
 	}
 
+	@Nested
+	class PaymentPhaseTests {
+
+		@Test
+		void placeOrderFromCart_shouldKeepCommittedOrderAndDeferPaymentWhenIntentInitializationFails() {
+			User user = user();
+			Product product = product(21, 4, BigDecimal.valueOf(7));
+			Cart cart = cart(user, product, 2);
+			UUID savedOrderId = UUID.randomUUID();
+
+			when(userService.getCurrentUserEntity()).thenReturn(user);
+			when(cartService.getCartEntityForUser(user.getId())).thenReturn(cart);
+			when(productRepository.findAllById(Set.of(product.getId()))).thenReturn(List.of(product));
+			when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+			when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+			when(paymentService.createPaymentIntent(any(Order.class)))
+					.thenThrow(new PaymentProcessingException("stripe unavailable"));
+			when(orderMapper.toDto(any(Order.class))).thenReturn(new OrderResponseDTO(savedOrderId,
+					OrderStatus.NEW, BigDecimal.valueOf(14), LocalDateTime.now(), null));
+
+			OrderResponseDTO result = service.placeOrderFromCart(new OrderCheckoutRequestDTO(null, null));
+
+			assertThat(result.id()).isEqualTo(savedOrderId);
+			assertThat(result.paymentInfo()).isNull();
+			verify(stockReservationService).reserve(any(Order.class));
+			verify(orderRepository).save(any(Order.class));
+			verify(paymentRepository).save(any(Payment.class));
+			assertThat(meterRegistry.get("shop.checkout.total").tag("result", "payment_deferred").counter().count())
+					.isEqualTo(1);
+			assertThat(meterRegistry.find("shop.checkout.total").tag("result", "failure").counter()).isNull();
+		}
+
+		@Test
+		void placeOrderFromCart_shouldLeaveIntentCreationToOutboxWhenInlineCreationDisabled() throws Exception {
+			Field inlineField = OrderServiceImpl.class.getDeclaredField("inlinePaymentIntent");
+			inlineField.setAccessible(true);
+			inlineField.set(service, false);
+
+			User user = user();
+			Product product = product(22, 4, BigDecimal.valueOf(3));
+			Cart cart = cart(user, product, 1);
+			UUID savedOrderId = UUID.randomUUID();
+
+			when(userService.getCurrentUserEntity()).thenReturn(user);
+			when(cartService.getCartEntityForUser(user.getId())).thenReturn(cart);
+			when(productRepository.findAllById(Set.of(product.getId()))).thenReturn(List.of(product));
+			when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+				Order order = invocation.getArgument(0);
+				setEntityId(order, savedOrderId);
+				return order;
+			});
+			when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+			when(orderMapper.toDto(any(Order.class))).thenReturn(new OrderResponseDTO(savedOrderId,
+					OrderStatus.NEW, BigDecimal.valueOf(3), LocalDateTime.now(), null));
+
+			OrderResponseDTO result = service.placeOrderFromCart(new OrderCheckoutRequestDTO(null, null));
+
+			assertThat(result.paymentInfo()).isNull();
+			verify(outboxEventPublisher).publish(OutboxEventType.PAYMENT_INTENT_CREATE, savedOrderId, Duration.ZERO);
+			verifyNoInteractions(paymentService);
+			assertThat(meterRegistry.get("shop.checkout.total").tag("result", "success").counter().count()).isEqualTo(1);
+		}
+
+		@Test
+		void retryPaymentIntent_shouldReturnOrderWithPaymentInfoForOwner() {
+			User user = user();
+			Order order = new Order(user);
+			setEntityId(order, UUID.randomUUID());
+			PaymentIntentResponseDTO paymentIntent = new PaymentIntentResponseDTO("cs_retry", "pk_test");
+
+			when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+			when(userService.getCurrentUserEntity()).thenReturn(user);
+			when(paymentService.createPaymentIntent(order)).thenReturn(paymentIntent);
+			when(orderMapper.toDto(order)).thenReturn(new OrderResponseDTO(order.getId(), OrderStatus.NEW,
+					BigDecimal.TEN, LocalDateTime.now(), null));
+
+			OrderResponseDTO result = service.retryPaymentIntent(order.getId());
+
+			assertThat(result.id()).isEqualTo(order.getId());
+			assertThat(result.paymentInfo()).isEqualTo(paymentIntent);
+		}
+
+		@Test
+		void retryPaymentIntent_shouldRejectOrderOwnedByAnotherUser() {
+			Order order = new Order(user());
+			setEntityId(order, UUID.randomUUID());
+
+			when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+			when(userService.getCurrentUserEntity()).thenReturn(user());
+
+			assertThatThrownBy(() -> service.retryPaymentIntent(order.getId()))
+					.isInstanceOf(OrderAccessDeniedException.class);
+			verifyNoInteractions(paymentService);
+		}
+	}
+
+	private DiscountCodeTerms discountTerms(String code, int percent) {
+		return new DiscountCodeTerms(UUID.randomUUID(), code, percent, LocalDateTime.now().minusDays(1),
+				LocalDateTime.now().plusDays(1), 100, true);
+	}
+
 	private User user() {
 		User user = new User("john@example.com", "encoded", "John", "Doe");
 		setEntityId(user, UUID.randomUUID());
@@ -2,6 +2,7 @@ package com.company.shop.module.order.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -11,6 +12,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -19,12 +21,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
+import com.company.shop.common.dto.PageResponseDTO;
 import com.company.shop.common.model.BaseEntity;
+import com.company.shop.common.persistence.TableRowEstimator;
 import com.company.shop.module.cart.service.CartService;
 import com.company.shop.module.order.dto.OrderDetailedResponseDTO;
 import com.company.shop.module.order.dto.OrderResponseDTO;
@@ -33,7 +39,6 @@ import com.company.shop.module.order.entity.OrderStatus;
 import com.company.shop.module.order.exception.OrderAccessDeniedException;
 import com.company.shop.module.order.exception.OrderNotFoundException;
 import com.company.shop.module.order.mapper.OrderMapper;
-import com.company.shop.module.order.repository.DiscountCodeRepository;
 import com.company.shop.module.order.repository.OrderRepository;
 import com.company.shop.module.order.repository.PaymentRepository;
 import com.company.shop.module.product.repository.ProductRepository;
@@ -55,7 +60,7 @@ class OrderServiceImplReadAccessTest {
 	private PaymentRepository paymentRepository;
 
 	@Mock
-	private DiscountCodeRepository discountCodeRepository;
+	private DiscountCodeService discountCodeService;
 
 	@Mock
 	private UserService userService;
@@ -69,13 +74,24 @@ class OrderServiceImplReadAccessTest {
 	@Mock
 	private PaymentService paymentService;
 
+	@Mock
+	private OutboxEventPublisher outboxEventPublisher;
+
+	@Mock
+	private StockReservationService stockReservationService;
+
+	@Mock
+	private TableRowEstimator rowEstimator;
+
 	private OrderServiceImpl service;
 
 	@BeforeEach
 	void setUp() {
 		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
-		service = new OrderServiceImpl(orderRepository, productRepository, paymentRepository, discountCodeRepository,
-				userService, cartService, orderMapper, paymentService, meterRegistry);
+		service = new OrderServiceImpl(orderRepository, productRepository, paymentRepository, discountCodeService,
+				userService, cartService, orderMapper, paymentService, meterRegistry,
+				TransactionOperations.withoutTransaction(), outboxEventPublisher, stockReservationService,
+				rowEstimator);
 	}
 
 	@Nested
@@ -205,6 +221,40 @@ class OrderServiceImplReadAccessTest {
 			verify(orderRepository).findByUser(currentUser, pageable);
 			verify(orderMapper).toDto(order);
 		}
+
+		@Test
+		void findAllWithEstimatedTotal_shouldReadSliceAndUsePlannerEstimate() {
+			Order order = new Order(user());
+			OrderResponseDTO dto = new OrderResponseDTO(UUID.randomUUID(), OrderStatus.NEW, BigDecimal.ONE,
+					LocalDateTime.now(), null);
+			PageRequest pageable = PageRequest.of(1, 1);
+
+			when(rowEstimator.estimate("orders")).thenReturn(OptionalLong.of(1000));
+			when(orderRepository.findSliceBy(pageable)).thenReturn(new SliceImpl<>(List.of(order), pageable, true));
+			when(orderMapper.toDto(order)).thenReturn(dto);
+
+			PageResponseDTO<OrderResponseDTO> result = service.findAllWithEstimatedTotal(pageable);
+
+			assertThat(result.content()).containsExactly(dto);
+			assertThat(result.totalElements()).isEqualTo(1000L);
+			assertThat(result.totalPages()).isEqualTo(1000);
+			assertThat(result.totalEstimated()).isTrue();
+			assertThat(result.last()).isFalse();
+			verify(orderRepository, never()).findAll(pageable);
+		}
+
+		@Test
+		void findAllWithEstimatedTotal_shouldCountWhenTableHasNoStatistics() {
+			PageRequest pageable = PageRequest.of(0, 10);
+
+			when(rowEstimator.estimate("orders")).thenReturn(OptionalLong.empty());
+			when(orderRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+			PageResponseDTO<OrderResponseDTO> result = service.findAllWithEstimatedTotal(pageable);
+
+			assertThat(result.totalElements()).isZero();
+			assertThat(result.totalEstimated()).isFalse();
+		}
 	}
 
 	private User user() {
@@ -0,0 +1,203 @@
+package com.company.shop.module.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.company.shop.common.model.BaseEntity;
+import com.company.shop.module.cart.service.CartService;
+import com.company.shop.module.order.entity.Order;
+import com.company.shop.module.order.entity.OutboxEvent;
+import com.company.shop.module.order.entity.OutboxEventStatus;
+import com.company.shop.module.order.entity.OutboxEventType;
+import com.company.shop.module.order.exception.PaymentProcessingException;
+import com.company.shop.module.order.repository.OrderRepository;
+import com.company.shop.module.order.repository.OutboxEventRepository;
+import com.company.shop.module.user.entity.User;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+	@Mock
+	private OutboxEventRepository outboxEventRepository;
+
+	@Mock
+	private OrderRepository orderRepository;
+
+	@Mock
+	private PaymentService paymentService;
+
+	@Mock
+	private CartService cartService;
+
+	private SimpleMeterRegistry meterRegistry;
+	private OutboxDispatcher dispatcher;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		dispatcher = new OutboxDispatcher(outboxEventRepository, orderRepository, paymentService, cartService,
+				TransactionOperations.withoutTransaction(), meterRegistry);
+	}
+
+	@Nested
+	class DispatchPendingEventsTests {
+
+		@Test
+		void dispatchPendingEvents_shouldLeaseClaimedEventsAndMarkThemProcessed() {
+			UUID userId = UUID.randomUUID();
+			OutboxEvent event = event(OutboxEventType.CART_CLEAR, userId);
+			LocalDateTime beforeDispatch = LocalDateTime.now();
+
+			when(outboxEventRepository.lockNextDueBatch(any(LocalDateTime.class), eq(50))).thenReturn(List.of(event));
+			when(outboxEventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+
+			dispatcher.dispatchPendingEvents();
+
+			verify(cartService).clearCartForUser(userId);
+			assertThat(event.getAttempts()).isEqualTo(1);
+			assertThat(event.getNextAttemptAt()).isAfter(beforeDispatch);
+			assertThat(event.getStatus()).isEqualTo(OutboxEventStatus.PROCESSED);
+			assertThat(event.getProcessedAt()).isNotNull();
+			assertThat(meterRegistry.get("shop.outbox.dispatch.total").tag("event_type", "CART_CLEAR")
+					.tag("result", "processed").counter().count()).isEqualTo(1);
+		}
+
+		@Test
+		void dispatchPendingEvents_shouldStopPollingWhenBatchIsNotFull() {
+			when(outboxEventRepository.lockNextDueBatch(any(LocalDateTime.class), anyInt())).thenReturn(List.of());
+
+			dispatcher.dispatchPendingEvents();
+
+			verify(outboxEventRepository).lockNextDueBatch(any(LocalDateTime.class), eq(50));
+			verifyNoInteractions(cartService, paymentService, orderRepository);
+		}
+	}
+
+	@Nested
+	class PaymentIntentEventTests {
+
+		@Test
+		void dispatch_shouldCreatePaymentIntentForNewOrder() {
+			Order order = order();
+			OutboxEvent event = event(OutboxEventType.PAYMENT_INTENT_CREATE, order.getId());
+
+			when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+			when(outboxEventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+
+			dispatcher.dispatch(event);
+
+			verify(paymentService).createPaymentIntent(order);
+			assertThat(event.getStatus()).isEqualTo(OutboxEventStatus.PROCESSED);
+		}
+
+		@Test
+		void dispatch_shouldSkipPaymentIntentForAlreadyPaidOrder() {
+			Order order = order();
+			order.markAsPaid();
+			OutboxEvent event = event(OutboxEventType.PAYMENT_INTENT_CREATE, order.getId());
+
+			when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+			when(outboxEventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+
+			dispatcher.dispatch(event);
+
+			verifyNoInteractions(paymentService);
+			assertThat(event.getStatus()).isEqualTo(OutboxEventStatus.PROCESSED);
+		}
+	}
+
+	@Nested
+	class RetryTests {
+
+		@Test
+		void dispatch_shouldScheduleRetryWithBackoffWhenSideEffectFails() {
+			Order order = order();
+			OutboxEvent event = event(OutboxEventType.PAYMENT_INTENT_CREATE, order.getId());
+			event.claim(LocalDateTime.now());
+			LocalDateTime beforeDispatch = LocalDateTime.now();
+
+			when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+			when(paymentService.createPaymentIntent(order)).thenThrow(new PaymentProcessingException("stripe down"));
+			when(outboxEventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+
+			dispatcher.dispatch(event);
+
+			assertThat(event.getStatus()).isEqualTo(OutboxEventStatus.PENDING);
+			assertThat(event.getNextAttemptAt()).isAfterOrEqualTo(beforeDispatch.plusSeconds(2));
+			assertThat(event.getLastError()).contains("stripe down");
+			assertThat(meterRegistry.get("shop.outbox.dispatch.total").tag("event_type", "PAYMENT_INTENT_CREATE")
+					.tag("result", "retried").counter().count()).isEqualTo(1);
+		}
+
+		@Test
+		void dispatch_shouldMarkEventFailedWhenAttemptsAreExhausted() {
+			UUID userId = UUID.randomUUID();
+			OutboxEvent event = event(OutboxEventType.CART_CLEAR, userId);
+			for (int attempt = 0; attempt < 10; attempt++) {
+				event.claim(LocalDateTime.now());
+			}
+
+			doThrow(new IllegalStateException("db unavailable")).when(cartService).clearCartForUser(userId);
+			when(outboxEventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+
+			dispatcher.dispatch(event);
+
+			assertThat(event.getStatus()).isEqualTo(OutboxEventStatus.FAILED);
+			assertThat(meterRegistry.get("shop.outbox.dispatch.total").tag("event_type", "CART_CLEAR")
+					.tag("result", "failed").counter().count()).isEqualTo(1);
+		}
+
+		@Test
+		void backoffMs_shouldGrowExponentiallyAndRespectUpperBound() {
+			assertThat(dispatcher.backoffMs(1)).isEqualTo(2000);
+			assertThat(dispatcher.backoffMs(2)).isEqualTo(4000);
+			assertThat(dispatcher.backoffMs(4)).isEqualTo(16000);
+			assertThat(dispatcher.backoffMs(30)).isEqualTo(300000);
+		}
+	}
+
+	private OutboxEvent event(OutboxEventType type, UUID aggregateId) {
+		OutboxEvent event = new OutboxEvent(type, aggregateId, LocalDateTime.now());
+		setEntityId(event, UUID.randomUUID());
+		return event;
+	}
+
+	private Order order() {
+		User user = new User("john@example.com", "encoded", "John", "Doe");
+		setEntityId(user, UUID.randomUUID());
+		Order order = new Order(user);
+		setEntityId(order, UUID.randomUUID());
+		return order;
+	}
+
+	private void setEntityId(Object entity, UUID id) {
+		try {
+			Field field = BaseEntity.class.getDeclaredField("id");
+			field.setAccessible(true);
+			field.set(entity, id);
+		} catch (ReflectiveOperationException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
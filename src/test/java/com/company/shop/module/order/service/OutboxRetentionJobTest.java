@@ -0,0 +1,44 @@
+package com.company.shop.module.order.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.company.shop.module.order.repository.OutboxEventRepository;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRetentionJobTest {
+
+	@Mock
+	private OutboxEventRepository outboxEventRepository;
+
+	private OutboxRetentionJob job;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		job = new OutboxRetentionJob(outboxEventRepository, TransactionOperations.withoutTransaction());
+		Field batchSize = OutboxRetentionJob.class.getDeclaredField("batchSize");
+		batchSize.setAccessible(true);
+		batchSize.setInt(job, 2);
+	}
+
+	@Test
+	void purgeProcessedEvents_shouldDeleteInBatchesUntilShortBatch() {
+		when(outboxEventRepository.deleteProcessedBefore(any(), eq(2))).thenReturn(2, 2, 1);
+
+		job.purgeProcessedEvents();
+
+		verify(outboxEventRepository, times(3)).deleteProcessedBefore(any(), eq(2));
+	}
+}
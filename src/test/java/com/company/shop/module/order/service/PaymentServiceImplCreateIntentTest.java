@@ -3,8 +3,9 @@ package com.company.shop.module.order.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.mockStatic;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -19,31 +20,32 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import com.company.shop.common.model.BaseEntity;
-import com.company.shop.module.cart.service.CartService;
 import com.company.shop.module.category.entity.Category;
 import com.company.shop.module.order.dto.PaymentIntentResponseDTO;
 import com.company.shop.module.order.entity.Order;
 import com.company.shop.module.order.entity.OrderItem;
 import com.company.shop.module.order.entity.Payment;
 import com.company.shop.module.order.exception.PaymentAlreadyCompletedException;
+import com.company.shop.module.order.exception.PaymentGatewayException;
 import com.company.shop.module.order.exception.PaymentProcessingException;
 import com.company.shop.module.order.exception.PaymentRecordNotFoundException;
 import com.company.shop.module.order.repository.OrderRepository;
 import com.company.shop.module.order.repository.PaymentRepository;
+import com.company.shop.module.order.service.PaymentGateway.CreatedPaymentIntent;
 import com.company.shop.module.product.entity.Product;
 import com.company.shop.module.user.entity.User;
-import com.stripe.model.PaymentIntent;
-import com.stripe.net.RequestOptions;
-import com.stripe.param.PaymentIntentCreateParams;
 
 @ExtendWith(MockitoExtension.class)
 class PaymentServiceImplCreateIntentTest {
 
+	@Mock
+	private PaymentGateway paymentGateway;
+
 	@Mock
 	private OrderRepository orderRepository;
 
@@ -51,19 +53,22 @@ class PaymentServiceImplCreateIntentTest {
 	private PaymentRepository paymentRepository;
 
 	@Mock
-	private CartService cartService;
+	private OutboxEventPublisher outboxEventPublisher;
 
 	@Mock
 	private StripeWebhookEventRegistrar stripeWebhookEventRegistrar;
 
+	@Mock
+	private StockReservationService stockReservationService;
+
 	private SimpleMeterRegistry meterRegistry;
 	private PaymentServiceImpl service;
 
 	@BeforeEach
 	void setUp() {
 		meterRegistry = new SimpleMeterRegistry();
-		service = new PaymentServiceImpl(orderRepository, paymentRepository, cartService, stripeWebhookEventRegistrar,
-				meterRegistry);
+		service = new PaymentServiceImpl(paymentGateway, orderRepository, paymentRepository, outboxEventPublisher, stripeWebhookEventRegistrar,
+				stockReservationService, meterRegistry, TransactionOperations.withoutTransaction());
 		setField(service, "publicKey", "pk_test_123");
 	}
 
@@ -73,7 +78,7 @@ class PaymentServiceImplCreateIntentTest {
 		Payment payment = new Payment(order, "STRIPE", order.getTotalAmount());
 		payment.attachProviderPayment("pi_existing", "cs_existing");
 
-		when(paymentRepository.findByOrderIdForUpdate(order.getId())).thenReturn(Optional.of(payment));
+		when(paymentRepository.findByOrderId(order.getId())).thenReturn(Optional.of(payment));
 
 		PaymentIntentResponseDTO result = service.createPaymentIntent(order);
 
@@ -81,20 +86,20 @@ class PaymentServiceImplCreateIntentTest {
 		assertThat(result.publishableKey()).isEqualTo("pk_test_123");
 		assertThat(meterRegistry.get("shop.payment_intent.total").tag("result", "reused").counter().count()).isEqualTo(1);
 
-		verify(paymentRepository).findByOrderIdForUpdate(order.getId());
+		verify(paymentRepository).findByOrderId(order.getId());
 		verify(paymentRepository, never()).save(any(Payment.class));
 	}
 
 	@Test
 	void createPaymentIntent_shouldThrowWhenPaymentRecordMissing() {
 		Order order = orderWithTotal(BigDecimal.valueOf(20));
-		when(paymentRepository.findByOrderIdForUpdate(order.getId())).thenReturn(Optional.empty());
+		when(paymentRepository.findByOrderId(order.getId())).thenReturn(Optional.empty());
 
 		assertThatThrownBy(() -> service.createPaymentIntent(order)).isInstanceOf(PaymentRecordNotFoundException.class)
 				.hasMessageContaining(order.getId().toString());
 		assertThat(meterRegistry.get("shop.payment_intent.total").tag("result", "failed").counter().count()).isEqualTo(1);
 
-		verify(paymentRepository).findByOrderIdForUpdate(order.getId());
+		verify(paymentRepository).findByOrderId(order.getId());
 		verify(paymentRepository, never()).save(any(Payment.class));
 	}
 
@@ -104,71 +109,94 @@ class PaymentServiceImplCreateIntentTest {
 		Payment payment = new Payment(order, "STRIPE", order.getTotalAmount());
 		payment.markAsCompleted();
 
-		when(paymentRepository.findByOrderIdForUpdate(order.getId())).thenReturn(Optional.of(payment));
+		when(paymentRepository.findByOrderId(order.getId())).thenReturn(Optional.of(payment));
 
 		assertThatThrownBy(() -> service.createPaymentIntent(order))
 				.isInstanceOf(PaymentAlreadyCompletedException.class).hasMessageContaining(order.getId().toString());
 		assertThat(meterRegistry.get("shop.payment_intent.total").tag("result", "failed").counter().count()).isEqualTo(1);
 
-		verify(paymentRepository).findByOrderIdForUpdate(order.getId());
+		verify(paymentRepository).findByOrderId(order.getId());
 		verify(paymentRepository, never()).save(any(Payment.class));
 	}
 
 	@Test
-	void createPaymentIntent_shouldWrapStripeErrorIntoPaymentProcessingException() {
+	void createPaymentIntent_shouldWrapGatewayErrorIntoPaymentProcessingException() {
 		Order order = orderWithTotal(BigDecimal.valueOf(20));
 		Payment payment = new Payment(order, "STRIPE", order.getTotalAmount());
 
-		when(paymentRepository.findByOrderIdForUpdate(order.getId())).thenReturn(Optional.of(payment));
-
-		try (MockedStatic<PaymentIntent> paymentIntentStatic = mockStatic(PaymentIntent.class)) {
-			paymentIntentStatic
-					.when(() -> PaymentIntent.create(any(PaymentIntentCreateParams.class), any(RequestOptions.class)))
-					.thenThrow(new RuntimeException("stripe down"));
+		when(paymentRepository.findByOrderId(order.getId())).thenReturn(Optional.of(payment));
+		when(paymentGateway.createPaymentIntent(any(UUID.class), anyLong(), anyString(), anyString()))
+				.thenThrow(new PaymentGatewayException("stripe down", new RuntimeException("timeout")));
 
-			assertThatThrownBy(() -> service.createPaymentIntent(order)).isInstanceOf(PaymentProcessingException.class)
-					.hasMessageContaining(order.getId().toString());
-			assertThat(meterRegistry.get("shop.payment_intent.total").tag("result", "failed").counter().count()).isEqualTo(1);
+		assertThatThrownBy(() -> service.createPaymentIntent(order)).isInstanceOf(PaymentProcessingException.class)
+				.hasMessageContaining(order.getId().toString());
+		assertThat(meterRegistry.get("shop.payment_intent.total").tag("result", "failed").counter().count()).isEqualTo(1);
 
-			verify(paymentRepository).findByOrderIdForUpdate(order.getId());
-			verify(paymentRepository, never()).save(any(Payment.class));
-		}
+		verify(paymentRepository).findByOrderId(order.getId());
+		verify(paymentRepository, never()).save(any(Payment.class));
 	}
 
 	@Test
-	void createPaymentIntent_shouldCreateStripeIntentPersistProviderFieldsAndReturnDto() {
+	void createPaymentIntent_shouldCreateGatewayIntentPersistProviderFieldsAndReturnDto() {
 		Order order = orderWithTotal(BigDecimal.valueOf(24.50));
 		Payment payment = new Payment(order, "STRIPE", order.getTotalAmount());
 
+		when(paymentRepository.findByOrderId(order.getId())).thenReturn(Optional.of(payment));
 		when(paymentRepository.findByOrderIdForUpdate(order.getId())).thenReturn(Optional.of(payment));
 		when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		when(paymentGateway.createPaymentIntent(any(UUID.class), anyLong(), anyString(), anyString()))
+				.thenReturn(new CreatedPaymentIntent("pi_123", "cs_123"));
+
+		PaymentIntentResponseDTO result = service.createPaymentIntent(order);
 
-		PaymentIntent stripeIntent = mock(PaymentIntent.class);
-		when(stripeIntent.getId()).thenReturn("pi_123");
-		when(stripeIntent.getClientSecret()).thenReturn("cs_123");
+		assertThat(result.clientSecret()).isEqualTo("cs_123");
+		assertThat(result.publishableKey()).isEqualTo("pk_test_123");
 
-		try (MockedStatic<PaymentIntent> paymentIntentStatic = mockStatic(PaymentIntent.class)) {
-			paymentIntentStatic
-					.when(() -> PaymentIntent.create(any(PaymentIntentCreateParams.class), any(RequestOptions.class)))
-					.thenReturn(stripeIntent);
+		ArgumentCaptor<Payment> paymentCaptor = ArgumentCaptor.forClass(Payment.class);
+		verify(paymentRepository).save(paymentCaptor.capture());
+		Payment savedPayment = paymentCaptor.getValue();
+		assertThat(savedPayment.getProviderPaymentId()).isEqualTo("pi_123");
+		assertThat(savedPayment.getClientSecret()).isEqualTo("cs_123");
+		assertThat(savedPayment.getAmount()).isEqualByComparingTo("24.50");
+		assertThat(meterRegistry.get("shop.payment_intent.total").tag("result", "created").counter().count()).isEqualTo(1);
 
-			PaymentIntentResponseDTO result = service.createPaymentIntent(order);
+		verify(paymentRepository).findByOrderId(order.getId());
+		verify(paymentRepository).findByOrderIdForUpdate(order.getId());
+	}
 
-			assertThat(result.clientSecret()).isEqualTo("cs_123");
-			assertThat(result.publishableKey()).isEqualTo("pk_test_123");
+	@Test
+	void createPaymentIntent_shouldRequestMinorUnitAmountWithOrderScopedIdempotencyKey() {
+		Order order = orderWithTotal(BigDecimal.valueOf(10.05));
+		Payment payment = new Payment(order, "STRIPE", order.getTotalAmount());
 
-			ArgumentCaptor<Payment> paymentCaptor = ArgumentCaptor.forClass(Payment.class);
-			verify(paymentRepository).save(paymentCaptor.capture());
-			Payment savedPayment = paymentCaptor.getValue();
-			assertThat(savedPayment.getProviderPaymentId()).isEqualTo("pi_123");
-			assertThat(savedPayment.getClientSecret()).isEqualTo("cs_123");
-			assertThat(savedPayment.getAmount()).isEqualByComparingTo("24.50");
-			assertThat(meterRegistry.get("shop.payment_intent.total").tag("result", "created").counter().count()).isEqualTo(1);
+		when(paymentRepository.findByOrderId(order.getId())).thenReturn(Optional.of(payment));
+		when(paymentRepository.findByOrderIdForUpdate(order.getId())).thenReturn(Optional.of(payment));
+		when(paymentGateway.createPaymentIntent(any(UUID.class), anyLong(), anyString(), anyString()))
+				.thenReturn(new CreatedPaymentIntent("pi_retry", "cs_retry"));
 
-			verify(paymentRepository).findByOrderIdForUpdate(order.getId());
-			paymentIntentStatic.verify(
-					() -> PaymentIntent.create(any(PaymentIntentCreateParams.class), any(RequestOptions.class)));
-		}
+		service.createPaymentIntent(order);
+
+		verify(paymentGateway).createPaymentIntent(eq(order.getId()), eq(1005L), eq("pln"),
+				eq("order-payment-intent-" + order.getId()));
+	}
+
+	@Test
+	void createPaymentIntent_shouldKeepIntentAttachedByConcurrentRequestInsteadOfOverwritingIt() {
+		Order order = orderWithTotal(BigDecimal.valueOf(15));
+		Payment unattachedPayment = new Payment(order, "STRIPE", order.getTotalAmount());
+		Payment concurrentlyAttachedPayment = new Payment(order, "STRIPE", order.getTotalAmount());
+		concurrentlyAttachedPayment.attachProviderPayment("pi_same", "cs_same");
+
+		when(paymentRepository.findByOrderId(order.getId())).thenReturn(Optional.of(unattachedPayment));
+		when(paymentRepository.findByOrderIdForUpdate(order.getId()))
+				.thenReturn(Optional.of(concurrentlyAttachedPayment));
+		when(paymentGateway.createPaymentIntent(any(UUID.class), anyLong(), anyString(), anyString()))
+				.thenReturn(new CreatedPaymentIntent("pi_other", "cs_other"));
+
+		PaymentIntentResponseDTO result = service.createPaymentIntent(order);
+
+		assertThat(result.clientSecret()).isEqualTo("cs_same");
+		verify(paymentRepository, never()).save(any(Payment.class));
 	}
 
 	private Order orderWithTotal(BigDecimal unitPrice) {
@@ -22,14 +22,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import com.company.shop.common.model.BaseEntity;
-import com.company.shop.module.cart.service.CartService;
 import com.company.shop.module.category.entity.Category;
 import com.company.shop.module.order.entity.Order;
 import com.company.shop.module.order.entity.OrderItem;
 import com.company.shop.module.order.entity.OrderStatus;
+import com.company.shop.module.order.entity.OutboxEventType;
 import com.company.shop.module.order.entity.Payment;
 import com.company.shop.module.order.entity.PaymentStatus;
 import com.company.shop.module.order.exception.OrderNotFoundException;
@@ -48,6 +49,9 @@ import com.stripe.net.Webhook;
 @ExtendWith(MockitoExtension.class)
 class PaymentServiceImplWebhookTest {
 
+    @Mock
+    private PaymentGateway paymentGateway;
+
     @Mock
     private OrderRepository orderRepository;
 
@@ -55,19 +59,22 @@ class PaymentServiceImplWebhookTest {
     private PaymentRepository paymentRepository;
 
     @Mock
-    private CartService cartService;
+    private OutboxEventPublisher outboxEventPublisher;
 
     @Mock
     private StripeWebhookEventRegistrar stripeWebhookEventRegistrar;
 
+    @Mock
+    private StockReservationService stockReservationService;
+
     private PaymentServiceImpl service;
     private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
         meterRegistry = new SimpleMeterRegistry();
-        service = new PaymentServiceImpl(orderRepository, paymentRepository, cartService, stripeWebhookEventRegistrar,
-                meterRegistry);
+        service = new PaymentServiceImpl(paymentGateway, orderRepository, paymentRepository, outboxEventPublisher, stripeWebhookEventRegistrar,
+                stockReservationService, meterRegistry, TransactionOperations.withoutTransaction());
         setField(service, "webhookSecret", "whsec_test_123");
     }
 
@@ -84,7 +91,7 @@ class PaymentServiceImplWebhookTest {
             verifyWebhookEventRegistered("evt_unsupported", "payment_intent.processing");
             assertWebhookMetricCount("received", 1);
             assertWebhookMetricCount("ignored", 1);
-            verifyNoInteractions(orderRepository, paymentRepository, cartService);
+            verifyNoInteractions(orderRepository, paymentRepository, outboxEventPublisher);
         }
     }
 
@@ -104,7 +111,7 @@ class PaymentServiceImplWebhookTest {
             verifyWebhookEventRegistered("evt_missing_intent", "payment_intent.succeeded");
             assertWebhookMetricCount("received", 1);
             assertWebhookMetricCount("ignored", 1);
-            verifyNoInteractions(orderRepository, paymentRepository, cartService);
+            verifyNoInteractions(orderRepository, paymentRepository, outboxEventPublisher);
         }
     }
 
@@ -122,7 +129,7 @@ class PaymentServiceImplWebhookTest {
             service.handleWebhook("payload", "sig");
 
             verifyWebhookEventRegistered("evt_failed_missing_intent", "payment_intent.payment_failed");
-            verifyNoInteractions(orderRepository, paymentRepository, cartService);
+            verifyNoInteractions(orderRepository, paymentRepository, outboxEventPublisher);
         }
     }
 
@@ -147,7 +154,7 @@ class PaymentServiceImplWebhookTest {
             verifyWebhookEventRegistered("evt_missing_order_id", "payment_intent.succeeded");
             assertWebhookMetricCount("received", 1);
             assertWebhookMetricCount("failed", 1);
-            verifyNoInteractions(orderRepository, paymentRepository, cartService);
+            verifyNoInteractions(orderRepository, paymentRepository, outboxEventPublisher);
         }
     }
 
@@ -164,7 +171,7 @@ class PaymentServiceImplWebhookTest {
                     .hasMessageContaining("orderId");
 
             verifyWebhookEventRegistered("evt_failed_missing_order_id", "payment_intent.payment_failed");
-            verifyNoInteractions(orderRepository, paymentRepository, cartService);
+            verifyNoInteractions(orderRepository, paymentRepository, outboxEventPublisher);
         }
     }
 
@@ -186,7 +193,7 @@ class PaymentServiceImplWebhookTest {
                     .isInstanceOf(WebhookSignatureInvalidException.class);
 
             verifyWebhookEventRegistered("evt_invalid_uuid", "payment_intent.succeeded");
-            verifyNoInteractions(orderRepository, paymentRepository, cartService);
+            verifyNoInteractions(orderRepository, paymentRepository, outboxEventPublisher);
         }
     }
 
@@ -209,7 +216,7 @@ class PaymentServiceImplWebhookTest {
                     .hasMessageContaining("orderId");
 
             verifyWebhookEventRegistered("evt_null_metadata", "payment_intent.succeeded");
-            verifyNoInteractions(orderRepository, paymentRepository, cartService);
+            verifyNoInteractions(orderRepository, paymentRepository, outboxEventPublisher);
         }
     }
 
@@ -225,7 +232,7 @@ class PaymentServiceImplWebhookTest {
                     .hasMessageContaining("event id");
 
             assertWebhookMetricCount("failed", 1);
-            verifyNoInteractions(stripeWebhookEventRegistrar, orderRepository, paymentRepository, cartService);
+            verifyNoInteractions(stripeWebhookEventRegistrar, orderRepository, paymentRepository, outboxEventPublisher);
         }
     }
 
@@ -240,7 +247,7 @@ class PaymentServiceImplWebhookTest {
                     .isInstanceOf(WebhookSignatureInvalidException.class)
                     .hasMessageContaining("event id");
 
-            verifyNoInteractions(stripeWebhookEventRegistrar, orderRepository, paymentRepository, cartService);
+            verifyNoInteractions(stripeWebhookEventRegistrar, orderRepository, paymentRepository, outboxEventPublisher);
         }
     }
 
@@ -256,7 +263,7 @@ class PaymentServiceImplWebhookTest {
                     .hasMessageContaining("event type");
 
             assertWebhookMetricCount("failed", 1);
-            verifyNoInteractions(stripeWebhookEventRegistrar, orderRepository, paymentRepository, cartService);
+            verifyNoInteractions(stripeWebhookEventRegistrar, orderRepository, paymentRepository, outboxEventPublisher);
         }
     }
 
@@ -271,7 +278,7 @@ class PaymentServiceImplWebhookTest {
                     .isInstanceOf(WebhookSignatureInvalidException.class)
                     .hasMessageContaining("event type");
 
-            verifyNoInteractions(stripeWebhookEventRegistrar, orderRepository, paymentRepository, cartService);
+            verifyNoInteractions(stripeWebhookEventRegistrar, orderRepository, paymentRepository, outboxEventPublisher);
         }
     }
 
@@ -285,7 +292,7 @@ class PaymentServiceImplWebhookTest {
                     .isInstanceOf(WebhookSignatureInvalidException.class);
 
             assertWebhookMetricCount("failed", 1);
-            verifyNoInteractions(stripeWebhookEventRegistrar, orderRepository, paymentRepository, cartService);
+            verifyNoInteractions(stripeWebhookEventRegistrar, orderRepository, paymentRepository, outboxEventPublisher);
         }
     }
 
@@ -302,7 +309,7 @@ class PaymentServiceImplWebhookTest {
             verify(stripeWebhookEventRegistrar).register("evt_duplicate", "payment_intent.succeeded");
             assertWebhookMetricCount("received", 1);
             assertWebhookMetricCount("duplicate", 1);
-            verifyNoInteractions(orderRepository, paymentRepository, cartService);
+            verifyNoInteractions(orderRepository, paymentRepository, outboxEventPublisher);
         }
     }
 
@@ -318,7 +325,7 @@ class PaymentServiceImplWebhookTest {
             service.handleWebhook("payload", "sig");
 
             verify(stripeWebhookEventRegistrar).register("evt_failed_duplicate", "payment_intent.payment_failed");
-            verifyNoInteractions(orderRepository, paymentRepository, cartService);
+            verifyNoInteractions(orderRepository, paymentRepository, outboxEventPublisher);
         }
     }
 
@@ -339,7 +346,7 @@ class PaymentServiceImplWebhookTest {
             verifyWebhookEventRegistered("evt_already_paid", "payment_intent.succeeded");
             verify(orderRepository).findByIdForUpdate(paidOrder.getId());
             verify(orderRepository, never()).save(paidOrder);
-            verifyNoInteractions(paymentRepository, cartService);
+            verifyNoInteractions(paymentRepository, outboxEventPublisher);
         }
     }
 
@@ -360,7 +367,7 @@ class PaymentServiceImplWebhookTest {
 
             verifyWebhookEventRegistered("evt_order_not_found", "payment_intent.succeeded");
             verify(orderRepository).findByIdForUpdate(orderId);
-            verifyNoInteractions(paymentRepository, cartService);
+            verifyNoInteractions(paymentRepository, outboxEventPublisher);
         }
     }
 
@@ -386,7 +393,7 @@ class PaymentServiceImplWebhookTest {
             verify(orderRepository, never()).save(order);
             verify(paymentRepository).findByOrderIdForUpdate(order.getId());
             verify(paymentRepository, never()).save(any(Payment.class));
-            verify(cartService, never()).clearCartForUser(order.getUser().getId());
+            verify(outboxEventPublisher, never()).publish(OutboxEventType.CART_CLEAR, order.getUser().getId());
         }
     }
 
@@ -416,7 +423,7 @@ class PaymentServiceImplWebhookTest {
             verify(paymentRepository).findByOrderIdForUpdate(order.getId());
             assertThat(payment.getStatus()).isEqualTo(PaymentStatus.PENDING);
             verify(paymentRepository, never()).save(payment);
-            verify(cartService, never()).clearCartForUser(order.getUser().getId());
+            verify(outboxEventPublisher, never()).publish(OutboxEventType.CART_CLEAR, order.getUser().getId());
         }
     }
 
@@ -444,12 +451,12 @@ class PaymentServiceImplWebhookTest {
             assertThat(payment.getStatus()).isEqualTo(PaymentStatus.PENDING);
             verify(paymentRepository, never()).save(payment);
             verify(orderRepository, never()).save(order);
-            verifyNoInteractions(cartService);
+            verifyNoInteractions(outboxEventPublisher);
         }
     }
 
     @Test
-    void handleWebhook_shouldMarkPaymentFailedWhenPaymentIntentFailedEventValid() {
+    void handleWebhook_shouldMarkPaymentFailedButKeepOrderAndStockHoldWhenPaymentIntentFailedEventValid() {
         givenWebhookEventRegistrationSucceeds();
         Order order = orderWithTotal(BigDecimal.valueOf(19.99));
         Payment payment = new Payment(order, "STRIPE", order.getTotalAmount());
@@ -468,8 +475,39 @@ class PaymentServiceImplWebhookTest {
             assertThat(payment.getStatus()).isEqualTo(PaymentStatus.FAILED);
             assertThat(order.getStatus()).isEqualTo(OrderStatus.NEW);
             verify(paymentRepository).save(payment);
+            verifyNoInteractions(stockReservationService);
             verify(orderRepository, never()).save(order);
-            verifyNoInteractions(cartService);
+            verifyNoInteractions(outboxEventPublisher);
+        }
+    }
+
+    @Test
+    void handleWebhook_shouldReleaseStockAndCancelOrderWhenPaymentIntentCanceled() {
+        givenWebhookEventRegistrationSucceeds();
+        Order order = orderWithTotal(BigDecimal.valueOf(19.99));
+        Payment payment = new Payment(order, "STRIPE", order.getTotalAmount());
+        Event event = event("evt_payment_canceled", "payment_intent.canceled");
+        EventDataObjectDeserializer deserializer = mock(EventDataObjectDeserializer.class);
+        PaymentIntent intent = paymentIntentWithMetadata(order.getId());
+        when(event.getDataObjectDeserializer()).thenReturn(deserializer);
+        when(deserializer.getObject()).thenReturn(Optional.of(intent));
+
+        when(orderRepository.findByIdForUpdate(order.getId())).thenReturn(Optional.of(order));
+        when(paymentRepository.findByOrderIdForUpdate(order.getId())).thenReturn(Optional.of(payment));
+        when(paymentRepository.save(payment)).thenReturn(payment);
+        when(stockReservationService.release(order.getId())).thenReturn(1);
+
+        try (MockedStatic<Webhook> webhookStatic = mockStatic(Webhook.class)) {
+            webhookStatic.when(() -> Webhook.constructEvent("payload", "sig", "whsec_test_123")).thenReturn(event);
+
+            service.handleWebhook("payload", "sig");
+
+            verifyWebhookEventRegistered("evt_payment_canceled", "payment_intent.canceled");
+            assertThat(payment.getStatus()).isEqualTo(PaymentStatus.FAILED);
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+            verify(stockReservationService).release(order.getId());
+            verify(orderRepository).save(order);
+            verifyNoInteractions(outboxEventPublisher);
         }
     }
 
@@ -494,7 +532,8 @@ class PaymentServiceImplWebhookTest {
             assertThat(order.getStatus()).isEqualTo(OrderStatus.NEW);
             verify(paymentRepository, never()).save(payment);
             verify(orderRepository, never()).save(order);
-            verifyNoInteractions(cartService);
+            verifyNoInteractions(stockReservationService);
+            verifyNoInteractions(outboxEventPublisher);
         }
     }
 
@@ -516,7 +555,7 @@ class PaymentServiceImplWebhookTest {
 
             verifyWebhookEventRegistered("evt_amount_mismatch", "payment_intent.succeeded");
             verify(orderRepository, never()).save(order);
-            verifyNoInteractions(paymentRepository, cartService);
+            verifyNoInteractions(paymentRepository, outboxEventPublisher);
         }
     }
 
@@ -538,7 +577,7 @@ class PaymentServiceImplWebhookTest {
 
             verifyWebhookEventRegistered("evt_currency_mismatch", "payment_intent.succeeded");
             verify(orderRepository, never()).save(order);
-            verifyNoInteractions(paymentRepository, cartService);
+            verifyNoInteractions(paymentRepository, outboxEventPublisher);
         }
     }
 
@@ -568,7 +607,7 @@ class PaymentServiceImplWebhookTest {
             assertWebhookMetricCount("failed", 1);
             verify(orderRepository).save(order);
             verify(paymentRepository).save(payment);
-            verify(cartService, never()).clearCartForUser(order.getUser().getId());
+            verify(outboxEventPublisher, never()).publish(OutboxEventType.CART_CLEAR, order.getUser().getId());
         }
     }
 
@@ -596,12 +635,126 @@ class PaymentServiceImplWebhookTest {
             assertWebhookMetricCount("processed", 1);
             assertThat(order.getStatus()).isEqualTo(OrderStatus.PAID);
             assertThat(payment.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+            verify(stockReservationService).confirm(order.getId());
             verify(orderRepository).save(order);
             verify(paymentRepository).save(payment);
-            verify(cartService).clearCartForUser(order.getUser().getId());
+            verify(outboxEventPublisher).publish(OutboxEventType.CART_CLEAR, order.getUser().getId());
         }
     }
 
+    @Test
+    void handleWebhook_shouldReacquireStockAndReinstateCancelledOrderWhenPaymentSucceedsLate() {
+        givenWebhookEventRegistrationSucceeds();
+        Order order = orderWithTotal(BigDecimal.valueOf(19.99));
+        order.cancel();
+        Payment payment = new Payment(order, "STRIPE", order.getTotalAmount());
+        payment.attachProviderPayment("pi_123", "cs_123");
+        Event event = succeededEvent("evt_success_late",
+                paymentIntentWithMetadataAndAmountReceivedCurrencyAndId(order.getId(), 1999L, "PLN", "pi_123"));
+
+        when(orderRepository.findByIdForUpdate(order.getId())).thenReturn(Optional.of(order));
+        when(orderRepository.save(order)).thenReturn(order);
+        when(paymentRepository.findByOrderIdForUpdate(order.getId())).thenReturn(Optional.of(payment));
+        when(paymentRepository.save(payment)).thenReturn(payment);
+        when(stockReservationService.reacquire(order.getId())).thenReturn(true);
+
+        try (MockedStatic<Webhook> webhookStatic = mockStatic(Webhook.class)) {
+            webhookStatic.when(() -> Webhook.constructEvent("payload", "sig", "whsec_test_123")).thenReturn(event);
+
+            service.handleWebhook("payload", "sig");
+
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.PAID);
+            assertThat(payment.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+            verify(stockReservationService, never()).confirm(order.getId());
+            verify(outboxEventPublisher).publish(OutboxEventType.CART_CLEAR, order.getUser().getId());
+        }
+    }
+
+    @Test
+    void handleWebhook_shouldLeaveCancelledOrderUnpaidWhenStockCannotBeReacquired() {
+        givenWebhookEventRegistrationSucceeds();
+        Order order = orderWithTotal(BigDecimal.valueOf(19.99));
+        order.cancel();
+        Payment payment = new Payment(order, "STRIPE", order.getTotalAmount());
+        payment.attachProviderPayment("pi_123", "cs_123");
+        Event event = succeededEvent("evt_success_sold_out",
+                paymentIntentWithMetadataAndAmountReceivedCurrencyAndId(order.getId(), 1999L, "PLN", "pi_123"));
+
+        when(orderRepository.findByIdForUpdate(order.getId())).thenReturn(Optional.of(order));
+        when(paymentRepository.findByOrderIdForUpdate(order.getId())).thenReturn(Optional.of(payment));
+        when(stockReservationService.reacquire(order.getId())).thenReturn(false);
+
+        try (MockedStatic<Webhook> webhookStatic = mockStatic(Webhook.class)) {
+            webhookStatic.when(() -> Webhook.constructEvent("payload", "sig", "whsec_test_123")).thenReturn(event);
+
+            service.handleWebhook("payload", "sig");
+
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+            assertThat(payment.getStatus()).isEqualTo(PaymentStatus.PENDING);
+            verify(orderRepository, never()).save(order);
+            verify(paymentRepository, never()).save(payment);
+            verifyNoInteractions(outboxEventPublisher);
+        }
+    }
+
+    @Test
+    void handleWebhook_shouldQueueVerifiedPayloadWithoutTouchingOrdersWhenAsyncProcessingEnabled() {
+        setField(service, "asyncWebhookProcessing", true);
+        UUID orderId = UUID.randomUUID();
+        Event event = succeededEvent("evt_async", paymentIntentWithMetadata(orderId));
+        when(stripeWebhookEventRegistrar.enqueue("evt_async", "payment_intent.succeeded", orderId, "payload"))
+                .thenReturn(true);
+
+        try (MockedStatic<Webhook> webhookStatic = mockStatic(Webhook.class)) {
+            webhookStatic.when(() -> Webhook.constructEvent("payload", "sig", "whsec_test_123")).thenReturn(event);
+
+            service.handleWebhook("payload", "sig");
+
+            verify(stripeWebhookEventRegistrar).enqueue("evt_async", "payment_intent.succeeded", orderId, "payload");
+            verify(stripeWebhookEventRegistrar, never()).register(any(), any());
+            assertWebhookMetricCount("received", 1);
+            assertWebhookMetricCount("queued", 1);
+            verifyNoInteractions(orderRepository, paymentRepository, outboxEventPublisher);
+        }
+    }
+
+    @Test
+    void handleWebhook_shouldReportDuplicateWhenAsyncQueueAlreadyContainsEvent() {
+        setField(service, "asyncWebhookProcessing", true);
+        Event event = event("evt_async_duplicate", "payment_intent.processing");
+        when(stripeWebhookEventRegistrar.enqueue("evt_async_duplicate", "payment_intent.processing", null, "payload"))
+                .thenReturn(false);
+
+        try (MockedStatic<Webhook> webhookStatic = mockStatic(Webhook.class)) {
+            webhookStatic.when(() -> Webhook.constructEvent("payload", "sig", "whsec_test_123")).thenReturn(event);
+
+            service.handleWebhook("payload", "sig");
+
+            assertWebhookMetricCount("duplicate", 1);
+            verifyNoInteractions(orderRepository, paymentRepository, outboxEventPublisher);
+        }
+    }
+
+    @Test
+    void processQueuedWebhook_shouldParseStoredPayloadAndIgnoreUnsupportedEventType() {
+        String payload = """
+                {"id": "evt_queued", "object": "event", "type": "payment_intent.processing",
+                 "data": {"object": {"id": "pi_queued", "object": "payment_intent"}}}
+                """;
+
+        service.processQueuedWebhook(payload);
+
+        assertWebhookMetricCount("ignored", 1);
+        verifyNoInteractions(orderRepository, paymentRepository, outboxEventPublisher, stripeWebhookEventRegistrar);
+    }
+
+    @Test
+    void processQueuedWebhook_shouldWrapUnreadablePayloadIntoWebhookProcessingException() {
+        assertThatThrownBy(() -> service.processQueuedWebhook("{not-json"))
+                .isInstanceOf(WebhookProcessingException.class);
+        assertWebhookMetricCount("failed", 1);
+    }
+
     private void givenWebhookEventRegistrationSucceeds() {
         when(stripeWebhookEventRegistrar.register(any(), any())).thenReturn(true);
     }
@@ -0,0 +1,257 @@
+package com.company.shop.module.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.company.shop.common.model.BaseEntity;
+import com.company.shop.module.category.entity.Category;
+import com.company.shop.module.order.entity.Order;
+import com.company.shop.module.order.entity.OrderItem;
+import com.company.shop.module.order.entity.OrderStatus;
+import com.company.shop.module.order.entity.StockReservation;
+import com.company.shop.module.order.entity.StockReservationStatus;
+import com.company.shop.module.order.exception.OrderInsufficientStockException;
+import com.company.shop.module.order.repository.OrderRepository;
+import com.company.shop.module.order.repository.StockReservationRepository;
+import com.company.shop.module.product.entity.Product;
+import com.company.shop.module.product.service.ProductDetailsCache;
+import com.company.shop.module.product.service.ProductStockService;
+import com.company.shop.module.user.entity.User;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationServiceTest {
+
+    private static final UUID LOW_PRODUCT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID HIGH_PRODUCT_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    @Mock
+    private StockReservationRepository reservationRepository;
+
+    @Mock
+    private ProductStockService productStockService;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ProductDetailsCache productDetailsCache;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StockReservationService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new StockReservationService(reservationRepository, productStockService, orderRepository,
+                productDetailsCache, meterRegistry);
+    }
+
+    @Nested
+    class ReserveTests {
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void shouldDecrementProductsInAscendingIdOrderAndRecordHolds() {
+            Order order = orderWithLines(HIGH_PRODUCT_ID, 2, LOW_PRODUCT_ID, 1);
+            when(productStockService.tryTake(any(UUID.class), anyInt())).thenReturn(true);
+
+            service.reserve(order);
+
+            InOrder decrements = inOrder(productStockService);
+            decrements.verify(productStockService).tryTake(LOW_PRODUCT_ID, 1);
+            decrements.verify(productStockService).tryTake(HIGH_PRODUCT_ID, 2);
+            verify(productDetailsCache).evict(LOW_PRODUCT_ID);
+            verify(productDetailsCache).evict(HIGH_PRODUCT_ID);
+
+            ArgumentCaptor<List<StockReservation>> saved = ArgumentCaptor.forClass(List.class);
+            verify(reservationRepository).saveAll(saved.capture());
+            assertThat(saved.getValue())
+                    .extracting(StockReservation::getProductId, StockReservation::getQuantity,
+                            StockReservation::getStatus)
+                    .containsExactly(
+                            tuple(LOW_PRODUCT_ID, 1, StockReservationStatus.HELD),
+                            tuple(HIGH_PRODUCT_ID, 2, StockReservationStatus.HELD));
+            assertThat(saved.getValue()).allSatisfy(reservation -> {
+                assertThat(reservation.getOrderId()).isEqualTo(order.getId());
+                assertThat(reservation.getExpiresAt()).isAfter(LocalDateTime.now());
+            });
+            assertReservationMetricCount("held", 1);
+        }
+
+        @Test
+        void shouldThrowWithAvailableStockWhenConditionalDecrementMatchesNoRow() {
+            Order order = orderWithLines(LOW_PRODUCT_ID, 1, HIGH_PRODUCT_ID, 3);
+            when(productStockService.tryTake(LOW_PRODUCT_ID, 1)).thenReturn(true);
+            when(productStockService.tryTake(HIGH_PRODUCT_ID, 3)).thenReturn(false);
+            when(productStockService.availableStock(HIGH_PRODUCT_ID)).thenReturn(2);
+
+            assertThatThrownBy(() -> service.reserve(order))
+                    .isInstanceOf(OrderInsufficientStockException.class);
+
+            verify(reservationRepository, never()).saveAll(any());
+            assertReservationMetricCount("rejected", 1);
+        }
+    }
+
+    @Nested
+    class ReleaseTests {
+
+        @Test
+        void shouldReturnHeldQuantitiesToProductsAndMarkHoldsReleased() {
+            UUID orderId = UUID.randomUUID();
+            StockReservation first = new StockReservation(orderId, LOW_PRODUCT_ID, 1, LocalDateTime.now());
+            StockReservation second = new StockReservation(orderId, HIGH_PRODUCT_ID, 4, LocalDateTime.now());
+            when(reservationRepository.findByOrderIdAndStatusOrderByProductId(orderId, StockReservationStatus.HELD))
+                    .thenReturn(List.of(first, second));
+
+            int released = service.release(orderId);
+
+            assertThat(released).isEqualTo(2);
+            verify(productStockService).giveBack(LOW_PRODUCT_ID, 1);
+            verify(productStockService).giveBack(HIGH_PRODUCT_ID, 4);
+            assertThat(first.getStatus()).isEqualTo(StockReservationStatus.RELEASED);
+            assertThat(second.getStatus()).isEqualTo(StockReservationStatus.RELEASED);
+            assertReservationMetricCount("released", 1);
+        }
+    }
+
+    @Nested
+    class ReacquireTests {
+
+        @Test
+        void shouldConfirmReleasedHoldsWhenAllProductsStillHaveStock() {
+            UUID orderId = UUID.randomUUID();
+            StockReservation reservation = releasedReservation(orderId, LOW_PRODUCT_ID, 2);
+            when(reservationRepository.findByOrderIdAndStatusOrderByProductId(orderId,
+                    StockReservationStatus.RELEASED)).thenReturn(List.of(reservation));
+            when(productStockService.tryTake(LOW_PRODUCT_ID, 2)).thenReturn(true);
+
+            assertThat(service.reacquire(orderId)).isTrue();
+
+            assertThat(reservation.getStatus()).isEqualTo(StockReservationStatus.CONFIRMED);
+            assertReservationMetricCount("reacquired", 1);
+        }
+
+        @Test
+        void shouldReturnAlreadyTakenStockWhenLaterProductIsSoldOut() {
+            UUID orderId = UUID.randomUUID();
+            StockReservation first = releasedReservation(orderId, LOW_PRODUCT_ID, 1);
+            StockReservation second = releasedReservation(orderId, HIGH_PRODUCT_ID, 5);
+            when(reservationRepository.findByOrderIdAndStatusOrderByProductId(orderId,
+                    StockReservationStatus.RELEASED)).thenReturn(List.of(first, second));
+            when(productStockService.tryTake(LOW_PRODUCT_ID, 1)).thenReturn(true);
+            when(productStockService.tryTake(HIGH_PRODUCT_ID, 5)).thenReturn(false);
+
+            assertThat(service.reacquire(orderId)).isFalse();
+
+            verify(productStockService).giveBack(LOW_PRODUCT_ID, 1);
+            verify(productStockService, never()).giveBack(HIGH_PRODUCT_ID, 5);
+            assertThat(first.getStatus()).isEqualTo(StockReservationStatus.RELEASED);
+            assertThat(second.getStatus()).isEqualTo(StockReservationStatus.RELEASED);
+            assertReservationMetricCount("reacquire_failed", 1);
+        }
+    }
+
+    @Nested
+    class ExpireTests {
+
+        @Test
+        void shouldReleaseHoldsAndCancelUnpaidOrder() {
+            Order order = orderWithLines(LOW_PRODUCT_ID, 1, HIGH_PRODUCT_ID, 1);
+            StockReservation reservation = new StockReservation(order.getId(), LOW_PRODUCT_ID, 1,
+                    LocalDateTime.now().minusMinutes(1));
+            when(orderRepository.findByIdForUpdate(order.getId())).thenReturn(Optional.of(order));
+            when(reservationRepository.findByOrderIdAndStatusOrderByProductId(order.getId(),
+                    StockReservationStatus.HELD)).thenReturn(List.of(reservation));
+
+            assertThat(service.expire(order.getId())).isTrue();
+
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+            assertThat(reservation.getStatus()).isEqualTo(StockReservationStatus.RELEASED);
+            verify(productStockService).giveBack(LOW_PRODUCT_ID, 1);
+            assertReservationMetricCount("expired", 1);
+        }
+
+        @Test
+        void shouldConfirmHoldsInsteadOfReleasingWhenOrderWasPaid() {
+            Order order = orderWithLines(LOW_PRODUCT_ID, 1, HIGH_PRODUCT_ID, 1);
+            order.markAsPaid();
+            StockReservation reservation = new StockReservation(order.getId(), LOW_PRODUCT_ID, 1,
+                    LocalDateTime.now().minusMinutes(1));
+            when(orderRepository.findByIdForUpdate(order.getId())).thenReturn(Optional.of(order));
+            when(reservationRepository.findByOrderIdAndStatusOrderByProductId(order.getId(),
+                    StockReservationStatus.HELD)).thenReturn(List.of(reservation));
+
+            assertThat(service.expire(order.getId())).isFalse();
+
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.PAID);
+            assertThat(reservation.getStatus()).isEqualTo(StockReservationStatus.CONFIRMED);
+            verify(productStockService, never()).giveBack(any(UUID.class), anyInt());
+        }
+    }
+
+    private void assertReservationMetricCount(String result, double expectedCount) {
+        assertThat(meterRegistry.get("shop.stock_reservation.total").tag("result", result).counter().count())
+                .isEqualTo(expectedCount);
+    }
+
+    private StockReservation releasedReservation(UUID orderId, UUID productId, int quantity) {
+        StockReservation reservation = new StockReservation(orderId, productId, quantity, LocalDateTime.now());
+        reservation.release(LocalDateTime.now());
+        return reservation;
+    }
+
+    private Order orderWithLines(UUID firstProductId, int firstQuantity, UUID secondProductId, int secondQuantity) {
+        User user = new User("john@example.com", "encoded", "John", "Doe");
+        setEntityId(user, UUID.randomUUID());
+        Category category = new Category("Accessories", "accessories", "desc");
+
+        Order order = new Order(user);
+        setEntityId(order, UUID.randomUUID());
+        order.addItem(new OrderItem(product(firstProductId, "Cable", "SKU-1", category), firstQuantity,
+                BigDecimal.TEN));
+        order.addItem(new OrderItem(product(secondProductId, "Charger", "SKU-2", category), secondQuantity,
+                BigDecimal.ONE));
+        return order;
+    }
+
+    private Product product(UUID id, String name, String sku, Category category) {
+        Product product = new Product(name, name.toLowerCase(), sku, "desc", BigDecimal.TEN, 10, category);
+        setEntityId(product, id);
+        return product;
+    }
+
+    private void setEntityId(Object entity, UUID id) {
+        try {
+            Field field = BaseEntity.class.getDeclaredField("id");
+            field.setAccessible(true);
+            field.set(entity, id);
+        } catch (ReflectiveOperationException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.company.shop.module.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.company.shop.module.order.exception.PaymentGatewayException;
+import com.company.shop.module.order.exception.StripeConfigurationException;
+import com.company.shop.module.order.service.PaymentGateway.CreatedPaymentIntent;
+import com.company.shop.support.stripe.FakeStripeServer;
+import com.company.shop.support.stripe.FakeStripeServer.CreatedIntent;
+
+class StripePaymentGatewayTest {
+
+    private FakeStripeServer stripe;
+
+    @AfterEach
+    void tearDown() {
+        if (stripe != null) {
+            stripe.close();
+        }
+    }
+
+    @Test
+    void createPaymentIntent_shouldSendAmountCurrencyAndOrderMetadata() throws IOException {
+        stripe = FakeStripeServer.start();
+        StripePaymentGateway gateway = gateway(0, 1000);
+        UUID orderId = UUID.randomUUID();
+
+        CreatedPaymentIntent intent = gateway.createPaymentIntent(orderId, 2450, "pln", "order-payment-intent-" + orderId);
+
+        CreatedIntent created = stripe.pollCreatedIntent();
+        assertThat(intent.providerPaymentId()).isEqualTo(created.id());
+        assertThat(intent.clientSecret()).startsWith(created.id() + "_secret_");
+        assertThat(created.amount()).isEqualTo(2450);
+        assertThat(created.currency()).isEqualTo("pln");
+        assertThat(created.orderId()).isEqualTo(orderId.toString());
+    }
+
+    @Test
+    void createPaymentIntent_shouldReturnSameIntentForRepeatedIdempotencyKey() throws IOException {
+        stripe = FakeStripeServer.start();
+        StripePaymentGateway gateway = gateway(0, 1000);
+        UUID orderId = UUID.randomUUID();
+
+        CreatedPaymentIntent first = gateway.createPaymentIntent(orderId, 100, "pln", "order-payment-intent-" + orderId);
+        CreatedPaymentIntent second = gateway.createPaymentIntent(orderId, 100, "pln", "order-payment-intent-" + orderId);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(stripe.createdIntentCount()).isEqualTo(1);
+    }
+
+    @Test
+    void createPaymentIntent_shouldRetryTransientErrorsBeforeFailing() throws IOException {
+        stripe = FakeStripeServer.builder().errorRate(1.0).start();
+        StripePaymentGateway gateway = gateway(1, 1000);
+        UUID orderId = UUID.randomUUID();
+
+        assertThatThrownBy(() -> gateway.createPaymentIntent(orderId, 100, "pln", "key-" + orderId))
+                .isInstanceOf(PaymentGatewayException.class)
+                .hasMessageContaining(orderId.toString());
+        assertThat(stripe.requestCount()).isEqualTo(2);
+        assertThat(stripe.createdIntentCount()).isZero();
+    }
+
+    @Test
+    void createPaymentIntent_shouldFailWhenProviderIsSlowerThanReadTimeout() throws IOException {
+        stripe = FakeStripeServer.builder().latency(Duration.ofSeconds(2)).start();
+        StripePaymentGateway gateway = gateway(0, 200);
+
+        long startedAt = System.nanoTime();
+        assertThatThrownBy(() -> gateway.createPaymentIntent(UUID.randomUUID(), 100, "pln", "key"))
+                .isInstanceOf(PaymentGatewayException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void init_shouldRejectMissingApiKey() {
+        StripePaymentGateway gateway = new StripePaymentGateway();
+        ReflectionTestUtils.setField(gateway, "secretKey", " ");
+
+        assertThatThrownBy(gateway::init).isInstanceOf(StripeConfigurationException.class);
+    }
+
+    private StripePaymentGateway gateway(int maxNetworkRetries, int readTimeoutMs) {
+        StripePaymentGateway gateway = new StripePaymentGateway();
+        ReflectionTestUtils.setField(gateway, "secretKey", "sk_test_fake");
+        ReflectionTestUtils.setField(gateway, "apiBase", stripe.baseUrl());
+        ReflectionTestUtils.setField(gateway, "maxNetworkRetries", maxNetworkRetries);
+        ReflectionTestUtils.setField(gateway, "readTimeoutMs", readTimeoutMs);
+        gateway.init();
+        return gateway;
+    }
+}
@@ -59,4 +59,29 @@ class StripeWebhookEventRegistrarTest {
 
         assertThat(result).isFalse();
     }
+
+    @Test
+    void enqueue_shouldStorePayloadAndOrderReferenceAsText() {
+        UUID orderId = UUID.randomUUID();
+        when(stripeWebhookEventRepository.insertPendingIgnoreDuplicate(any(), any(), any(), any(), any(), any()))
+                .thenReturn(1);
+
+        boolean result = registrar.enqueue("evt_async", "payment_intent.succeeded", orderId, "{}");
+
+        assertThat(result).isTrue();
+        verify(stripeWebhookEventRepository).insertPendingIgnoreDuplicate(any(UUID.class), eq("evt_async"),
+                eq("payment_intent.succeeded"), eq("{}"), eq(orderId.toString()), any(LocalDateTime.class));
+    }
+
+    @Test
+    void enqueue_shouldReturnFalseForDuplicateAndAcceptMissingOrderReference() {
+        when(stripeWebhookEventRepository.insertPendingIgnoreDuplicate(any(), any(), any(), any(), any(), any()))
+                .thenReturn(0);
+
+        boolean result = registrar.enqueue("evt_async_duplicate", "charge.refunded", null, "{}");
+
+        assertThat(result).isFalse();
+        verify(stripeWebhookEventRepository).insertPendingIgnoreDuplicate(any(UUID.class), eq("evt_async_duplicate"),
+                eq("charge.refunded"), eq("{}"), eq(null), any(LocalDateTime.class));
+    }
 }
@@ -0,0 +1,150 @@
+package com.company.shop.module.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.company.shop.common.model.BaseEntity;
+import com.company.shop.module.order.entity.StripeWebhookEvent;
+import com.company.shop.module.order.entity.StripeWebhookEventStatus;
+import com.company.shop.module.order.exception.OrderNotFoundException;
+import com.company.shop.module.order.exception.PaymentAlreadyCompletedException;
+import com.company.shop.module.order.exception.WebhookProcessingException;
+import com.company.shop.module.order.repository.StripeWebhookEventRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StripeWebhookWorkerTest {
+
+    @Mock
+    private StripeWebhookEventRepository stripeWebhookEventRepository;
+
+    @Mock
+    private PaymentService paymentService;
+
+    private StripeWebhookWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new StripeWebhookWorker(stripeWebhookEventRepository, paymentService,
+                TransactionOperations.withoutTransaction());
+        worker.init();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        worker.shutdown();
+    }
+
+    @Test
+    void processPendingEvents_shouldApplyClaimedEventsAndMarkThemProcessed() {
+        StripeWebhookEvent first = queuedEvent("evt_1", "{\"id\":\"evt_1\"}");
+        StripeWebhookEvent second = queuedEvent("evt_2", "{\"id\":\"evt_2\"}");
+
+        when(stripeWebhookEventRepository.lockNextDueBatch(any(LocalDateTime.class), eq(32)))
+                .thenReturn(List.of(first, second));
+        when(stripeWebhookEventRepository.findById(first.getId())).thenReturn(Optional.of(first));
+        when(stripeWebhookEventRepository.findById(second.getId())).thenReturn(Optional.of(second));
+
+        worker.processPendingEvents();
+
+        verify(paymentService).processQueuedWebhook("{\"id\":\"evt_1\"}");
+        verify(paymentService).processQueuedWebhook("{\"id\":\"evt_2\"}");
+        assertThat(first.getStatus()).isEqualTo(StripeWebhookEventStatus.PROCESSED);
+        assertThat(second.getStatus()).isEqualTo(StripeWebhookEventStatus.PROCESSED);
+        assertThat(first.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void process_shouldScheduleRetryForTransientFailure() {
+        StripeWebhookEvent event = queuedEvent("evt_retry", "{}");
+        event.claim(LocalDateTime.now());
+        LocalDateTime beforeProcessing = LocalDateTime.now();
+
+        doThrow(new QueryTimeoutException("db timeout")).when(paymentService).processQueuedWebhook("{}");
+        when(stripeWebhookEventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+
+        worker.process(event);
+
+        assertThat(event.getStatus()).isEqualTo(StripeWebhookEventStatus.PENDING);
+        assertThat(event.getNextAttemptAt()).isAfterOrEqualTo(beforeProcessing.plusSeconds(1));
+        assertThat(event.getLastError()).contains("db timeout");
+    }
+
+    @Test
+    void process_shouldParkEventAsFailedWhenFailureIsPermanent() {
+        StripeWebhookEvent event = queuedEvent("evt_unknown_order", "{}");
+        event.claim(LocalDateTime.now());
+
+        doThrow(new OrderNotFoundException(UUID.randomUUID())).when(paymentService).processQueuedWebhook("{}");
+        when(stripeWebhookEventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+
+        worker.process(event);
+
+        assertThat(event.getStatus()).isEqualTo(StripeWebhookEventStatus.FAILED);
+    }
+
+    @Test
+    void process_shouldParkDeterministicBusinessFailuresWithoutRetry() {
+        StripeWebhookEvent completed = queuedEvent("evt_completed", "{\"id\":\"evt_completed\"}");
+        StripeWebhookEvent invalidState = queuedEvent("evt_invalid_state", "{\"id\":\"evt_invalid_state\"}");
+        completed.claim(LocalDateTime.now());
+        invalidState.claim(LocalDateTime.now());
+
+        doThrow(new PaymentAlreadyCompletedException(UUID.randomUUID())).when(paymentService)
+                .processQueuedWebhook("{\"id\":\"evt_completed\"}");
+        doThrow(new WebhookProcessingException("Unable to process queued Stripe webhook event.")).when(paymentService)
+                .processQueuedWebhook("{\"id\":\"evt_invalid_state\"}");
+        when(stripeWebhookEventRepository.findById(completed.getId())).thenReturn(Optional.of(completed));
+        when(stripeWebhookEventRepository.findById(invalidState.getId())).thenReturn(Optional.of(invalidState));
+
+        worker.process(completed);
+        worker.process(invalidState);
+
+        assertThat(completed.getStatus()).isEqualTo(StripeWebhookEventStatus.FAILED);
+        assertThat(invalidState.getStatus()).isEqualTo(StripeWebhookEventStatus.FAILED);
+    }
+
+    @Test
+    void backoffMs_shouldGrowExponentiallyAndRespectUpperBound() {
+        assertThat(worker.backoffMs(1)).isEqualTo(1000);
+        assertThat(worker.backoffMs(3)).isEqualTo(4000);
+        assertThat(worker.backoffMs(40)).isEqualTo(300000);
+    }
+
+    private StripeWebhookEvent queuedEvent(String stripeEventId, String payload) {
+        StripeWebhookEvent event = new StripeWebhookEvent(stripeEventId, "payment_intent.succeeded",
+                LocalDateTime.now());
+        setField(event, BaseEntity.class, "id", UUID.randomUUID());
+        setField(event, StripeWebhookEvent.class, "status", StripeWebhookEventStatus.PENDING);
+        setField(event, StripeWebhookEvent.class, "payload", payload);
+        return event;
+    }
+
+    private void setField(Object target, Class<?> owner, String fieldName, Object value) {
+        try {
+            Field field = owner.getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+}
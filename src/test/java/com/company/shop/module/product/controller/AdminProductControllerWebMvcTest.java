@@ -61,6 +61,7 @@ class AdminProductControllerWebMvcTest {
 
     private static final String ADMIN_PRODUCTS_URL = "/api/v1/admin/products";
     private static final String ADMIN_PRODUCT_BY_ID_URL = "/api/v1/admin/products/{id}";
+    private static final String ADMIN_PRODUCT_STOCK_BUCKETS_URL = "/api/v1/admin/products/{id}/stock-buckets";
 
     @Autowired
     private MockMvc mockMvc;
@@ -656,6 +657,55 @@ class AdminProductControllerWebMvcTest {
         }
     }
 
+    @Nested
+    class ConfigureStockBuckets {
+
+        @Test
+        void configureStockBuckets_shouldReturnForbiddenForUserRoleEvenWithCsrf() throws Exception {
+            mockMvc.perform(put(ADMIN_PRODUCT_STOCK_BUCKETS_URL, UUID.randomUUID())
+                            .with(user("user").roles("USER"))
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"buckets\": 8}"))
+                    .andExpect(status().isForbidden());
+
+            verifyNoInteractions(productService);
+        }
+
+        @Test
+        void configureStockBuckets_shouldReturnOkForAdminAndPassExactIdAndBucketCountToService() throws Exception {
+            UUID id = UUID.fromString("55555555-5555-5555-5555-555555555555");
+            when(productService.configureStockBuckets(id, 8))
+                    .thenReturn(sampleProduct(id, "Flash Phone", "flash-phone", "FLASH-1"));
+
+            mockMvc.perform(put(ADMIN_PRODUCT_STOCK_BUCKETS_URL, id)
+                            .with(user("admin").roles("ADMIN"))
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"buckets\": 8}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(id.toString()))
+                    .andExpect(jsonPath("$.stock").value(12));
+
+            verify(productService).configureStockBuckets(id, 8);
+        }
+
+        @Test
+        void configureStockBuckets_shouldReturnBadRequestWhenBucketCountAboveLimit() throws Exception {
+            mockMvc.perform(put(ADMIN_PRODUCT_STOCK_BUCKETS_URL, UUID.randomUUID())
+                            .with(user("admin").roles("ADMIN"))
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"buckets\": 65}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.status").value(400))
+                    .andExpect(jsonPath("$.errorCode").value("VALIDATION_FAILED"))
+                    .andExpect(jsonPath("$.errors.buckets").isArray());
+
+            verifyNoInteractions(productService);
+        }
+    }
+
     @Nested
     class DeleteProduct {
 
@@ -768,6 +818,7 @@ class AdminProductControllerWebMvcTest {
                 "Peripherals",
                 4.8,
                 5,
-                List.of("https://cdn.example.com/products/laptop-1.jpg", "https://cdn.example.com/products/laptop-2.jpg"));
+                List.of("https://cdn.example.com/products/laptop-1.jpg", "https://cdn.example.com/products/laptop-2.jpg"),
+                0L);
     }
 }
@@ -5,12 +5,16 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -30,15 +34,21 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.company.shop.common.dto.CursorPageResponseDTO;
 import com.company.shop.common.exception.GlobalExceptionHandler;
 import com.company.shop.common.i18n.MessageService;
 import com.company.shop.config.SecurityConfig;
 import com.company.shop.module.product.dto.ProductResponseDTO;
+import com.company.shop.module.product.dto.ProductScrollSort;
 import com.company.shop.module.product.dto.ProductSearchCriteria;
+import com.company.shop.module.product.dto.ProductSearchFacetsDTO;
+import com.company.shop.module.product.dto.ProductSuggestionDTO;
+import com.company.shop.module.product.exception.ProductCursorInvalidException;
 import com.company.shop.module.product.exception.ProductNotFoundException;
 import com.company.shop.module.product.service.ProductService;
 import com.company.shop.security.UserDetailsServiceImpl;
@@ -54,6 +64,9 @@ class ProductControllerWebMvcTest {
     private static final String PRODUCTS_BY_CATEGORY_URL = "/api/v1/products/category/{categoryId}";
     private static final String PRODUCT_BY_SLUG_URL = "/api/v1/products/slug/{slug}";
     private static final String SEARCH_PRODUCTS_URL = "/api/v1/products/search";
+    private static final String SCROLL_PRODUCTS_URL = "/api/v1/products/scroll";
+    private static final String SCROLL_PRODUCTS_BY_CATEGORY_URL = "/api/v1/products/category/{categoryId}/scroll";
+    private static final String SCROLL_SEARCH_PRODUCTS_URL = "/api/v1/products/search/scroll";
 
     @Autowired
     private MockMvc mockMvc;
@@ -153,6 +166,25 @@ class ProductControllerWebMvcTest {
             verify(productService).findAll(any(Pageable.class));
         }
 
+        @Test
+        void getProducts_shouldSkipTotalsWhenWithTotalIsFalse() throws Exception {
+            when(productService.findAllSlice(any(Pageable.class))).thenReturn(new SliceImpl<>(
+                    List.of(sampleProduct(UUID.fromString("33333333-3333-3333-3333-333333333333"), "Keyboard", "keyboard")),
+                    PageRequest.of(0, 12),
+                    true));
+
+            mockMvc.perform(get(PRODUCTS_URL).param("withTotal", "false"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(1))
+                    .andExpect(jsonPath("$.number").value(0))
+                    .andExpect(jsonPath("$.size").value(12))
+                    .andExpect(jsonPath("$.last").value(false))
+                    .andExpect(jsonPath("$.totalElements").doesNotExist())
+                    .andExpect(jsonPath("$.totalPages").doesNotExist());
+
+            verify(productService, never()).findAll(any(Pageable.class));
+        }
+
         @Test
         void getProducts_shouldReturnBadRequestWhenPageIsInvalidType() throws Exception {
             mockMvc.perform(get(PRODUCTS_URL).param("page", "abc"))
@@ -314,6 +346,36 @@ class ProductControllerWebMvcTest {
             verify(productService).findBySlug("keyboard");
         }
 
+        @Test
+        void getProductBySlug_shouldReturnNotModifiedWhenETagMatches() throws Exception {
+            ProductResponseDTO product = sampleProduct(UUID.fromString("55555555-5555-5555-5555-555555555555"),
+                    "Keyboard", "keyboard");
+            when(productService.findBySlug("keyboard")).thenReturn(product);
+
+            String etag = mockMvc.perform(get(PRODUCT_BY_SLUG_URL, "keyboard"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Cache-Control", "no-cache"))
+                    .andExpect(jsonPath("$.version").doesNotExist())
+                    .andReturn().getResponse().getHeader("ETag");
+
+            assertThat(etag).isEqualTo(product.getETag()).matches("\"[0-9a-f]{32}\"");
+            mockMvc.perform(get(PRODUCT_BY_SLUG_URL, "keyboard").header("If-None-Match", etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+        }
+
+        @Test
+        void getProductBySlug_shouldChangeETagWhenCategoryIsRenamedToCollidingHash() {
+            UUID id = UUID.fromString("55555555-5555-5555-5555-555555555555");
+            // "Aa" and "BB" share the same String.hashCode
+            ProductResponseDTO before = new ProductResponseDTO(id, "Keyboard", "keyboard", "SKU-001", "Description",
+                    new BigDecimal("199.99"), 10, UUID.randomUUID(), "Aa", 4.5, 2, List.of(), 3);
+            ProductResponseDTO after = new ProductResponseDTO(id, "Keyboard", "keyboard", "SKU-001", "Description",
+                    new BigDecimal("199.99"), 10, before.getCategoryId(), "BB", 4.5, 2, List.of(), 3);
+
+            assertThat(after.getETag()).isNotEqualTo(before.getETag());
+        }
+
         @Test
         void getProductBySlug_shouldReturnNotFoundWhenProductDoesNotExist() throws Exception {
             when(productService.findBySlug("missing-slug")).thenThrow(new ProductNotFoundException("missing-slug"));
@@ -486,6 +548,127 @@ class ProductControllerWebMvcTest {
         }
     }
 
+    @Nested
+    class ScrollProducts {
+
+        @Test
+        void scrollProducts_shouldReturnSliceWithoutTotalsAndUseDefaults() throws Exception {
+            UUID productId = UUID.fromString("11111111-1111-1111-1111-111111111111");
+            when(productService.scroll(ProductScrollSort.NEWEST, null, 12)).thenReturn(new CursorPageResponseDTO<>(
+                    List.of(sampleProduct(productId, "Gaming Laptop", "gaming-laptop")), 12, true, "next-token"));
+
+            mockMvc.perform(get(SCROLL_PRODUCTS_URL))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(1))
+                    .andExpect(jsonPath("$.content[0].id").value(productId.toString()))
+                    .andExpect(jsonPath("$.size").value(12))
+                    .andExpect(jsonPath("$.hasNext").value(true))
+                    .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                    .andExpect(jsonPath("$.totalElements").doesNotExist());
+        }
+
+        @Test
+        void scrollProductsByCategory_shouldPassCursorSortAndSize() throws Exception {
+            UUID categoryId = UUID.randomUUID();
+            when(productService.scrollByCategory(categoryId, ProductScrollSort.PRICE_DESC, "abc", 5))
+                    .thenReturn(new CursorPageResponseDTO<>(List.of(), 5, false, null));
+
+            mockMvc.perform(get(SCROLL_PRODUCTS_BY_CATEGORY_URL, categoryId)
+                            .param("cursor", "abc")
+                            .param("size", "5")
+                            .param("sort", "PRICE_DESC"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", empty()))
+                    .andExpect(jsonPath("$.hasNext").value(false))
+                    .andExpect(jsonPath("$.nextCursor", nullValue()));
+        }
+
+        @Test
+        void scrollSearchProducts_shouldBindCriteria() throws Exception {
+            when(productService.scrollSearch(any(ProductSearchCriteria.class), eq(ProductScrollSort.RATING), isNull(),
+                    eq(12))).thenReturn(new CursorPageResponseDTO<>(List.of(), 12, false, null));
+
+            mockMvc.perform(get(SCROLL_SEARCH_PRODUCTS_URL)
+                            .param("query", "laptop")
+                            .param("sort", "RATING"))
+                    .andExpect(status().isOk());
+
+            ArgumentCaptor<ProductSearchCriteria> criteriaCaptor = ArgumentCaptor.forClass(ProductSearchCriteria.class);
+            verify(productService).scrollSearch(criteriaCaptor.capture(), eq(ProductScrollSort.RATING), isNull(), eq(12));
+            assertThat(criteriaCaptor.getValue().query()).isEqualTo("laptop");
+        }
+
+        @Test
+        void scrollProducts_shouldReturnBadRequestForUnknownSort() throws Exception {
+            mockMvc.perform(get(SCROLL_PRODUCTS_URL).param("sort", "POPULARITY"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errorCode").value("REQUEST_INVALID"));
+
+            verifyNoInteractions(productService);
+        }
+
+        @Test
+        void scrollProducts_shouldReturnBadRequestForInvalidCursor() throws Exception {
+            when(productService.scroll(ProductScrollSort.NEWEST, "broken", 12))
+                    .thenThrow(new ProductCursorInvalidException());
+
+            mockMvc.perform(get(SCROLL_PRODUCTS_URL).param("cursor", "broken"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errorCode").value("PRODUCT_CURSOR_INVALID"));
+        }
+    }
+
+    @Nested
+    class SearchProductFacets {
+
+        @Test
+        void searchProductFacets_shouldBindCriteriaAndReturnCounts() throws Exception {
+            UUID categoryId = UUID.fromString("bbbbbbbb-bbbb-bbbb-bbbb-bbbbbbbbbbbb");
+            when(productService.searchFacets(any(ProductSearchCriteria.class))).thenReturn(new ProductSearchFacetsDTO(
+                    List.of(new ProductSearchFacetsDTO.CategoryFacet(categoryId, "Peripherals", 7)),
+                    List.of(new ProductSearchFacetsDTO.PriceBandFacet(new BigDecimal("100"), new BigDecimal("250"), 5)),
+                    List.of(new ProductSearchFacetsDTO.RatingFacet(4, 3))));
+
+            mockMvc.perform(get(SEARCH_PRODUCTS_URL + "/facets")
+                            .param("query", "mouse")
+                            .param("minRating", "4"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.categories[0].categoryId").value(categoryId.toString()))
+                    .andExpect(jsonPath("$.categories[0].count").value(7))
+                    .andExpect(jsonPath("$.priceBands[0].minPrice").value(100))
+                    .andExpect(jsonPath("$.ratings[0].minRating").value(4));
+
+            ArgumentCaptor<ProductSearchCriteria> criteriaCaptor = ArgumentCaptor.forClass(ProductSearchCriteria.class);
+            verify(productService).searchFacets(criteriaCaptor.capture());
+            assertThat(criteriaCaptor.getValue().query()).isEqualTo("mouse");
+            assertThat(criteriaCaptor.getValue().minRating()).isEqualTo(4.0);
+        }
+    }
+
+    @Nested
+    class SuggestProducts {
+
+        @Test
+        void suggestProducts_shouldAllowAnonymousAndUseDefaultLimit() throws Exception {
+            UUID productId = UUID.fromString("88888888-8888-8888-8888-888888888888");
+            when(productService.suggest("klaw", 8))
+                    .thenReturn(List.of(new ProductSuggestionDTO(productId, "Klawiatura", "klawiatura")));
+
+            mockMvc.perform(get("/api/v1/products/suggest").param("q", "klaw"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].id").value(productId.toString()))
+                    .andExpect(jsonPath("$[0].slug").value("klawiatura"));
+        }
+
+        @Test
+        void suggestProducts_shouldReturnBadRequestWithoutQuery() throws Exception {
+            mockMvc.perform(get("/api/v1/products/suggest"))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(productService);
+        }
+    }
+
     private ProductResponseDTO sampleProduct(UUID id, String name, String slug) {
         return new ProductResponseDTO(
                 id,
@@ -499,6 +682,7 @@ class ProductControllerWebMvcTest {
                 "Peripherals",
                 4.5,
                 12,
-                List.of("https://cdn.example.com/p1.jpg"));
+                List.of("https://cdn.example.com/p1.jpg"),
+                3L);
     }
 }
\ No newline at end of file
@@ -17,11 +17,14 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -40,14 +43,17 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.company.shop.common.dto.CursorPageResponseDTO;
 import com.company.shop.common.exception.GlobalExceptionHandler;
 import com.company.shop.common.i18n.MessageService;
 import com.company.shop.config.SecurityConfig;
 import com.company.shop.module.product.dto.ProductReviewRequestDTO;
+import com.company.shop.module.product.dto.ProductRatingSummaryResponseDTO;
 import com.company.shop.module.product.dto.ProductReviewResponseDTO;
 import com.company.shop.module.product.exception.ProductNotFoundException;
 import com.company.shop.module.product.exception.ProductReviewAccessDeniedException;
 import com.company.shop.module.product.exception.ProductReviewAlreadyExistsException;
+import com.company.shop.module.product.exception.ProductReviewCursorInvalidException;
 import com.company.shop.module.product.exception.ProductReviewNotFoundException;
 import com.company.shop.module.product.service.ProductReviewService;
 import com.company.shop.security.UserDetailsServiceImpl;
@@ -63,6 +69,7 @@ class ProductReviewControllerWebMvcTest {
     private static final String REVIEWS_URL = "/api/v1/reviews";
     private static final String PRODUCT_REVIEWS_URL = "/api/v1/products/{productId}/reviews";
     private static final String REVIEW_BY_ID_URL = "/api/v1/reviews/{reviewId}";
+    private static final String RATING_SUMMARY_URL = "/api/v1/products/{productId}/reviews/summary";
 
     @Autowired
     private MockMvc mockMvc;
@@ -382,6 +389,87 @@ class ProductReviewControllerWebMvcTest {
         }
     }
 
+    @Nested
+    class ScrollProductReviews {
+
+        @Test
+        void scrollProductReviews_shouldAllowAnonymousAndPassCursorAndSize() throws Exception {
+            UUID productId = UUID.fromString("dddddddd-dddd-dddd-dddd-dddddddddddd");
+            CursorPageResponseDTO<ProductReviewResponseDTO> response = new CursorPageResponseDTO<>(
+                    List.of(sampleReview(UUID.fromString("22222222-2222-2222-2222-222222222222"), "Anna Nowak", 5,
+                            "Polecam")),
+                    5, true, "next-token");
+            when(productReviewService.scrollProductReviews(productId, "token", 5)).thenReturn(response);
+
+            mockMvc.perform(get(PRODUCT_REVIEWS_URL + "/scroll", productId)
+                            .param("cursor", "token")
+                            .param("size", "5"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].authorName").value("Anna Nowak"))
+                    .andExpect(jsonPath("$.hasNext").value(true))
+                    .andExpect(jsonPath("$.nextCursor").value("next-token"));
+        }
+
+        @Test
+        void scrollProductReviews_shouldReturnBadRequestForInvalidCursor() throws Exception {
+            UUID productId = UUID.fromString("dddddddd-dddd-dddd-dddd-dddddddddddd");
+            when(productReviewService.scrollProductReviews(productId, "broken", 20))
+                    .thenThrow(new ProductReviewCursorInvalidException());
+
+            mockMvc.perform(get(PRODUCT_REVIEWS_URL + "/scroll", productId).param("cursor", "broken"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errorCode").value("PRODUCT_REVIEW_CURSOR_INVALID"));
+        }
+    }
+
+    @Nested
+    class GetRatingSummary {
+
+        private final UUID productId = UUID.fromString("dddddddd-dddd-dddd-dddd-dddddddddddd");
+
+        @Test
+        void getRatingSummary_shouldAllowAnonymousAndReturnDistributionWithETag() throws Exception {
+            when(productReviewService.getRatingSummary(productId)).thenReturn(sampleSummary());
+
+            mockMvc.perform(get(RATING_SUMMARY_URL, productId))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"" + productId + "-0-1-0-2-5\""))
+                    .andExpect(header().string("Cache-Control", "no-cache"))
+                    .andExpect(jsonPath("$.averageRating").value(4.5))
+                    .andExpect(jsonPath("$.reviewCount").value(8))
+                    .andExpect(jsonPath("$.ratingDistribution.5").value(5))
+                    .andExpect(jsonPath("$.ratingDistribution.1").value(0));
+        }
+
+        @Test
+        void getRatingSummary_shouldReturnNotModifiedWhenETagMatches() throws Exception {
+            when(productReviewService.getRatingSummary(productId)).thenReturn(sampleSummary());
+
+            mockMvc.perform(get(RATING_SUMMARY_URL, productId)
+                            .header("If-None-Match", "\"" + productId + "-0-1-0-2-5\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+        }
+
+        @Test
+        void getRatingSummary_shouldReturnNotFoundWhenProductDoesNotExist() throws Exception {
+            when(productReviewService.getRatingSummary(productId)).thenThrow(new ProductNotFoundException(productId));
+
+            mockMvc.perform(get(RATING_SUMMARY_URL, productId))
+                    .andExpect(status().isNotFound());
+        }
+
+        private ProductRatingSummaryResponseDTO sampleSummary() {
+            Map<Integer, Integer> distribution = new LinkedHashMap<>();
+            distribution.put(1, 0);
+            distribution.put(2, 1);
+            distribution.put(3, 0);
+            distribution.put(4, 2);
+            distribution.put(5, 5);
+            return new ProductRatingSummaryResponseDTO(productId, 4.5, 8, distribution);
+        }
+    }
+
     @Nested
     class DeleteReview {
 
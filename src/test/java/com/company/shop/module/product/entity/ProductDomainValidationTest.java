@@ -15,25 +15,30 @@ import com.company.shop.module.user.entity.User;
 class ProductDomainValidationTest {
 
     @Test
-    void updateRatings_shouldDefaultToZeroWhenAverageIsNull() {
+    void assignBucketedStock_shouldMoveStockIntoBucketsAndBack() {
         Category category = new Category("Name", "slug", "desc");
         Product product = new Product("Prod", "prod", "SKU", "desc", BigDecimal.ONE, 10, category);
 
-        product.updateRatings(null, 0);
+        product.assignBucketedStock(4, 10);
 
-        assertThat(product.getAverageRating()).isEqualTo(0.0);
+        assertThat(product.isStockBucketed()).isTrue();
+        assertThat(product.getUnbucketedStock()).isZero();
+        assertThat(product.getStock()).isEqualTo(10);
+
+        product.assignBucketedStock(0, 7);
+
+        assertThat(product.isStockBucketed()).isFalse();
+        assertThat(product.getUnbucketedStock()).isEqualTo(7);
+        assertThat(product.getStock()).isEqualTo(7);
     }
 
     @Test
-    void updateRatings_shouldClampAverageIntoDomainRange() {
+    void assignBucketedStock_shouldRejectBucketCountAboveLimit() {
         Category category = new Category("Name", "slug", "desc");
         Product product = new Product("Prod", "prod", "SKU", "desc", BigDecimal.ONE, 10, category);
 
-        product.updateRatings(7.77, 5);
-        assertThat(product.getAverageRating()).isEqualTo(5.0);
-
-        product.updateRatings(-1.23, 5);
-        assertThat(product.getAverageRating()).isEqualTo(0.0);
+        assertThatThrownBy(() -> product.assignBucketedStock(Product.MAX_STOCK_BUCKETS + 1, 10))
+                .isInstanceOf(ProductDataInvalidException.class);
     }
 
     @Test
@@ -0,0 +1,186 @@
+package com.company.shop.module.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.company.shop.module.product.dto.ProductResponseDTO;
+import com.company.shop.module.product.exception.ProductNotFoundException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ProductDetailsCacheTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final List<UUID> broadcastIds = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private ProductDetailsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ProductDetailsCache(meterRegistry, List.of(broadcastIds::add), nanoTime::get);
+    }
+
+    @Nested
+    class ReadThrough {
+
+        @Test
+        void shouldLoadOnceAndServeByIdAndSlug() {
+            ProductResponseDTO product = product(UUID.randomUUID(), "gaming-laptop");
+            AtomicInteger loads = new AtomicInteger();
+
+            cache.getById(product.getId(), () -> {
+                loads.incrementAndGet();
+                return product;
+            });
+            ProductResponseDTO byId = cache.getById(product.getId(), () -> fail());
+            ProductResponseDTO bySlug = cache.getBySlug("gaming-laptop", () -> fail());
+
+            assertThat(loads).hasValue(1);
+            assertThat(byId).isSameAs(product);
+            assertThat(bySlug).isSameAs(product);
+            assertThat(count("shop.product_cache.total", "result", "hit")).isEqualTo(2.0);
+            assertThat(count("shop.product_cache.total", "result", "miss")).isEqualTo(1.0);
+        }
+
+        @Test
+        void shouldNotCacheLoaderFailures() {
+            UUID id = UUID.randomUUID();
+
+            assertThatThrownBy(() -> cache.getById(id, () -> {
+                throw new ProductNotFoundException(id);
+            })).isInstanceOf(ProductNotFoundException.class);
+
+            ProductResponseDTO product = product(id, "late-arrival");
+            assertThat(cache.getById(id, () -> product)).isSameAs(product);
+        }
+
+        @Test
+        void shouldReloadAfterTtlExpires() {
+            ProductResponseDTO first = product(UUID.randomUUID(), "mouse");
+            ProductResponseDTO second = product(first.getId(), "mouse");
+            cache.getById(first.getId(), () -> first);
+
+            nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+            assertThat(cache.getBySlug("mouse", () -> second)).isSameAs(second);
+            assertThat(count("shop.product_cache.eviction.total", "reason", "expired")).isEqualTo(1.0);
+        }
+
+        @Test
+        void shouldEvictOldestEntryWhenFull() {
+            ReflectionTestUtils.setField(cache, "maxSize", 1);
+            ProductResponseDTO first = product(UUID.randomUUID(), "first");
+            ProductResponseDTO second = product(UUID.randomUUID(), "second");
+            cache.getById(first.getId(), () -> first);
+            cache.getById(second.getId(), () -> second);
+
+            ProductResponseDTO reloaded = product(first.getId(), "first");
+            assertThat(cache.getBySlug("first", () -> reloaded)).isSameAs(reloaded);
+            assertThat(count("shop.product_cache.eviction.total", "reason", "size")).isGreaterThanOrEqualTo(1.0);
+        }
+
+        @Test
+        void shouldBypassCacheAndMetricsWhenDisabled() {
+            ReflectionTestUtils.setField(cache, "enabled", false);
+            ProductResponseDTO product = product(UUID.randomUUID(), "keyboard");
+            AtomicInteger loads = new AtomicInteger();
+
+            cache.getById(product.getId(), () -> {
+                loads.incrementAndGet();
+                return product;
+            });
+            cache.getBySlug("keyboard", () -> {
+                loads.incrementAndGet();
+                return product;
+            });
+
+            assertThat(loads).hasValue(2);
+            assertThat(count("shop.product_cache.total", "result", "miss")).isZero();
+            assertThat(count("shop.product_cache.total", "result", "hit")).isZero();
+        }
+    }
+
+    @Nested
+    class Invalidation {
+
+        @Test
+        void evictShouldDropBothKeysAndNotifyListeners() {
+            ProductResponseDTO product = product(UUID.randomUUID(), "old-slug");
+            cache.getById(product.getId(), () -> product);
+
+            cache.evict(product.getId());
+
+            ProductResponseDTO renamed = product(product.getId(), "new-slug");
+            assertThat(cache.getBySlug("old-slug", () -> renamed)).isSameAs(renamed);
+            assertThat(broadcastIds).containsExactly(product.getId());
+            assertThat(count("shop.product_cache.eviction.total", "reason", "invalidated")).isEqualTo(1.0);
+        }
+
+        @Test
+        void evictLocallyShouldNotNotifyListeners() {
+            ProductResponseDTO product = product(UUID.randomUUID(), "remote");
+            cache.getById(product.getId(), () -> product);
+
+            cache.evictLocally(product.getId());
+
+            assertThat(broadcastIds).isEmpty();
+        }
+
+        @Test
+        void evictAllShouldClearEntriesAgainAfterCommit() {
+            ProductResponseDTO product = product(UUID.randomUUID(), "in-renamed-category");
+            cache.getById(product.getId(), () -> product);
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                cache.evictAll();
+                cache.getById(product.getId(), () -> product);
+
+                TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            ProductResponseDTO reloaded = product(product.getId(), "in-renamed-category");
+            assertThat(cache.getBySlug("in-renamed-category", () -> reloaded)).isSameAs(reloaded);
+        }
+
+        @Test
+        void failingListenerShouldNotBreakEviction() {
+            ProductDetailsCache failingCache = new ProductDetailsCache(meterRegistry, List.of(id -> {
+                throw new IllegalStateException("bus down");
+            }), nanoTime::get);
+
+            failingCache.evict(UUID.randomUUID());
+        }
+    }
+
+    private double count(String name, String tag, String value) {
+        return meterRegistry.counter(name, tag, value).count();
+    }
+
+    private static ProductResponseDTO fail() {
+        throw new AssertionError("loader must not be called on a cache hit");
+    }
+
+    private static ProductResponseDTO product(UUID id, String slug) {
+        return new ProductResponseDTO(id, "name", slug, "SKU", "desc", BigDecimal.TEN, 3, UUID.randomUUID(),
+                "Peripherals", 4.5, 2, List.of("https://img.example/1.png"), 0L);
+    }
+}
@@ -0,0 +1,65 @@
+package com.company.shop.module.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.company.shop.module.product.dto.ProductSearchCriteria;
+import com.company.shop.module.product.dto.ProductSearchFacetsDTO;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ProductFacetCacheTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private ProductFacetCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ProductFacetCache(meterRegistry, nanoTime::get);
+    }
+
+    @Test
+    void get_shouldServeSameFiltersFromCacheUntilTtlExpires() {
+        UUID categoryId = UUID.randomUUID();
+        ProductSearchCriteria criteria = new ProductSearchCriteria(null, categoryId, BigDecimal.TEN, null, null);
+
+        ProductSearchFacetsDTO first = cache.get(criteria, this::load);
+        ProductSearchFacetsDTO second = cache.get(
+                new ProductSearchCriteria("", categoryId, BigDecimal.TEN, null, null), this::load);
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("shop.product_facet_cache.total").tag("result", "hit").counter().count())
+                .isEqualTo(1.0);
+
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(60_001));
+        cache.get(criteria, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_shouldKeepDifferentFiltersApart() {
+        cache.get(new ProductSearchCriteria(null, null, null, null, 4.0), this::load);
+        cache.get(new ProductSearchCriteria(null, null, null, null, 3.0), this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private ProductSearchFacetsDTO load() {
+        loads.incrementAndGet();
+        return new ProductSearchFacetsDTO(List.of(), List.of(), List.of());
+    }
+}
@@ -0,0 +1,181 @@
+package com.company.shop.module.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.company.shop.common.dto.CursorPageResponseDTO;
+import com.company.shop.common.model.BaseEntity;
+import com.company.shop.module.category.entity.Category;
+import com.company.shop.module.product.dto.ProductRatingSummaryResponseDTO;
+import com.company.shop.module.product.dto.ProductReviewRequestDTO;
+import com.company.shop.module.product.dto.ProductReviewResponseDTO;
+import com.company.shop.module.product.entity.Product;
+import com.company.shop.module.product.entity.ProductReview;
+import com.company.shop.module.product.exception.ProductNotFoundException;
+import com.company.shop.module.product.exception.ProductReviewCursorInvalidException;
+import com.company.shop.module.product.repository.ProductRepository;
+import com.company.shop.module.product.repository.ProductReviewRepository;
+import com.company.shop.module.user.entity.User;
+import com.company.shop.module.user.service.UserService;
+
+@ExtendWith(MockitoExtension.class)
+class ProductReviewServiceImplTest {
+
+    @Mock
+    private ProductReviewRepository reviewRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ProductRatingService productRatingService;
+
+    private ProductReviewServiceImpl service;
+    private User user;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        service = new ProductReviewServiceImpl(reviewRepository, productRepository, userService, productRatingService);
+        user = new User("john@example.com", "encoded", "John", "Doe");
+        setEntityId(user, UUID.randomUUID());
+        product = new Product("Speaker", "speaker", "SKU-1", "desc", BigDecimal.TEN, 5,
+                new Category("Audio", "audio", "desc"));
+        setEntityId(product, UUID.randomUUID());
+    }
+
+    @Test
+    void addReview_shouldApplyRatingDeltaWithoutSavingProduct() {
+        when(userService.getCurrentUserEntity()).thenReturn(user);
+        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+        when(reviewRepository.save(any(ProductReview.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.addReview(new ProductReviewRequestDTO(product.getId(), 4, "Good"));
+
+        InOrder inOrder = inOrder(reviewRepository, productRatingService);
+        inOrder.verify(reviewRepository).save(any(ProductReview.class));
+        inOrder.verify(productRatingService).addRating(product.getId(), 4);
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    void deleteReview_shouldSoftDeleteAndRemoveRatingDelta() {
+        ProductReview review = new ProductReview(product, user, 2, "Meh");
+        UUID reviewId = UUID.randomUUID();
+        setEntityId(review, reviewId);
+        when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(review));
+        when(userService.getCurrentUserEntity()).thenReturn(user);
+
+        service.deleteReview(reviewId);
+
+        assertThat(review.isDeleted()).isTrue();
+        verify(productRatingService).removeRating(product.getId(), 2);
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    void getRatingSummary_shouldReadPrecomputedColumnsWithoutAggregatingReviews() {
+        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+
+        ProductRatingSummaryResponseDTO summary = service.getRatingSummary(product.getId());
+
+        assertThat(summary.productId()).isEqualTo(product.getId());
+        assertThat(summary.reviewCount()).isZero();
+        assertThat(summary.ratingDistribution()).containsOnlyKeys(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    void getProductReviews_shouldUseProjectionWithoutLoadingProductWhenPageHasReviews() {
+        Pageable pageable = PageRequest.of(0, 20);
+        ProductReviewResponseDTO row = new ProductReviewResponseDTO(UUID.randomUUID(), "John Doe", 5, "Great",
+                LocalDateTime.now());
+        when(reviewRepository.findResponsesByProductId(product.getId(), pageable))
+                .thenReturn(new PageImpl<>(List.of(row), pageable, 1));
+
+        Page<ProductReviewResponseDTO> page = service.getProductReviews(product.getId(), pageable);
+
+        assertThat(page.getContent()).containsExactly(row);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getProductReviews_shouldThrowNotFoundWhenPageIsEmptyAndProductDoesNotExist() {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(reviewRepository.findResponsesByProductId(product.getId(), pageable)).thenReturn(Page.empty(pageable));
+        when(productRepository.existsById(product.getId())).thenReturn(false);
+
+        assertThatThrownBy(() -> service.getProductReviews(product.getId(), pageable))
+                .isInstanceOf(ProductNotFoundException.class);
+    }
+
+    @Test
+    void scrollProductReviews_shouldReturnCursorThatSeeksPastLastRow() {
+        LocalDateTime newest = LocalDateTime.of(2026, 5, 1, 12, 0);
+        ProductReviewResponseDTO first = new ProductReviewResponseDTO(UUID.randomUUID(), "A B", 5, null, newest);
+        ProductReviewResponseDTO second = new ProductReviewResponseDTO(UUID.randomUUID(), "C D", 4, null,
+                newest.minusMinutes(1));
+        ProductReviewResponseDTO third = new ProductReviewResponseDTO(UUID.randomUUID(), "E F", 3, null,
+                newest.minusMinutes(2));
+        when(reviewRepository.findNewestResponsesByProductId(product.getId(), Limit.of(3)))
+                .thenReturn(List.of(first, second, third));
+
+        CursorPageResponseDTO<ProductReviewResponseDTO> slice = service.scrollProductReviews(product.getId(), null, 2);
+
+        assertThat(slice.content()).containsExactly(first, second);
+        assertThat(slice.hasNext()).isTrue();
+
+        when(reviewRepository.findNewestResponsesByProductIdAfter(product.getId(), second.createdAt(), second.id(),
+                Limit.of(3))).thenReturn(List.of(third));
+
+        CursorPageResponseDTO<ProductReviewResponseDTO> next =
+                service.scrollProductReviews(product.getId(), slice.nextCursor(), 2);
+
+        assertThat(next.content()).containsExactly(third);
+        assertThat(next.hasNext()).isFalse();
+        assertThat(next.nextCursor()).isNull();
+    }
+
+    @Test
+    void scrollProductReviews_shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> service.scrollProductReviews(product.getId(), "not-a-cursor", 10))
+                .isInstanceOf(ProductReviewCursorInvalidException.class);
+    }
+
+    private void setEntityId(Object entity, UUID id) {
+        try {
+            Field field = BaseEntity.class.getDeclaredField("id");
+            field.setAccessible(true);
+            field.set(entity, id);
+        } catch (ReflectiveOperationException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+}
@@ -3,11 +3,15 @@ package com.company.shop.module.product.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,16 +22,30 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.company.shop.common.dto.CursorPageResponseDTO;
 import com.company.shop.module.category.entity.Category;
 import com.company.shop.module.category.repository.CategoryRepository;
 import com.company.shop.module.product.dto.ProductCreateDTO;
 import com.company.shop.module.product.dto.ProductResponseDTO;
+import com.company.shop.module.product.dto.ProductScrollSort;
+import com.company.shop.module.product.dto.ProductSearchCriteria;
+import com.company.shop.module.product.dto.ProductSearchFacetsDTO;
 import com.company.shop.module.product.entity.Product;
 import com.company.shop.module.product.exception.ProductCategoryNotFoundException;
+import com.company.shop.module.product.exception.ProductCursorInvalidException;
 import com.company.shop.module.product.exception.ProductSkuAlreadyExistsException;
 import com.company.shop.module.product.mapper.ProductMapper;
 import com.company.shop.module.product.repository.ProductRepository;
+import com.company.shop.module.product.specification.ProductSearchQuery;
 
 @ExtendWith(MockitoExtension.class)
 class ProductServiceImplTest {
@@ -41,11 +59,27 @@ class ProductServiceImplTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private ProductDetailsCache productDetailsCache;
+
+    @Mock
+    private ProductStockService productStockService;
+
+    @Mock
+    private ProductSearchEngine productSearchEngine;
+
+    @Mock
+    private ProductSuggestionIndex productSuggestionIndex;
+
+    @Mock
+    private ProductFacetCache productFacetCache;
+
     private ProductServiceImpl service;
 
     @BeforeEach
     void setUp() {
-        service = new ProductServiceImpl(productRepository, categoryRepository, productMapper);
+        service = new ProductServiceImpl(productRepository, categoryRepository, productMapper, productDetailsCache,
+                productStockService, productSearchEngine, productSuggestionIndex, productFacetCache);
     }
 
     @Test
@@ -133,6 +167,241 @@ class ProductServiceImplTest {
         service.update(productId, dto);
 
         assertThat(existing.getSku()).isEqualTo("NEW-SKU");
+        verify(productDetailsCache).evict(productId);
+        verify(productStockService, never()).assignStock(any(Product.class), anyInt());
+    }
+
+    @Test
+    void update_shouldSpreadNewStockOverBucketsWhenProductIsBucketed() {
+        UUID productId = UUID.randomUUID();
+        UUID categoryId = UUID.randomUUID();
+        ProductCreateDTO dto = dto("Test Product", "SKU-123", categoryId);
+
+        Category category = new Category("Accessories", "accessories", "desc");
+        Product existing = new Product("Old", "old", "SKU-123", "desc", BigDecimal.TEN, 2, category);
+        existing.assignBucketedStock(4, 2);
+
+        when(productRepository.findById(productId)).thenReturn(Optional.of(existing));
+        when(productRepository.existsBySkuAndIdNot(dto.getSku(), productId)).thenReturn(false);
+        when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
+        when(productRepository.existsBySlugAndIdNot("test-product", productId)).thenReturn(false);
+        when(productRepository.saveAndFlush(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(productMapper.toDto(any(Product.class))).thenReturn(stubResponse());
+
+        service.update(productId, dto);
+
+        verify(productStockService).assignStock(existing, dto.getStock());
+    }
+
+    @Test
+    void configureStockBuckets_shouldRedistributeStockAndEvictCachedProduct() {
+        UUID productId = UUID.randomUUID();
+        Product existing = new Product("Old", "old", "OLD-SKU", "desc", BigDecimal.TEN, 12,
+                new Category("Accessories", "accessories", "desc"));
+        when(productRepository.findById(productId)).thenReturn(Optional.of(existing));
+        when(productMapper.toDto(existing)).thenReturn(stubResponse());
+
+        service.configureStockBuckets(productId, 4);
+
+        verify(productStockService).configureBuckets(existing, 4);
+        verify(productDetailsCache).evict(productId);
+    }
+
+    @Test
+    void delete_shouldSoftDeleteAndEvictCachedProduct() {
+        UUID productId = UUID.randomUUID();
+        Product existing = new Product("Old", "old", "OLD-SKU", "desc", BigDecimal.TEN, 2,
+                new Category("Accessories", "accessories", "desc"));
+        when(productRepository.findById(productId)).thenReturn(Optional.of(existing));
+
+        service.delete(productId);
+
+        assertThat(existing.isDeleted()).isTrue();
+        verify(productDetailsCache).evict(productId);
+        verify(productSuggestionIndex).remove(productId);
+    }
+
+    @Test
+    void suggest_shouldCapLimitAndReadOnlyFromIndex() {
+        service.suggest("klaw", 500);
+
+        verify(productSuggestionIndex).lookup("klaw", 20);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void findAll_shouldLoadImagesOfWholePageInOneBatch() {
+        Product first = persistedProduct("First", BigDecimal.ONE);
+        Product second = persistedProduct("Second", BigDecimal.TWO);
+        PageRequest pageable = PageRequest.of(0, 2);
+        when(productRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(first, second), pageable, 5));
+        when(productMapper.toDto(any(Product.class))).thenReturn(stubResponse());
+
+        Page<ProductResponseDTO> result = service.findAll(pageable);
+
+        assertThat(result.getContent()).hasSize(2);
+        verify(productRepository).findAllWithImagesByIdIn(List.of(first.getId(), second.getId()));
+    }
+
+    @Test
+    void findAll_shouldSkipImageQueryForEmptyPage() {
+        PageRequest pageable = PageRequest.of(3, 12);
+        when(productRepository.findAll(pageable)).thenReturn(Page.empty(pageable));
+
+        service.findAll(pageable);
+
+        verify(productRepository, never()).findAllWithImagesByIdIn(any());
+    }
+
+    @Test
+    void scroll_shouldReturnNextCursorPointingAtLastRowWhenMoreRowsExist() {
+        Product first = persistedProduct("First", BigDecimal.ONE);
+        Product second = persistedProduct("Second", BigDecimal.TWO);
+        Product third = persistedProduct("Third", BigDecimal.TEN);
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(List.of(first, second, third));
+        when(productMapper.toDto(any(Product.class))).thenReturn(stubResponse());
+
+        CursorPageResponseDTO<ProductResponseDTO> result = service.scroll(ProductScrollSort.PRICE_ASC, null, 2);
+
+        assertThat(result.content()).hasSize(2);
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.hasNext()).isTrue();
+        ProductCursor cursor = ProductCursor.decode(result.nextCursor(), ProductScrollSort.PRICE_ASC);
+        assertThat(cursor.sortValue()).isEqualTo(BigDecimal.TWO);
+        assertThat(cursor.id()).isEqualTo(second.getId());
+        verify(productMapper, never()).toDto(third);
+    }
+
+    @Test
+    void scroll_shouldReturnNoCursorOnLastSlice() {
+        Product only = persistedProduct("Only", BigDecimal.ONE);
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(List.of(only));
+        when(productMapper.toDto(only)).thenReturn(stubResponse());
+
+        CursorPageResponseDTO<ProductResponseDTO> result = service.scroll(ProductScrollSort.NEWEST,
+                new ProductCursor(ProductScrollSort.NEWEST, LocalDateTime.of(2026, 1, 1, 12, 0), UUID.randomUUID())
+                        .encode(),
+                12);
+
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.hasNext()).isFalse();
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void scroll_shouldRejectCursorIssuedForDifferentSort() {
+        String priceCursor = new ProductCursor(ProductScrollSort.PRICE_ASC, BigDecimal.ONE, UUID.randomUUID()).encode();
+
+        assertThatThrownBy(() -> service.scroll(ProductScrollSort.RATING, priceCursor, 12))
+                .isInstanceOf(ProductCursorInvalidException.class);
+        assertThatThrownBy(() -> service.scroll(ProductScrollSort.NEWEST, "not-a-cursor", 12))
+                .isInstanceOf(ProductCursorInvalidException.class);
+        verify(productRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    void searchProducts_shouldReturnRankedPageInEngineOrderWithoutCountingPartialPage() {
+        Product first = persistedProduct("First", BigDecimal.ONE);
+        Product second = persistedProduct("Second", BigDecimal.TWO);
+        ProductSearchCriteria criteria = new ProductSearchCriteria("monitor 4k*", null, null, null, null);
+        PageRequest pageable = PageRequest.of(0, 12, Sort.by("relevance"));
+        when(productSearchEngine.findRankedIds(new ProductSearchQuery("monitor", "4k:*"), criteria, 0, 12))
+                .thenReturn(List.of(second.getId(), first.getId()));
+        when(productRepository.findAll(any(Specification.class))).thenReturn(List.of(first, second));
+        when(productMapper.toDto(first)).thenReturn(stubResponse("First"));
+        when(productMapper.toDto(second)).thenReturn(stubResponse("Second"));
+
+        Page<ProductResponseDTO> result = service.searchProducts(criteria, pageable);
+
+        assertThat(result.getContent()).extracting(ProductResponseDTO::getName).containsExactly("Second", "First");
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        verify(productSearchEngine, never()).countMatches(any(), any());
+    }
+
+    @Test
+    void searchProductsSlice_shouldFetchOneExtraRankedIdInsteadOfCounting() {
+        Product first = persistedProduct("First", BigDecimal.ONE);
+        Product second = persistedProduct("Second", BigDecimal.TWO);
+        ProductSearchCriteria criteria = new ProductSearchCriteria("monitor", null, null, null, null);
+        PageRequest pageable = PageRequest.of(0, 1, Sort.by("relevance"));
+        when(productSearchEngine.findRankedIds(new ProductSearchQuery("monitor", ""), criteria, 0, 2))
+                .thenReturn(List.of(second.getId(), first.getId()));
+        when(productRepository.findAll(any(Specification.class))).thenReturn(List.of(second));
+        when(productMapper.toDto(second)).thenReturn(stubResponse("Second"));
+
+        Slice<ProductResponseDTO> result = service.searchProductsSlice(criteria, pageable);
+
+        assertThat(result.getContent()).extracting(ProductResponseDTO::getName).containsExactly("Second");
+        assertThat(result.hasNext()).isTrue();
+        verify(productSearchEngine, never()).countMatches(any(), any());
+    }
+
+    @Test
+    void searchProducts_shouldNotUseEngineWithoutRelevanceSort() {
+        ProductSearchCriteria criteria = new ProductSearchCriteria("monitor", null, null, null, null);
+        PageRequest pageable = PageRequest.of(0, 12, Sort.by(Sort.Direction.DESC, "createdAt"));
+        when(productRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(Page.empty(pageable));
+
+        service.searchProducts(criteria, pageable);
+
+        verifyNoInteractions(productSearchEngine);
+    }
+
+    @Test
+    void searchFacets_shouldUseCacheOnlyWithoutTextQuery() {
+        ProductSearchFacetsDTO facets = new ProductSearchFacetsDTO(List.of(), List.of(), List.of());
+        ProductSearchCriteria browse = new ProductSearchCriteria(null, UUID.randomUUID(), null, null, null);
+        ProductSearchCriteria text = new ProductSearchCriteria("monitor", null, null, null, null);
+        when(productFacetCache.get(eq(browse), any())).thenReturn(facets);
+        when(productSearchEngine.countFacets(new ProductSearchQuery("monitor", ""), text)).thenReturn(facets);
+
+        assertThat(service.searchFacets(browse)).isSameAs(facets);
+        assertThat(service.searchFacets(text)).isSameAs(facets);
+
+        verify(productFacetCache, never()).get(eq(text), any());
+        verify(productSearchEngine, never()).countFacets(null, browse);
+    }
+
+    @Test
+    void productSearchQuery_shouldSplitPrefixTermsAndDropOperatorCharacters() {
+        assertThat(ProductSearchQuery.parse("  \"gaming mouse\" -wireless Klaw&iat*  ")).contains(
+                new ProductSearchQuery("\"gaming mouse\" -wireless", "klawiat:*"));
+        assertThat(ProductSearchQuery.parse("*** !:*")).isEmpty();
+        assertThat(ProductSearchQuery.parse("   ")).isEmpty();
+    }
+
+    @Test
+    void productCursor_shouldRoundTripCreatedAtWithMicrosecondPrecision() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 3, 14, 15, 9, 26, 535_897_000);
+        UUID id = UUID.randomUUID();
+
+        ProductCursor decoded = ProductCursor.decode(
+                new ProductCursor(ProductScrollSort.NEWEST, createdAt, id).encode(), ProductScrollSort.NEWEST);
+
+        assertThat(decoded.sortValue()).isEqualTo(createdAt);
+        assertThat(decoded.id()).isEqualTo(id);
+    }
+
+    @Test
+    void productCursor_shouldRoundTripRatingAsDecimalAtColumnScale() {
+        Product last = persistedProduct("Rated", BigDecimal.TEN);
+        ReflectionTestUtils.setField(last, "averageRating", 4.35);
+
+        ProductCursor cursor = ProductCursor.after(ProductScrollSort.RATING, last);
+        ProductCursor decoded = ProductCursor.decode(cursor.encode(), ProductScrollSort.RATING);
+
+        assertThat(decoded.sortValue()).isEqualTo(new BigDecimal("4.35"));
+        assertThatThrownBy(() -> ProductCursor.decode(
+                new ProductCursor(ProductScrollSort.RATING, new BigDecimal("4.351"), last.getId()).encode(),
+                ProductScrollSort.RATING))
+                .isInstanceOf(ProductCursorInvalidException.class);
+    }
+
+    private Product persistedProduct(String name, BigDecimal price) {
+        Category category = new Category("Accessories", "accessories", "desc");
+        Product product = new Product(name, name.toLowerCase(), name.toUpperCase(), "desc", price, 1, category);
+        ReflectionTestUtils.setField(product, "id", UUID.randomUUID());
+        return product;
     }
 
     private ProductCreateDTO dto(String name, String sku, UUID categoryId) {
@@ -141,7 +410,11 @@ class ProductServiceImplTest {
     }
 
     private ProductResponseDTO stubResponse() {
-        return new ProductResponseDTO(UUID.randomUUID(), "name", "slug", "sku", "desc", BigDecimal.ONE,
-                1, UUID.randomUUID(), "cat", 0.0, 0, List.of());
+        return stubResponse("name");
+    }
+
+    private ProductResponseDTO stubResponse(String name) {
+        return new ProductResponseDTO(UUID.randomUUID(), name, "slug", "sku", "desc", BigDecimal.ONE,
+                1, UUID.randomUUID(), "cat", 0.0, 0, List.of(), 0L);
     }
 }
@@ -0,0 +1,209 @@
+package com.company.shop.module.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.company.shop.common.model.BaseEntity;
+import com.company.shop.module.category.entity.Category;
+import com.company.shop.module.product.entity.Product;
+import com.company.shop.module.product.entity.ProductStockBucket;
+import com.company.shop.module.product.repository.ProductRepository;
+import com.company.shop.module.product.repository.ProductStockBucketRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ProductStockServiceTest {
+
+    private static final UUID PRODUCT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductStockBucketRepository bucketRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductStockService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new ProductStockService(productRepository, bucketRepository, meterRegistry);
+    }
+
+    @Nested
+    class TryTakeTests {
+
+        @Test
+        void shouldTakeFromProductCounterWithoutTouchingBuckets() {
+            when(productRepository.decrementStockIfAvailable(PRODUCT_ID, 2)).thenReturn(1);
+
+            assertThat(service.tryTake(PRODUCT_ID, 2)).isTrue();
+
+            verify(bucketRepository, never()).takeFromRandomFreeBucket(PRODUCT_ID, 2);
+        }
+
+        @Test
+        void shouldTakeFromRandomFreeBucketWhenProductCounterIsEmpty() {
+            when(productRepository.decrementStockIfAvailable(PRODUCT_ID, 1)).thenReturn(0);
+            when(bucketRepository.takeFromRandomFreeBucket(PRODUCT_ID, 1)).thenReturn(1);
+
+            assertThat(service.tryTake(PRODUCT_ID, 1)).isTrue();
+
+            verify(bucketRepository, never()).findAllByProductIdForUpdate(PRODUCT_ID);
+            assertBucketMetricCount("taken", 1);
+        }
+
+        @Test
+        void shouldRejectWithoutLockingBucketsWhenCommittedTotalIsInsufficient() {
+            when(productRepository.decrementStockIfAvailable(PRODUCT_ID, 3)).thenReturn(0);
+            when(bucketRepository.takeFromRandomFreeBucket(PRODUCT_ID, 3)).thenReturn(0);
+            when(bucketRepository.sumStockByProductId(PRODUCT_ID)).thenReturn(2L);
+
+            assertThat(service.tryTake(PRODUCT_ID, 3)).isFalse();
+
+            verify(bucketRepository, never()).findAllByProductIdForUpdate(PRODUCT_ID);
+        }
+
+        @Test
+        void shouldTakeAcrossLockedBucketsWhenQuantityIsSplitOverBuckets() {
+            ProductStockBucket first = new ProductStockBucket(PRODUCT_ID, 0, 2);
+            ProductStockBucket second = new ProductStockBucket(PRODUCT_ID, 1, 3);
+            when(productRepository.decrementStockIfAvailable(PRODUCT_ID, 4)).thenReturn(0);
+            when(bucketRepository.takeFromRandomFreeBucket(PRODUCT_ID, 4)).thenReturn(0);
+            when(bucketRepository.sumStockByProductId(PRODUCT_ID)).thenReturn(5L);
+            when(bucketRepository.findAllByProductIdForUpdate(PRODUCT_ID)).thenReturn(List.of(first, second));
+
+            assertThat(service.tryTake(PRODUCT_ID, 4)).isTrue();
+
+            assertThat(second.getStock()).isZero();
+            assertThat(first.getStock()).isEqualTo(1);
+            assertBucketMetricCount("taken_locked", 1);
+        }
+    }
+
+    @Nested
+    class GiveBackTests {
+
+        @Test
+        void shouldReturnStockToProductCounterWhenProductHasNoBuckets() {
+            when(bucketRepository.addToEmptiestBucket(PRODUCT_ID, 2)).thenReturn(0);
+
+            service.giveBack(PRODUCT_ID, 2);
+
+            verify(productRepository).incrementStock(PRODUCT_ID, 2);
+        }
+
+        @Test
+        void shouldReturnStockToBucketWhenProductIsBucketed() {
+            when(bucketRepository.addToEmptiestBucket(PRODUCT_ID, 2)).thenReturn(1);
+
+            service.giveBack(PRODUCT_ID, 2);
+
+            verify(productRepository, never()).incrementStock(PRODUCT_ID, 2);
+        }
+    }
+
+    @Nested
+    class ConfigureBucketsTests {
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void shouldSpreadProductStockEvenlyOverNewBuckets() {
+            Product product = product(10);
+            when(bucketRepository.findAllByProductIdForUpdate(PRODUCT_ID)).thenReturn(List.of());
+
+            service.configureBuckets(product, 4);
+
+            ArgumentCaptor<List<ProductStockBucket>> created = ArgumentCaptor.forClass(List.class);
+            verify(bucketRepository).saveAll(created.capture());
+            assertThat(created.getValue()).extracting(ProductStockBucket::getStock).containsExactly(3, 3, 2, 2);
+            assertThat(product.getUnbucketedStock()).isZero();
+            assertThat(product.getStock()).isEqualTo(10);
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void shouldMergeBucketsBackIntoProductCounterWhenDisabled() {
+            Product product = product(0);
+            product.assignBucketedStock(2, 0);
+            List<ProductStockBucket> existing = List.of(
+                    new ProductStockBucket(PRODUCT_ID, 0, 4),
+                    new ProductStockBucket(PRODUCT_ID, 1, 1));
+            when(bucketRepository.findAllByProductIdForUpdate(PRODUCT_ID)).thenReturn(existing);
+
+            service.configureBuckets(product, 0);
+
+            ArgumentCaptor<List<ProductStockBucket>> deleted = ArgumentCaptor.forClass(List.class);
+            verify(bucketRepository).deleteAll(deleted.capture());
+            assertThat(deleted.getValue()).hasSize(2);
+            assertThat(product.isStockBucketed()).isFalse();
+            assertThat(product.getUnbucketedStock()).isEqualTo(5);
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void shouldUpdateKeptBucketsInPlaceWhenRebalancing() {
+            Product product = product(0);
+            product.assignBucketedStock(3, 0);
+            ProductStockBucket drained = new ProductStockBucket(PRODUCT_ID, 0, 0);
+            ProductStockBucket full = new ProductStockBucket(PRODUCT_ID, 1, 5);
+            ProductStockBucket partial = new ProductStockBucket(PRODUCT_ID, 2, 1);
+            when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
+            when(bucketRepository.findAllByProductIdForUpdate(PRODUCT_ID))
+                    .thenReturn(new ArrayList<>(List.of(drained, full, partial)));
+
+            assertThat(service.rebalance(PRODUCT_ID)).isTrue();
+
+            assertThat(List.of(drained, full, partial)).extracting(ProductStockBucket::getStock)
+                    .containsExactly(2, 2, 2);
+            ArgumentCaptor<List<ProductStockBucket>> created = ArgumentCaptor.forClass(List.class);
+            verify(bucketRepository).saveAll(created.capture());
+            assertThat(created.getValue()).isEmpty();
+            assertBucketMetricCount("rebalanced", 1);
+        }
+    }
+
+    @Test
+    void availableStock_shouldAddBucketsToProductCounter() {
+        when(productRepository.findStockById(PRODUCT_ID)).thenReturn(Optional.of(1));
+        when(bucketRepository.sumStockByProductId(PRODUCT_ID)).thenReturn(6L);
+
+        assertThat(service.availableStock(PRODUCT_ID)).isEqualTo(7);
+    }
+
+    private void assertBucketMetricCount(String result, double expectedCount) {
+        assertThat(meterRegistry.get("shop.stock_bucket.total").tag("result", result).counter().count())
+                .isEqualTo(expectedCount);
+    }
+
+    private Product product(int stock) {
+        Product product = new Product("Flash Phone", "flash-phone", "FLASH-1", "desc", BigDecimal.TEN, stock,
+                new Category("Phones", "phones", "desc"));
+        try {
+            Field field = BaseEntity.class.getDeclaredField("id");
+            field.setAccessible(true);
+            field.set(product, PRODUCT_ID);
+        } catch (ReflectiveOperationException ex) {
+            throw new RuntimeException(ex);
+        }
+        return product;
+    }
+}
@@ -0,0 +1,74 @@
+package com.company.shop.module.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.company.shop.module.product.dto.ProductSuggestionDTO;
+
+class ProductSuggestionIndexTest {
+
+    private final ProductSuggestionIndex index = new ProductSuggestionIndex();
+
+    @Test
+    void lookup_shouldFoldPolishDiacriticsInKeysAndPrefix() {
+        ProductSuggestionDTO chain = suggestion("Złoty łańcuszek", "zoty-ancuszek");
+        index.put(chain);
+
+        assertThat(index.lookup("zlo", 5)).containsExactly(chain);
+        assertThat(index.lookup("ŁAŃC", 5)).containsExactly(chain);
+        assertThat(index.lookup("lancuszek", 5)).containsExactly(chain);
+    }
+
+    @Test
+    void lookup_shouldMatchLaterWordsAndSlugOncePerProduct() {
+        ProductSuggestionDTO keyboard = suggestion("Klawiatura mechaniczna", "klawiatura-mechaniczna");
+        ProductSuggestionDTO mouse = suggestion("Mysz bezprzewodowa", "mysz-bezprzewodowa");
+        index.put(keyboard);
+        index.put(mouse);
+
+        assertThat(index.lookup("mech", 5)).containsExactly(keyboard);
+        assertThat(index.lookup("klawiatura", 5)).containsExactly(keyboard);
+        assertThat(index.lookup("m", 1)).hasSize(1);
+        assertThat(index.lookup("  ", 5)).isEmpty();
+    }
+
+    @Test
+    void put_shouldReplacePreviousNameAndRemoveShouldDropProduct() {
+        ProductSuggestionDTO original = suggestion("Monitor", "monitor");
+        index.put(original);
+        ProductSuggestionDTO renamed = new ProductSuggestionDTO(original.id(), "Ekran", "ekran");
+        index.put(renamed);
+
+        assertThat(index.lookup("mon", 5)).isEmpty();
+        assertThat(index.lookup("ekr", 5)).containsExactly(renamed);
+
+        index.remove(original.id());
+
+        assertThat(index.lookup("ekr", 5)).isEmpty();
+    }
+
+    @Test
+    void rebuild_shouldReplaceEntriesAndKeepWritesMadeWhileLoading() {
+        ProductSuggestionDTO stale = suggestion("Stary produkt", "stary-produkt");
+        ProductSuggestionDTO loaded = suggestion("Głośnik", "glosnik");
+        ProductSuggestionDTO writtenDuringLoad = suggestion("Słuchawki", "sluchawki");
+        index.put(stale);
+
+        index.rebuild(() -> {
+            index.put(writtenDuringLoad);
+            return List.of(loaded);
+        });
+
+        assertThat(index.lookup("star", 5)).isEmpty();
+        assertThat(index.lookup("glos", 5)).containsExactly(loaded);
+        assertThat(index.lookup("sluch", 5)).containsExactly(writtenDuringLoad);
+    }
+
+    private ProductSuggestionDTO suggestion(String name, String slug) {
+        return new ProductSuggestionDTO(UUID.randomUUID(), name, slug);
+    }
+}
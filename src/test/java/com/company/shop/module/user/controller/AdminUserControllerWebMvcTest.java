@@ -38,11 +38,13 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.company.shop.common.dto.PageResponseDTO;
 import com.company.shop.common.exception.GlobalExceptionHandler;
 import com.company.shop.common.i18n.MessageService;
 import com.company.shop.config.SecurityConfig;
@@ -178,6 +180,23 @@ class AdminUserControllerWebMvcTest {
             assertThat(captured.getSort().getOrderFor("lastName")).isNotNull();
             assertThat(captured.getSort().getOrderFor("lastName").getDirection()).isEqualTo(Sort.Direction.DESC);
         }
+
+        @Test
+        void getUsers_shouldReturnEstimatedTotalWhenApproximateTotalRequested() throws Exception {
+            when(userService.findAllWithEstimatedTotal(any())).thenReturn(PageResponseDTO.estimated(
+                    new SliceImpl<>(List.of(), PageRequest.of(0, 20), true), 5000));
+
+            mockMvc.perform(get(ADMIN_USERS_URL)
+                            .with(user("admin").roles("ADMIN"))
+                            .param("approximateTotal", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(5000))
+                    .andExpect(jsonPath("$.totalPages").value(250))
+                    .andExpect(jsonPath("$.totalEstimated").value(true));
+
+            verify(userService).findAllWithEstimatedTotal(any());
+            verifyNoMoreInteractions(userService);
+        }
     }
 
     @Nested
@@ -0,0 +1,106 @@
+package com.company.shop.module.user.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.company.shop.module.user.entity.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserEntityCacheTest {
+
+    private static final String EMAIL = "john@example.com";
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private UserEntityCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserEntityCache(meterRegistry, nanoTime::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Nested
+    class SharedCache {
+
+        @Test
+        void shouldReturnCachedUserUntilTtlExpires() {
+            User user = new User(EMAIL, "encoded", "John", "Doe");
+            cache.put(EMAIL, user);
+
+            nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(29));
+            assertThat(cache.get(EMAIL)).containsSame(user);
+
+            nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(2));
+            assertThat(cache.get(EMAIL)).isEmpty();
+            assertThat(meterRegistry.counter("shop.user_cache.total", "result", "hit").count()).isEqualTo(1.0);
+            assertThat(meterRegistry.counter("shop.user_cache.total", "result", "miss").count()).isEqualTo(1.0);
+        }
+
+        @Test
+        void shouldEvictOldestEntryWhenFull() {
+            ReflectionTestUtils.setField(cache, "maxSize", 2);
+            cache.put("a@example.com", new User("a@example.com", "encoded", "A", "A"));
+            cache.put("b@example.com", new User("b@example.com", "encoded", "B", "B"));
+            cache.put("c@example.com", new User("c@example.com", "encoded", "C", "C"));
+
+            assertThat(cache.get("a@example.com")).isEmpty();
+            assertThat(cache.get("b@example.com")).isPresent();
+            assertThat(cache.get("c@example.com")).isPresent();
+        }
+
+        @Test
+        void shouldBypassSharedCacheWhenDisabled() {
+            ReflectionTestUtils.setField(cache, "enabled", false);
+            cache.put(EMAIL, new User(EMAIL, "encoded", "John", "Doe"));
+
+            assertThat(cache.get(EMAIL)).isEmpty();
+        }
+    }
+
+    @Nested
+    class RequestMemo {
+
+        @BeforeEach
+        void bindRequest() {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        }
+
+        @Test
+        void shouldServeUserFromRequestEvenWhenSharedCacheDisabled() {
+            ReflectionTestUtils.setField(cache, "enabled", false);
+            User user = new User(EMAIL, "encoded", "John", "Doe");
+            cache.put(EMAIL, user);
+
+            assertThat(cache.get(EMAIL)).containsSame(user);
+            assertThat(meterRegistry.counter("shop.user_cache.total", "result", "request_hit").count())
+                    .isEqualTo(1.0);
+        }
+
+        @Test
+        void evictShouldClearBothLevels() {
+            cache.put(EMAIL, new User(EMAIL, "encoded", "John", "Doe"));
+
+            cache.evict(EMAIL);
+
+            assertThat(cache.get(EMAIL)).isEmpty();
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.company.shop.module.user.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -15,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.company.shop.common.persistence.TableRowEstimator;
 import com.company.shop.module.user.dto.UserUpdateDTO;
 import com.company.shop.module.user.entity.Role;
 import com.company.shop.module.user.entity.User;
@@ -22,6 +25,9 @@ import com.company.shop.module.user.exception.UserNotFoundException;
 import com.company.shop.module.user.mapper.UserMapper;
 import com.company.shop.module.user.repository.UserRepository;
 import com.company.shop.security.CurrentUserProvider;
+import com.company.shop.security.EmailNormalizer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceImplTest {
@@ -35,11 +41,18 @@ class UserServiceImplTest {
     @Mock
     private CurrentUserProvider currentUserProvider;
 
+    @Mock
+    private TableRowEstimator rowEstimator;
+
+    private UserEntityCache userEntityCache;
+
     private UserServiceImpl service;
 
     @BeforeEach
     void setUp() {
-        service = new UserServiceImpl(userRepository, userMapper, currentUserProvider);
+        userEntityCache = new UserEntityCache(new SimpleMeterRegistry());
+        service = new UserServiceImpl(userRepository, userMapper, currentUserProvider, userEntityCache,
+                new EmailNormalizer(), rowEstimator);
     }
 
     @Test
@@ -53,6 +66,64 @@ class UserServiceImplTest {
                 .hasMessage("User not found");
     }
 
+    @Test
+    void getCurrentUserEntity_shouldQueryRepositoryOnlyOnceWhileCached() {
+        String email = "john@example.com";
+        User user = new User(email, "encoded", "John", "Doe");
+        when(currentUserProvider.getCurrentUserEmail()).thenReturn(email);
+        when(userRepository.findActiveByEmailWithRoles(email)).thenReturn(Optional.of(user));
+
+        User first = service.getCurrentUserEntity();
+        User second = service.getCurrentUserEntity();
+
+        assertThat(first).isSameAs(user);
+        assertThat(second).isSameAs(user);
+        verify(userRepository).findActiveByEmailWithRoles(email);
+    }
+
+    @Test
+    void getCurrentUserEntity_shouldReloadAfterUpdateEvictsUser() {
+        String email = "john@example.com";
+        UUID userId = UUID.randomUUID();
+        User cached = new User(email, "encoded", "John", "Doe");
+        User reloaded = new User(email, "encoded", "Jane", "Doe");
+        userEntityCache.put(email, cached);
+
+        when(userRepository.findActiveById(userId)).thenReturn(Optional.of(cached));
+        service.update(userId, new UserUpdateDTO("Jane", "Doe"));
+
+        when(currentUserProvider.getCurrentUserEmail()).thenReturn(email);
+        when(userRepository.findActiveByEmailWithRoles(email)).thenReturn(Optional.of(reloaded));
+
+        assertThat(service.getCurrentUserEntity()).isSameAs(reloaded);
+    }
+
+    @Test
+    void getCurrentUserEntity_shouldNotCacheMissingUser() {
+        String email = "john@example.com";
+        when(currentUserProvider.getCurrentUserEmail()).thenReturn(email);
+        when(userRepository.findActiveByEmailWithRoles(email)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.getCurrentUserEntity()).isInstanceOf(UserNotFoundException.class);
+
+        assertThat(userEntityCache.get(email)).isEmpty();
+    }
+
+    @Test
+    void delete_shouldEvictCachedUser() {
+        String email = "john@example.com";
+        UUID userId = UUID.randomUUID();
+        User user = new User(email, "encoded", "John", "Doe");
+        userEntityCache.put(email, user);
+        when(userRepository.findActiveById(userId)).thenReturn(Optional.of(user));
+
+        service.delete(userId);
+
+        assertThat(user.isDeleted()).isTrue();
+        assertThat(userEntityCache.get(email)).isEmpty();
+        verify(userRepository, never()).findActiveByEmailWithRoles(anyString());
+    }
+
     @Test
     void update_shouldUseActiveLookupAndTrimNames() {
         UUID userId = UUID.randomUUID();
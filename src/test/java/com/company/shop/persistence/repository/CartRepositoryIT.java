@@ -12,25 +12,34 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.company.shop.module.cart.dto.CartResponseDTO;
 import com.company.shop.module.cart.entity.Cart;
+import com.company.shop.module.cart.mapper.CartMapper;
+import com.company.shop.module.cart.mapper.CartMapperImpl;
 import com.company.shop.module.cart.repository.CartRepository;
 import com.company.shop.module.product.entity.Product;
 import com.company.shop.module.user.entity.User;
 import com.company.shop.persistence.support.PersistenceFixtures;
 import com.company.shop.persistence.support.PostgresContainerSupport;
+import com.company.shop.support.QueryBudget;
 
 import jakarta.persistence.PersistenceUnitUtil;
 
 @DataJpaTest
 @ActiveProfiles("test")
 @AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import(CartMapperImpl.class)
 class CartRepositoryIT extends PostgresContainerSupport {
 
     @Autowired
     private CartRepository cartRepository;
 
+    @Autowired
+    private CartMapper cartMapper;
+
     @Autowired
     private TestEntityManager entityManager;
 
@@ -72,4 +81,21 @@ class CartRepositoryIT extends PostgresContainerSupport {
 
         assertThat(found).isEmpty();
     }
+
+    @Test
+    void findByUserIdWithItems_shouldMapCartInSingleStatement() {
+        User user = PersistenceFixtures.persistUser(entityManager, "cart.budget@example.com");
+        Cart cart = PersistenceFixtures.persistCart(entityManager, user);
+        for (int i = 0; i < 5; i++) {
+            cart.addItem(PersistenceFixtures.persistProduct(entityManager, "Item " + i, "item-" + i, "SKU-ITEM-" + i,
+                    BigDecimal.valueOf(10L + i), 3), 1);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        CartResponseDTO dto = QueryBudget.exactly(1,
+                () -> cartMapper.toDTO(cartRepository.findByUserIdWithItems(user.getId()).orElseThrow()));
+
+        assertThat(dto.items()).hasSize(5);
+    }
 }
@@ -0,0 +1,90 @@
+package com.company.shop.persistence.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.company.shop.module.category.entity.Category;
+import com.company.shop.module.product.dto.ProductResponseDTO;
+import com.company.shop.module.product.entity.Product;
+import com.company.shop.module.product.mapper.ProductMapperImpl;
+import com.company.shop.module.product.service.ProductDetailsCache;
+import com.company.shop.module.product.service.ProductFacetCache;
+import com.company.shop.module.product.service.ProductSearchEngine;
+import com.company.shop.module.product.service.ProductServiceImpl;
+import com.company.shop.module.product.service.ProductStockService;
+import com.company.shop.module.product.service.ProductSuggestionIndex;
+import com.company.shop.persistence.support.PersistenceFixtures;
+import com.company.shop.persistence.support.PostgresContainerSupport;
+import com.company.shop.support.QueryBudget;
+import com.company.shop.support.TestMeterRegistryConfig;
+
+/**
+ * Guards the product listing against N+1 loading of category and images: a mapped page must cost
+ * the page query, the count query and one batched image query, independent of the page size.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import({ ProductServiceImpl.class, ProductMapperImpl.class, ProductDetailsCache.class, ProductStockService.class,
+        ProductSearchEngine.class, ProductSuggestionIndex.class, ProductFacetCache.class,
+        TestMeterRegistryConfig.class })
+class ProductListingStatementCountIT extends PostgresContainerSupport {
+
+    private static final int PAGE_SIZE = 12;
+
+    @Autowired
+    private ProductServiceImpl productService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = PersistenceFixtures.persistCategory(entityManager, "peripherals");
+        for (int i = 0; i < PAGE_SIZE + 3; i++) {
+            Product product = PersistenceFixtures.persistProduct(entityManager, "Product " + i, "product-" + i,
+                    "SKU-" + i, BigDecimal.valueOf(10L + i), 5, category);
+            product.addImage("https://img.example/" + i + "-a.png");
+            product.addImage("https://img.example/" + i + "-b.png");
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findAll_shouldUseFixedStatementCountPerPage() {
+        // page query (category joined) + count query + one batched image query
+        Page<ProductResponseDTO> page = QueryBudget.exactly(3,
+                () -> productService.findAll(PageRequest.of(0, PAGE_SIZE, Sort.by("name"))));
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE)
+                .allSatisfy(product -> {
+                    assertThat(product.getCategoryName()).isEqualTo(category.getName());
+                    assertThat(product.getImageUrls()).hasSize(2);
+                });
+    }
+
+    @Test
+    void findAllByCategory_shouldUseFixedStatementCountPerPage() {
+        Page<ProductResponseDTO> page = QueryBudget.exactly(3, () -> productService.findAllByCategory(
+                category.getId(), PageRequest.of(0, PAGE_SIZE, Sort.by("name"))));
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+    }
+}
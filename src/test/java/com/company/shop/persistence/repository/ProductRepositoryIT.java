@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
 
 import java.math.BigDecimal;
+import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +19,7 @@ import org.springframework.test.context.ActiveProfiles;
 import com.company.shop.module.category.entity.Category;
 import com.company.shop.module.product.entity.Product;
 import com.company.shop.module.product.repository.ProductRepository;
+import com.company.shop.module.user.entity.User;
 import com.company.shop.persistence.support.PersistenceFixtures;
 import com.company.shop.persistence.support.PostgresContainerSupport;
 
@@ -67,4 +69,38 @@ class ProductRepositoryIT extends PostgresContainerSupport {
                 .extracting(Product::getId)
                 .doesNotContain(deletedLaptop.getId(), book.getId());
     }
+
+    @Test
+    void ratingStats_shouldBeReconciledFromActiveReviewsAndThenMaintainedIncrementally() {
+        Product product = PersistenceFixtures.persistProduct(
+                entityManager, "Speaker", "speaker", "SKU-SPEAKER", BigDecimal.valueOf(199L), 5);
+        User firstUser = PersistenceFixtures.persistUser(entityManager, uniqueEmail("rating.stats"));
+        User secondUser = PersistenceFixtures.persistUser(entityManager, uniqueEmail("rating.stats"));
+        PersistenceFixtures.persistProductReview(entityManager, product, firstUser, 5, "Great");
+        PersistenceFixtures.persistProductReview(entityManager, product, secondUser, 2, "Meh");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(productRepository.findProductIdsWithDriftedRatingStats(100)).contains(product.getId());
+
+        assertThat(productRepository.recalculateRatingStats(product.getId())).isEqualTo(1);
+        assertThat(productRepository.findProductIdsWithDriftedRatingStats(100)).doesNotContain(product.getId());
+        entityManager.clear();
+        Product reconciled = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(reconciled.getReviewCount()).isEqualTo(2);
+        assertThat(reconciled.getAverageRating()).isEqualTo(3.5d);
+        assertThat(reconciled.getRatingDistribution().count(5)).isEqualTo(1);
+        assertThat(reconciled.getRatingDistribution().count(2)).isEqualTo(1);
+
+        productRepository.applyRatingDelta(product.getId(), 4, 1);
+        entityManager.clear();
+        Product incremented = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(incremented.getReviewCount()).isEqualTo(3);
+        assertThat(incremented.getAverageRating()).isEqualTo(3.67d);
+        assertThat(incremented.getRatingDistribution().count(4)).isEqualTo(1);
+    }
+
+    private String uniqueEmail(String base) {
+        return base + "." + UUID.randomUUID().toString().replace("-", "") + "@example.com";
+    }
 }
@@ -3,6 +3,7 @@ package com.company.shop.persistence.repository;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
@@ -11,13 +12,15 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.company.shop.module.product.dto.ProductReviewResponseDTO;
 import com.company.shop.module.product.entity.Product;
 import com.company.shop.module.product.entity.ProductReview;
 import com.company.shop.module.product.repository.ProductReviewRepository;
-import com.company.shop.module.product.repository.RatingStats;
 import com.company.shop.module.user.entity.User;
 import com.company.shop.persistence.support.PersistenceFixtures;
 import com.company.shop.persistence.support.PostgresContainerSupport;
@@ -34,53 +37,56 @@ class ProductReviewRepositoryIT extends PostgresContainerSupport {
     private TestEntityManager entityManager;
 
     @Test
-    void getRatingStatsByProductId_shouldCalculateAverageAndCountUsingOnlyActiveReviews() {
+    void findResponsesByProductId_shouldCountOnlyRowsOnThePage() {
         Product product = PersistenceFixtures.persistProduct(
-                entityManager, "Monitor", "monitor", "SKU-MONITOR", BigDecimal.valueOf(1499L), 12);
+                entityManager, "Keyboard", "keyboard", "SKU-KEYBOARD", BigDecimal.valueOf(299L), 40);
 
-        User firstUser = PersistenceFixtures.persistUser(entityManager, uniqueEmail("review.stats"));
-        User secondUser = PersistenceFixtures.persistUser(entityManager, uniqueEmail("review.stats"));
-        User thirdUser = PersistenceFixtures.persistUser(entityManager, uniqueEmail("review.stats"));
+        User activeUser = PersistenceFixtures.persistUser(entityManager, uniqueEmail("review.find"));
+        User deletedUser = PersistenceFixtures.persistUser(entityManager, uniqueEmail("review.find"));
+        User reviewDeletedUser = PersistenceFixtures.persistUser(entityManager, uniqueEmail("review.find"));
 
-        PersistenceFixtures.persistProductReview(entityManager, product, firstUser, 5, "Excellent");
-        PersistenceFixtures.persistProductReview(entityManager, product, secondUser, 3, "Okay");
+        PersistenceFixtures.persistProductReview(entityManager, product, activeUser, 4, "Solid");
+        PersistenceFixtures.persistProductReview(entityManager, product, deletedUser, 3, "Fine");
+        deletedUser.markDeleted();
 
-        ProductReview deletedReview =
-                PersistenceFixtures.persistProductReview(entityManager, product, thirdUser, 1, "Outdated opinion");
-        deletedReview.markDeleted();
+        ProductReview softDeletedReview =
+                PersistenceFixtures.persistProductReview(entityManager, product, reviewDeletedUser, 2, "Not for me");
+        softDeletedReview.markDeleted();
 
         entityManager.flush();
         entityManager.clear();
 
-        RatingStats stats = productReviewRepository.getRatingStatsByProductId(product.getId());
+        Page<ProductReviewResponseDTO> page =
+                productReviewRepository.findResponsesByProductId(product.getId(), PageRequest.of(0, 1));
 
-        assertThat(stats).isNotNull();
-        assertThat(stats.reviewCount()).isEqualTo(2L);
-        assertThat(stats.averageRating()).isEqualTo(4.0d);
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getTotalElements()).isEqualTo(1L);
+        assertThat(page.getContent().get(0).rating()).isEqualTo(4);
     }
 
     @Test
-    void findByProductId_shouldReturnOnlyNotDeletedReviews() {
+    void findNewestResponsesByProductIdAfter_shouldSeekPastCursorWithAuthorNames() {
         Product product = PersistenceFixtures.persistProduct(
-                entityManager, "Keyboard", "keyboard", "SKU-KEYBOARD", BigDecimal.valueOf(299L), 40);
+                entityManager, "Mouse", "mouse", "SKU-MOUSE", BigDecimal.valueOf(99L), 30);
 
-        User activeUser = PersistenceFixtures.persistUser(entityManager, uniqueEmail("review.find"));
-        User deletedUser = PersistenceFixtures.persistUser(entityManager, uniqueEmail("review.find"));
-
-        PersistenceFixtures.persistProductReview(entityManager, product, activeUser, 4, "Solid");
-
-        ProductReview softDeletedReview =
-                PersistenceFixtures.persistProductReview(entityManager, product, deletedUser, 2, "Not for me");
-        softDeletedReview.markDeleted();
+        for (int i = 0; i < 3; i++) {
+            User author = PersistenceFixtures.persistUser(entityManager, uniqueEmail("review.scroll"));
+            PersistenceFixtures.persistProductReview(entityManager, product, author, 3 + i, "Review " + i);
+        }
 
         entityManager.flush();
         entityManager.clear();
 
-        var page = productReviewRepository.findByProductId(product.getId(), PageRequest.of(0, 10));
+        List<ProductReviewResponseDTO> first =
+                productReviewRepository.findNewestResponsesByProductId(product.getId(), Limit.of(2));
+        ProductReviewResponseDTO last = first.get(first.size() - 1);
+        List<ProductReviewResponseDTO> rest = productReviewRepository.findNewestResponsesByProductIdAfter(
+                product.getId(), last.createdAt(), last.id(), Limit.of(2));
 
-        assertThat(page.getContent()).hasSize(1);
-        assertThat(page.getContent().get(0).getUser().getId()).isEqualTo(activeUser.getId());
-        assertThat(page.getContent().get(0).isDeleted()).isFalse();
+        assertThat(first).hasSize(2);
+        assertThat(rest).hasSize(1);
+        assertThat(rest.get(0).id()).isNotIn(first.get(0).id(), first.get(1).id());
+        assertThat(first.get(0).authorName()).isNotBlank();
     }
 
     private String uniqueEmail(String base) {
@@ -0,0 +1,117 @@
+package com.company.shop.persistence.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.company.shop.module.category.entity.Category;
+import com.company.shop.module.product.dto.ProductSearchCriteria;
+import com.company.shop.module.product.dto.ProductSearchFacetsDTO;
+import com.company.shop.module.product.entity.Product;
+import com.company.shop.module.product.repository.ProductRepository;
+import com.company.shop.module.product.service.ProductSearchEngine;
+import com.company.shop.module.product.specification.ProductSearchQuery;
+import com.company.shop.module.product.specification.ProductSpecification;
+import com.company.shop.persistence.support.PersistenceFixtures;
+import com.company.shop.persistence.support.PostgresContainerSupport;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+class ProductSearchEngineIT extends PostgresContainerSupport {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private ProductSearchEngine searchEngine;
+    private Product nameMatch;
+    private Product descriptionMatch;
+
+    @BeforeEach
+    void setUp() {
+        searchEngine = new ProductSearchEngine(jdbcTemplate);
+        Category category = PersistenceFixtures.persistCategory(entityManager, "search");
+        descriptionMatch = entityManager.persistAndFlush(new Product("Podkładka", "podkladka-" + UUID.randomUUID(),
+                "SKU-PAD-" + UUID.randomUUID().toString().substring(0, 8), "Podkładka pod klawiaturę",
+                BigDecimal.valueOf(49L), 10, category));
+        nameMatch = entityManager.persistAndFlush(new Product("Klawiatura mechaniczna",
+                "klawiatura-" + UUID.randomUUID(), "SKU-KBD-" + UUID.randomUUID().toString().substring(0, 8),
+                "Przełączniki liniowe", BigDecimal.valueOf(399L), 10, category));
+        entityManager.clear();
+    }
+
+    @Test
+    void findRankedIds_shouldRankNameMatchesAboveDescriptionMatches() {
+        List<UUID> ids = searchEngine.findRankedIds(query("klawiatura"), criteria(), 0, 10);
+
+        assertThat(ids).containsSubsequence(nameMatch.getId(), descriptionMatch.getId());
+    }
+
+    @Test
+    void findRankedIds_shouldMatchPrefixTerms() {
+        List<UUID> ids = searchEngine.findRankedIds(query("mechan*"), criteria(), 0, 10);
+
+        assertThat(ids).contains(nameMatch.getId()).doesNotContain(descriptionMatch.getId());
+    }
+
+    @Test
+    void countMatches_shouldApplyFiltersAndTolerateOperatorCharacters() {
+        ProductSearchCriteria cheap = new ProductSearchCriteria(null, null, null, BigDecimal.valueOf(100L), null);
+
+        assertThat(searchEngine.countMatches(query("klawiatura & | !("), cheap)).isEqualTo(1);
+    }
+
+    @Test
+    void filterByCriteria_shouldMatchTextThroughSearchVector() {
+        List<Product> products = productRepository.findAll(ProductSpecification.filterByCriteria(
+                new ProductSearchCriteria("mechaniczna", null, null, null, null)));
+
+        assertThat(products).extracting(Product::getId).containsExactly(nameMatch.getId());
+    }
+
+    @Test
+    void countFacets_shouldCountCategoriesPriceBandsAndRatingsOfFilteredSet() {
+        ProductSearchCriteria inCategory = new ProductSearchCriteria(null, nameMatch.getCategory().getId(), null, null,
+                null);
+
+        ProductSearchFacetsDTO facets = searchEngine.countFacets(null, inCategory);
+
+        assertThat(facets.categories()).singleElement()
+                .satisfies(category -> assertThat(category.count()).isEqualTo(2));
+        assertThat(facets.priceBands()).extracting(ProductSearchFacetsDTO.PriceBandFacet::count)
+                .containsExactly(1L, 1L);
+        assertThat(facets.priceBands().get(0).minPrice()).isNull();
+        assertThat(facets.ratings()).extracting(ProductSearchFacetsDTO.RatingFacet::count)
+                .containsOnly(0L);
+
+        assertThat(searchEngine.countFacets(query("mechaniczna"), inCategory).categories())
+                .singleElement()
+                .satisfies(category -> assertThat(category.count()).isEqualTo(1));
+    }
+
+    private ProductSearchQuery query(String raw) {
+        return ProductSearchQuery.parse(raw).orElseThrow();
+    }
+
+    private ProductSearchCriteria criteria() {
+        return new ProductSearchCriteria(null, null, null, null, null);
+    }
+}
@@ -10,6 +10,9 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.Collection;
 import java.util.stream.Collectors;
@@ -84,13 +87,13 @@ class JwtAuthenticationFilterTest {
         MockHttpServletRequest request = requestWithAuthorizationHeader(TOKEN_PREFIX + INVALID_TOKEN);
         MockHttpServletResponse response = new MockHttpServletResponse();
         MockFilterChain filterChain = new MockFilterChain();
-        when(jwtTokenProvider.validate(INVALID_TOKEN)).thenReturn(false);
+        when(jwtTokenProvider.verify(INVALID_TOKEN)).thenReturn(Optional.empty());
 
         filter.doFilter(request, response, filterChain);
 
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
         assertRequestPassedThroughFilterChain(filterChain, request, response);
-        verify(jwtTokenProvider).validate(INVALID_TOKEN);
+        verify(jwtTokenProvider).verify(INVALID_TOKEN);
         verifyNoMoreInteractions(jwtTokenProvider);
     }
 
@@ -99,9 +102,8 @@ class JwtAuthenticationFilterTest {
         MockHttpServletRequest request = requestWithAuthorizationHeader(TOKEN_PREFIX + VALID_TOKEN);
         MockHttpServletResponse response = new MockHttpServletResponse();
         MockFilterChain filterChain = new MockFilterChain();
-        when(jwtTokenProvider.validate(VALID_TOKEN)).thenReturn(true);
-        when(jwtTokenProvider.getUsername(VALID_TOKEN)).thenReturn(USER_EMAIL);
-        when(jwtTokenProvider.getRoles(VALID_TOKEN)).thenReturn(ROLE_USER + "," + ROLE_ADMIN);
+        when(jwtTokenProvider.verify(VALID_TOKEN)).thenReturn(Optional.of(
+                new VerifiedToken(USER_EMAIL, List.of(ROLE_USER, ROLE_ADMIN), Instant.now().plusSeconds(60))));
 
         filter.doFilter(request, response, filterChain);
 
@@ -120,9 +122,7 @@ class JwtAuthenticationFilterTest {
 
         assertRequestPassedThroughFilterChain(filterChain, request, response);
 
-        verify(jwtTokenProvider).validate(VALID_TOKEN);
-        verify(jwtTokenProvider).getUsername(VALID_TOKEN);
-        verify(jwtTokenProvider).getRoles(VALID_TOKEN);
+        verify(jwtTokenProvider).verify(VALID_TOKEN);
         verifyNoMoreInteractions(jwtTokenProvider);
     }
 
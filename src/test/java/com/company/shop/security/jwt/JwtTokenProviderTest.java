@@ -4,7 +4,9 @@ import static com.company.shop.security.SecurityConstants.ROLE_ADMIN;
 import static com.company.shop.security.SecurityConstants.ROLE_USER;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -81,6 +83,70 @@ class JwtTokenProviderTest {
         assertThat(provider.validate("   ")).isFalse();
     }
 
+    @Test
+    void verify_shouldReturnUsernameRolesAndExpiryFromSingleParse() {
+        JwtTokenProvider provider = tokenProvider(60_000L);
+        String token = provider.generateToken(authentication(USERNAME, ROLE_USER, ROLE_ADMIN));
+
+        Optional<VerifiedToken> verified = provider.verify(token);
+
+        assertThat(verified).isPresent();
+        assertThat(verified.get().username()).isEqualTo(USERNAME);
+        assertThat(verified.get().roles()).containsExactlyInAnyOrder(ROLE_USER, ROLE_ADMIN);
+        assertThat(verified.get().expiresAt()).isAfter(Instant.now());
+    }
+
+    @Test
+    void verify_shouldReturnEmptyForInvalidTokens() {
+        JwtTokenProvider provider = tokenProvider(60_000L);
+        String foreignToken = tokenProvider(OTHER_SECRET, 60_000L)
+                .generateToken(authentication(USERNAME, ROLE_USER));
+        String expiredToken = tokenProvider(-1_000L).generateToken(authentication(USERNAME, ROLE_USER));
+
+        assertThat(provider.verify(null)).isEmpty();
+        assertThat(provider.verify(" ")).isEmpty();
+        assertThat(provider.verify("not-a-jwt-token")).isEmpty();
+        assertThat(provider.verify(foreignToken)).isEmpty();
+        assertThat(provider.verify(expiredToken)).isEmpty();
+    }
+
+    @Test
+    void verify_shouldReuseCachedResultForSameToken() {
+        JwtTokenProvider provider = new JwtTokenProvider(new JwtProperties(SECRET, 60_000L, 120_000L, 16));
+        String token = provider.generateToken(authentication(USERNAME, ROLE_USER));
+
+        VerifiedToken first = provider.verify(token).orElseThrow();
+        VerifiedToken second = provider.verify(token).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void verify_shouldEvictLeastRecentlyUsedTokenWhenCacheIsFull() {
+        JwtTokenProvider provider = new JwtTokenProvider(new JwtProperties(SECRET, 60_000L, 120_000L, 2));
+        String first = provider.generateToken(authentication("first@example.com", ROLE_USER));
+        String second = provider.generateToken(authentication("second@example.com", ROLE_USER));
+        String third = provider.generateToken(authentication("third@example.com", ROLE_USER));
+
+        VerifiedToken firstVerified = provider.verify(first).orElseThrow();
+        VerifiedToken secondVerified = provider.verify(second).orElseThrow();
+        provider.verify(first);
+        VerifiedToken thirdVerified = provider.verify(third).orElseThrow();
+
+        assertThat(provider.verify(first).orElseThrow()).isSameAs(firstVerified);
+        assertThat(provider.verify(third).orElseThrow()).isSameAs(thirdVerified);
+        assertThat(provider.verify(second).orElseThrow()).isNotSameAs(secondVerified);
+    }
+
+    @Test
+    void verify_shouldNotCacheRejectedTokens() {
+        JwtTokenProvider provider = new JwtTokenProvider(new JwtProperties(SECRET, -1_000L, 120_000L, 16));
+        String expiredToken = provider.generateToken(authentication(USERNAME, ROLE_USER));
+
+        assertThat(provider.verify(expiredToken)).isEmpty();
+        assertThat(provider.verify(expiredToken)).isEmpty();
+    }
+
     private JwtTokenProvider tokenProvider(long expiration) {
         return tokenProvider(SECRET, expiration);
     }
@@ -0,0 +1,75 @@
+package com.company.shop.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import com.company.shop.common.persistence.SqlStatementRecorder;
+import com.company.shop.common.persistence.SqlStatementStats;
+
+/**
+ * Pins the number of SQL statements a piece of code may issue.
+ * <p>
+ * Relies on the Hibernate hooks registered in {@code application.yml}, so it works in any test
+ * that boots the real {@code EntityManagerFactory} ({@code @DataJpaTest}, {@code @SpringBootTest}).
+ * Entities must be flushed and cleared before the measured block, otherwise the persistence
+ * context serves them without touching the database. Failure messages list the captured SQL.
+ * </p>
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    /**
+     * Runs the work and returns the statements it issued.
+     */
+    public static SqlStatementStats record(Runnable work) {
+        SqlStatementStats stats = SqlStatementRecorder.start(null, Duration.ZERO);
+        try {
+            work.run();
+        } finally {
+            SqlStatementRecorder.stop();
+        }
+        return stats;
+    }
+
+    /**
+     * Runs the work and fails unless it issued exactly {@code expectedStatements} statements.
+     */
+    public static <T> T exactly(int expectedStatements, Supplier<T> work) {
+        Recorded<T> recorded = recordResult(work);
+        assertThat(recorded.stats().getStatementCount())
+                .as(() -> describe(recorded.stats()))
+                .isEqualTo(expectedStatements);
+        return recorded.result();
+    }
+
+    /**
+     * Runs the work and fails when it issued more than {@code maxStatements} statements.
+     */
+    public static <T> T atMost(int maxStatements, Supplier<T> work) {
+        Recorded<T> recorded = recordResult(work);
+        assertThat(recorded.stats().getStatementCount())
+                .as(() -> describe(recorded.stats()))
+                .isLessThanOrEqualTo(maxStatements);
+        return recorded.result();
+    }
+
+    private static <T> Recorded<T> recordResult(Supplier<T> work) {
+        Object[] result = new Object[1];
+        SqlStatementStats stats = record(() -> result[0] = work.get());
+        @SuppressWarnings("unchecked")
+        T typed = (T) result[0];
+        return new Recorded<>(typed, stats);
+    }
+
+    private static String describe(SqlStatementStats stats) {
+        return "SQL statements issued:%n  %s".formatted(String.join(System.lineSeparator() + "  ",
+                stats.getStatements()));
+    }
+
+    private record Recorded<T>(T result, SqlStatementStats stats) {
+    }
+}
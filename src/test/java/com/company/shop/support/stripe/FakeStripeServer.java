@@ -0,0 +1,358 @@
+package com.company.shop.support.stripe;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.stripe.Stripe;
+import com.stripe.net.Webhook;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embeddable local stand-in for the Stripe API used by checkout.
+ * <p>
+ * Serves {@code POST /v1/payment_intents} with Stripe's idempotency-key semantics. Point the
+ * application at it with {@code stripe.api-base=}{@link #baseUrl()}. Behaviour is configured through
+ * {@link #builder()}:
+ * </p>
+ * <ul>
+ * <li>{@code latency(min, max)} delays every response by a uniformly drawn duration, which together
+ * with {@code stripe.read-timeout-ms} reproduces provider timeouts;</li>
+ * <li>{@code errorRate(rate)} answers that share of requests with a retryable {@code 500 api_error}
+ * that is not stored under the idempotency key, like a transient Stripe outage;</li>
+ * <li>{@code seed(seed)} makes latency and error draws reproducible;</li>
+ * <li>{@code webhookSecret(secret)} plus {@link #emitWebhooksTo(URI, Consumer)} deliver a signed
+ * {@code payment_intent.succeeded} event for every created intent, optionally delayed and duplicated.</li>
+ * </ul>
+ * <p>
+ * Created intents are also queued for {@link #pollCreatedIntent()} so tests can emit events themselves.
+ * </p>
+ */
+public final class FakeStripeServer implements AutoCloseable {
+
+    private static final String PAYMENT_INTENTS_PATH = "/v1/payment_intents";
+    private static final int TRANSPORT_FAILURE = -1;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Builder config;
+    private final Random random;
+    private final HttpClient webhookClient = HttpClient.newHttpClient();
+    private final Map<String, String> responsesByIdempotencyKey = new ConcurrentHashMap<>();
+    private final Queue<CreatedIntent> createdIntents = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private volatile URI webhookEndpoint;
+    private volatile Consumer<WebhookDelivery> webhookListener = delivery -> {
+    };
+
+    private FakeStripeServer(HttpServer server, ExecutorService executor, Builder config) {
+        this.server = server;
+        this.executor = executor;
+        this.config = config;
+        this.random = new Random(config.seed);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Starts a fake with no latency, no injected errors and no webhook emission.
+     */
+    public static FakeStripeServer start() throws IOException {
+        return builder().start();
+    }
+
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Starts delivering signed {@code payment_intent.succeeded} events for intents created from now on.
+     * Requires {@link Builder#webhookSecret(String)}; every delivery is reported to the listener.
+     */
+    public void emitWebhooksTo(URI endpoint, Consumer<WebhookDelivery> listener) {
+        if (config.webhookSecret == null) {
+            throw new IllegalStateException("webhookSecret must be configured to emit webhooks");
+        }
+        this.webhookListener = Objects.requireNonNull(listener);
+        this.webhookEndpoint = Objects.requireNonNull(endpoint);
+    }
+
+    /**
+     * Returns the oldest created intent that has not been polled yet, or {@code null}.
+     */
+    public CreatedIntent pollCreatedIntent() {
+        return createdIntents.poll();
+    }
+
+    public long createdIntentCount() {
+        return sequence.get();
+    }
+
+    public long requestCount() {
+        return requests.get();
+    }
+
+    public long injectedErrorCount() {
+        return injectedErrors.get();
+    }
+
+    /**
+     * Builds a {@code payment_intent.succeeded} event for the intent in Stripe's wire format.
+     */
+    public static String succeededEventPayload(CreatedIntent intent, String eventId) {
+        return """
+                {"id":"%s","object":"event","type":"payment_intent.succeeded","api_version":"%s","created":%d,\
+                "data":{"object":{"id":"%s","object":"payment_intent","amount":%d,"amount_received":%d,\
+                "currency":"%s","status":"succeeded","metadata":{"orderId":"%s"}}}}"""
+                .formatted(eventId, Stripe.API_VERSION, Instant.now().getEpochSecond(), intent.id(), intent.amount(),
+                        intent.amount(), intent.currency(), intent.orderId());
+    }
+
+    /**
+     * Computes a valid {@code Stripe-Signature} header for the payload, as Stripe does when sending webhooks.
+     */
+    public static String signatureHeader(String payload, String webhookSecret) {
+        long timestamp = Instant.now().getEpochSecond();
+        try {
+            String signature = Webhook.Util.computeHmacSha256(webhookSecret, timestamp + "." + payload);
+            return "t=" + timestamp + ",v1=" + signature;
+        } catch (NoSuchAlgorithmException | InvalidKeyException ex) {
+            throw new IllegalStateException("Unable to sign webhook payload", ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handlePaymentIntents(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "{\"error\":{\"type\":\"invalid_request_error\",\"message\":\"Unsupported\"}}");
+                return;
+            }
+            Map<String, String> form = parseForm(exchange.getRequestBody());
+            simulateLatency();
+            if (shouldInjectError()) {
+                injectedErrors.incrementAndGet();
+                // Not stored under the idempotency key, so a retry with the same key can succeed.
+                exchange.getResponseHeaders().add("Stripe-Should-Retry", "true");
+                respond(exchange, 500, "{\"error\":{\"type\":\"api_error\",\"message\":\"Injected failure\"}}");
+                return;
+            }
+            String idempotencyKey = exchange.getRequestHeaders().getFirst("Idempotency-Key");
+            String body = idempotencyKey == null
+                    ? createIntent(form)
+                    : responsesByIdempotencyKey.computeIfAbsent(idempotencyKey, key -> createIntent(form));
+            respond(exchange, 200, body);
+        }
+    }
+
+    private void simulateLatency() {
+        long minNanos = config.minLatency.toNanos();
+        long spreadNanos = config.maxLatency.toNanos() - minNanos;
+        long delayNanos;
+        synchronized (random) {
+            delayNanos = minNanos + (spreadNanos > 0 ? (long) (random.nextDouble() * spreadNanos) : 0);
+        }
+        if (delayNanos > 0) {
+            sleep(Duration.ofNanos(delayNanos));
+        }
+    }
+
+    private boolean shouldInjectError() {
+        if (config.errorRate <= 0) {
+            return false;
+        }
+        synchronized (random) {
+            return random.nextDouble() < config.errorRate;
+        }
+    }
+
+    private String createIntent(Map<String, String> form) {
+        long number = sequence.incrementAndGet();
+        String id = "pi_fake_" + number;
+        long amount = Long.parseLong(form.getOrDefault("amount", "0"));
+        String currency = form.getOrDefault("currency", "pln");
+        String orderId = form.getOrDefault("metadata[orderId]", "");
+        CreatedIntent intent = new CreatedIntent(id, amount, currency, orderId, System.nanoTime());
+        createdIntents.add(intent);
+        URI endpoint = webhookEndpoint;
+        if (endpoint != null) {
+            executor.execute(() -> emitSucceededEvent(endpoint, intent));
+        }
+        return """
+                {"id":"%s","object":"payment_intent","amount":%d,"currency":"%s","client_secret":"%s_secret_%d",\
+                "status":"requires_payment_method","metadata":{"orderId":"%s"}}"""
+                .formatted(id, amount, currency, id, number, orderId);
+    }
+
+    /**
+     * Delivers the event {@code webhookDuplicates} times concurrently, mimicking Stripe retries racing
+     * with each other. Each delivery carries its own fresh signature.
+     */
+    private void emitSucceededEvent(URI endpoint, CreatedIntent intent) {
+        sleep(config.webhookDelay);
+        String eventId = "evt_" + intent.id();
+        String payload = succeededEventPayload(intent, eventId);
+        for (int i = 0; i < config.webhookDuplicates; i++) {
+            HttpRequest request = HttpRequest.newBuilder(endpoint)
+                    .header("Content-Type", "application/json")
+                    .header("Stripe-Signature", signatureHeader(payload, config.webhookSecret))
+                    .POST(HttpRequest.BodyPublishers.ofString(payload))
+                    .build();
+            long startedAt = System.nanoTime();
+            webhookClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> webhookListener.accept(new WebhookDelivery(eventId,
+                            failure == null ? response.statusCode() : TRANSPORT_FAILURE,
+                            System.nanoTime() - startedAt)));
+        }
+    }
+
+    private static Map<String, String> parseForm(InputStream body) throws IOException {
+        String raw = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        Map<String, String> form = new HashMap<>();
+        for (String pair : raw.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int separator = pair.indexOf('=');
+            String key = URLDecoder.decode(separator < 0 ? pair : pair.substring(0, separator), StandardCharsets.UTF_8);
+            String value = separator < 0 ? "" : URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+            form.put(key, value);
+        }
+        return form;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.getResponseHeaders().add("Request-Id", "req_fake_" + System.nanoTime());
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A PaymentIntent created through the fake, with the order reference taken from its metadata.
+     */
+    public record CreatedIntent(String id, long amount, String currency, String orderId, long createdAtNanos) {
+    }
+
+    /**
+     * Outcome of one webhook delivery; {@code status} is {@code -1} when the request failed in transport.
+     */
+    public record WebhookDelivery(String eventId, int status, long latencyNanos) {
+    }
+
+    public static final class Builder {
+
+        private Duration minLatency = Duration.ZERO;
+        private Duration maxLatency = Duration.ZERO;
+        private double errorRate;
+        private long seed = 42L;
+        private String webhookSecret;
+        private Duration webhookDelay = Duration.ZERO;
+        private int webhookDuplicates = 1;
+
+        private Builder() {
+        }
+
+        public Builder latency(Duration fixed) {
+            return latency(fixed, fixed);
+        }
+
+        public Builder latency(Duration min, Duration max) {
+            if (min.isNegative() || max.compareTo(min) < 0) {
+                throw new IllegalArgumentException("Latency range must satisfy 0 <= min <= max");
+            }
+            this.minLatency = min;
+            this.maxLatency = max;
+            return this;
+        }
+
+        public Builder errorRate(double errorRate) {
+            if (errorRate < 0 || errorRate > 1) {
+                throw new IllegalArgumentException("Error rate must be between 0 and 1");
+            }
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder webhookSecret(String webhookSecret) {
+            this.webhookSecret = webhookSecret;
+            return this;
+        }
+
+        public Builder webhookDelay(Duration webhookDelay) {
+            this.webhookDelay = webhookDelay;
+            return this;
+        }
+
+        public Builder webhookDuplicates(int webhookDuplicates) {
+            if (webhookDuplicates < 1) {
+                throw new IllegalArgumentException("At least one webhook delivery is required");
+            }
+            this.webhookDuplicates = webhookDuplicates;
+            return this;
+        }
+
+        public FakeStripeServer start() throws IOException {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+            FakeStripeServer fake = new FakeStripeServer(server, executor, this);
+            server.createContext(PAYMENT_INTENTS_PATH, fake::handlePaymentIntents);
+            server.setExecutor(executor);
+            server.start();
+            return fake;
+        }
+    }
+}